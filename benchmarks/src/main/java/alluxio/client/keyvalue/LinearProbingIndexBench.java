@@ -0,0 +1,129 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import alluxio.client.AbstractOutStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for key lookups in a {@link LinearProbingIndex}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinearProbingIndexBench {
+  /** The number of keys in the index. */
+  @Param({"1000", "20000"})
+  public int mNumKeys;
+
+  private LinearProbingIndex mIndex;
+  private PayloadReader mPayloadReader;
+  private ByteBuffer[] mKeys;
+  private ByteBuffer mMissingKey;
+  private int mNextKey;
+
+  /**
+   * Creates a new instance of {@link LinearProbingIndexBench}.
+   */
+  public LinearProbingIndexBench() {}
+
+  /**
+   * Fills an index and its payload with the configured number of keys.
+   *
+   * @throws Exception if the benchmark state cannot be set up
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    ByteArrayOutStream out = new ByteArrayOutStream();
+    BasePayloadWriter payloadWriter = new BasePayloadWriter(out);
+    LinearProbingIndex index = LinearProbingIndex.createEmptyIndex();
+    mKeys = new ByteBuffer[mNumKeys];
+    for (int i = 0; i < mNumKeys; i++) {
+      byte[] key = String.format("key%08d", i).getBytes();
+      byte[] value = String.format("value%08d", i).getBytes();
+      if (!index.put(key, value, payloadWriter)) {
+        throw new IllegalStateException("Failed to insert key " + i);
+      }
+      mKeys[i] = ByteBuffer.wrap(key);
+    }
+    // Reload the index from its serialized form, as a partition reader does.
+    mIndex = LinearProbingIndex.loadFromByteArray(ByteBuffer.wrap(index.getBytes()));
+    mPayloadReader = new BasePayloadReader(ByteBuffer.wrap(out.toByteArray()));
+    mMissingKey = ByteBuffer.wrap("missing".getBytes());
+  }
+
+  /**
+   * Looks up an existing key.
+   *
+   * @return the value of the key
+   */
+  @Benchmark
+  public ByteBuffer getExisting() {
+    ByteBuffer key = mKeys[mNextKey];
+    mNextKey = (mNextKey + 1) % mKeys.length;
+    return mIndex.get(key.duplicate(), mPayloadReader);
+  }
+
+  /**
+   * Looks up a key which is not in the index.
+   *
+   * @return null
+   */
+  @Benchmark
+  public ByteBuffer getMissing() {
+    return mIndex.get(mMissingKey.duplicate(), mPayloadReader);
+  }
+
+  /**
+   * An {@link AbstractOutStream} which keeps the written payload in memory.
+   */
+  private static final class ByteArrayOutStream extends AbstractOutStream {
+    private final ByteArrayOutputStream mOut = new ByteArrayOutputStream();
+
+    /**
+     * Creates a new in-memory stream.
+     */
+    private ByteArrayOutStream() {}
+
+    @Override
+    public void write(int b) {
+      mOut.write(b);
+      mBytesWritten++;
+    }
+
+    /**
+     * @return the bytes written so far
+     */
+    private byte[] toByteArray() {
+      return mOut.toByteArray();
+    }
+  }
+}
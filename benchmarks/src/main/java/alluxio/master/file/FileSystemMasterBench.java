@@ -0,0 +1,141 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file;
+
+import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.master.MasterRegistry;
+import alluxio.master.block.BlockMaster;
+import alluxio.master.file.options.CreateDirectoryOptions;
+import alluxio.master.file.options.CreateFileOptions;
+import alluxio.master.file.options.ListStatusOptions;
+import alluxio.master.journal.JournalFactory;
+import alluxio.master.journal.MutableJournal;
+import alluxio.security.authentication.AuthType;
+import alluxio.util.ThreadFactoryUtils;
+import alluxio.util.executor.ExecutorServiceFactories;
+import alluxio.util.io.FileUtils;
+import alluxio.util.io.PathUtils;
+import alluxio.wire.FileInfo;
+import alluxio.wire.LoadMetadataType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link FileSystemMaster#listStatus(AlluxioURI, ListStatusOptions)} on
+ * directories which are fully loaded in Alluxio.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileSystemMasterBench {
+  private static final AlluxioURI DIR_URI = new AlluxioURI("/dir");
+
+  /** The number of files in the listed directory. */
+  @Param({"10", "1000"})
+  public int mNumChildren;
+
+  private String mBaseFolder;
+  private ExecutorService mExecutorService;
+  private BlockMaster mBlockMaster;
+  private FileSystemMaster mFileSystemMaster;
+  private ListStatusOptions mListStatusOptions;
+
+  /**
+   * Creates a new instance of {@link FileSystemMasterBench}.
+   */
+  public FileSystemMasterBench() {}
+
+  /**
+   * Starts the block and file system masters against a local under storage, and creates a
+   * directory with the configured number of files.
+   *
+   * @throws Exception if the benchmark state cannot be set up
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    mBaseFolder = Files.createTempDirectory("FileSystemMasterBench").toString();
+    String underFs = PathUtils.concatPath(mBaseFolder, "underFs");
+    FileUtils.createDir(underFs);
+    Configuration.set(PropertyKey.UNDERFS_ADDRESS, underFs);
+    Configuration.set(PropertyKey.SECURITY_AUTHENTICATION_TYPE, AuthType.NOSASL.getAuthName());
+    Configuration.set(PropertyKey.SECURITY_AUTHORIZATION_PERMISSION_ENABLED, false);
+
+    String journalFolder = PathUtils.concatPath(mBaseFolder, "journal");
+    FileUtils.createDir(journalFolder);
+    MasterRegistry registry = new MasterRegistry();
+    JournalFactory factory = new MutableJournal.Factory(new URI(journalFolder));
+    mBlockMaster = new BlockMaster(registry, factory);
+    mExecutorService = Executors.newFixedThreadPool(2,
+        ThreadFactoryUtils.build("FileSystemMasterBench-%d", true));
+    mFileSystemMaster = new FileSystemMaster(registry, factory,
+        ExecutorServiceFactories.constantExecutorServiceFactory(mExecutorService));
+    mBlockMaster.start(true);
+    mFileSystemMaster.start(true);
+
+    mFileSystemMaster.createDirectory(DIR_URI, CreateDirectoryOptions.defaults());
+    CreateFileOptions fileOptions = CreateFileOptions.defaults().setBlockSizeBytes(Constants.MB);
+    for (int i = 0; i < mNumChildren; i++) {
+      mFileSystemMaster.createFile(DIR_URI.join("file" + i), fileOptions);
+    }
+    mListStatusOptions =
+        ListStatusOptions.defaults().setLoadMetadataType(LoadMetadataType.Never);
+  }
+
+  /**
+   * Stops the masters and removes the journal and under storage folders.
+   *
+   * @throws Exception if the benchmark state cannot be cleaned up
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    mFileSystemMaster.stop();
+    mBlockMaster.stop();
+    mExecutorService.shutdownNow();
+    FileUtils.deletePathRecursively(mBaseFolder);
+  }
+
+  /**
+   * Lists the benchmark directory.
+   *
+   * @return the statuses of the children
+   * @throws Exception if the operation fails
+   */
+  @Benchmark
+  public List<FileInfo> listStatus() throws Exception {
+    return mFileSystemMaster.listStatus(DIR_URI, mListStatusOptions);
+  }
+}
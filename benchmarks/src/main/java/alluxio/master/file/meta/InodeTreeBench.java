@@ -0,0 +1,158 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.master.MasterRegistry;
+import alluxio.master.block.BlockMaster;
+import alluxio.master.file.options.CreateDirectoryOptions;
+import alluxio.master.file.options.CreateFileOptions;
+import alluxio.master.journal.JournalFactory;
+import alluxio.master.journal.MutableJournal;
+import alluxio.security.authorization.Mode;
+import alluxio.util.io.FileUtils;
+import alluxio.util.io.PathUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks for path locking and inode creation in {@link InodeTree}.
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InodeTreeBench {
+  /** The number of directories above the benchmarked file. */
+  @Param({"1", "4", "16"})
+  public int mDepth;
+
+  private String mJournalFolder;
+  private BlockMaster mBlockMaster;
+  private InodeTree mTree;
+  private AlluxioURI mDirUri;
+  private AlluxioURI mFileUri;
+  private CreateFileOptions mFileOptions;
+  private final AtomicLong mNextFile = new AtomicLong();
+
+  /**
+   * Creates a new instance of {@link InodeTreeBench}.
+   */
+  public InodeTreeBench() {}
+
+  /**
+   * Creates an inode tree with a directory chain of the configured depth, and a file under the
+   * deepest directory.
+   *
+   * @throws Exception if the benchmark state cannot be set up
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    mJournalFolder = Files.createTempDirectory("InodeTreeBench").toString();
+    MasterRegistry registry = new MasterRegistry();
+    JournalFactory factory = new MutableJournal.Factory(new URI(mJournalFolder));
+    mBlockMaster = new BlockMaster(registry, factory);
+    mTree = new InodeTree(mBlockMaster, new InodeDirectoryIdGenerator(mBlockMaster),
+        new MountTable());
+    mBlockMaster.start(true);
+    mTree.initializeRoot("owner", "group", new Mode((short) 0755));
+
+    String dir = "/";
+    for (int i = 0; i < mDepth; i++) {
+      dir = PathUtils.concatPath(dir, "dir" + i);
+    }
+    mDirUri = new AlluxioURI(dir);
+    mFileUri = mDirUri.join("file");
+    mFileOptions = CreateFileOptions.defaults().setBlockSizeBytes(Constants.MB)
+        .setOwner("owner").setGroup("group");
+    try (LockedInodePath inodePath = mTree.lockInodePath(mDirUri, InodeTree.LockMode.WRITE)) {
+      mTree.createPath(inodePath, CreateDirectoryOptions.defaults().setOwner("owner")
+          .setGroup("group").setRecursive(true));
+    }
+    try (LockedInodePath inodePath = mTree.lockInodePath(mFileUri, InodeTree.LockMode.WRITE)) {
+      mTree.createPath(inodePath, mFileOptions);
+    }
+  }
+
+  /**
+   * Stops the block master and removes the journal folder.
+   *
+   * @throws Exception if the benchmark state cannot be cleaned up
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    mBlockMaster.stop();
+    FileUtils.deletePathRecursively(mJournalFolder);
+  }
+
+  /**
+   * Locks and unlocks the path of an existing file for reading.
+   *
+   * @return the locked inode path
+   * @throws Exception if the operation fails
+   */
+  @Benchmark
+  public LockedInodePath lockInodePathRead() throws Exception {
+    try (LockedInodePath inodePath = mTree.lockInodePath(mFileUri, InodeTree.LockMode.READ)) {
+      return inodePath;
+    }
+  }
+
+  /**
+   * Locks and unlocks the path of an existing file for writing.
+   *
+   * @return the locked inode path
+   * @throws Exception if the operation fails
+   */
+  @Benchmark
+  public LockedInodePath lockInodePathWrite() throws Exception {
+    try (LockedInodePath inodePath = mTree.lockInodePath(mFileUri, InodeTree.LockMode.WRITE)) {
+      return inodePath;
+    }
+  }
+
+  /**
+   * Creates a new file under the deepest directory, and deletes it again so that the size of the
+   * tree stays constant across invocations.
+   *
+   * @return the result of creating the file
+   * @throws Exception if the operation fails
+   */
+  @Benchmark
+  public InodeTree.CreatePathResult createPath() throws Exception {
+    AlluxioURI uri = mDirUri.join("created" + mNextFile.incrementAndGet());
+    try (LockedInodePath inodePath = mTree.lockInodePath(uri, InodeTree.LockMode.WRITE)) {
+      InodeTree.CreatePathResult result = mTree.createPath(inodePath, mFileOptions);
+      mTree.deleteInode(inodePath);
+      return result;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.Constants;
+import alluxio.proto.journal.File.InodeFileEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for serializing and deserializing journal entries with
+ * {@link ProtoBufJournalFormatter}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProtoBufJournalFormatterBench {
+  /** The number of block ids in the journaled inode file entry. */
+  @Param({"1", "100"})
+  public int mNumBlocks;
+
+  private JournalFormatter mFormatter;
+  private JournalEntry mEntry;
+  private ByteArrayOutputStream mOut;
+  private byte[] mSerialized;
+
+  /**
+   * Creates a new instance of {@link ProtoBufJournalFormatterBench}.
+   */
+  public ProtoBufJournalFormatterBench() {}
+
+  /**
+   * Creates an inode file entry and its serialized form.
+   *
+   * @throws IOException if the benchmark state cannot be set up
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    mFormatter = new ProtoBufJournalFormatter();
+    InodeFileEntry.Builder inodeFile = InodeFileEntry.newBuilder()
+        .setBlockSizeBytes(Constants.MB)
+        .setCacheable(true)
+        .setCompleted(true)
+        .setCreationTimeMs(System.currentTimeMillis())
+        .setGroup("group")
+        .setId(1L << 24)
+        .setLastModificationTimeMs(System.currentTimeMillis())
+        .setLength(mNumBlocks * Constants.MB)
+        .setMode(0644)
+        .setName("file")
+        .setOwner("owner")
+        .setParentId(1L)
+        .setPersistenceState("PERSISTED")
+        .setPinned(false)
+        .setTtl(-1);
+    for (int i = 0; i < mNumBlocks; i++) {
+      inodeFile.addBlocks((1L << 24) + i);
+    }
+    mEntry = JournalEntry.newBuilder().setSequenceNumber(1L).setInodeFile(inodeFile).build();
+    mOut = new ByteArrayOutputStream();
+    mFormatter.serialize(mEntry, mOut);
+    mSerialized = mOut.toByteArray();
+  }
+
+  /**
+   * Serializes the entry.
+   *
+   * @return the stream the entry was serialized to
+   * @throws IOException if the operation fails
+   */
+  @Benchmark
+  public ByteArrayOutputStream serialize() throws IOException {
+    mOut.reset();
+    mFormatter.serialize(mEntry, mOut);
+    return mOut;
+  }
+
+  /**
+   * Deserializes the entry.
+   *
+   * @return the deserialized entry
+   * @throws IOException if the operation fails
+   */
+  @Benchmark
+  public JournalEntry deserialize() throws IOException {
+    return mFormatter.deserialize(new ByteArrayInputStream(mSerialized)).read();
+  }
+}
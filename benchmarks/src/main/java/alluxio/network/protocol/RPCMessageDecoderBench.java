@@ -0,0 +1,112 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+import alluxio.Constants;
+import alluxio.network.protocol.databuffer.DataByteBuffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for decoding frames with {@link RPCMessageDecoder}. The frames are the ones produced
+ * by {@link RPCMessageEncoder} after the frame length has been stripped by the frame decoder.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RPCMessageDecoderBench {
+  private static final int WRITE_PAYLOAD_BYTES = 64 * Constants.KB;
+
+  private RPCMessageDecoder mDecoder;
+  private ByteBuf mReadRequest;
+  private ByteBuf mWriteRequest;
+  private List<Object> mOut;
+
+  /**
+   * Creates a new instance of {@link RPCMessageDecoderBench}.
+   */
+  public RPCMessageDecoderBench() {}
+
+  /**
+   * Encodes the frames to decode.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    mDecoder = new RPCMessageDecoder();
+    mReadRequest = encode(new RPCBlockReadRequest(1L, 0L, Constants.MB, 2L, 3L));
+    ByteBuffer payload = ByteBuffer.allocate(WRITE_PAYLOAD_BYTES);
+    mWriteRequest = encode(new RPCBlockWriteRequest(3L, 1L, 0L, WRITE_PAYLOAD_BYTES,
+        new DataByteBuffer(payload, WRITE_PAYLOAD_BYTES)));
+    mOut = new ArrayList<>(1);
+  }
+
+  /**
+   * Decodes a block read request.
+   *
+   * @return the decoded message
+   */
+  @Benchmark
+  public Object decodeReadRequest() {
+    return decode(mReadRequest);
+  }
+
+  /**
+   * Decodes a block write request with its payload.
+   *
+   * @return the decoded message
+   */
+  @Benchmark
+  public Object decodeWriteRequest() {
+    return decode(mWriteRequest);
+  }
+
+  private Object decode(ByteBuf frame) {
+    frame.readerIndex(0);
+    mOut.clear();
+    mDecoder.decode(null, frame, mOut);
+    return mOut.get(0);
+  }
+
+  /**
+   * @param message the message to encode
+   * @return a buffer with the message type, the message and its payload
+   */
+  private static ByteBuf encode(RPCMessage message) {
+    ByteBuf buf = Unpooled.buffer();
+    message.getType().encode(buf);
+    message.encode(buf);
+    if (message.hasPayload()) {
+      buf.writeBytes(message.getPayloadDataBuffer().getReadOnlyByteBuffer());
+    }
+    return buf;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.master.block.BlockId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks for locking and unlocking blocks through {@link BlockLockManager}. Run with
+ * {@code -t <threads>} to measure contention between sessions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockLockManagerBench {
+  /** The number of distinct blocks locked by the benchmark threads. */
+  @Param({"1", "1024"})
+  public int mNumBlocks;
+
+  private BlockLockManager mLockManager;
+  private final AtomicLong mNextSessionId = new AtomicLong();
+
+  /**
+   * Creates a new instance of {@link BlockLockManagerBench}.
+   */
+  public BlockLockManagerBench() {}
+
+  /**
+   * Creates the lock manager.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    mLockManager = new BlockLockManager();
+  }
+
+  /**
+   * The session of a benchmark thread, and the next block it locks.
+   */
+  @State(Scope.Thread)
+  public static class Session {
+    private long mSessionId;
+    private long mNextBlock;
+
+    /**
+     * Creates a new session state.
+     */
+    public Session() {}
+
+    /**
+     * Assigns a unique session id to the thread.
+     *
+     * @param bench the benchmark state
+     */
+    @Setup(Level.Trial)
+    public void setup(BlockLockManagerBench bench) {
+      mSessionId = bench.mNextSessionId.incrementAndGet();
+      mNextBlock = mSessionId;
+    }
+
+    /**
+     * Returns the id of the next block to lock. Like the blocks of files, the ids are made of a
+     * container id and a sequence number, here the first blocks of different files.
+     *
+     * @param numBlocks the number of distinct blocks
+     * @return the id of the next block to lock
+     */
+    private long nextBlockId(int numBlocks) {
+      return BlockId.createBlockId(mNextBlock++ % numBlocks, 0);
+    }
+  }
+
+  /**
+   * Acquires and releases a read lock.
+   *
+   * @param session the session of the benchmark thread
+   * @return the lock id
+   * @throws Exception if the operation fails
+   */
+  @Benchmark
+  public long readLock(Session session) throws Exception {
+    long lockId = mLockManager.lockBlock(session.mSessionId, session.nextBlockId(mNumBlocks),
+        BlockLockType.READ);
+    mLockManager.unlockBlock(lockId);
+    return lockId;
+  }
+
+  /**
+   * Acquires and releases a write lock.
+   *
+   * @param session the session of the benchmark thread
+   * @return the lock id
+   * @throws Exception if the operation fails
+   */
+  @Benchmark
+  public long writeLock(Session session) throws Exception {
+    long lockId = mLockManager.lockBlock(session.mSessionId, session.nextBlockId(mNumBlocks),
+        BlockLockType.WRITE);
+    mLockManager.unlockBlock(lockId);
+    return lockId;
+  }
+}
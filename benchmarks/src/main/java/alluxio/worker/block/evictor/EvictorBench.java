@@ -0,0 +1,124 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.evictor;
+
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.PropertyKeyFormat;
+import alluxio.util.io.FileUtils;
+import alluxio.worker.block.BlockMetadataManager;
+import alluxio.worker.block.BlockMetadataManagerView;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.allocator.Allocator;
+import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.StorageDir;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for planning evictions with
+ * {@link Evictor#freeSpaceWithView(long, BlockStoreLocation, BlockMetadataManagerView)} on a
+ * single full storage directory. Block metadata is added directly, so no block files are written.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EvictorBench {
+  private static final long BLOCK_SIZE = Constants.KB;
+  /** The number of blocks that each eviction plan needs to free. */
+  private static final int BLOCKS_TO_FREE = 16;
+
+  /** The simple class name of the evictor under test. */
+  @Param({"LRUEvictor", "LRFUEvictor", "GreedyEvictor", "PartialLRUEvictor"})
+  public String mEvictorClass;
+
+  /** The number of blocks in the storage directory. */
+  @Param({"1000", "100000"})
+  public int mNumBlocks;
+
+  private String mBaseFolder;
+  private Evictor mEvictor;
+  private BlockMetadataManagerView mView;
+
+  /**
+   * Creates a new instance of {@link EvictorBench}.
+   */
+  public EvictorBench() {}
+
+  /**
+   * Creates a single-tier block metadata manager which is filled with blocks, and the evictor.
+   *
+   * @throws Exception if the benchmark state cannot be set up
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    mBaseFolder = Files.createTempDirectory("EvictorBench").toString();
+    Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVELS, 1);
+    Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_ALIAS_FORMAT.format(0), "MEM");
+    Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_DIRS_PATH_FORMAT.format(0),
+        mBaseFolder);
+    Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_DIRS_QUOTA_FORMAT.format(0),
+        mNumBlocks * BLOCK_SIZE);
+    Configuration.set(PropertyKey.WORKER_EVICTOR_CLASS,
+        Evictor.class.getPackage().getName() + "." + mEvictorClass);
+
+    BlockMetadataManager metaManager = BlockMetadataManager.createBlockMetadataManager();
+    StorageDir dir = metaManager.getTier("MEM").getDir(0);
+    for (long blockId = 0; blockId < mNumBlocks; blockId++) {
+      dir.addBlockMeta(new BlockMeta(blockId, BLOCK_SIZE, dir));
+    }
+    mView = new BlockMetadataManagerView(metaManager, Collections.<Long>emptySet(),
+        Collections.<Long>emptySet());
+    mEvictor = Evictor.Factory.create(mView, Allocator.Factory.create(mView));
+  }
+
+  /**
+   * Removes the storage directory.
+   *
+   * @throws Exception if the benchmark state cannot be cleaned up
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    FileUtils.deletePathRecursively(mBaseFolder);
+  }
+
+  /**
+   * Plans an eviction which frees a fixed number of blocks from the full directory.
+   *
+   * @return the eviction plan
+   */
+  @Benchmark
+  public EvictionPlan freeSpaceWithView() {
+    return mEvictor.freeSpaceWithView(BLOCKS_TO_FREE * BLOCK_SIZE, BlockStoreLocation.anyTier(),
+        mView);
+  }
+}
@@ -0,0 +1,23 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * The part of the Alluxio Hadoop {@link org.apache.hadoop.fs.FileSystem} which depends on the
+ * major version of Hadoop. This source is only compiled against Hadoop 1.x, which has no listings
+ * of located file statuses, so nothing is added to {@link org.apache.hadoop.fs.FileSystem}. The
+ * Hadoop 2.x version is in src/main/hadoop-2.
+ */
+@NotThreadSafe
+abstract class HadoopVersionFileSystem extends org.apache.hadoop.fs.FileSystem {}
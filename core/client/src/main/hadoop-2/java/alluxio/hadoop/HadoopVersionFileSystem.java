@@ -0,0 +1,126 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import alluxio.PropertyKey;
+import alluxio.client.file.URIStatus;
+
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
+import org.apache.hadoop.fs.RemoteIterator;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * The part of the Alluxio Hadoop {@link org.apache.hadoop.fs.FileSystem} which only exists in
+ * Hadoop 2.x. This source is only compiled against Hadoop 2.x, the Hadoop 1.x build uses the
+ * version in src/main/hadoop-1 instead.
+ *
+ * The listings of located file statuses use the block locations returned by the listing RPCs
+ * themselves, so listing the input files of a job takes one RPC per
+ * {@link PropertyKey#USER_FILE_LIST_STATUS_BATCH_SIZE} files rather than one RPC per file and per
+ * directory.
+ */
+@NotThreadSafe
+abstract class HadoopVersionFileSystem extends org.apache.hadoop.fs.FileSystem {
+  @Override
+  protected RemoteIterator<LocatedFileStatus> listLocatedStatus(Path path, PathFilter filter)
+      throws IOException {
+    return new LocatedStatusIterator(listStatusIterator(path, false, false), filter);
+  }
+
+  @Override
+  public RemoteIterator<LocatedFileStatus> listFiles(Path path, boolean recursive)
+      throws IOException {
+    return new LocatedStatusIterator(listStatusIterator(path, true, recursive), null);
+  }
+
+  /**
+   * Lists the children of a path, or all its descendants, with their block locations.
+   *
+   * @param path the path to list
+   * @param filesOnly whether to only return files
+   * @param recursive whether to return all the descendants of the path instead of its children
+   * @return an iterator over the statuses, fetching them from the master in batches
+   * @throws IOException if the path cannot be listed
+   */
+  abstract ListStatusIterator listStatusIterator(Path path, boolean filesOnly, boolean recursive)
+      throws IOException;
+
+  /**
+   * @param status the status of a path
+   * @return the Hadoop {@link FileStatus} of the path
+   */
+  abstract FileStatus toFileStatus(URIStatus status);
+
+  /**
+   * @param status the status of a path, listed with its block locations
+   * @return the Hadoop {@link BlockLocation}s of all the blocks of the path, or null for a
+   *         directory
+   */
+  abstract BlockLocation[] toBlockLocations(URIStatus status);
+
+  /**
+   * Converts the statuses of a listing to located file statuses, leaving out the paths which are
+   * not accepted by a filter.
+   */
+  @NotThreadSafe
+  private final class LocatedStatusIterator implements RemoteIterator<LocatedFileStatus> {
+    private final ListStatusIterator mStatuses;
+    /** The filter of the returned paths, or null to return all the paths. */
+    private final PathFilter mFilter;
+    private LocatedFileStatus mNext;
+
+    /**
+     * Creates a new {@link LocatedStatusIterator}.
+     *
+     * @param statuses the statuses of the listing
+     * @param filter the filter of the returned paths, or null to return all the paths
+     */
+    private LocatedStatusIterator(ListStatusIterator statuses, PathFilter filter) {
+      mStatuses = statuses;
+      mFilter = filter;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+      while (mNext == null) {
+        if (!mStatuses.hasNext()) {
+          return false;
+        }
+        URIStatus status = mStatuses.next();
+        LocatedFileStatus locatedStatus =
+            new LocatedFileStatus(toFileStatus(status), toBlockLocations(status));
+        if (mFilter == null || mFilter.accept(locatedStatus.getPath())) {
+          mNext = locatedStatus;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public LocatedFileStatus next() throws IOException {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      LocatedFileStatus next = mNext;
+      mNext = null;
+      return next;
+    }
+  }
+}
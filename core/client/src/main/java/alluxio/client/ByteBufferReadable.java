@@ -0,0 +1,44 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Stream that permits reading into a {@link ByteBuffer}, so that data can be filled into direct
+ * buffers without copying it through an intermediate byte array.
+ */
+public interface ByteBufferReadable {
+  /**
+   * Reads up to {@code buffer.remaining()} bytes into the buffer, starting at its current position.
+   * The position of the buffer is advanced by the number of bytes read.
+   *
+   * @param buffer destination buffer
+   * @return actual number of bytes read; -1 means "EOF";
+   * @throws IOException IO problems
+   */
+  int read(ByteBuffer buffer) throws IOException;
+
+  /**
+   * Reads up to {@code buffer.remaining()} bytes into the buffer from a given position within a
+   * file. The position of the buffer is advanced by the number of bytes read. This does not change
+   * the current offset of a file, and has the same thread safety requirement as
+   * {@link PositionedReadable#positionedRead(long, byte[], int, int)}.
+   *
+   * @param position position within file
+   * @param buffer destination buffer
+   * @return actual number of bytes read; -1 means "EOF";
+   * @throws IOException IO problems
+   */
+  int positionedRead(long position, ByteBuffer buffer) throws IOException;
+}
@@ -37,7 +37,6 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -51,7 +50,6 @@ public final class AlluxioBlockStore {
 
   private final FileSystemContext mContext;
   private String mLocalHostName;
-  private Random mRandom;
 
   /**
    * Creates an Alluxio block store with default file system context and default local host name.
@@ -82,7 +80,6 @@ public final class AlluxioBlockStore {
   public AlluxioBlockStore(FileSystemContext context, String localHostName) {
     mContext = context;
     mLocalHostName = localHostName;
-    mRandom = new Random();
   }
 
   /**
@@ -119,23 +116,74 @@ public final class AlluxioBlockStore {
   }
 
   /**
-   * Gets a stream to read the data of a block. The stream is backed by Alluxio storage.
+   * Gets a stream to read the data of a block. The stream is backed by Alluxio storage. The block
+   * locations are looked up in the {@link BlockLocationCache} of the context, and fetched from the
+   * master if they are not cached.
    *
    * @param blockId the block to read from
    * @param options the options
    * @return an {@link InputStream} which can be used to read the data in a streaming fashion
    * @throws IOException if the block does not exist
    */
-  public InputStream getInStream(long blockId, InStreamOptions options)
+  public InputStream getInStream(long blockId, InStreamOptions options) throws IOException {
+    BlockInfo blockInfo = mContext.getBlockLocationCache().get(blockId);
+    if (blockInfo != null) {
+      return getInStream(blockInfo, options);
+    }
+    return openInStream(blockId, getInfoFromMaster(blockId), options);
+  }
+
+  /**
+   * Gets a stream to read the data of a block whose info is already known to the caller, for
+   * example from the {@link alluxio.client.file.URIStatus} of its file. The master is only
+   * contacted if the given info has no location, or if the block cannot be opened from the given
+   * locations.
+   *
+   * @param blockInfo the info of the block to read from
+   * @param options the options
+   * @return an {@link InputStream} which can be used to read the data in a streaming fashion
+   * @throws IOException if the block does not exist
+   */
+  public InputStream getInStream(BlockInfo blockInfo, InStreamOptions options)
       throws IOException {
-    BlockInfo blockInfo;
-    try (CloseableResource<BlockMasterClient> masterClientResource =
-        mContext.acquireBlockMasterClientResource()) {
-      blockInfo = masterClientResource.get().getBlockInfo(blockId);
-    } catch (AlluxioException e) {
-      throw new IOException(e);
+    long blockId = blockInfo.getBlockId();
+    if (!blockInfo.getLocations().isEmpty()) {
+      try {
+        return openInStream(blockId, blockInfo, options);
+      } catch (IOException e) {
+        LOG.debug("Failed to open block {} from known locations, refreshing them from master: {}",
+            blockId, e.getMessage());
+      }
     }
+    mContext.getBlockLocationCache().invalidate(blockId);
+    return openInStream(blockId, getInfoFromMaster(blockId), options);
+  }
 
+  /**
+   * Gets the block info of a block from the master, and caches it in the
+   * {@link BlockLocationCache} of the context.
+   *
+   * @param blockId the block id
+   * @return the block info
+   * @throws IOException if the block does not exist
+   */
+  private BlockInfo getInfoFromMaster(long blockId) throws IOException {
+    BlockInfo blockInfo = getInfo(blockId);
+    mContext.getBlockLocationCache().put(blockInfo);
+    return blockInfo;
+  }
+
+  /**
+   * Opens a stream to read a block from one of the given locations.
+   *
+   * @param blockId the block to read from
+   * @param blockInfo the info of the block
+   * @param options the options
+   * @return an {@link InputStream} which can be used to read the data in a streaming fashion
+   * @throws IOException if the block has no location or cannot be opened
+   */
+  private InputStream openInStream(long blockId, BlockInfo blockInfo, InStreamOptions options)
+      throws IOException {
     if (blockInfo.getLocations().isEmpty()) {
       throw new IOException("Block " + blockId + " is not available in Alluxio");
     }
@@ -162,11 +210,13 @@ public final class AlluxioBlockStore {
         }
       }
     }
-    // No local worker/block, choose a random location. In the future we could change this to
-    // only randomize among locations in the highest tier, or have the master randomize the order.
+    // No local worker/block, let the read location policy choose among the locations.
     List<BlockLocation> locations = blockInfo.getLocations();
-    WorkerNetAddress workerNetAddress =
-        locations.get(mRandom.nextInt(locations.size())).getWorkerAddress();
+    WorkerNetAddress workerNetAddress = options.getReadLocationPolicy()
+        .getWorkerForRead(blockId, locations, mContext.getInflightReadTracker());
+    if (workerNetAddress == null) {
+      throw new IOException(ExceptionMessage.NO_WORKER_AVAILABLE.getMessage());
+    }
     return StreamFactory
         .createRemoteBlockInStream(mContext, blockId, blockInfo.getLength(), workerNetAddress,
             options);
@@ -0,0 +1,110 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.wire.BlockInfo;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A client-side cache of block metadata fetched from the block master, so that opening the same
+ * block repeatedly does not cost a master RPC each time. Entries expire after
+ * {@link PropertyKey#USER_BLOCK_LOCATION_CACHE_TTL_MS}; a non-positive TTL disables the cache.
+ *
+ * Cached locations may be stale, so callers should invalidate a block whose cached locations fail
+ * to serve it, and fall back to the master.
+ */
+@ThreadSafe
+public final class BlockLocationCache {
+  /** Max number of blocks in the cache. */
+  private static final long MAX_SIZE = 100000;
+
+  /** The cached block infos, or null if the cache is disabled. */
+  private final Cache<Long, BlockInfo> mCache;
+
+  /**
+   * Creates a new {@link BlockLocationCache} with the TTL from the configuration.
+   */
+  public BlockLocationCache() {
+    this(Configuration.getLong(PropertyKey.USER_BLOCK_LOCATION_CACHE_TTL_MS));
+  }
+
+  /**
+   * Creates a new {@link BlockLocationCache}.
+   *
+   * @param ttlMs the time in milliseconds after which an entry expires, non-positive to disable
+   *        the cache
+   */
+  public BlockLocationCache(long ttlMs) {
+    if (ttlMs > 0) {
+      mCache = CacheBuilder.newBuilder()
+          .maximumSize(MAX_SIZE)
+          .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+          .build();
+    } else {
+      mCache = null;
+    }
+  }
+
+  /**
+   * @param blockId the block id
+   * @return the cached info of the block, or null if it is not cached
+   */
+  public BlockInfo get(long blockId) {
+    if (mCache == null) {
+      return null;
+    }
+    return mCache.getIfPresent(blockId);
+  }
+
+  /**
+   * Caches the info of a block. Blocks without any location are not cached, since they have to be
+   * looked up again before they can be read.
+   *
+   * @param blockInfo the block info to cache
+   */
+  public void put(BlockInfo blockInfo) {
+    Preconditions.checkNotNull(blockInfo);
+    if (mCache == null || blockInfo.getLocations().isEmpty()) {
+      return;
+    }
+    mCache.put(blockInfo.getBlockId(), blockInfo);
+  }
+
+  /**
+   * Removes a block from the cache.
+   *
+   * @param blockId the block id
+   */
+  public void invalidate(long blockId) {
+    if (mCache != null) {
+      mCache.invalidate(blockId);
+    }
+  }
+
+  /**
+   * Removes all blocks from the cache.
+   */
+  public void invalidateAll() {
+    if (mCache != null) {
+      mCache.invalidateAll();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block;
+
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks the number of block reads each worker is currently serving for a client, so that read
+ * location policies can steer new reads away from busy workers.
+ */
+@ThreadSafe
+public final class InflightReadTracker {
+  private final ConcurrentHashMap<WorkerNetAddress, AtomicInteger> mInflightReads =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new {@link InflightReadTracker}.
+   */
+  public InflightReadTracker() {}
+
+  /**
+   * Records the start of a read from a worker. The read ends when the returned resource is closed.
+   *
+   * @param address the address of the worker serving the read
+   * @return a resource which ends the read when closed, closing it more than once has no effect
+   */
+  public Closeable track(WorkerNetAddress address) {
+    Preconditions.checkNotNull(address);
+    AtomicInteger count = mInflightReads.get(address);
+    if (count == null) {
+      AtomicInteger newCount = new AtomicInteger();
+      count = mInflightReads.putIfAbsent(address, newCount);
+      if (count == null) {
+        count = newCount;
+      }
+    }
+    count.incrementAndGet();
+    final AtomicInteger trackedCount = count;
+    final AtomicBoolean closed = new AtomicBoolean(false);
+    return new Closeable() {
+      @Override
+      public void close() {
+        if (closed.compareAndSet(false, true)) {
+          trackedCount.decrementAndGet();
+        }
+      }
+    };
+  }
+
+  /**
+   * @param address the address of a worker
+   * @return the number of reads the worker is currently serving
+   */
+  public int getInflightReads(WorkerNetAddress address) {
+    AtomicInteger count = mInflightReads.get(address);
+    return count == null ? 0 : count.get();
+  }
+}
@@ -67,6 +67,7 @@ public final class RemoteBlockInStream extends BufferedBlockInStream implements
       throws IOException {
     Closer closer = Closer.create();
     try {
+      closer.register(context.getInflightReadTracker().track(workerNetAddress));
       BlockWorkerClient client = closer.register(context.createBlockWorkerClient(workerNetAddress));
       LockBlockResult result =
           closer.register(client.lockBlock(blockId, LockBlockOptions.defaults())).getResult();
@@ -0,0 +1,74 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.annotation.PublicApi;
+import alluxio.client.block.InflightReadTracker;
+import alluxio.util.CommonUtils;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Throwables;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Interface for the location policy of which worker to read a block from, when the block is
+ * cached in Alluxio but not on the local worker. A policy must have an empty constructor and be
+ * thread safe, since a single instance may serve many concurrent reads.
+ * </p>
+ *
+ * <p>
+ * The policy is configured by {@link PropertyKey#USER_BLOCK_READ_LOCATION_POLICY}, or set per
+ * stream in {@link alluxio.client.file.options.InStreamOptions}.
+ * </p>
+ */
+@PublicApi
+public interface BlockReadLocationPolicy {
+
+  /**
+   * The factory for the {@link BlockReadLocationPolicy}.
+   */
+  class Factory {
+    private Factory() {} // prevent instantiation
+
+    /**
+     * Creates the {@link BlockReadLocationPolicy} set by
+     * {@link PropertyKey#USER_BLOCK_READ_LOCATION_POLICY}.
+     *
+     * @return a new instance of {@link BlockReadLocationPolicy}
+     */
+    public static BlockReadLocationPolicy create() {
+      try {
+        return CommonUtils.createNewClassInstance(
+            Configuration.<BlockReadLocationPolicy>getClass(
+                PropertyKey.USER_BLOCK_READ_LOCATION_POLICY), new Class[] {}, new Object[] {});
+      } catch (Exception e) {
+        throw Throwables.propagate(e);
+      }
+    }
+  }
+
+  /**
+   * Gets the worker to read a block from.
+   *
+   * @param blockId the id of the block to read
+   * @param locations the locations of the block, sorted by tier with the highest tier first
+   * @param inflightReads the reads which each worker is currently serving for this client
+   * @return the address of the worker to read from, null if no worker can be selected
+   */
+  WorkerNetAddress getWorkerForRead(long blockId, List<BlockLocation> locations,
+      InflightReadTracker inflightReads);
+}
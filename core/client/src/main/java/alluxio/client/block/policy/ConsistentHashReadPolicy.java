@@ -0,0 +1,76 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.client.block.InflightReadTracker;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Objects;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.List;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A policy that always reads a block from the same worker among those holding it, so that all
+ * clients direct the reads of a block to one copy and the other copies stay cold. The worker is
+ * chosen by rendezvous hashing of the block id and the worker addresses, so adding or removing a
+ * copy only moves the reads of the blocks whose chosen worker changed.
+ */
+@ThreadSafe
+public final class ConsistentHashReadPolicy implements BlockReadLocationPolicy {
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  /**
+   * Constructs a new {@link ConsistentHashReadPolicy}.
+   */
+  public ConsistentHashReadPolicy() {}
+
+  @Override
+  public WorkerNetAddress getWorkerForRead(long blockId, List<BlockLocation> locations,
+      InflightReadTracker inflightReads) {
+    WorkerNetAddress result = null;
+    long maxWeight = Long.MIN_VALUE;
+    for (BlockLocation location : locations) {
+      WorkerNetAddress address = location.getWorkerAddress();
+      long weight = HASH_FUNCTION.newHasher()
+          .putLong(blockId)
+          .putString(address.getHost(), Charsets.UTF_8)
+          .putInt(address.getDataPort())
+          .hash().asLong();
+      if (result == null || weight > maxWeight) {
+        result = address;
+        maxWeight = weight;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || o instanceof ConsistentHashReadPolicy;
+  }
+
+  @Override
+  public int hashCode() {
+    return 0;
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this).toString();
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.client.block.InflightReadTracker;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Objects;
+
+import java.util.List;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A policy that reads a block from the worker serving the fewest reads for this client. Ties are
+ * broken in favor of the highest tier.
+ */
+@ThreadSafe
+public final class LeastInflightReadPolicy implements BlockReadLocationPolicy {
+
+  /**
+   * Constructs a new {@link LeastInflightReadPolicy}.
+   */
+  public LeastInflightReadPolicy() {}
+
+  @Override
+  public WorkerNetAddress getWorkerForRead(long blockId, List<BlockLocation> locations,
+      InflightReadTracker inflightReads) {
+    WorkerNetAddress result = null;
+    int minInflightReads = Integer.MAX_VALUE;
+    // Locations are sorted by tier, so the first location with the fewest reads is kept.
+    for (BlockLocation location : locations) {
+      WorkerNetAddress address = location.getWorkerAddress();
+      int reads = inflightReads.getInflightReads(address);
+      if (reads < minInflightReads) {
+        result = address;
+        minInflightReads = reads;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || o instanceof LeastInflightReadPolicy;
+  }
+
+  @Override
+  public int hashCode() {
+    return 0;
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this).toString();
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.client.block.InflightReadTracker;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Objects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A policy that reads a block from a random worker among those holding it in the highest tier,
+ * so that a copy in memory is preferred over copies in lower tiers.
+ */
+@ThreadSafe
+public final class TierFirstReadPolicy implements BlockReadLocationPolicy {
+
+  /**
+   * Constructs a new {@link TierFirstReadPolicy}.
+   */
+  public TierFirstReadPolicy() {}
+
+  @Override
+  public WorkerNetAddress getWorkerForRead(long blockId, List<BlockLocation> locations,
+      InflightReadTracker inflightReads) {
+    if (locations.isEmpty()) {
+      return null;
+    }
+    String topTier = locations.get(0).getTierAlias();
+    List<WorkerNetAddress> candidates = new ArrayList<>();
+    for (BlockLocation location : locations) {
+      if (Objects.equal(topTier, location.getTierAlias())) {
+        candidates.add(location.getWorkerAddress());
+      }
+    }
+    return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || o instanceof TierFirstReadPolicy;
+  }
+
+  @Override
+  public int hashCode() {
+    return 0;
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this).toString();
+  }
+}
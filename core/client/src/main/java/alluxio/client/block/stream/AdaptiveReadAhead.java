@@ -0,0 +1,76 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Detects sequential reads of a stream and sizes its read-ahead window accordingly.
+ *
+ * A read is sequential if it starts where the previous read ended. Once a run of sequential reads
+ * is detected, the window grows with the number of bytes read in the run, up to a maximum, so that
+ * long scans read further and further ahead. A read at any other position ends the run, which
+ * turns read-ahead off until the reads are sequential again.
+ */
+@NotThreadSafe
+public final class AdaptiveReadAhead {
+  /** The minimum number of reads in a run before the reads are considered sequential. */
+  private static final int MIN_SEQUENTIAL_READS = 2;
+
+  private final long mMaxWindowBytes;
+
+  /** The position the next sequential read starts at. */
+  private long mNextPos;
+  /** The number of reads in the current run. */
+  private int mSequentialReads;
+  /** The number of bytes read in the current run. */
+  private long mSequentialBytes;
+
+  /**
+   * Creates a new instance of {@link AdaptiveReadAhead}.
+   *
+   * @param startPos the position the stream starts reading at
+   * @param maxWindowBytes the maximum read-ahead window in bytes, 0 disables read-ahead
+   */
+  public AdaptiveReadAhead(long startPos, long maxWindowBytes) {
+    mNextPos = startPos;
+    mMaxWindowBytes = maxWindowBytes;
+  }
+
+  /**
+   * Records a read of the stream.
+   *
+   * @param pos the position the read started at
+   * @param len the number of bytes read
+   */
+  public void onRead(long pos, long len) {
+    if (pos == mNextPos) {
+      mSequentialReads++;
+      mSequentialBytes += len;
+    } else {
+      mSequentialReads = 1;
+      mSequentialBytes = len;
+    }
+    mNextPos = pos + len;
+  }
+
+  /**
+   * @return the number of bytes to read ahead of the stream position, 0 if the stream is not read
+   *         sequentially
+   */
+  public long getWindowBytes() {
+    if (mSequentialReads < MIN_SEQUENTIAL_READS) {
+      return 0;
+    }
+    return Math.min(mSequentialBytes, mMaxWindowBytes);
+  }
+}
@@ -15,6 +15,7 @@ import alluxio.Configuration;
 import alluxio.PropertyKey;
 import alluxio.Seekable;
 import alluxio.client.BoundedStream;
+import alluxio.client.ByteBufferReadable;
 import alluxio.client.Locatable;
 import alluxio.client.PositionedReadable;
 import alluxio.client.block.AlluxioBlockStore;
@@ -37,6 +38,7 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -54,7 +56,7 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 public final class BlockInStream extends FilterInputStream implements BoundedStream, Seekable,
-    PositionedReadable, Locatable {
+    PositionedReadable, ByteBufferReadable, Locatable {
   /** Helper to manage closeables. */
   private final Closer mCloser;
   private final BlockWorkerClient mBlockWorkerClient;
@@ -110,6 +112,7 @@ public final class BlockInStream extends FilterInputStream implements BoundedStr
     throws IOException {
     Closer closer = Closer.create();
     try {
+      closer.register(context.getInflightReadTracker().track(workerNetAddress));
       BlockWorkerClient blockWorkerClient =
           closer.register(context.createBlockWorkerClient(workerNetAddress));
       LockBlockResource lockBlockResource =
@@ -205,11 +208,31 @@ public final class BlockInStream extends FilterInputStream implements BoundedStr
     mInputStream.seek(pos);
   }
 
+  @Override
+  public int read(ByteBuffer buf) throws IOException {
+    return mInputStream.read(buf);
+  }
+
   @Override
   public int positionedRead(long pos, byte[] b, int off, int len) throws IOException {
     return mInputStream.positionedRead(pos, b, off, len);
   }
 
+  @Override
+  public int positionedRead(long pos, ByteBuffer buf) throws IOException {
+    return mInputStream.positionedRead(pos, buf);
+  }
+
+  /**
+   * Reads ahead of the stream position, see {@link PacketInStream#readAhead(long)}.
+   *
+   * @param bytes the number of bytes to read ahead
+   * @throws IOException if it fails to start reading
+   */
+  public void readAhead(long bytes) throws IOException {
+    mInputStream.readAhead(bytes);
+  }
+
   @Override
   public InetSocketAddress location() {
     return mBlockWorkerClient.getDataServerAddress();
@@ -14,24 +14,40 @@ package alluxio.client.block.stream;
 import alluxio.Configuration;
 import alluxio.PropertyKey;
 import alluxio.network.protocol.databuffer.DataBuffer;
-import alluxio.network.protocol.databuffer.DataByteBuffer;
-import alluxio.worker.block.io.LocalFileBlockReader;
+import alluxio.network.protocol.databuffer.DataNettyBufferV2;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.Closer;
+import io.netty.buffer.Unpooled;
 
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
- * A packet reader that simply reads packets from a local file.
+ * A packet reader that simply reads packets from a local file. The file is memory-mapped in large
+ * regions, and each packet is a slice of a region. Readers created by a {@link Factory} share the
+ * regions through the {@link MappedRegionCache} until the factory is closed.
  */
 @NotThreadSafe
 public final class LocalFilePacketReader implements PacketReader {
   private static final long LOCAL_READ_PACKET_SIZE =
       Configuration.getBytes(PropertyKey.USER_LOCAL_READER_PACKET_SIZE_BYTES);
-
-  /** The file reader to read a local block. */
-  private final LocalFileBlockReader mReader;
+  private static final long MMAP_REGION_SIZE =
+      Configuration.getBytes(PropertyKey.USER_LOCAL_READER_MMAP_REGION_SIZE_BYTES);
+
+  /** The path of the local block file. */
+  private final String mPath;
+  /** The cache of mapped regions. */
+  private final MappedRegionCache mRegionCache;
+  private final Closer mCloser = Closer.create();
+  /** The channel of the local block file, only opened when a region needs to be mapped. */
+  private FileChannel mChannel;
+  /** The region the current packet is read from. */
+  private MappedRegionCache.Region mRegion;
 
   private long mPos;
   private final long mEnd;
@@ -39,12 +55,16 @@ public final class LocalFilePacketReader implements PacketReader {
   /**
    * Creates an instance of {@link LocalFilePacketReader}.
    *
-   * @param reader the local file block reader
+   * @param path the local block file path
    * @param offset the offset
    * @param len the length to read
    */
-  public LocalFilePacketReader(LocalFileBlockReader reader, long offset, long len) {
-    mReader = reader;
+  public LocalFilePacketReader(String path, long offset, long len) {
+    Preconditions.checkState(MMAP_REGION_SIZE > 0 && MMAP_REGION_SIZE <= Integer.MAX_VALUE,
+        "%s must be positive and at most 2GB",
+        PropertyKey.USER_LOCAL_READER_MMAP_REGION_SIZE_BYTES);
+    mPath = Preconditions.checkNotNull(path);
+    mRegionCache = MappedRegionCache.INSTANCE;
     mPos = offset;
     mEnd = offset + len;
   }
@@ -54,8 +74,14 @@ public final class LocalFilePacketReader implements PacketReader {
     if (mPos >= mEnd) {
       return null;
     }
-    ByteBuffer buffer = mReader.read(mPos, Math.min(LOCAL_READ_PACKET_SIZE, mEnd - mPos));
-    DataBuffer dataBuffer = new DataByteBuffer(buffer, buffer.remaining());
+    MappedRegionCache.Region region = getRegion(mPos);
+    // A packet does not span regions, so it may be shorter than the packet size.
+    long length = Math.min(Math.min(LOCAL_READ_PACKET_SIZE, mEnd - mPos),
+        region.getOffset() + region.getLength() - mPos);
+    ByteBuffer buffer = region.slice(mPos, (int) length);
+    // The packet is released before the reader is closed, so the region is still mapped while the
+    // packet is read.
+    DataBuffer dataBuffer = new DataNettyBufferV2(Unpooled.wrappedBuffer(buffer));
     mPos += dataBuffer.getLength();
     return dataBuffer;
   }
@@ -65,16 +91,63 @@ public final class LocalFilePacketReader implements PacketReader {
     return mPos;
   }
 
+  @Override
+  public void setReadAheadBytes(long bytes) {
+    // Packets are sliced from mapped regions on demand, there is nothing to read ahead.
+  }
+
   @Override
   public void close() throws IOException {
-    mReader.close();
+    try {
+      if (mRegion != null) {
+        mRegion.release();
+        mRegion = null;
+      }
+    } finally {
+      mCloser.close();
+    }
+  }
+
+  /**
+   * Gets the mapped region containing a position in the file, mapping it if it is not cached.
+   *
+   * @param pos the position in the file
+   * @return the region
+   * @throws IOException if the file cannot be mapped
+   */
+  private MappedRegionCache.Region getRegion(long pos) throws IOException {
+    long offset = pos - pos % MMAP_REGION_SIZE;
+    if (mRegion != null) {
+      if (mRegion.getOffset() == offset) {
+        return mRegion;
+      }
+      mRegion.release();
+      mRegion = null;
+    }
+    MappedRegionCache.Region region = mRegionCache.acquire(mPath, offset);
+    if (region == null) {
+      if (mChannel == null) {
+        mChannel = mCloser.register(
+            mCloser.register(new RandomAccessFile(mPath, "r")).getChannel());
+      }
+      long length = Math.min(MMAP_REGION_SIZE, mChannel.size() - offset);
+      Preconditions.checkState(length > 0, "offset=%s exceeds the length of file %s", offset,
+          mPath);
+      region = mRegionCache.put(mPath, offset,
+          mChannel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+    }
+    mRegion = region;
+    return region;
   }
 
   /**
-   * Factory class to create {@link LocalFilePacketReader}s.
+   * Factory class to create {@link LocalFilePacketReader}s. The file is open in the
+   * {@link MappedRegionCache} from the creation of the factory until it is closed, which must
+   * happen before the lock of the block is released.
    */
   public static class Factory implements PacketReader.Factory {
     private final String mPath;
+    private boolean mClosed;
 
     /**
      * Creates an instance of {@link Factory}.
@@ -83,17 +156,26 @@ public final class LocalFilePacketReader implements PacketReader {
      */
     public Factory(String path) {
       mPath = path;
+      MappedRegionCache.INSTANCE.openFile(path);
     }
 
     @Override
     public PacketReader create(long offset, long len) throws IOException {
-      return new LocalFilePacketReader(new LocalFileBlockReader(mPath), offset, len);
+      return new LocalFilePacketReader(mPath, offset, len);
     }
 
     @Override
     public boolean isShortCircuit() {
       return true;
     }
+
+    @Override
+    public void close() {
+      if (!mClosed) {
+        mClosed = true;
+        MappedRegionCache.INSTANCE.closeFile(mPath);
+      }
+    }
   }
 }
 
@@ -0,0 +1,287 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A process-wide LRU cache of memory-mapped regions of local block files. Seeks and positioned
+ * reads within a block, and concurrent streams of the same block, reuse its mapped regions instead
+ * of mapping the file again.
+ *
+ * Regions of a file are only cached while the file is open through {@link #openFile(String)},
+ * i.e. while a stream holds the lock of the block. Once the last stream closes the file, its
+ * regions are dropped from the cache, so that the mappings do not keep the blocks which the
+ * worker evicts or deletes afterwards.
+ *
+ * Regions are reference counted: the cache holds one reference to each cached region, and every
+ * reader holds one reference to each region it reads from. A region is unmapped as soon as it is
+ * dropped from the cache and released by all readers, so that its native memory is reclaimed
+ * without waiting for garbage collection.
+ */
+@ThreadSafe
+final class MappedRegionCache {
+  /** The cache shared by all local packet readers in this process. */
+  static final MappedRegionCache INSTANCE = new MappedRegionCache(
+      Configuration.getBytes(PropertyKey.USER_LOCAL_READER_MMAP_CACHE_SIZE_BYTES));
+
+  /** The maximum number of bytes of mapped regions to cache. */
+  private final long mCapacityBytes;
+  /** Cached regions in access order. */
+  @GuardedBy("this")
+  private final LinkedHashMap<RegionKey, Region> mRegions = new LinkedHashMap<>(16, 0.75f, true);
+  /** The open files by path. */
+  @GuardedBy("this")
+  private final Map<String, OpenFile> mOpenFiles = new HashMap<>();
+  /** The number of bytes of cached regions. */
+  @GuardedBy("this")
+  private long mCachedBytes;
+
+  /**
+   * Creates a new instance of {@link MappedRegionCache}.
+   *
+   * @param capacityBytes the maximum number of bytes of mapped regions to cache
+   */
+  MappedRegionCache(long capacityBytes) {
+    mCapacityBytes = capacityBytes;
+  }
+
+  /**
+   * Opens a file, so that its regions are cached until it is closed as many times as it is
+   * opened. The caller must hold the lock of the block of the file until it closes the file.
+   *
+   * @param path the path of the file
+   */
+  synchronized void openFile(String path) {
+    OpenFile file = mOpenFiles.get(path);
+    if (file == null) {
+      file = new OpenFile();
+      mOpenFiles.put(path, file);
+    }
+    file.mRefCount++;
+  }
+
+  /**
+   * Closes a file. Once the file is closed as many times as it was opened, its regions are
+   * dropped from the cache, and unmapped when released by all readers.
+   *
+   * @param path the path of the file
+   */
+  void closeFile(String path) {
+    List<Region> dropped = new ArrayList<>();
+    synchronized (this) {
+      OpenFile file = mOpenFiles.get(path);
+      Preconditions.checkState(file != null, "File %s is not open", path);
+      if (--file.mRefCount > 0) {
+        return;
+      }
+      mOpenFiles.remove(path);
+      for (long offset : file.mCachedOffsets) {
+        Region region = mRegions.remove(new RegionKey(path, offset));
+        mCachedBytes -= region.getLength();
+        dropped.add(region);
+      }
+    }
+    for (Region region : dropped) {
+      region.release();
+    }
+  }
+
+  /**
+   * Gets a cached region of a file. The region must be released by the caller.
+   *
+   * @param path the path of the file
+   * @param offset the offset of the region in the file
+   * @return the region, or null if it is not cached
+   */
+  synchronized Region acquire(String path, long offset) {
+    Region region = mRegions.get(new RegionKey(path, offset));
+    if (region != null) {
+      // The cache holds a reference to the region, so it cannot have been unmapped.
+      region.mRefCount.incrementAndGet();
+    }
+    return region;
+  }
+
+  /**
+   * Adds a newly mapped region of a file to the cache, if the file is open. If the region was
+   * cached by another reader in the meantime, the given buffer is unmapped and the cached region is
+   * returned instead. The region must be released by the caller.
+   *
+   * @param path the path of the file
+   * @param offset the offset of the region in the file
+   * @param buffer the mapped region
+   * @return the region
+   */
+  synchronized Region put(String path, long offset, MappedByteBuffer buffer) {
+    RegionKey key = new RegionKey(path, offset);
+    Region existing = mRegions.get(key);
+    if (existing != null) {
+      existing.mRefCount.incrementAndGet();
+      BufferUtils.cleanDirectBuffer(buffer);
+      return existing;
+    }
+    Region region = new Region(buffer, offset);
+    OpenFile file = mOpenFiles.get(path);
+    if (file == null || buffer.capacity() > mCapacityBytes) {
+      // The region is not cached, it is unmapped once the caller releases it.
+      return region;
+    }
+    region.mRefCount.incrementAndGet();
+    mRegions.put(key, region);
+    file.mCachedOffsets.add(offset);
+    mCachedBytes += buffer.capacity();
+    Iterator<Map.Entry<RegionKey, Region>> iterator = mRegions.entrySet().iterator();
+    while (mCachedBytes > mCapacityBytes && iterator.hasNext()) {
+      Map.Entry<RegionKey, Region> evicted = iterator.next();
+      iterator.remove();
+      mOpenFiles.get(evicted.getKey().mPath).mCachedOffsets.remove(evicted.getKey().mOffset);
+      mCachedBytes -= evicted.getValue().getLength();
+      evicted.getValue().release();
+    }
+    return region;
+  }
+
+  /**
+   * @return the number of bytes of cached regions
+   */
+  synchronized long getCachedBytes() {
+    return mCachedBytes;
+  }
+
+  /**
+   * A memory-mapped region of a local file.
+   */
+  @ThreadSafe
+  static final class Region {
+    private final MappedByteBuffer mBuffer;
+    private final long mOffset;
+    private final AtomicInteger mRefCount;
+
+    /**
+     * Creates a region referenced by its creator.
+     *
+     * @param buffer the mapped region
+     * @param offset the offset of the region in the file
+     */
+    private Region(MappedByteBuffer buffer, long offset) {
+      mBuffer = buffer;
+      mOffset = offset;
+      mRefCount = new AtomicInteger(1);
+    }
+
+    /**
+     * @return the offset of the region in the file
+     */
+    long getOffset() {
+      return mOffset;
+    }
+
+    /**
+     * @return the length of the region
+     */
+    long getLength() {
+      return mBuffer.capacity();
+    }
+
+    /**
+     * Returns a read-only view of part of the region. The view must not be accessed after the
+     * region is released.
+     *
+     * @param pos the position in the file to start the view at
+     * @param length the length of the view
+     * @return the view
+     */
+    ByteBuffer slice(long pos, int length) {
+      Preconditions.checkArgument(pos >= mOffset && pos + length <= mOffset + getLength(),
+          "pos=%s, length=%s, exceeding region [%s, %s)", pos, length, mOffset,
+          mOffset + getLength());
+      ByteBuffer buffer = mBuffer.asReadOnlyBuffer();
+      buffer.position((int) (pos - mOffset));
+      buffer.limit((int) (pos - mOffset) + length);
+      return buffer.slice();
+    }
+
+    /**
+     * Releases a reference to the region, unmapping it when it is no longer referenced.
+     */
+    void release() {
+      int refCount = mRefCount.decrementAndGet();
+      Preconditions.checkState(refCount >= 0, "Region is released more than once");
+      if (refCount == 0) {
+        BufferUtils.cleanDirectBuffer(mBuffer);
+      }
+    }
+  }
+
+  /**
+   * A file which is open, and the offsets of its cached regions.
+   */
+  private static final class OpenFile {
+    private int mRefCount;
+    private final Set<Long> mCachedOffsets = new HashSet<>();
+  }
+
+  /**
+   * The key of a cached region.
+   */
+  private static final class RegionKey {
+    private final String mPath;
+    private final long mOffset;
+
+    /**
+     * @param path the path of the file
+     * @param offset the offset of the region in the file
+     */
+    private RegionKey(String path, long offset) {
+      mPath = path;
+      mOffset = offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof RegionKey)) {
+        return false;
+      }
+      RegionKey that = (RegionKey) o;
+      return mPath.equals(that.mPath) && mOffset == that.mOffset;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(mPath, mOffset);
+    }
+  }
+}
@@ -33,7 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
@@ -83,7 +83,13 @@ public final class NettyPacketReader implements PacketReader {
   // is to protect mPacketReaderException.
   private final ReentrantLock mLock = new ReentrantLock();
   @GuardedBy("mLock")
-  private final Queue<ByteBuf> mPackets = new LinkedList<>();
+  private final Queue<ByteBuf> mPackets = new ArrayDeque<>();
+  /** The number of bytes in mPackets. */
+  @GuardedBy("mLock")
+  private long mBufferedBytes = 0;
+  /** The number of bytes to buffer beyond MAX_PACKETS_IN_FLIGHT packets when reading ahead. */
+  @GuardedBy("mLock")
+  private long mReadAheadBytes = 0;
   @GuardedBy("mLock")
   private Throwable mPacketReaderException = null;
   /** The condition is met when mPackets.size() > 0 or mPacketReaderException != null. */
@@ -155,6 +161,9 @@ public final class NettyPacketReader implements PacketReader {
           throw new IOException(mPacketReaderException);
         }
         buf = mPackets.poll();
+        if (buf != null) {
+          mBufferedBytes -= buf.readableBytes();
+        }
 
         // TODO(peis): Have a better criteria to resume so that we can have fewer state changes.
         if (!tooManyPacketsPending()) {
@@ -191,6 +200,19 @@ public final class NettyPacketReader implements PacketReader {
     }
   }
 
+  @Override
+  public void setReadAheadBytes(long bytes) {
+    mLock.lock();
+    try {
+      mReadAheadBytes = bytes;
+      if (!tooManyPacketsPending()) {
+        resume();
+      }
+    } finally {
+      mLock.unlock();
+    }
+  }
+
   @Override
   public void close() {
     try {
@@ -256,10 +278,11 @@ public final class NettyPacketReader implements PacketReader {
   }
 
   /**
-   * @return true if there are too many packets pending
+   * @return true if there are too many packets pending, that is at least MAX_PACKETS_IN_FLIGHT
+   *         packets and at least as many bytes as the reader is asked to read ahead
    */
   private boolean tooManyPacketsPending() {
-    return mPackets.size() >= MAX_PACKETS_IN_FLIGHT;
+    return mPackets.size() >= MAX_PACKETS_IN_FLIGHT && mBufferedBytes >= mReadAheadBytes;
   }
 
   /**
@@ -296,6 +319,7 @@ public final class NettyPacketReader implements PacketReader {
           buf = (ByteBuf) dataBuffer.getNettyOutput();
         }
         mPackets.offer(buf);
+        mBufferedBytes += buf.readableBytes();
         mNotEmptyOrFailed.signal();
 
         if (tooManyPacketsPending()) {
@@ -406,6 +430,9 @@ public final class NettyPacketReader implements PacketReader {
     public boolean isShortCircuit() {
       return false;
     }
+
+    @Override
+    public void close() {}
   }
 }
 
@@ -13,6 +13,7 @@ package alluxio.client.block.stream;
 
 import alluxio.Seekable;
 import alluxio.client.BoundedStream;
+import alluxio.client.ByteBufferReadable;
 import alluxio.client.PositionedReadable;
 import alluxio.client.file.FileSystemContext;
 import alluxio.exception.PreconditionMessage;
@@ -25,6 +26,7 @@ import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -34,7 +36,7 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 public final class PacketInStream extends InputStream implements BoundedStream, Seekable,
-    PositionedReadable {
+    PositionedReadable, ByteBufferReadable {
   /** The id of the block or UFS file to which this instream provides access. */
   private final long mId;
   /** The size in bytes of the block. */
@@ -52,6 +54,8 @@ public final class PacketInStream extends InputStream implements BoundedStream,
 
   private boolean mClosed = false;
   private boolean mEOF = false;
+  /** The number of bytes the packet reader may buffer ahead of the reads. */
+  private long mReadAheadBytes = 0;
 
   /**
    * Creates a {@link PacketInStream} to read from a local file.
@@ -122,7 +126,14 @@ public final class PacketInStream extends InputStream implements BoundedStream,
     Preconditions.checkArgument(b != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
     Preconditions.checkArgument(off >= 0 && len >= 0 && len + off <= b.length,
         PreconditionMessage.ERR_BUFFER_STATE.toString(), b.length, off, len);
-    if (len == 0) {
+    return read(ByteBuffer.wrap(b, off, len));
+  }
+
+  @Override
+  public int read(ByteBuffer buf) throws IOException {
+    checkIfClosed();
+    Preconditions.checkArgument(buf != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
+    if (!buf.hasRemaining()) {
       return 0;
     }
 
@@ -134,8 +145,8 @@ public final class PacketInStream extends InputStream implements BoundedStream,
       closePacketReader();
       return -1;
     }
-    int toRead = Math.min(len, mCurrentPacket.readableBytes());
-    mCurrentPacket.readBytes(b, off, toRead);
+    int toRead = Math.min(buf.remaining(), mCurrentPacket.readableBytes());
+    readBytes(mCurrentPacket, buf, toRead);
     mPos += toRead;
     return toRead;
   }
@@ -148,23 +159,31 @@ public final class PacketInStream extends InputStream implements BoundedStream,
     if (pos < 0 || pos >= mLength) {
       return -1;
     }
+    return positionedRead(pos, ByteBuffer.wrap(b, off, len));
+  }
+
+  @Override
+  public int positionedRead(long pos, ByteBuffer buf) throws IOException {
+    int len = buf.remaining();
+    if (len == 0) {
+      return 0;
+    }
+    if (pos < 0 || pos >= mLength) {
+      return -1;
+    }
 
-    int lenCopy = len;
-    try (PacketReader reader = mPacketReaderFactory.create(pos, len)) {
+    try (PacketReader reader = mPacketReaderFactory.create(pos, Math.min(len, mLength - pos))) {
       // We try to read len bytes instead of returning after reading one packet because
       // it is not free to create/close a PacketReader.
-      while (len > 0) {
+      while (buf.hasRemaining()) {
         DataBuffer dataBuffer = null;
         try {
           dataBuffer = reader.readPacket();
           if (dataBuffer == null) {
             break;
           }
-          Preconditions.checkState(dataBuffer.readableBytes() <= len);
-          int toRead = dataBuffer.readableBytes();
-          dataBuffer.readBytes(b, off, toRead);
-          len -= toRead;
-          off += toRead;
+          Preconditions.checkState(dataBuffer.readableBytes() <= buf.remaining());
+          readBytes(dataBuffer, buf, dataBuffer.readableBytes());
         } finally {
           if (dataBuffer != null) {
             dataBuffer.release();
@@ -172,10 +191,10 @@ public final class PacketInStream extends InputStream implements BoundedStream,
         }
       }
     }
-    if (lenCopy == len) {
+    if (len == buf.remaining()) {
       return -1;
     }
-    return lenCopy - len;
+    return len - buf.remaining();
   }
 
   @Override
@@ -199,6 +218,7 @@ public final class PacketInStream extends InputStream implements BoundedStream,
 
     closePacketReader();
     mPos = pos;
+    mReadAheadBytes = 0;
   }
 
   @Override
@@ -212,13 +232,40 @@ public final class PacketInStream extends InputStream implements BoundedStream,
     mPos += toSkip;
 
     closePacketReader();
+    mReadAheadBytes = 0;
     return toSkip;
   }
 
   @Override
   public void close() throws IOException {
-    closePacketReader();
-    mClosed = true;
+    try {
+      closePacketReader();
+    } finally {
+      mClosed = true;
+      mPacketReaderFactory.close();
+    }
+  }
+
+  /**
+   * Reads ahead of the stream position. This starts reading packets if the stream has not started
+   * yet, and lets the packet reader buffer up to the given number of bytes until the next seek.
+   *
+   * @param bytes the number of bytes to read ahead
+   * @throws IOException if it fails to start reading packets
+   */
+  public void readAhead(long bytes) throws IOException {
+    checkIfClosed();
+    if (bytes == mReadAheadBytes && mPacketReader != null) {
+      return;
+    }
+    mReadAheadBytes = bytes;
+    if (mPacketReader == null) {
+      if (mEOF || mPos >= mLength) {
+        return;
+      }
+      mPacketReader = mPacketReaderFactory.create(mPos, mLength - mPos);
+    }
+    mPacketReader.setReadAheadBytes(bytes);
   }
 
   /**
@@ -236,6 +283,9 @@ public final class PacketInStream extends InputStream implements BoundedStream,
   private void readPacket() throws IOException {
     if (mPacketReader == null) {
       mPacketReader = mPacketReaderFactory.create(mPos, mLength - mPos);
+      if (mReadAheadBytes > 0) {
+        mPacketReader.setReadAheadBytes(mReadAheadBytes);
+      }
     }
 
     if (mCurrentPacket != null && mCurrentPacket.readableBytes() == 0) {
@@ -261,6 +311,23 @@ public final class PacketInStream extends InputStream implements BoundedStream,
     mPacketReader = null;
   }
 
+  /**
+   * Transfers bytes from a packet to a buffer.
+   *
+   * @param packet the packet to read from
+   * @param buf the buffer to fill
+   * @param len the number of bytes to transfer
+   */
+  private static void readBytes(DataBuffer packet, ByteBuffer buf, int len) {
+    int limit = buf.limit();
+    buf.limit(buf.position() + len);
+    try {
+      packet.readBytes(buf);
+    } finally {
+      buf.limit(limit);
+    }
+  }
+
   /**
    * Convenience method to ensure the stream is not closed.
    */
@@ -35,9 +35,18 @@ public interface PacketReader extends Closeable {
   long pos();
 
   /**
-   * The factory interface to create {@link PacketReader}s.
+   * Lets the reader buffer up to the given number of bytes ahead of the packets read. Readers which
+   * do not buffer packets ignore this.
+   *
+   * @param bytes the number of bytes to read ahead
+   */
+  void setReadAheadBytes(long bytes);
+
+  /**
+   * The factory interface to create {@link PacketReader}s. The factory is closed when the stream
+   * which uses it is closed, before the block is unlocked.
    */
-  interface Factory {
+  interface Factory extends Closeable {
     /**
      * Creates an instance of {@link PacketReader}.
      *
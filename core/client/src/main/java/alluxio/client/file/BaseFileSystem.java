@@ -34,6 +34,7 @@ import alluxio.exception.ExceptionMessage;
 import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
+import alluxio.wire.FileInfoDetail;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -104,7 +105,7 @@ public class BaseFileSystem implements FileSystem {
     URIStatus status;
     try {
       masterClient.createFile(path, options);
-      status = masterClient.getStatus(path);
+      status = masterClient.getStatus(path, GetStatusOptions.defaults());
       LOG.debug("Created file " + path.getPath());
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
@@ -143,8 +144,9 @@ public class BaseFileSystem implements FileSystem {
       throws InvalidPathException, IOException, AlluxioException {
     FileSystemMasterClient masterClient = mFileSystemContext.acquireMasterClient();
     try {
-      // TODO(calvin): Make this more efficient
-      masterClient.getStatus(path);
+      // Only the existence of the path matters, so skip the block and UFS lookups on the master.
+      masterClient.getStatus(path,
+          GetStatusOptions.defaults().setFileInfoDetail(FileInfoDetail.Basic));
       return true;
     } catch (FileDoesNotExistException | InvalidPathException e) {
       return false;
@@ -182,7 +184,7 @@ public class BaseFileSystem implements FileSystem {
       throws FileDoesNotExistException, IOException, AlluxioException {
     FileSystemMasterClient masterClient = mFileSystemContext.acquireMasterClient();
     try {
-      return masterClient.getStatus(path);
+      return masterClient.getStatus(path, options);
     } catch (FileDoesNotExistException | InvalidPathException e) {
       throw new FileDoesNotExistException(ExceptionMessage.PATH_DOES_NOT_EXIST.getMessage(path));
     } finally {
@@ -18,6 +18,7 @@ import alluxio.Seekable;
 import alluxio.annotation.PublicApi;
 import alluxio.client.AlluxioStorageType;
 import alluxio.client.BoundedStream;
+import alluxio.client.ByteBufferReadable;
 import alluxio.client.Cancelable;
 import alluxio.client.Locatable;
 import alluxio.client.PositionedReadable;
@@ -29,6 +30,8 @@ import alluxio.client.block.StreamFactory;
 import alluxio.client.block.UnderStoreBlockInStream;
 import alluxio.client.block.policy.BlockLocationPolicy;
 import alluxio.client.block.policy.options.GetWorkerOptions;
+import alluxio.client.block.stream.AdaptiveReadAhead;
+import alluxio.client.block.stream.BlockInStream;
 import alluxio.client.file.options.InStreamOptions;
 import alluxio.client.file.options.OutStreamOptions;
 import alluxio.client.file.policy.FileWriteLocationPolicy;
@@ -38,6 +41,8 @@ import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.PreconditionMessage;
 import alluxio.master.block.BlockId;
+import alluxio.wire.BlockInfo;
+import alluxio.wire.FileBlockInfo;
 import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.base.Preconditions;
@@ -47,6 +52,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -63,13 +69,17 @@ import javax.annotation.concurrent.NotThreadSafe;
 @PublicApi
 @NotThreadSafe
 public class FileInStream extends InputStream implements BoundedStream, Seekable,
-    PositionedReadable {
+    PositionedReadable, ByteBufferReadable {
   private static final Logger LOG = LoggerFactory.getLogger(FileInStream.class);
 
   private static final boolean PACKET_STREAMING_ENABLED =
       Configuration.getBoolean(PropertyKey.USER_PACKET_STREAMING_ENABLED);
   private static final boolean PASSIVE_CACHE_ENABLED =
       Configuration.getBoolean(PropertyKey.USER_FILE_PASSIVE_CACHE_ENABLED);
+  private static final long READ_AHEAD_MAX_BYTES =
+      Configuration.getBytes(PropertyKey.USER_FILE_READ_AHEAD_MAX_BYTES);
+  private static final long READ_AHEAD_NEXT_BLOCK_MAX_BYTES =
+      Configuration.getBytes(PropertyKey.USER_FILE_READ_AHEAD_NEXT_BLOCK_MAX_BYTES);
 
   /** The instream options. */
   private final InStreamOptions mInStreamOptions;
@@ -112,7 +122,17 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
   /** The blockId used in the block streams. */
   private long mStreamBlockId;
 
-  /** The read buffer in file seek. This is used in {@link #readCurrentBlockToEnd()}. */
+  /** Detects sequential reads and sizes the read-ahead window. */
+  private final AdaptiveReadAhead mReadAhead;
+  /** The stream of the block after the current one, opened ahead of time by sequential reads. */
+  private InputStream mNextBlockInStream;
+  /** The blockId of {@link #mNextBlockInStream}. */
+  private long mNextBlockId;
+
+  /**
+   * The read buffer in file seek. This is used in {@link #readCurrentBlockToEnd()}, and to read
+   * into buffers without a backing array from block streams which cannot fill them directly.
+   */
   private byte[] mSeekBuffer;
 
   /**
@@ -159,6 +179,7 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     int seekBufferSizeBytes = Math.max((int) options.getSeekBufferSizeBytes(), 1);
     mSeekBuffer = new byte[seekBufferSizeBytes];
     mBlockStore = AlluxioBlockStore.create(context);
+    mReadAhead = new AdaptiveReadAhead(0, READ_AHEAD_MAX_BYTES);
     LOG.debug("Init FileInStream with options {}", options);
   }
 
@@ -174,6 +195,7 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     if (mCurrentBlockInStream != null) {
       mCurrentBlockInStream.close();
     }
+    closeNextBlockInStream();
     closeOrCancelCacheStream();
     mClosed = true;
   }
@@ -193,6 +215,7 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
       return -1;
     }
 
+    mReadAhead.onRead(mPos, 1);
     mPos++;
     if (mCurrentCacheStream != null) {
       try {
@@ -214,85 +237,84 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     Preconditions.checkArgument(b != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
     Preconditions.checkArgument(off >= 0 && len >= 0 && len + off <= b.length,
         PreconditionMessage.ERR_BUFFER_STATE.toString(), b.length, off, len);
+    return read(ByteBuffer.wrap(b, off, len));
+  }
+
+  @Override
+  public int read(ByteBuffer buf) throws IOException {
+    Preconditions.checkArgument(buf != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
+    int len = buf.remaining();
     if (len == 0) {
       return 0;
     } else if (remaining() <= 0) {
       return -1;
     }
 
-    int currentOffset = off;
-    int bytesLeftToRead = len;
-
-    while (bytesLeftToRead > 0 && remaining() > 0) {
+    while (buf.hasRemaining() && remaining() > 0) {
       updateStreams();
       Preconditions.checkNotNull(mCurrentBlockInStream, PreconditionMessage.ERR_UNEXPECTED_EOF);
-      int bytesToRead = (int) Math.min(bytesLeftToRead, inStreamRemaining());
+      int bytesToRead = (int) Math.min(buf.remaining(), inStreamRemaining());
 
-      int bytesRead = mCurrentBlockInStream.read(b, currentOffset, bytesToRead);
+      int bytesRead = readCurrentBlock(buf, bytesToRead);
       if (bytesRead > 0) {
-        if (mCurrentCacheStream != null) {
-          try {
-            mCurrentCacheStream.write(b, currentOffset, bytesRead);
-          } catch (IOException e) {
-            handleCacheStreamIOException(e);
-          }
-        }
+        mReadAhead.onRead(mPos, bytesRead);
         mPos += bytesRead;
-        bytesLeftToRead -= bytesRead;
-        currentOffset += bytesRead;
       }
     }
+    readAhead();
 
-    if (bytesLeftToRead == len && inStreamRemaining() == 0) {
+    if (buf.remaining() == len && inStreamRemaining() == 0) {
       // Nothing was read, and the underlying stream is done.
       return -1;
     }
 
-    return len - bytesLeftToRead;
+    return len - buf.remaining();
   }
 
   @Override
   public int positionedRead(long pos, byte[] b, int off, int len) throws IOException {
-    if (!PACKET_STREAMING_ENABLED) {
-      throw new RuntimeException(String.format(
-          "Positioned read is not supported, please set %s to true to enable positioned read.",
-          PropertyKey.USER_PACKET_STREAMING_ENABLED.toString()));
+    if (pos < 0 || pos >= mFileLength) {
+      return -1;
     }
+    return positionedRead(pos, ByteBuffer.wrap(b, off, len));
+  }
+
+  @Override
+  public int positionedRead(long pos, ByteBuffer buf) throws IOException {
     if (pos < 0 || pos >= mFileLength) {
       return -1;
     }
 
-    // If partial read cache is enabled, we fall back to the normal read.
-    if (mShouldCachePartiallyReadBlock) {
+    // If packet streaming is disabled or partial read cache is enabled, we fall back to the
+    // normal read.
+    if (!PACKET_STREAMING_ENABLED || mShouldCachePartiallyReadBlock) {
       synchronized (this) {
         long oldPos = mPos;
         try {
           seek(pos);
-          return read(b, off, len);
+          return read(buf);
         } finally {
           seek(oldPos);
         }
       }
     }
 
-    int lenCopy = len;
+    int len = buf.remaining();
 
-    while (len > 0) {
+    while (buf.hasRemaining()) {
       if (pos >= mFileLength) {
         break;
       }
       long blockId = getBlockId(pos);
       long blockPos = pos % mBlockSize;
       try (InputStream inputStream = getBlockInStream(blockId)) {
-        assert inputStream instanceof PositionedReadable;
-        int bytesRead = ((PositionedReadable) inputStream).positionedRead(blockPos, b, off, len);
+        assert inputStream instanceof ByteBufferReadable;
+        int bytesRead = ((ByteBufferReadable) inputStream).positionedRead(blockPos, buf);
         Preconditions.checkState(bytesRead > 0, "No data is read before EOF");
         pos += bytesRead;
-        off += bytesRead;
-        len -= bytesRead;
       }
     }
-    return lenCopy - len;
+    return len - buf.remaining();
   }
 
   @Override
@@ -462,6 +484,70 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     return mStatus.getBlockIds().get(index);
   }
 
+  /**
+   * @param blockId the block ID
+   * @return the info of the block from the file status, or null if the status does not include it
+   */
+  private BlockInfo getKnownBlockInfo(long blockId) {
+    List<FileBlockInfo> fileBlockInfos = mStatus.getFileBlockInfos();
+    long index = BlockId.getSequenceNumber(blockId);
+    if (index < fileBlockInfos.size()) {
+      BlockInfo blockInfo = fileBlockInfos.get((int) index).getBlockInfo();
+      if (blockInfo != null && blockInfo.getBlockId() == blockId) {
+        return blockInfo;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Reads up to the given number of bytes from the current block into a buffer, and writes them
+   * to the current cache stream if there is one. Block streams which support it fill the buffer
+   * directly, others are read through a byte array.
+   *
+   * @param buf the buffer to fill
+   * @param len the maximum number of bytes to read
+   * @return the number of bytes read, or -1 if the block stream is done
+   * @throws IOException if the read fails
+   */
+  private int readCurrentBlock(ByteBuffer buf, int len) throws IOException {
+    if (mCurrentCacheStream == null && mCurrentBlockInStream instanceof ByteBufferReadable) {
+      int limit = buf.limit();
+      buf.limit(buf.position() + len);
+      try {
+        return ((ByteBufferReadable) mCurrentBlockInStream).read(buf);
+      } finally {
+        buf.limit(limit);
+      }
+    }
+    byte[] b;
+    int off;
+    if (buf.hasArray()) {
+      b = buf.array();
+      off = buf.arrayOffset() + buf.position();
+    } else {
+      b = mSeekBuffer;
+      off = 0;
+      len = Math.min(len, b.length);
+    }
+    int bytesRead = mCurrentBlockInStream.read(b, off, len);
+    if (bytesRead > 0) {
+      if (mCurrentCacheStream != null) {
+        try {
+          mCurrentCacheStream.write(b, off, bytesRead);
+        } catch (IOException e) {
+          handleCacheStreamIOException(e);
+        }
+      }
+      if (buf.hasArray()) {
+        buf.position(buf.position() + bytesRead);
+      } else {
+        buf.put(b, off, bytesRead);
+      }
+    }
+    return bytesRead;
+  }
+
   /**
    * Handles IO exceptions thrown in response to the worker cache request. Cache stream is closed
    * or cancelled after logging some messages about the exceptions.
@@ -584,6 +670,14 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
       mCurrentBlockInStream = null;
     }
 
+    // Use the stream opened by read-ahead if it is for this block.
+    if (mNextBlockInStream != null && mNextBlockId == blockId) {
+      mCurrentBlockInStream = mNextBlockInStream;
+      mNextBlockInStream = null;
+      return;
+    }
+    closeNextBlockInStream();
+
     // blockId = -1 if mPos = EOF.
     if (blockId < 0) {
       return;
@@ -591,6 +685,64 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     mCurrentBlockInStream = getBlockInStream(blockId);
   }
 
+  /**
+   * Reads ahead if the file is being read sequentially. The current block stream buffers up to the
+   * read-ahead window, and once the rest of the current block fits in the window, the stream of
+   * the next block is opened so that its data is already streaming when the reads reach it. The
+   * next block stream buffers up to a separate, smaller bound, so that a stream buffers at most
+   * the sum of both. Read-ahead is best effort, failures are left to the reads to handle.
+   */
+  private void readAhead() {
+    long window = mReadAhead.getWindowBytes();
+    if (window == 0) {
+      // The reads are not sequential, the next block may never be read.
+      closeNextBlockInStream();
+      return;
+    }
+    if (mCurrentBlockInStream == null) {
+      return;
+    }
+    try {
+      if (mCurrentBlockInStream instanceof BlockInStream) {
+        ((BlockInStream) mCurrentBlockInStream).readAhead(window);
+      }
+      long remaining = inStreamRemaining();
+      if (READ_AHEAD_NEXT_BLOCK_MAX_BYTES <= 0 || mNextBlockInStream != null || remaining == 0
+          || remaining > window) {
+        return;
+      }
+      // The current stream has bytes left, so the position is within the current block.
+      long nextIndex = mPos / mBlockSize + 1;
+      if (nextIndex >= mStatus.getBlockIds().size() || nextIndex * mBlockSize >= mFileLength) {
+        return;
+      }
+      long nextBlockId = mStatus.getBlockIds().get((int) nextIndex);
+      mNextBlockInStream = getBlockInStream(nextBlockId);
+      mNextBlockId = nextBlockId;
+      if (mNextBlockInStream instanceof BlockInStream) {
+        ((BlockInStream) mNextBlockInStream)
+            .readAhead(Math.min(window, READ_AHEAD_NEXT_BLOCK_MAX_BYTES));
+      }
+    } catch (IOException e) {
+      LOG.debug("Failed to read ahead of block {}.", mStreamBlockId, e);
+    }
+  }
+
+  /**
+   * Closes the stream of the next block opened by read-ahead, if any.
+   */
+  private void closeNextBlockInStream() {
+    if (mNextBlockInStream == null) {
+      return;
+    }
+    try {
+      mNextBlockInStream.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close the read-ahead stream of block {}.", mNextBlockId, e);
+    }
+    mNextBlockInStream = null;
+  }
+
   /**
    * Gets the block in stream corresponding a block ID.
    *
@@ -608,6 +760,10 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
           LOG.warn("Promotion of block with ID {} failed.", blockId, e);
         }
       }
+      BlockInfo blockInfo = getKnownBlockInfo(blockId);
+      if (blockInfo != null) {
+        return mBlockStore.getInStream(blockInfo, mInStreamOptions);
+      }
       return mBlockStore.getInStream(blockId, mInStreamOptions);
     } catch (IOException e) {
       LOG.debug("Failed to get BlockInStream for block with ID {}, using UFS instead. {}", blockId,
@@ -13,10 +13,12 @@ package alluxio.client.file;
 
 import alluxio.Configuration;
 import alluxio.PropertyKey;
+import alluxio.client.block.BlockLocationCache;
 import alluxio.client.block.BlockMasterClient;
 import alluxio.client.block.BlockMasterClientPool;
 import alluxio.client.block.BlockWorkerClient;
 import alluxio.client.block.BlockWorkerThriftClientPool;
+import alluxio.client.block.InflightReadTracker;
 import alluxio.client.netty.NettyClient;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.ExceptionMessage;
@@ -83,6 +85,12 @@ public final class FileSystemContext implements Closeable {
   private final ConcurrentHashMapV8<InetSocketAddress, FileSystemWorkerThriftClientPool>
       mFileSystemWorkerClientHeartbeatPools = new ConcurrentHashMapV8<>();
 
+  /** Block infos fetched from the block master, shared by all block stores of the context. */
+  private volatile BlockLocationCache mBlockLocationCache;
+
+  /** The block reads each worker is serving for this context. */
+  private final InflightReadTracker mInflightReadTracker = new InflightReadTracker();
+
   // The netty data server channel pools.
   private final ConcurrentHashMapV8<InetSocketAddress, NettyChannelPool>
       mNettyChannelPools = new ConcurrentHashMapV8<>();
@@ -147,6 +155,7 @@ public final class FileSystemContext implements Closeable {
     mMasterAddress = NetworkAddressUtils.getConnectAddress(ServiceType.MASTER_RPC);
     mFileSystemMasterClientPool = new FileSystemMasterClientPool(mParentSubject, mMasterAddress);
     mBlockMasterClientPool = new BlockMasterClientPool(mParentSubject, mMasterAddress);
+    mBlockLocationCache = new BlockLocationCache();
   }
 
   /**
@@ -160,6 +169,8 @@ public final class FileSystemContext implements Closeable {
     mFileSystemMasterClientPool = null;
     mBlockMasterClientPool.close();
     mBlockMasterClientPool = null;
+    mBlockLocationCache.invalidateAll();
+    mBlockLocationCache = null;
 
     for (BlockWorkerThriftClientPool pool : mBlockWorkerClientPools.values()) {
       pool.close();
@@ -210,6 +221,20 @@ public final class FileSystemContext implements Closeable {
     return mParentSubject;
   }
 
+  /**
+   * @return the cache of block infos fetched from the block master
+   */
+  public BlockLocationCache getBlockLocationCache() {
+    return mBlockLocationCache;
+  }
+
+  /**
+   * @return the tracker of the block reads each worker is serving for this context
+   */
+  public InflightReadTracker getInflightReadTracker() {
+    return mInflightReadTracker;
+  }
+
   /**
    * @return the master address
    */
@@ -20,6 +20,7 @@ import alluxio.client.file.options.CreateDirectoryOptions;
 import alluxio.client.file.options.CreateFileOptions;
 import alluxio.client.file.options.DeleteOptions;
 import alluxio.client.file.options.FreeOptions;
+import alluxio.client.file.options.GetStatusOptions;
 import alluxio.client.file.options.ListStatusOptions;
 import alluxio.client.file.options.LoadMetadataOptions;
 import alluxio.client.file.options.MountOptions;
@@ -164,12 +165,13 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
   }
 
   @Override
-  public synchronized URIStatus getStatus(final AlluxioURI path) throws IOException,
-      AlluxioException {
+  public synchronized URIStatus getStatus(final AlluxioURI path, final GetStatusOptions options)
+      throws IOException, AlluxioException {
     return retryRPC(new RpcCallableThrowsAlluxioTException<URIStatus>() {
       @Override
       public URIStatus call() throws AlluxioTException, TException {
-        return new URIStatus(ThriftUtils.fromThrift(mClient.getStatus(path.getPath())));
+        return new URIStatus(
+            ThriftUtils.fromThrift(mClient.getStatus(path.getPath(), options.toThrift())));
       }
     });
   }
@@ -12,6 +12,8 @@
 package alluxio.client.file.options;
 
 import alluxio.annotation.PublicApi;
+import alluxio.thrift.GetStatusTOptions;
+import alluxio.wire.FileInfoDetail;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -26,6 +28,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 @JsonInclude(Include.NON_EMPTY)
 public final class GetStatusOptions {
+  private FileInfoDetail mFileInfoDetail;
+
   /**
    * @return the default {@link GetStatusOptions}
    */
@@ -34,21 +38,55 @@ public final class GetStatusOptions {
   }
 
   private GetStatusOptions() {
-    // No options currently
+    mFileInfoDetail = FileInfoDetail.All;
+  }
+
+  /**
+   * @return the level of detail of the returned status
+   */
+  public FileInfoDetail getFileInfoDetail() {
+    return mFileInfoDetail;
+  }
+
+  /**
+   * @param fileInfoDetail the level of detail of the returned status
+   * @return the updated options
+   */
+  public GetStatusOptions setFileInfoDetail(FileInfoDetail fileInfoDetail) {
+    mFileInfoDetail = fileInfoDetail;
+    return this;
   }
 
   @Override
   public boolean equals(Object o) {
-    return this == o || o instanceof GetStatusOptions;
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof GetStatusOptions)) {
+      return false;
+    }
+    GetStatusOptions that = (GetStatusOptions) o;
+    return Objects.equal(mFileInfoDetail, that.mFileInfoDetail);
   }
 
   @Override
   public int hashCode() {
-    return 0;
+    return Objects.hashCode(mFileInfoDetail);
   }
 
   @Override
   public String toString() {
-    return Objects.toStringHelper(this).toString();
+    return Objects.toStringHelper(this)
+        .add("fileInfoDetail", mFileInfoDetail)
+        .toString();
+  }
+
+  /**
+   * @return thrift representation of the options
+   */
+  public GetStatusTOptions toThrift() {
+    GetStatusTOptions options = new GetStatusTOptions();
+    options.setFileInfoDetail(FileInfoDetail.toThrift(mFileInfoDetail));
+    return options;
   }
 }
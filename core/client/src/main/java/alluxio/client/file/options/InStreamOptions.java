@@ -17,6 +17,7 @@ import alluxio.annotation.PublicApi;
 import alluxio.client.AlluxioStorageType;
 import alluxio.client.ReadType;
 import alluxio.client.block.policy.BlockLocationPolicy;
+import alluxio.client.block.policy.BlockReadLocationPolicy;
 import alluxio.client.block.policy.options.CreateOptions;
 import alluxio.client.file.policy.FileWriteLocationPolicy;
 import alluxio.util.CommonUtils;
@@ -45,6 +46,8 @@ public final class InStreamOptions {
   private int mMaxUfsReadConcurrency;
   /** The location policy to determine the worker location to serve UFS block reads. */
   private BlockLocationPolicy mUfsReadLocationPolicy;
+  /** The location policy to determine the worker to read a block cached in Alluxio from. */
+  private BlockReadLocationPolicy mReadLocationPolicy;
 
   /**
    * @return the default {@link InStreamOptions}
@@ -68,6 +71,7 @@ public final class InStreamOptions {
         .setDeterministicHashPolicyNumShards(Configuration
             .getInt(PropertyKey.USER_UFS_BLOCK_READ_LOCATION_POLICY_DETERMINISTIC_HASH_SHARDS));
     mUfsReadLocationPolicy = BlockLocationPolicy.Factory.create(blockLocationPolicyCreateOptions);
+    mReadLocationPolicy = BlockReadLocationPolicy.Factory.create();
     mCachePartiallyReadBlock =
         Configuration.getBoolean(PropertyKey.USER_FILE_CACHE_PARTIALLY_READ_BLOCK);
     mSeekBufferSizeBytes = Configuration.getBytes(PropertyKey.USER_FILE_SEEK_BUFFER_SIZE_BYTES);
@@ -113,6 +117,13 @@ public final class InStreamOptions {
     return mUfsReadLocationPolicy;
   }
 
+  /**
+   * @return the location policy to use when reading a block cached in Alluxio
+   */
+  public BlockReadLocationPolicy getReadLocationPolicy() {
+    return mReadLocationPolicy;
+  }
+
   /**
    * @param policy the location policy to use when storing data to Alluxio
    * @return the updated options object
@@ -202,6 +213,15 @@ public final class InStreamOptions {
     return this;
   }
 
+  /**
+   * @param policy the location policy to use when reading a block cached in Alluxio
+   * @return the updated options object
+   */
+  public InStreamOptions setReadLocationPolicy(BlockReadLocationPolicy policy) {
+    mReadLocationPolicy = policy;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -216,7 +236,8 @@ public final class InStreamOptions {
         && Objects.equal(mCachePartiallyReadBlock, that.mCachePartiallyReadBlock)
         && Objects.equal(mSeekBufferSizeBytes, that.mSeekBufferSizeBytes)
         && Objects.equal(mMaxUfsReadConcurrency, that.mMaxUfsReadConcurrency)
-        && Objects.equal(mUfsReadLocationPolicy, that.mUfsReadLocationPolicy);
+        && Objects.equal(mUfsReadLocationPolicy, that.mUfsReadLocationPolicy)
+        && Objects.equal(mReadLocationPolicy, that.mReadLocationPolicy);
   }
 
   @Override
@@ -228,7 +249,8 @@ public final class InStreamOptions {
             mCachePartiallyReadBlock,
             mSeekBufferSizeBytes,
             mMaxUfsReadConcurrency,
-            mUfsReadLocationPolicy);
+            mUfsReadLocationPolicy,
+            mReadLocationPolicy);
   }
 
   @Override
@@ -237,6 +259,7 @@ public final class InStreamOptions {
         .add("readType", mReadType).add("cachePartiallyReadBlock", mCachePartiallyReadBlock)
         .add("seekBufferSize", mSeekBufferSizeBytes)
         .add("maxUfsReadConcurrency", mMaxUfsReadConcurrency)
-        .add("ufsReadLocationPolicy", mUfsReadLocationPolicy).toString();
+        .add("ufsReadLocationPolicy", mUfsReadLocationPolicy)
+        .add("readLocationPolicy", mReadLocationPolicy).toString();
   }
 }
@@ -13,6 +13,7 @@ package alluxio.client.file.options;
 
 import alluxio.annotation.PublicApi;
 import alluxio.thrift.ListStatusTOptions;
+import alluxio.wire.FileInfoDetail;
 import alluxio.wire.LoadMetadataType;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -29,6 +30,10 @@ import javax.annotation.concurrent.NotThreadSafe;
 @JsonInclude(Include.NON_EMPTY)
 public final class ListStatusOptions {
   private LoadMetadataType mLoadMetadataType;
+  private String mStartAfter;
+  private int mBatchSize;
+  private FileInfoDetail mFileInfoDetail;
+  private boolean mRecursive;
 
   /**
    * @return the default {@link ListStatusOptions}
@@ -39,6 +44,10 @@ public final class ListStatusOptions {
 
   private ListStatusOptions() {
     mLoadMetadataType = LoadMetadataType.Once;
+    mStartAfter = null;
+    mBatchSize = 0;
+    mFileInfoDetail = FileInfoDetail.All;
+    mRecursive = false;
   }
 
   /**
@@ -58,6 +67,86 @@ public final class ListStatusOptions {
     return this;
   }
 
+  /**
+   * @return the name after which the listing starts (exclusive), or null to list from the first
+   *         child
+   */
+  public String getStartAfter() {
+    return mStartAfter;
+  }
+
+  /**
+   * Sets the listing cursor. Children are listed in name order, and only the children whose names
+   * sort strictly after the given name are returned. This is usually the name of the last child
+   * returned by the previous batch.
+   *
+   * @param startAfter the name after which to start listing, or null to list from the beginning
+   * @return the updated options
+   */
+  public ListStatusOptions setStartAfter(String startAfter) {
+    mStartAfter = startAfter;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of children to return in one call, or a non-positive value for no
+   *         limit
+   */
+  public int getBatchSize() {
+    return mBatchSize;
+  }
+
+  /**
+   * @param batchSize the maximum number of children to return in one call; a non-positive value
+   *        lists all remaining children
+   * @return the updated options
+   */
+  public ListStatusOptions setBatchSize(int batchSize) {
+    mBatchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * @return the level of detail of the returned statuses
+   */
+  public FileInfoDetail getFileInfoDetail() {
+    return mFileInfoDetail;
+  }
+
+  /**
+   * Sets the level of detail of the returned statuses. Listing large directories is much cheaper
+   * for the master when only the basic attributes are requested.
+   *
+   * @param fileInfoDetail the level of detail of the returned statuses
+   * @return the updated options
+   */
+  public ListStatusOptions setFileInfoDetail(FileInfoDetail fileInfoDetail) {
+    mFileInfoDetail = fileInfoDetail;
+    return this;
+  }
+
+  /**
+   * @return whether all the descendants of a directory are listed, rather than only its direct
+   *         children
+   */
+  public boolean isRecursive() {
+    return mRecursive;
+  }
+
+  /**
+   * Sets whether all the descendants of a directory are listed. Descendants are listed depth
+   * first, each sub-directory being directly followed by its descendants. For a recursive listing,
+   * the cursor set with {@link #setStartAfter(String)} is the path of the last returned
+   * descendant, relative to the listed directory.
+   *
+   * @param recursive whether to list all the descendants
+   * @return the updated options
+   */
+  public ListStatusOptions setRecursive(boolean recursive) {
+    mRecursive = recursive;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -67,18 +156,27 @@ public final class ListStatusOptions {
       return false;
     }
     ListStatusOptions that = (ListStatusOptions) o;
-    return Objects.equal(mLoadMetadataType, that.mLoadMetadataType);
+    return Objects.equal(mLoadMetadataType, that.mLoadMetadataType)
+        && Objects.equal(mStartAfter, that.mStartAfter)
+        && mBatchSize == that.mBatchSize
+        && Objects.equal(mFileInfoDetail, that.mFileInfoDetail)
+        && mRecursive == that.mRecursive;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mLoadMetadataType);
+    return Objects.hashCode(mLoadMetadataType, mStartAfter, mBatchSize, mFileInfoDetail,
+        mRecursive);
   }
 
   @Override
   public String toString() {
     return Objects.toStringHelper(this)
         .add("loadMetadataType", mLoadMetadataType.toString())
+        .add("startAfter", mStartAfter)
+        .add("batchSize", mBatchSize)
+        .add("fileInfoDetail", mFileInfoDetail)
+        .add("recursive", mRecursive)
         .toString();
   }
 
@@ -91,6 +189,16 @@ public final class ListStatusOptions {
         mLoadMetadataType == LoadMetadataType.Once || mLoadMetadataType == LoadMetadataType.Always);
 
     options.setLoadMetadataType(LoadMetadataType.toThrift(mLoadMetadataType));
+    if (mStartAfter != null) {
+      options.setStartAfter(mStartAfter);
+    }
+    if (mBatchSize > 0) {
+      options.setBatchSize(mBatchSize);
+    }
+    options.setFileInfoDetail(FileInfoDetail.toThrift(mFileInfoDetail));
+    if (mRecursive) {
+      options.setRecursive(true);
+    }
     return options;
   }
 }
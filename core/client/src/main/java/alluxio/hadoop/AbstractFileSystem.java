@@ -22,6 +22,8 @@ import alluxio.client.file.URIStatus;
 import alluxio.client.file.options.CreateDirectoryOptions;
 import alluxio.client.file.options.CreateFileOptions;
 import alluxio.client.file.options.DeleteOptions;
+import alluxio.client.file.options.GetStatusOptions;
+import alluxio.client.file.options.ListStatusOptions;
 import alluxio.client.file.options.SetAttributeOptions;
 import alluxio.client.lineage.LineageContext;
 import alluxio.exception.AlluxioException;
@@ -34,6 +36,8 @@ import alluxio.security.User;
 import alluxio.security.authorization.Mode;
 import alluxio.util.CommonUtils;
 import alluxio.wire.FileBlockInfo;
+import alluxio.wire.FileInfoDetail;
+import alluxio.wire.LoadMetadataType;
 
 import com.google.common.base.Preconditions;
 import com.google.common.net.HostAndPort;
@@ -70,7 +74,7 @@ import javax.security.auth.Subject;
  * used and {@link #getScheme()} for Hadoop's {@link java.util.ServiceLoader} support.
  */
 @NotThreadSafe
-abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem {
+abstract class AbstractFileSystem extends HadoopVersionFileSystem {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractFileSystem.class);
 
   public static final String FIRST_COM_PATH = "alluxio_dep/";
@@ -272,7 +276,30 @@ abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem {
     }
 
     AlluxioURI path = new AlluxioURI(HadoopUtils.getPathWithoutScheme(file.getPath()));
-    List<FileBlockInfo> blocks = getFileBlocks(path);
+    return toBlockLocations(getFileBlocks(path), start, len);
+  }
+
+  /**
+   * @param status the status of a path, listed with its block locations
+   * @return the Hadoop {@link BlockLocation}s of all the blocks of the path, or null for a
+   *         directory
+   */
+  BlockLocation[] toBlockLocations(URIStatus status) {
+    if (status.isFolder()) {
+      return null;
+    }
+    return toBlockLocations(status.getFileBlockInfos(), 0, status.getLength());
+  }
+
+  /**
+   * Converts the blocks of a file overlapping with a range to Hadoop {@link BlockLocation}s.
+   *
+   * @param blocks the blocks of the file
+   * @param start the start of the range
+   * @param len the length of the range
+   * @return the locations of the blocks overlapping with the range
+   */
+  private BlockLocation[] toBlockLocations(List<FileBlockInfo> blocks, long start, long len) {
     List<BlockLocation> blockLocations = new ArrayList<>();
     for (FileBlockInfo fileBlockInfo : blocks) {
       long offset = fileBlockInfo.getOffset();
@@ -318,7 +345,9 @@ abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem {
     AlluxioURI uri = new AlluxioURI(HadoopUtils.getPathWithoutScheme(path));
     URIStatus fileStatus;
     try {
-      fileStatus = mFileSystem.getStatus(uri);
+      // A Hadoop FileStatus only carries inode attributes, so no block details are needed.
+      fileStatus = mFileSystem.getStatus(uri,
+          GetStatusOptions.defaults().setFileInfoDetail(FileInfoDetail.Basic));
     } catch (FileDoesNotExistException e) {
       throw new FileNotFoundException(e.getMessage());
     } catch (AlluxioException e) {
@@ -579,7 +608,7 @@ abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem {
     AlluxioURI uri = new AlluxioURI(HadoopUtils.getPathWithoutScheme(path));
     List<URIStatus> statuses;
     try {
-      statuses = mFileSystem.listStatus(uri);
+      statuses = listStatusInBatches(uri);
     } catch (FileDoesNotExistException e) {
       throw new FileNotFoundException(HadoopUtils.getPathWithoutScheme(path));
     } catch (AlluxioException e) {
@@ -588,12 +617,58 @@ abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem {
 
     FileStatus[] ret = new FileStatus[statuses.size()];
     for (int k = 0; k < statuses.size(); k++) {
-      URIStatus status = statuses.get(k);
+      ret[k] = toFileStatus(statuses.get(k));
+    }
+    return ret;
+  }
 
-      ret[k] = new FileStatus(status.getLength(), status.isFolder(), BLOCK_REPLICATION_CONSTANT,
-          status.getBlockSizeBytes(), status.getLastModificationTimeMs(),
-          status.getCreationTimeMs(), new FsPermission((short) status.getMode()), status.getOwner(),
-          status.getGroup(), new Path(mAlluxioHeader + status.getPath()));
+  /**
+   * Lists the children of a path, or all its descendants, with their block locations. This backs
+   * the listings of located file statuses, which only exist in Hadoop 2.x.
+   *
+   * @param path the path to list
+   * @param filesOnly whether to only return files
+   * @param recursive whether to return all the descendants of the path instead of its children
+   * @return an iterator over the statuses, fetching them from the master in batches
+   * @throws IOException if the path cannot be listed
+   */
+  ListStatusIterator listStatusIterator(Path path, boolean filesOnly, boolean recursive)
+      throws IOException {
+    LOG.debug("listStatusIterator({}, {}, {})", path, filesOnly, recursive);
+    return new ListStatusIterator(mFileSystem, mStatistics, path, filesOnly, recursive);
+  }
+
+  /**
+   * Lists the children of the given path, fetching at most
+   * {@link PropertyKey#USER_FILE_LIST_STATUS_BATCH_SIZE} entries per master RPC so that the master
+   * never has to build the whole listing of a large directory in a single response.
+   *
+   * @param uri the path to list
+   * @return the statuses of the children, or of the path itself if it is a file
+   */
+  private List<URIStatus> listStatusInBatches(AlluxioURI uri)
+      throws IOException, AlluxioException {
+    int batchSize = Configuration.getInt(PropertyKey.USER_FILE_LIST_STATUS_BATCH_SIZE);
+    ListStatusOptions options = ListStatusOptions.defaults().setBatchSize(batchSize)
+        .setFileInfoDetail(FileInfoDetail.Basic);
+    List<URIStatus> statuses = mFileSystem.listStatus(uri, options);
+    if (batchSize <= 0 || statuses.size() != batchSize) {
+      // Either batching is disabled, this was the last batch, or the master does not support
+      // batching and returned everything at once.
+      return statuses;
+    }
+    List<URIStatus> ret = new ArrayList<>(statuses);
+    // Metadata for the direct children was loaded (if needed) by the first call.
+    options.setLoadMetadataType(LoadMetadataType.Never);
+    while (statuses.size() == batchSize) {
+      String startAfter = statuses.get(statuses.size() - 1).getName();
+      options.setStartAfter(startAfter);
+      statuses = mFileSystem.listStatus(uri, options);
+      if (!statuses.isEmpty() && statuses.get(0).getName().compareTo(startAfter) <= 0) {
+        // The master ignored the cursor, so the first batch was already the full listing.
+        break;
+      }
+      ret.addAll(statuses);
     }
     return ret;
   }
@@ -712,6 +787,17 @@ abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem {
     }
   }
 
+  /**
+   * @param status the status of a path
+   * @return the Hadoop {@link FileStatus} of the path
+   */
+  FileStatus toFileStatus(URIStatus status) {
+    return new FileStatus(status.getLength(), status.isFolder(), BLOCK_REPLICATION_CONSTANT,
+        status.getBlockSizeBytes(), status.getLastModificationTimeMs(),
+        status.getCreationTimeMs(), new FsPermission((short) status.getMode()), status.getOwner(),
+        status.getGroup(), new Path(mAlluxioHeader + status.getPath()));
+  }
+
   private List<FileBlockInfo> getFileBlocks(AlluxioURI path) throws IOException {
     try {
       return mFileSystem.getStatus(path).getFileBlockInfos();
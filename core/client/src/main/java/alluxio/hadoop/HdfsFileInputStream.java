@@ -25,6 +25,7 @@ import alluxio.exception.FileDoesNotExistException;
 import alluxio.util.io.BufferUtils;
 
 import com.google.common.primitives.Ints;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.Path;
@@ -37,6 +38,7 @@ import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -44,7 +46,8 @@ import javax.annotation.concurrent.NotThreadSafe;
  * An input stream for reading a file from HDFS.
  */
 @NotThreadSafe
-public class HdfsFileInputStream extends InputStream implements Seekable, PositionedReadable {
+public class HdfsFileInputStream extends InputStream implements Seekable, PositionedReadable,
+    ByteBufferReadable {
   private static final Logger LOG = LoggerFactory.getLogger(HdfsFileInputStream.class);
 
   private static final boolean PACKET_STREAMING_ENABLED =
@@ -212,6 +215,86 @@ public class HdfsFileInputStream extends InputStream implements Seekable, Positi
     return 1;
   }
 
+  @Override
+  public int read(ByteBuffer buffer) throws IOException {
+    if (mClosed) {
+      throw new IOException("Cannot read from a closed stream.");
+    }
+    if (mAlluxioFileInputStream != null) {
+      int start = buffer.position();
+      try {
+        int ret = mAlluxioFileInputStream.read(buffer);
+        if (ret != -1) {
+          if (mStatistics != null) {
+            mStatistics.incrementBytesRead(ret);
+          }
+          mCurrentPosition += ret;
+        }
+        return ret;
+      } catch (IOException e) {
+        LOG.error(e.getMessage(), e);
+        mAlluxioFileInputStream.close();
+        mAlluxioFileInputStream = null;
+        // Data read before the failure is read again from HDFS.
+        buffer.position(start);
+      }
+    }
+
+    getHdfsInputStream();
+    int byteRead = readFromHdfsBuffer();
+    // byteRead is an unsigned byte, if its -1 then we have hit EOF
+    if (byteRead == -1) {
+      return -1;
+    }
+    // Convert byteRead back to a signed byte
+    buffer.put((byte) byteRead);
+    return 1;
+  }
+
+  /**
+   * Reads up to {@code buffer.remaining()} bytes from a given position within a file into the
+   * buffer, and returns the number of bytes read. This does not change the current offset of a
+   * file, and is thread-safe. When packet streaming is enabled, the data is filled into the buffer
+   * directly from the Alluxio block streams.
+   *
+   * @param position the start position to read from the stream
+   * @param buffer the buffer to hold the data read
+   * @return the number of bytes read or -1 if EOF is reached
+   * @throws IOException if it fails to read
+   */
+  public int read(long position, ByteBuffer buffer) throws IOException {
+    if (mClosed) {
+      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
+    }
+
+    if (PACKET_STREAMING_ENABLED && mAlluxioFileInputStream != null) {
+      int bytesRead = mAlluxioFileInputStream.positionedRead(position, buffer);
+      if (mStatistics != null && bytesRead != -1) {
+        mStatistics.incrementBytesRead(bytesRead);
+      }
+      return bytesRead;
+    }
+    // Otherwise read through a byte array.
+    byte[] b;
+    int offset;
+    if (buffer.hasArray()) {
+      b = buffer.array();
+      offset = buffer.arrayOffset() + buffer.position();
+    } else {
+      b = new byte[buffer.remaining()];
+      offset = 0;
+    }
+    int bytesRead = read(position, b, offset, buffer.remaining());
+    if (bytesRead > 0) {
+      if (buffer.hasArray()) {
+        buffer.position(buffer.position() + bytesRead);
+      } else {
+        buffer.put(b, 0, bytesRead);
+      }
+    }
+    return bytesRead;
+  }
+
   @Override
   public int read(long position, byte[] buffer, int offset, int length) throws IOException {
     if (mClosed) {
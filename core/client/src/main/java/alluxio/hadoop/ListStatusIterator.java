@@ -0,0 +1,162 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.client.file.options.ListStatusOptions;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.InvalidPathException;
+import alluxio.util.io.PathUtils;
+import alluxio.wire.FileInfoDetail;
+import alluxio.wire.LoadMetadataType;
+
+import org.apache.hadoop.fs.FileSystem.Statistics;
+import org.apache.hadoop.fs.Path;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Iterates over the children of a path, or over all its descendants for a recursive listing,
+ * together with their block locations. The entries are fetched from the master in batches of
+ * {@link PropertyKey#USER_FILE_LIST_STATUS_BATCH_SIZE}, as they are consumed.
+ */
+@NotThreadSafe
+final class ListStatusIterator {
+  private final FileSystem mFileSystem;
+  /** The statistics to count the listing RPCs in, or null. */
+  private final Statistics mStatistics;
+  private final Path mPath;
+  private final AlluxioURI mUri;
+  /** Whether only files are returned, leaving out the directories. */
+  private final boolean mFilesOnly;
+  private final boolean mRecursive;
+  private final int mBatchSize;
+  private final ListStatusOptions mOptions;
+  private List<URIStatus> mBatch;
+  private int mIndex;
+  private URIStatus mNext;
+
+  /**
+   * Creates a new {@link ListStatusIterator} and fetches the first batch.
+   *
+   * @param fileSystem the Alluxio file system to list the path in
+   * @param statistics the statistics to count the listing RPCs in, or null
+   * @param path the path to list
+   * @param filesOnly whether to only return files
+   * @param recursive whether to return all the descendants of the path instead of its children
+   * @throws IOException if the path cannot be listed
+   */
+  ListStatusIterator(FileSystem fileSystem, Statistics statistics, Path path, boolean filesOnly,
+      boolean recursive) throws IOException {
+    mFileSystem = fileSystem;
+    mStatistics = statistics;
+    mPath = path;
+    mUri = new AlluxioURI(HadoopUtils.getPathWithoutScheme(path));
+    mFilesOnly = filesOnly;
+    mRecursive = recursive;
+    mBatchSize = Configuration.getInt(PropertyKey.USER_FILE_LIST_STATUS_BATCH_SIZE);
+    // The UFS locations are needed for the locality of the blocks which are not in Alluxio.
+    mOptions = ListStatusOptions.defaults().setBatchSize(mBatchSize)
+        .setFileInfoDetail(FileInfoDetail.All).setRecursive(recursive);
+    mBatch = listBatch();
+    mIndex = 0;
+  }
+
+  /**
+   * @return whether there are more entries, fetching the next batch if needed
+   * @throws IOException if the path cannot be listed
+   */
+  public boolean hasNext() throws IOException {
+    while (mNext == null) {
+      if (mIndex >= mBatch.size() && !fetchNextBatch()) {
+        return false;
+      }
+      URIStatus status = mBatch.get(mIndex++);
+      if (!mFilesOnly || !status.isFolder()) {
+        mNext = status;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the next entry, fetching the next batch if needed
+   * @throws IOException if the path cannot be listed
+   */
+  public URIStatus next() throws IOException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    URIStatus next = mNext;
+    mNext = null;
+    return next;
+  }
+
+  /**
+   * Fetches the batch following the current one, if the current one is full.
+   *
+   * @return whether a new batch was fetched
+   * @throws IOException if the path cannot be listed
+   */
+  private boolean fetchNextBatch() throws IOException {
+    if (mBatchSize <= 0 || mBatch.size() != mBatchSize) {
+      // Either batching is disabled, or the current batch was the last one.
+      return false;
+    }
+    String firstPath = mBatch.get(0).getPath();
+    String lastPath = mBatch.get(mBatch.size() - 1).getPath();
+    try {
+      // For a recursive listing, the cursor is the path relative to the listed path.
+      mOptions.setStartAfter(mRecursive ? PathUtils.subtractPaths(lastPath, mUri.getPath())
+          : mBatch.get(mBatch.size() - 1).getName());
+    } catch (InvalidPathException e) {
+      throw new IOException(e);
+    }
+    // Metadata for the direct children was loaded (if needed) by the first call.
+    mOptions.setLoadMetadataType(LoadMetadataType.Never);
+    mBatch = listBatch();
+    mIndex = 0;
+    if (!mBatch.isEmpty() && mBatch.get(0).getPath().equals(firstPath)) {
+      // The master ignored the cursor, so the first batch was already the full listing.
+      mBatch = new ArrayList<>();
+    }
+    return !mBatch.isEmpty();
+  }
+
+  /**
+   * @return the statuses listed by the master with the current options
+   * @throws IOException if the path cannot be listed
+   */
+  private List<URIStatus> listBatch() throws IOException {
+    if (mStatistics != null) {
+      mStatistics.incrementReadOps(1);
+    }
+    try {
+      return mFileSystem.listStatus(mUri, mOptions);
+    } catch (FileDoesNotExistException e) {
+      throw new FileNotFoundException(HadoopUtils.getPathWithoutScheme(mPath));
+    } catch (AlluxioException e) {
+      throw new IOException(e);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.ConfigurationTestUtils;
+import alluxio.PropertyKey;
+import alluxio.client.file.URIStatus;
+import alluxio.client.file.options.ListStatusOptions;
+import alluxio.wire.BlockInfo;
+import alluxio.wire.FileBlockInfo;
+import alluxio.wire.FileInfo;
+import alluxio.wire.LoadMetadataType;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link HadoopVersionFileSystem}, which are only run against Hadoop 2.x.
+ */
+public final class HadoopVersionFileSystemTest {
+  @After
+  public void after() {
+    ConfigurationTestUtils.resetConfiguration();
+  }
+
+  /**
+   * Tests that the {@link HadoopVersionFileSystem#listFiles(Path, boolean)} method lists the files
+   * under a directory with their block locations in recursive batches, without a request per file.
+   */
+  @Test
+  public void listFilesRecursive() throws Exception {
+    Configuration.set(PropertyKey.USER_FILE_LIST_STATUS_BATCH_SIZE, "2");
+    FileBlockInfo blockInfo = new FileBlockInfo().setOffset(0).setUfsLocations(
+        Lists.newArrayList("host1:9000"))
+        .setBlockInfo(new BlockInfo().setLength(10));
+    URIStatus dirA = new URIStatus(new FileInfo().setName("a").setPath("/dir/a").setFolder(true));
+    URIStatus fileB = new URIStatus(new FileInfo().setName("b").setPath("/dir/a/b").setLength(10)
+        .setFileBlockInfos(Lists.newArrayList(blockInfo)));
+    URIStatus fileC = new URIStatus(new FileInfo().setName("c").setPath("/dir/c"));
+
+    Path path = new Path("/dir");
+    AlluxioURI uri = new AlluxioURI(HadoopUtils.getPathWithoutScheme(path));
+    alluxio.client.file.FileSystem alluxioFs =
+        Mockito.mock(alluxio.client.file.FileSystem.class);
+    Mockito.when(alluxioFs.listStatus(uri, ListStatusOptions.defaults().setBatchSize(2)
+        .setRecursive(true)))
+        .thenReturn(Lists.newArrayList(dirA, fileB));
+    Mockito.when(alluxioFs.listStatus(uri, ListStatusOptions.defaults().setBatchSize(2)
+        .setRecursive(true).setLoadMetadataType(LoadMetadataType.Never).setStartAfter("a/b")))
+        .thenReturn(Lists.newArrayList(fileC));
+    FileSystem alluxioHadoopFs = new FileSystem(alluxioFs);
+
+    RemoteIterator<LocatedFileStatus> files = alluxioHadoopFs.listFiles(path, true);
+    LocatedFileStatus status = files.next();
+    Assert.assertEquals("b", status.getPath().getName());
+    Assert.assertEquals(1, status.getBlockLocations().length);
+    Assert.assertArrayEquals(new String[] {"host1"}, status.getBlockLocations()[0].getHosts());
+    Assert.assertEquals("c", files.next().getPath().getName());
+    Assert.assertFalse(files.hasNext());
+    Mockito.verify(alluxioFs, Mockito.never()).getStatus(Mockito.any(AlluxioURI.class));
+  }
+
+  /**
+   * Tests that the {@link HadoopVersionFileSystem#listLocatedStatus(Path, PathFilter)} method
+   * lists the directories as well as the files, and leaves out the paths rejected by the filter.
+   */
+  @Test
+  public void listLocatedStatusFiltered() throws Exception {
+    Configuration.set(PropertyKey.USER_FILE_LIST_STATUS_BATCH_SIZE, "3");
+    URIStatus dirA = new URIStatus(new FileInfo().setName("a").setPath("/dir/a").setFolder(true));
+    URIStatus fileB = new URIStatus(new FileInfo().setName("b").setPath("/dir/b"));
+
+    Path path = new Path("/dir");
+    AlluxioURI uri = new AlluxioURI(HadoopUtils.getPathWithoutScheme(path));
+    alluxio.client.file.FileSystem alluxioFs =
+        Mockito.mock(alluxio.client.file.FileSystem.class);
+    Mockito.when(alluxioFs.listStatus(uri, ListStatusOptions.defaults().setBatchSize(3)))
+        .thenReturn(Lists.newArrayList(dirA, fileB));
+    FileSystem alluxioHadoopFs = new FileSystem(alluxioFs);
+
+    RemoteIterator<LocatedFileStatus> all = alluxioHadoopFs.listLocatedStatus(path);
+    LocatedFileStatus status = all.next();
+    Assert.assertEquals("a", status.getPath().getName());
+    Assert.assertTrue(status.isDirectory());
+    Assert.assertNull(status.getBlockLocations());
+    Assert.assertEquals("b", all.next().getPath().getName());
+    Assert.assertFalse(all.hasNext());
+
+    RemoteIterator<LocatedFileStatus> filtered =
+        alluxioHadoopFs.listLocatedStatus(path, new PathFilter() {
+          @Override
+          public boolean accept(Path p) {
+            return !p.getName().equals("a");
+          }
+        });
+    Assert.assertEquals("b", filtered.next().getPath().getName());
+    Assert.assertFalse(filtered.hasNext());
+  }
+}
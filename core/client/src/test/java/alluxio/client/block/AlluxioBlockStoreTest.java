@@ -12,6 +12,7 @@
 package alluxio.client.block;
 
 import alluxio.Configuration;
+import alluxio.Constants;
 import alluxio.PropertyKey;
 import alluxio.client.WriteType;
 import alluxio.client.block.options.LockBlockOptions;
@@ -130,6 +131,9 @@ public final class AlluxioBlockStoreTest {
 
     Mockito.when(mContext.acquireBlockMasterClientResource())
         .thenReturn(new DummyCloseableResource<>(mMasterClient));
+    Mockito.when(mContext.getBlockLocationCache())
+        .thenReturn(new BlockLocationCache(Constants.HOUR_MS));
+    Mockito.when(mContext.getInflightReadTracker()).thenReturn(new InflightReadTracker());
 
     mBlockStore = new AlluxioBlockStore(mContext, WORKER_HOSTNAME_LOCAL);
 
@@ -189,6 +193,69 @@ public final class AlluxioBlockStoreTest {
     }
   }
 
+  /**
+   * Tests {@link AlluxioBlockStore#getInStream(BlockInfo, InStreamOptions)} with known locations,
+   * making sure that the master is not contacted.
+   */
+  @Test
+  public void getInStreamKnownLocation() throws Exception {
+    mockRemoteLockBlock();
+
+    InputStream stream = mBlockStore.getInStream(new BlockInfo().setBlockId(BLOCK_ID)
+        .setLength(BLOCK_LENGTH).setLocations(Arrays.asList(BLOCK_LOCATION_REMOTE)),
+        InStreamOptions.defaults());
+    Assert.assertNotNull(stream);
+    Mockito.verify(mMasterClient, Mockito.never()).getBlockInfo(Mockito.anyLong());
+  }
+
+  /**
+   * Tests {@link AlluxioBlockStore#getInStream(BlockInfo, InStreamOptions)} when the known
+   * location no longer serves the block, making sure that the locations are refreshed from the
+   * master.
+   */
+  @Test
+  public void getInStreamStaleLocation() throws Exception {
+    WorkerNetAddress staleAddress = new WorkerNetAddress().setHost("stale");
+    Mockito.when(mContext.createBlockWorkerClient(staleAddress))
+        .thenThrow(new IOException("worker is gone"));
+    Mockito.when(mMasterClient.getBlockInfo(BLOCK_ID)).thenReturn(new BlockInfo()
+        .setBlockId(BLOCK_ID).setLocations(Arrays.asList(BLOCK_LOCATION_REMOTE)));
+    mockRemoteLockBlock();
+
+    InputStream stream = mBlockStore.getInStream(new BlockInfo().setBlockId(BLOCK_ID)
+        .setLength(BLOCK_LENGTH)
+        .setLocations(Arrays.asList(new BlockLocation().setWorkerAddress(staleAddress))),
+        InStreamOptions.defaults());
+    Assert.assertNotNull(stream);
+    Mockito.verify(mMasterClient).getBlockInfo(BLOCK_ID);
+  }
+
+  /**
+   * Tests that {@link AlluxioBlockStore#getInStream(long, InStreamOptions)} reuses the locations
+   * it fetched from the master for later reads of the same block.
+   */
+  @Test
+  public void getInStreamCachedLocation() throws Exception {
+    Mockito.when(mMasterClient.getBlockInfo(BLOCK_ID)).thenReturn(new BlockInfo()
+        .setBlockId(BLOCK_ID).setLocations(Arrays.asList(BLOCK_LOCATION_REMOTE)));
+    mockRemoteLockBlock();
+
+    mBlockStore.getInStream(BLOCK_ID, InStreamOptions.defaults()).close();
+    mBlockStore.getInStream(BLOCK_ID, InStreamOptions.defaults()).close();
+    Mockito.verify(mMasterClient, Mockito.times(1)).getBlockInfo(BLOCK_ID);
+  }
+
+  /**
+   * Makes the block worker lock {@link #BLOCK_ID} successfully.
+   */
+  private void mockRemoteLockBlock() throws Exception {
+    File testFile = mTestFolder.newFile("testFile");
+    Mockito.when(mBlockWorkerClient.lockBlock(BLOCK_ID, LockBlockOptions.defaults())).thenReturn(
+        new LockBlockResource(mBlockWorkerClient,
+            new LockBlockResult().setLockId(LOCK_ID).setBlockPath(testFile.getAbsolutePath()),
+            BLOCK_ID));
+  }
+
   @Test
   public void getOutStreamUsingLocationPolicy() throws Exception {
     OutStreamOptions options = OutStreamOptions.defaults().setWriteType(WriteType.MUST_CACHE)
@@ -0,0 +1,64 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block;
+
+import alluxio.Constants;
+import alluxio.wire.BlockInfo;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Tests for {@link BlockLocationCache}.
+ */
+public final class BlockLocationCacheTest {
+  private static final BlockLocation LOCATION =
+      new BlockLocation().setWorkerAddress(new WorkerNetAddress().setHost("worker"));
+
+  /**
+   * Tests that cached blocks can be looked up and invalidated.
+   */
+  @Test
+  public void putGetInvalidate() {
+    BlockLocationCache cache = new BlockLocationCache(Constants.HOUR_MS);
+    BlockInfo blockInfo = new BlockInfo().setBlockId(1).setLocations(Arrays.asList(LOCATION));
+    cache.put(blockInfo);
+    Assert.assertEquals(blockInfo, cache.get(1));
+    Assert.assertNull(cache.get(2));
+    cache.invalidate(1);
+    Assert.assertNull(cache.get(1));
+  }
+
+  /**
+   * Tests that blocks without locations are not cached.
+   */
+  @Test
+  public void noLocations() {
+    BlockLocationCache cache = new BlockLocationCache(Constants.HOUR_MS);
+    cache.put(new BlockInfo().setBlockId(1));
+    Assert.assertNull(cache.get(1));
+  }
+
+  /**
+   * Tests that a non-positive TTL disables the cache.
+   */
+  @Test
+  public void disabled() {
+    BlockLocationCache cache = new BlockLocationCache(0);
+    cache.put(new BlockInfo().setBlockId(1).setLocations(Arrays.asList(LOCATION)));
+    Assert.assertNull(cache.get(1));
+  }
+}
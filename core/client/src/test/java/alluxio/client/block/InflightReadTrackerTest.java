@@ -0,0 +1,41 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block;
+
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Closeable;
+
+/**
+ * Tests {@link InflightReadTracker}.
+ */
+public final class InflightReadTrackerTest {
+  @Test
+  public void trackReads() throws Exception {
+    InflightReadTracker tracker = new InflightReadTracker();
+    WorkerNetAddress worker1 = new WorkerNetAddress().setHost("worker1").setDataPort(1);
+    WorkerNetAddress worker2 = new WorkerNetAddress().setHost("worker2").setDataPort(1);
+    Closeable read1 = tracker.track(worker1);
+    Closeable read2 = tracker.track(worker1);
+    Assert.assertEquals(2, tracker.getInflightReads(worker1));
+    Assert.assertEquals(0, tracker.getInflightReads(worker2));
+    read1.close();
+    // Closing a read more than once only ends it once.
+    read1.close();
+    Assert.assertEquals(1, tracker.getInflightReads(worker1));
+    read2.close();
+    Assert.assertEquals(0, tracker.getInflightReads(worker1));
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.client.block.InflightReadTracker;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link ConsistentHashReadPolicy}.
+ */
+public final class ConsistentHashReadPolicyTest {
+  @Test
+  public void getWorkerDeterministically() {
+    List<BlockLocation> locations = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      locations.add(new BlockLocation().setTierAlias("MEM")
+          .setWorkerAddress(new WorkerNetAddress().setHost("worker" + i).setDataPort(1)));
+    }
+    ConsistentHashReadPolicy policy = new ConsistentHashReadPolicy();
+    InflightReadTracker tracker = new InflightReadTracker();
+    for (long blockId = 0; blockId < 10; blockId++) {
+      WorkerNetAddress worker = policy.getWorkerForRead(blockId, locations, tracker);
+      // The choice does not depend on the order of the locations.
+      List<BlockLocation> shuffled = new ArrayList<>(locations);
+      Collections.reverse(shuffled);
+      Assert.assertEquals(worker, policy.getWorkerForRead(blockId, shuffled, tracker));
+      // Removing a different location does not change the choice.
+      for (BlockLocation location : locations) {
+        if (!location.getWorkerAddress().equals(worker)) {
+          List<BlockLocation> remaining = new ArrayList<>(locations);
+          remaining.remove(location);
+          Assert.assertEquals(worker, policy.getWorkerForRead(blockId, remaining, tracker));
+        }
+      }
+    }
+  }
+}
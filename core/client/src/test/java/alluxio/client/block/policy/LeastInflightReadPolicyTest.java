@@ -0,0 +1,46 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.client.block.InflightReadTracker;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests {@link LeastInflightReadPolicy}.
+ */
+public final class LeastInflightReadPolicyTest {
+  @Test
+  public void getWorkerWithFewestReads() throws Exception {
+    WorkerNetAddress worker1 = new WorkerNetAddress().setHost("worker1").setDataPort(1);
+    WorkerNetAddress worker2 = new WorkerNetAddress().setHost("worker2").setDataPort(1);
+    List<BlockLocation> locations = new ArrayList<>();
+    locations.add(new BlockLocation().setWorkerAddress(worker1).setTierAlias("MEM"));
+    locations.add(new BlockLocation().setWorkerAddress(worker2).setTierAlias("SSD"));
+    InflightReadTracker tracker = new InflightReadTracker();
+    LeastInflightReadPolicy policy = new LeastInflightReadPolicy();
+
+    // Ties go to the first, highest tier, location.
+    Assert.assertEquals(worker1, policy.getWorkerForRead(1, locations, tracker));
+    Closeable read = tracker.track(worker1);
+    Assert.assertEquals(worker2, policy.getWorkerForRead(1, locations, tracker));
+    read.close();
+    Assert.assertEquals(worker1, policy.getWorkerForRead(1, locations, tracker));
+  }
+}
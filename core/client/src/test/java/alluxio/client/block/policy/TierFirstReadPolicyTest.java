@@ -0,0 +1,47 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.client.block.InflightReadTracker;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests {@link TierFirstReadPolicy}.
+ */
+public final class TierFirstReadPolicyTest {
+  @Test
+  public void getWorkerInHighestTier() {
+    WorkerNetAddress worker1 = new WorkerNetAddress().setHost("worker1").setDataPort(1);
+    WorkerNetAddress worker2 = new WorkerNetAddress().setHost("worker2").setDataPort(1);
+    WorkerNetAddress worker3 = new WorkerNetAddress().setHost("worker3").setDataPort(1);
+    List<BlockLocation> locations = new ArrayList<>();
+    locations.add(new BlockLocation().setWorkerAddress(worker1).setTierAlias("MEM"));
+    locations.add(new BlockLocation().setWorkerAddress(worker2).setTierAlias("MEM"));
+    locations.add(new BlockLocation().setWorkerAddress(worker3).setTierAlias("HDD"));
+    TierFirstReadPolicy policy = new TierFirstReadPolicy();
+    Set<WorkerNetAddress> chosen = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      chosen.add(policy.getWorkerForRead(1, locations, new InflightReadTracker()));
+    }
+    Assert.assertFalse(chosen.contains(worker3));
+    Assert.assertTrue(chosen.contains(worker1) || chosen.contains(worker2));
+  }
+}
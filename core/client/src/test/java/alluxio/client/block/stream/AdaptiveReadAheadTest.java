@@ -0,0 +1,65 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link AdaptiveReadAhead}.
+ */
+public final class AdaptiveReadAheadTest {
+  /**
+   * Tests that the window grows with sequential reads, up to the maximum.
+   */
+  @Test
+  public void sequentialReads() {
+    AdaptiveReadAhead readAhead = new AdaptiveReadAhead(0, 100);
+    readAhead.onRead(0, 10);
+    // A single read is not a sequential run yet.
+    Assert.assertEquals(0, readAhead.getWindowBytes());
+    readAhead.onRead(10, 10);
+    Assert.assertEquals(20, readAhead.getWindowBytes());
+    readAhead.onRead(20, 50);
+    Assert.assertEquals(70, readAhead.getWindowBytes());
+    readAhead.onRead(70, 50);
+    Assert.assertEquals(100, readAhead.getWindowBytes());
+  }
+
+  /**
+   * Tests that a read at another position turns read-ahead off until the reads are sequential
+   * again.
+   */
+  @Test
+  public void randomReads() {
+    AdaptiveReadAhead readAhead = new AdaptiveReadAhead(0, 100);
+    readAhead.onRead(0, 10);
+    readAhead.onRead(10, 10);
+    readAhead.onRead(50, 10);
+    Assert.assertEquals(0, readAhead.getWindowBytes());
+    readAhead.onRead(5, 10);
+    Assert.assertEquals(0, readAhead.getWindowBytes());
+    readAhead.onRead(15, 10);
+    Assert.assertEquals(20, readAhead.getWindowBytes());
+  }
+
+  /**
+   * Tests that a maximum window of 0 disables read-ahead.
+   */
+  @Test
+  public void disabled() {
+    AdaptiveReadAhead readAhead = new AdaptiveReadAhead(0, 0);
+    readAhead.onRead(0, 10);
+    readAhead.onRead(10, 10);
+    Assert.assertEquals(0, readAhead.getWindowBytes());
+  }
+}
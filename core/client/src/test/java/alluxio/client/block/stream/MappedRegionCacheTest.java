@@ -0,0 +1,139 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Tests {@link MappedRegionCache} and {@link LocalFilePacketReader}.
+ */
+public final class MappedRegionCacheTest {
+  private static final int FILE_SIZE = 1000;
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  private String mPath;
+
+  @Before
+  public void before() throws Exception {
+    File file = mFolder.newFile();
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      out.write(BufferUtils.getIncreasingByteArray(FILE_SIZE));
+    }
+    mPath = file.getAbsolutePath();
+  }
+
+  /**
+   * Tests that a cached region is reused and can be read after being evicted until it is released.
+   */
+  @Test
+  public void reuseAndEvict() throws Exception {
+    MappedRegionCache cache = new MappedRegionCache(150);
+    cache.openFile(mPath);
+    Assert.assertNull(cache.acquire(mPath, 0));
+    MappedRegionCache.Region region = cache.put(mPath, 0, map(0, 100));
+    Assert.assertSame(region, cache.acquire(mPath, 0));
+    region.release();
+    Assert.assertEquals(100, cache.getCachedBytes());
+
+    // Caching another region evicts the least recently used one.
+    cache.put(mPath, 100, map(100, 100)).release();
+    Assert.assertEquals(100, cache.getCachedBytes());
+    Assert.assertNull(cache.acquire(mPath, 0));
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(10, 20, region.slice(10, 20)));
+    region.release();
+
+    // A region larger than the cache is not cached.
+    cache.put(mPath, 200, map(200, 200)).release();
+    Assert.assertNull(cache.acquire(mPath, 200));
+    Assert.assertEquals(100, cache.getCachedBytes());
+  }
+
+  /**
+   * Tests that a region mapped concurrently by two readers is only cached once.
+   */
+  @Test
+  public void putExisting() throws Exception {
+    MappedRegionCache cache = new MappedRegionCache(1000);
+    cache.openFile(mPath);
+    MappedRegionCache.Region region = cache.put(mPath, 0, map(0, 100));
+    Assert.assertSame(region, cache.put(mPath, 0, map(0, 100)));
+    Assert.assertEquals(100, cache.getCachedBytes());
+    region.release();
+    region.release();
+  }
+
+  /**
+   * Tests that the regions of a file are only cached while the file is open, and are dropped once
+   * it is closed as many times as it was opened.
+   */
+  @Test
+  public void dropOnClose() throws Exception {
+    MappedRegionCache cache = new MappedRegionCache(1000);
+    cache.put(mPath, 0, map(0, 100)).release();
+    Assert.assertEquals(0, cache.getCachedBytes());
+
+    cache.openFile(mPath);
+    cache.openFile(mPath);
+    MappedRegionCache.Region region = cache.put(mPath, 0, map(0, 100));
+    cache.closeFile(mPath);
+    Assert.assertEquals(100, cache.getCachedBytes());
+    cache.closeFile(mPath);
+    Assert.assertEquals(0, cache.getCachedBytes());
+    Assert.assertNull(cache.acquire(mPath, 0));
+    // The region stays mapped until its reader releases it.
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(10, 20, region.slice(10, 20)));
+    region.release();
+  }
+
+  /**
+   * Tests that {@link LocalFilePacketReader} reads the file in packets.
+   */
+  @Test
+  public void readPackets() throws Exception {
+    try (LocalFilePacketReader reader = new LocalFilePacketReader(mPath, 10, FILE_SIZE - 10)) {
+      byte[] data = new byte[FILE_SIZE - 10];
+      int pos = 0;
+      DataBuffer packet;
+      while ((packet = reader.readPacket()) != null) {
+        int length = packet.readableBytes();
+        packet.readBytes(data, pos, length);
+        packet.release();
+        pos += length;
+      }
+      Assert.assertEquals(FILE_SIZE - 10, pos);
+      Assert.assertEquals(FILE_SIZE, reader.pos());
+      Assert.assertTrue(BufferUtils.equalIncreasingByteArray(10, FILE_SIZE - 10, data));
+    }
+  }
+
+  private MappedByteBuffer map(long offset, long length) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(mPath, "r")) {
+      return file.getChannel().map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+  }
+}
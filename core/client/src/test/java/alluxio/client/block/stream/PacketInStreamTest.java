@@ -0,0 +1,83 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Tests {@link PacketInStream} reading from a local file.
+ */
+public final class PacketInStreamTest {
+  private static final int LENGTH = 1000;
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  private PacketInStream mStream;
+
+  @Before
+  public void before() throws Exception {
+    File file = mFolder.newFile();
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      out.write(BufferUtils.getIncreasingByteArray(LENGTH));
+    }
+    mStream = PacketInStream.createLocalPacketInstream(file.getAbsolutePath(), 1, LENGTH);
+  }
+
+  /**
+   * Tests reading into a direct buffer.
+   */
+  @Test
+  public void readByteBuffer() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(LENGTH + 100);
+    buffer.position(100);
+    while (buffer.hasRemaining()) {
+      Assert.assertTrue(mStream.read(buffer) > 0);
+    }
+    Assert.assertEquals(-1, mStream.read(ByteBuffer.allocateDirect(1)));
+    buffer.position(100);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, LENGTH, buffer.slice()));
+    mStream.close();
+  }
+
+  /**
+   * Tests positioned reads into a direct buffer, including reads past the end of the stream.
+   */
+  @Test
+  public void positionedReadByteBuffer() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(200);
+    Assert.assertEquals(200, mStream.positionedRead(500, buffer));
+    Assert.assertFalse(buffer.hasRemaining());
+    buffer.flip();
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(500, 200, buffer));
+
+    buffer.clear();
+    Assert.assertEquals(100, mStream.positionedRead(900, buffer));
+    buffer.flip();
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(900, 100, buffer));
+
+    Assert.assertEquals(-1, mStream.positionedRead(LENGTH, ByteBuffer.allocateDirect(1)));
+    // Positioned reads do not move the stream.
+    Assert.assertEquals(LENGTH, mStream.remaining());
+    mStream.close();
+  }
+}
@@ -90,7 +90,8 @@ public final class BaseFileSystemTest {
         .createFile(Mockito.any(AlluxioURI.class), Mockito.any(CreateFileOptions.class));
     URIStatus status = new URIStatus(new FileInfo());
     AlluxioURI file = new AlluxioURI("/file");
-    Mockito.when(mFileSystemMasterClient.getStatus(file)).thenReturn(status);
+    Mockito.when(mFileSystemMasterClient.getStatus(file, GetStatusOptions.defaults()))
+        .thenReturn(status);
     CreateFileOptions options = CreateFileOptions.defaults();
     FileOutStream out = mFileSystem.createFile(file, options);
     Mockito.verify(mFileSystemMasterClient).createFile(file, options);
@@ -174,10 +175,10 @@ public final class BaseFileSystemTest {
   public void getStatus() throws Exception {
     AlluxioURI file = new AlluxioURI("/file");
     URIStatus status = new URIStatus(new FileInfo());
-    Mockito.when(mFileSystemMasterClient.getStatus(file)).thenReturn(status);
     GetStatusOptions getStatusOptions = GetStatusOptions.defaults();
+    Mockito.when(mFileSystemMasterClient.getStatus(file, getStatusOptions)).thenReturn(status);
     Assert.assertSame(status, mFileSystem.getStatus(file, getStatusOptions));
-    Mockito.verify(mFileSystemMasterClient).getStatus(file);
+    Mockito.verify(mFileSystemMasterClient).getStatus(file, getStatusOptions);
   }
 
   /**
@@ -186,8 +187,8 @@ public final class BaseFileSystemTest {
   @Test
   public void getStatusException() throws Exception {
     AlluxioURI file = new AlluxioURI("/file");
-    Mockito.when(mFileSystemMasterClient.getStatus(file)).thenThrow(EXCEPTION);
     GetStatusOptions getStatusOptions = GetStatusOptions.defaults();
+    Mockito.when(mFileSystemMasterClient.getStatus(file, getStatusOptions)).thenThrow(EXCEPTION);
     try {
       mFileSystem.getStatus(file, getStatusOptions);
       Assert.fail(SHOULD_HAVE_PROPAGATED_MESSAGE);
@@ -326,10 +327,11 @@ public final class BaseFileSystemTest {
   public void openFile() throws Exception {
     AlluxioURI file = new AlluxioURI("/file");
     URIStatus status = new URIStatus(new FileInfo());
-    Mockito.when(mFileSystemMasterClient.getStatus(file)).thenReturn(status);
+    Mockito.when(mFileSystemMasterClient.getStatus(file, GetStatusOptions.defaults()))
+        .thenReturn(status);
     OpenFileOptions openOptions = OpenFileOptions.defaults();
     mFileSystem.openFile(file, openOptions);
-    Mockito.verify(mFileSystemMasterClient).getStatus(file);
+    Mockito.verify(mFileSystemMasterClient).getStatus(file, GetStatusOptions.defaults());
   }
 
   /**
@@ -338,7 +340,8 @@ public final class BaseFileSystemTest {
   @Test
   public void openException() throws Exception {
     AlluxioURI file = new AlluxioURI("/file");
-    Mockito.when(mFileSystemMasterClient.getStatus(file)).thenThrow(EXCEPTION);
+    Mockito.when(mFileSystemMasterClient.getStatus(file, GetStatusOptions.defaults()))
+        .thenThrow(EXCEPTION);
     OpenFileOptions openOptions = OpenFileOptions.defaults();
     try {
       mFileSystem.openFile(file, openOptions);
@@ -43,6 +43,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -211,6 +212,57 @@ public class FileInStreamTest {
     verifyCacheStreams(FILE_LENGTH);
   }
 
+  /**
+   * Tests that reading the file into a direct buffer works, and writes the data to the cache
+   * streams.
+   */
+  @Test
+  public void readDirectByteBuffer() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocateDirect((int) FILE_LENGTH);
+    while (buffer.hasRemaining()) {
+      Assert.assertTrue(mTestStream.read(buffer) > 0);
+    }
+    Assert.assertEquals(-1, mTestStream.read(ByteBuffer.allocateDirect(1)));
+    buffer.flip();
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) FILE_LENGTH, buffer));
+    verifyCacheStreams(FILE_LENGTH);
+  }
+
+  /**
+   * Tests that sequential reads open the stream of the next block ahead of time, and that the
+   * stream is used once the reads reach the block.
+   */
+  @Test
+  public void readAheadNextBlock() throws IOException {
+    byte[] buffer = new byte[10];
+    for (int i = 0; i < 6; i++) {
+      mTestStream.read(buffer);
+    }
+    // The rest of the first block fits in the read-ahead window.
+    Mockito.verify(mBlockStore).getInStream(Mockito.eq(1L), Mockito.any(InStreamOptions.class));
+
+    byte[] rest = new byte[(int) (2 * BLOCK_LENGTH - 60)];
+    mTestStream.read(rest);
+    Assert.assertArrayEquals(BufferUtils.getIncreasingByteArray(60, rest.length), rest);
+    Mockito.verify(mBlockStore).getInStream(Mockito.eq(1L), Mockito.any(InStreamOptions.class));
+    mTestStream.close();
+  }
+
+  /**
+   * Tests that random reads do not read ahead.
+   */
+  @Test
+  public void noReadAheadForRandomReads() throws IOException {
+    byte[] buffer = new byte[10];
+    for (int i = 0; i < 8; i++) {
+      mTestStream.seek(i % 2 == 0 ? 80 - i * 10 : 10 + i * 10);
+      mTestStream.read(buffer);
+    }
+    Mockito.verify(mBlockStore, Mockito.never())
+        .getInStream(Mockito.eq(1L), Mockito.any(InStreamOptions.class));
+    mTestStream.close();
+  }
+
   /**
    * Tests that {@link FileInStream#remaining()} is correctly updated during reads, skips, and
    * seeks.
@@ -12,6 +12,8 @@
 package alluxio.client.file.options;
 
 import alluxio.CommonTestUtils;
+import alluxio.thrift.FileInfoTDetail;
+import alluxio.wire.FileInfoDetail;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -24,7 +26,22 @@ public class GetStatusOptionsTest {
   public void defaults() {
     GetStatusOptions options = GetStatusOptions.defaults();
 
-    Assert.assertNotNull(options);
+    Assert.assertEquals(FileInfoDetail.All, options.getFileInfoDetail());
+  }
+
+  @Test
+  public void fields() {
+    GetStatusOptions options = GetStatusOptions.defaults();
+    options.setFileInfoDetail(FileInfoDetail.Basic);
+    Assert.assertEquals(FileInfoDetail.Basic, options.getFileInfoDetail());
+  }
+
+  @Test
+  public void toThrift() {
+    GetStatusOptions options =
+        GetStatusOptions.defaults().setFileInfoDetail(FileInfoDetail.BlockLocations);
+    Assert.assertEquals(FileInfoTDetail.BlockLocations,
+        options.toThrift().getFileInfoDetail());
   }
 
   @Test
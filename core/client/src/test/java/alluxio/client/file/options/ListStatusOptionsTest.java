@@ -12,8 +12,10 @@
 package alluxio.client.file.options;
 
 import alluxio.CommonTestUtils;
+import alluxio.thrift.FileInfoTDetail;
 import alluxio.thrift.ListStatusTOptions;
 import alluxio.thrift.LoadMetadataTType;
+import alluxio.wire.FileInfoDetail;
 import alluxio.wire.LoadMetadataType;
 
 import org.junit.Assert;
@@ -28,12 +30,20 @@ public class ListStatusOptionsTest {
     ListStatusOptions options = ListStatusOptions.defaults();
 
     Assert.assertEquals(LoadMetadataType.Once, options.getLoadMetadataType());
+    Assert.assertEquals(FileInfoDetail.All, options.getFileInfoDetail());
+    Assert.assertFalse(options.isRecursive());
   }
 
   @Test
   public void fields() {
     ListStatusOptions options = ListStatusOptions.defaults();
     Assert.assertEquals(LoadMetadataType.Once, options.getLoadMetadataType());
+    options.setStartAfter("foo").setBatchSize(10).setFileInfoDetail(FileInfoDetail.Basic)
+        .setRecursive(true);
+    Assert.assertEquals("foo", options.getStartAfter());
+    Assert.assertEquals(10, options.getBatchSize());
+    Assert.assertEquals(FileInfoDetail.Basic, options.getFileInfoDetail());
+    Assert.assertTrue(options.isRecursive());
   }
 
   @Test
@@ -41,6 +51,18 @@ public class ListStatusOptionsTest {
     ListStatusOptions options = ListStatusOptions.defaults();
     ListStatusTOptions thriftOptions = options.toThrift();
     Assert.assertEquals(LoadMetadataTType.Once, thriftOptions.getLoadMetadataType());
+    Assert.assertFalse(thriftOptions.isSetStartAfter());
+    Assert.assertFalse(thriftOptions.isSetBatchSize());
+    Assert.assertEquals(FileInfoTDetail.All, thriftOptions.getFileInfoDetail());
+    Assert.assertFalse(thriftOptions.isSetRecursive());
+
+    options.setStartAfter("foo").setBatchSize(10).setFileInfoDetail(FileInfoDetail.BlockIds)
+        .setRecursive(true);
+    thriftOptions = options.toThrift();
+    Assert.assertEquals("foo", thriftOptions.getStartAfter());
+    Assert.assertEquals(10, thriftOptions.getBatchSize());
+    Assert.assertEquals(FileInfoTDetail.BlockIds, thriftOptions.getFileInfoDetail());
+    Assert.assertTrue(thriftOptions.isRecursive());
   }
 
   @Test
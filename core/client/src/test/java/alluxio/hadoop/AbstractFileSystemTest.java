@@ -20,10 +20,14 @@ import alluxio.PropertyKey;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.FileSystemMasterClient;
 import alluxio.client.file.URIStatus;
+import alluxio.client.file.options.GetStatusOptions;
+import alluxio.client.file.options.ListStatusOptions;
 import alluxio.client.lineage.LineageContext;
 import alluxio.client.util.ClientTestUtils;
 import alluxio.exception.ConnectionFailedException;
 import alluxio.wire.FileInfo;
+import alluxio.wire.FileInfoDetail;
+import alluxio.wire.LoadMetadataType;
 
 import com.google.common.collect.Lists;
 import org.apache.hadoop.fs.FileStatus;
@@ -272,7 +276,9 @@ public class AbstractFileSystemTest {
     Path path = new Path("/dir");
     alluxio.client.file.FileSystem alluxioFs =
         Mockito.mock(alluxio.client.file.FileSystem.class);
-    Mockito.when(alluxioFs.listStatus(new AlluxioURI(HadoopUtils.getPathWithoutScheme(path))))
+    Mockito.when(alluxioFs.listStatus(Mockito.eq(
+        new AlluxioURI(HadoopUtils.getPathWithoutScheme(path))),
+        Mockito.any(ListStatusOptions.class)))
         .thenReturn(Lists.newArrayList(new URIStatus(fileInfo1), new URIStatus(fileInfo2)));
     FileSystem alluxioHadoopFs = new FileSystem(alluxioFs);
 
@@ -281,6 +287,35 @@ public class AbstractFileSystemTest {
     assertFileInfoEqualsFileStatus(fileInfo2, fileStatuses[1]);
   }
 
+  /**
+   * Tests that the {@link AbstractFileSystem#listStatus(Path)} method fetches a large directory
+   * in batches of {@link PropertyKey#USER_FILE_LIST_STATUS_BATCH_SIZE} entries.
+   */
+  @Test
+  public void listStatusInBatches() throws Exception {
+    Configuration.set(PropertyKey.USER_FILE_LIST_STATUS_BATCH_SIZE, "2");
+    URIStatus status1 = new URIStatus(new FileInfo().setName("a").setPath("/dir/a"));
+    URIStatus status2 = new URIStatus(new FileInfo().setName("b").setPath("/dir/b"));
+    URIStatus status3 = new URIStatus(new FileInfo().setName("c").setPath("/dir/c"));
+
+    Path path = new Path("/dir");
+    AlluxioURI uri = new AlluxioURI(HadoopUtils.getPathWithoutScheme(path));
+    alluxio.client.file.FileSystem alluxioFs =
+        Mockito.mock(alluxio.client.file.FileSystem.class);
+    Mockito.when(alluxioFs.listStatus(uri, ListStatusOptions.defaults().setBatchSize(2)
+        .setFileInfoDetail(FileInfoDetail.Basic)))
+        .thenReturn(Lists.newArrayList(status1, status2));
+    Mockito.when(alluxioFs.listStatus(uri, ListStatusOptions.defaults().setBatchSize(2)
+        .setFileInfoDetail(FileInfoDetail.Basic)
+        .setLoadMetadataType(LoadMetadataType.Never).setStartAfter("b")))
+        .thenReturn(Lists.newArrayList(status3));
+    FileSystem alluxioHadoopFs = new FileSystem(alluxioFs);
+
+    FileStatus[] fileStatuses = alluxioHadoopFs.listStatus(path);
+    Assert.assertEquals(3, fileStatuses.length);
+    Assert.assertEquals("c", fileStatuses[2].getPath().getName());
+  }
+
   @Test
   public void getStatus() throws Exception {
     FileInfo fileInfo = new FileInfo()
@@ -293,7 +328,8 @@ public class AbstractFileSystemTest {
     Path path = new Path("/dir");
     alluxio.client.file.FileSystem alluxioFs =
         Mockito.mock(alluxio.client.file.FileSystem.class);
-    Mockito.when(alluxioFs.getStatus(new AlluxioURI(HadoopUtils.getPathWithoutScheme(path))))
+    Mockito.when(alluxioFs.getStatus(new AlluxioURI(HadoopUtils.getPathWithoutScheme(path)),
+        GetStatusOptions.defaults().setFileInfoDetail(FileInfoDetail.Basic)))
         .thenReturn(new URIStatus(fileInfo));
     FileSystem alluxioHadoopFs = new FileSystem(alluxioFs);
 
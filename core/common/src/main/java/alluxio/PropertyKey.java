@@ -33,6 +33,8 @@ public enum PropertyKey {
       String.format("${%s}/metrics.properties", Name.CONF_DIR)),
   NETWORK_HOST_RESOLUTION_TIMEOUT_MS(Name.NETWORK_HOST_RESOLUTION_TIMEOUT_MS, 5000),
   NETWORK_THRIFT_FRAME_SIZE_BYTES_MAX(Name.NETWORK_THRIFT_FRAME_SIZE_BYTES_MAX, "16MB"),
+  NETWORK_THRIFT_SERVER_SELECTOR_THREADS(Name.NETWORK_THRIFT_SERVER_SELECTOR_THREADS, 2),
+  NETWORK_THRIFT_SERVER_TYPE(Name.NETWORK_THRIFT_SERVER_TYPE, "THREAD_POOL"),
   SITE_CONF_DIR(Name.SITE_CONF_DIR, "${user.home}/.alluxio/,/etc/alluxio/"),
   TEST_MODE(Name.TEST_MODE, false),
   VERSION(Name.VERSION, ProjectConstants.VERSION),
@@ -65,6 +67,19 @@ public enum PropertyKey {
   UNDERFS_HDFS_REMOTE(Name.UNDERFS_HDFS_REMOTE, false),
   UNDERFS_OBJECT_STORE_MOUNT_SHARED_PUBLICLY(Name.UNDERFS_OBJECT_STORE_MOUNT_SHARED_PUBLICLY,
       false),
+  UNDERFS_OBJECT_STORE_SERVICE_THREADS(Name.UNDERFS_OBJECT_STORE_SERVICE_THREADS, 20),
+  UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFERS_MAX(
+      Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFERS_MAX, 4),
+  UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_ENABLED(
+      Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_ENABLED, false),
+  UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_MAX(
+      Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_MAX, "512MB"),
+  UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_WAIT_TIMEOUT_MS(
+      Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_WAIT_TIMEOUT_MS, 60000),
+  UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_PART_SIZE(
+      Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_PART_SIZE, "64MB"),
+  UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_THREADS_MAX(
+      Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_THREADS_MAX, 20),
   UNDERFS_OSS_CONNECT_MAX(Name.UNDERFS_OSS_CONNECT_MAX, 1024),
   UNDERFS_OSS_CONNECT_TIMEOUT(Name.UNDERFS_OSS_CONNECT_TIMEOUT, 50000),
   UNDERFS_OSS_CONNECT_TTL(Name.UNDERFS_OSS_CONNECT_TTL, -1),
@@ -122,12 +137,15 @@ public enum PropertyKey {
   MASTER_FORMAT_FILE_PREFIX(Name.MASTER_FORMAT_FILE_PREFIX, "_format_"),
   MASTER_HEARTBEAT_INTERVAL_MS(Name.MASTER_HEARTBEAT_INTERVAL_MS, 1000),
   MASTER_HOSTNAME(Name.MASTER_HOSTNAME, null),
+  MASTER_JOURNAL_CHECKPOINT_COMPRESSION_ENABLED(
+      Name.MASTER_JOURNAL_CHECKPOINT_COMPRESSION_ENABLED, false),
   MASTER_JOURNAL_FLUSH_BATCH_TIME_MS(Name.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS, 5),
   MASTER_JOURNAL_FLUSH_TIMEOUT_MS(Name.MASTER_JOURNAL_FLUSH_TIMEOUT_MS, 300000),
   MASTER_JOURNAL_FOLDER(Name.MASTER_JOURNAL_FOLDER, String.format("${%s}/journal", Name.WORK_DIR)),
   MASTER_JOURNAL_FORMATTER_CLASS(Name.MASTER_JOURNAL_FORMATTER_CLASS,
       "alluxio.master.journal.ProtoBufJournalFormatter"),
   MASTER_JOURNAL_LOG_SIZE_BYTES_MAX(Name.MASTER_JOURNAL_LOG_SIZE_BYTES_MAX, "10MB"),
+  MASTER_JOURNAL_REPLAY_PREFETCH_SIZE(Name.MASTER_JOURNAL_REPLAY_PREFETCH_SIZE, 65536),
   MASTER_JOURNAL_TAILER_SHUTDOWN_QUIET_WAIT_TIME_MS(
       Name.MASTER_JOURNAL_TAILER_SHUTDOWN_QUIET_WAIT_TIME_MS, 5000),
   MASTER_JOURNAL_TAILER_SLEEP_TIME_MS(Name.MASTER_JOURNAL_TAILER_SLEEP_TIME_MS, 1000),
@@ -149,6 +167,9 @@ public enum PropertyKey {
   MASTER_TIERED_STORE_GLOBAL_LEVEL2_ALIAS(Name.MASTER_TIERED_STORE_GLOBAL_LEVEL2_ALIAS, "HDD"),
   MASTER_TIERED_STORE_GLOBAL_LEVELS(Name.MASTER_TIERED_STORE_GLOBAL_LEVELS, 3),
   MASTER_TTL_CHECKER_INTERVAL_MS(Name.MASTER_TTL_CHECKER_INTERVAL_MS, 3600000),
+  MASTER_UFS_BLOCK_LOCATION_CACHE_CAPACITY(Name.MASTER_UFS_BLOCK_LOCATION_CACHE_CAPACITY, 100000),
+  MASTER_UFS_BLOCK_LOCATION_CACHE_REFRESH_INTERVAL_MS(
+      Name.MASTER_UFS_BLOCK_LOCATION_CACHE_REFRESH_INTERVAL_MS, 300000),
   MASTER_WEB_BIND_HOST(Name.MASTER_WEB_BIND_HOST, "0.0.0.0"),
   MASTER_WEB_HOSTNAME(Name.MASTER_WEB_HOSTNAME, null),
   MASTER_WEB_PORT(Name.MASTER_WEB_PORT, 19999),
@@ -233,6 +254,10 @@ public enum PropertyKey {
   WORKER_TIERED_STORE_RESERVER_ENABLED(Name.WORKER_TIERED_STORE_RESERVER_ENABLED, false),
   WORKER_TIERED_STORE_RESERVER_INTERVAL_MS(Name.WORKER_TIERED_STORE_RESERVER_INTERVAL_MS, 1000),
   WORKER_TIERED_STORE_RETRY(Name.WORKER_TIERED_STORE_RETRY, 3),
+  WORKER_UFS_INSTREAM_CACHE_EXPIRATION_TIME_MS(
+      Name.WORKER_UFS_INSTREAM_CACHE_EXPIRATION_TIME_MS, 10000),
+  WORKER_UFS_INSTREAM_CACHE_MAX_SIZE(Name.WORKER_UFS_INSTREAM_CACHE_MAX_SIZE, 16),
+  WORKER_UFS_INSTREAM_CACHE_MAX_SKIP_BYTES(Name.WORKER_UFS_INSTREAM_CACHE_MAX_SKIP_BYTES, "1MB"),
   WORKER_WEB_BIND_HOST(Name.WORKER_WEB_BIND_HOST, "0.0.0.0"),
   WORKER_WEB_HOSTNAME(Name.WORKER_WEB_HOSTNAME, null),
   WORKER_WEB_PORT(Name.WORKER_WEB_PORT, 30000),
@@ -248,7 +273,11 @@ public enum PropertyKey {
   //
   // User related properties
   //
+  USER_BLOCK_LOCATION_CACHE_TTL_MS(Name.USER_BLOCK_LOCATION_CACHE_TTL_MS,
+      10 * Constants.SECOND_MS),
   USER_BLOCK_MASTER_CLIENT_THREADS(Name.USER_BLOCK_MASTER_CLIENT_THREADS, 10),
+  USER_BLOCK_READ_LOCATION_POLICY(Name.USER_BLOCK_READ_LOCATION_POLICY,
+      "alluxio.client.block.policy.TierFirstReadPolicy"),
   USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES(Name.USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES, "8MB"),
   // Deprecated. It will be removed in 2.0.0.
   USER_BLOCK_REMOTE_READER_CLASS(Name.USER_BLOCK_REMOTE_READER_CLASS,
@@ -265,8 +294,12 @@ public enum PropertyKey {
   USER_FAILED_SPACE_REQUEST_LIMITS(Name.USER_FAILED_SPACE_REQUEST_LIMITS, 3),
   USER_FILE_BUFFER_BYTES(Name.USER_FILE_BUFFER_BYTES, "1MB"),
   USER_FILE_CACHE_PARTIALLY_READ_BLOCK(Name.USER_FILE_CACHE_PARTIALLY_READ_BLOCK, true),
+  USER_FILE_LIST_STATUS_BATCH_SIZE(Name.USER_FILE_LIST_STATUS_BATCH_SIZE, 1000),
   USER_FILE_MASTER_CLIENT_THREADS(Name.USER_FILE_MASTER_CLIENT_THREADS, 10),
   USER_FILE_PASSIVE_CACHE_ENABLED(Name.USER_FILE_PASSIVE_CACHE_ENABLED, true),
+  USER_FILE_READ_AHEAD_MAX_BYTES(Name.USER_FILE_READ_AHEAD_MAX_BYTES, "2MB"),
+  USER_FILE_READ_AHEAD_NEXT_BLOCK_MAX_BYTES(Name.USER_FILE_READ_AHEAD_NEXT_BLOCK_MAX_BYTES,
+      "1MB"),
   USER_FILE_READ_TYPE_DEFAULT(Name.USER_FILE_READ_TYPE_DEFAULT, "CACHE_PROMOTE"),
   USER_FILE_SEEK_BUFFER_SIZE_BYTES(Name.USER_FILE_SEEK_BUFFER_SIZE_BYTES, "1MB"),
   USER_FILE_WAITCOMPLETED_POLL_MS(Name.USER_FILE_WAITCOMPLETED_POLL_MS, 1000),
@@ -284,6 +317,9 @@ public enum PropertyKey {
   USER_HOSTNAME(Name.USER_HOSTNAME, null),
   USER_LINEAGE_ENABLED(Name.USER_LINEAGE_ENABLED, false),
   USER_LINEAGE_MASTER_CLIENT_THREADS(Name.USER_LINEAGE_MASTER_CLIENT_THREADS, 10),
+  USER_LOCAL_READER_MMAP_CACHE_SIZE_BYTES(Name.USER_LOCAL_READER_MMAP_CACHE_SIZE_BYTES, "256MB"),
+  USER_LOCAL_READER_MMAP_REGION_SIZE_BYTES(Name.USER_LOCAL_READER_MMAP_REGION_SIZE_BYTES,
+      "128MB"),
   USER_LOCAL_READER_PACKET_SIZE_BYTES(Name.USER_LOCAL_READER_PACKET_SIZE_BYTES, "8MB"),
   USER_LOCAL_WRITER_PACKET_SIZE_BYTES(Name.USER_LOCAL_WRITER_PACKET_SIZE_BYTES, "64KB"),
   USER_NETWORK_NETTY_CHANNEL(Name.USER_NETWORK_NETTY_CHANNEL, null),
@@ -427,6 +463,9 @@ public enum PropertyKey {
         "alluxio.network.host.resolution.timeout.ms";
     public static final String NETWORK_THRIFT_FRAME_SIZE_BYTES_MAX =
         "alluxio.network.thrift.frame.size.bytes.max";
+    public static final String NETWORK_THRIFT_SERVER_SELECTOR_THREADS =
+        "alluxio.network.thrift.server.selector.threads";
+    public static final String NETWORK_THRIFT_SERVER_TYPE = "alluxio.network.thrift.server.type";
     public static final String SITE_CONF_DIR = "alluxio.site.conf.dir";
     public static final String TEST_MODE = "alluxio.test.mode";
     public static final String VERSION = "alluxio.version";
@@ -460,6 +499,20 @@ public enum PropertyKey {
     public static final String UNDERFS_HDFS_REMOTE = "alluxio.underfs.hdfs.remote";
     public static final String UNDERFS_OBJECT_STORE_MOUNT_SHARED_PUBLICLY =
         "alluxio.underfs.object.store.mount.shared.publicly";
+    public static final String UNDERFS_OBJECT_STORE_SERVICE_THREADS =
+        "alluxio.underfs.object.store.service.threads";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFERS_MAX =
+        "alluxio.underfs.object.store.streaming.upload.buffers.max";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_ENABLED =
+        "alluxio.underfs.object.store.streaming.upload.enabled";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_MAX =
+        "alluxio.underfs.object.store.streaming.upload.memory.max";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_WAIT_TIMEOUT_MS =
+        "alluxio.underfs.object.store.streaming.upload.memory.wait.timeout.ms";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_PART_SIZE =
+        "alluxio.underfs.object.store.streaming.upload.part.size";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_THREADS_MAX =
+        "alluxio.underfs.object.store.streaming.upload.threads.max";
     public static final String UNDERFS_OSS_CONNECT_MAX = "alluxio.underfs.oss.connection.max";
     public static final String UNDERFS_OSS_CONNECT_TIMEOUT =
         "alluxio.underfs.oss.connection.timeout.ms";
@@ -529,6 +582,8 @@ public enum PropertyKey {
     public static final String MASTER_HEARTBEAT_INTERVAL_MS =
         "alluxio.master.heartbeat.interval.ms";
     public static final String MASTER_HOSTNAME = "alluxio.master.hostname";
+    public static final String MASTER_JOURNAL_CHECKPOINT_COMPRESSION_ENABLED =
+        "alluxio.master.journal.checkpoint.compression.enabled";
     public static final String MASTER_JOURNAL_FLUSH_BATCH_TIME_MS =
         "alluxio.master.journal.flush.batch.time.ms";
     public static final String MASTER_JOURNAL_FLUSH_TIMEOUT_MS =
@@ -538,6 +593,8 @@ public enum PropertyKey {
         "alluxio.master.journal.formatter.class";
     public static final String MASTER_JOURNAL_LOG_SIZE_BYTES_MAX =
         "alluxio.master.journal.log.size.bytes.max";
+    public static final String MASTER_JOURNAL_REPLAY_PREFETCH_SIZE =
+        "alluxio.master.journal.replay.prefetch.size";
     public static final String MASTER_JOURNAL_TAILER_SHUTDOWN_QUIET_WAIT_TIME_MS =
         "alluxio.master.journal.tailer.shutdown.quiet.wait.time.ms";
     public static final String MASTER_JOURNAL_TAILER_SLEEP_TIME_MS =
@@ -566,6 +623,10 @@ public enum PropertyKey {
         "alluxio.master.tieredstore.global.levels";
     public static final String MASTER_TTL_CHECKER_INTERVAL_MS =
         "alluxio.master.ttl.checker.interval.ms";
+    public static final String MASTER_UFS_BLOCK_LOCATION_CACHE_CAPACITY =
+        "alluxio.master.ufs.block.location.cache.capacity";
+    public static final String MASTER_UFS_BLOCK_LOCATION_CACHE_REFRESH_INTERVAL_MS =
+        "alluxio.master.ufs.block.location.cache.refresh.interval.ms";
     public static final String MASTER_WEB_BIND_HOST = "alluxio.master.web.bind.host";
     public static final String MASTER_WEB_HOSTNAME = "alluxio.master.web.hostname";
     public static final String MASTER_WEB_PORT = "alluxio.master.web.port";
@@ -682,6 +743,12 @@ public enum PropertyKey {
     public static final String WORKER_TIERED_STORE_RESERVER_INTERVAL_MS =
         "alluxio.worker.tieredstore.reserver.interval.ms";
     public static final String WORKER_TIERED_STORE_RETRY = "alluxio.worker.tieredstore.retry";
+    public static final String WORKER_UFS_INSTREAM_CACHE_EXPIRATION_TIME_MS =
+        "alluxio.worker.ufs.instream.cache.expiration.time.ms";
+    public static final String WORKER_UFS_INSTREAM_CACHE_MAX_SIZE =
+        "alluxio.worker.ufs.instream.cache.max.size";
+    public static final String WORKER_UFS_INSTREAM_CACHE_MAX_SKIP_BYTES =
+        "alluxio.worker.ufs.instream.cache.max.skip.bytes";
     public static final String WORKER_WEB_BIND_HOST = "alluxio.worker.web.bind.host";
     public static final String WORKER_WEB_HOSTNAME = "alluxio.worker.web.hostname";
     public static final String WORKER_WEB_PORT = "alluxio.worker.web.port";
@@ -698,8 +765,12 @@ public enum PropertyKey {
     //
     // User related properties
     //
+    public static final String USER_BLOCK_LOCATION_CACHE_TTL_MS =
+        "alluxio.user.block.location.cache.ttl.ms";
     public static final String USER_BLOCK_MASTER_CLIENT_THREADS =
         "alluxio.user.block.master.client.threads";
+    public static final String USER_BLOCK_READ_LOCATION_POLICY =
+        "alluxio.user.block.read.location.policy.class";
     public static final String USER_BLOCK_REMOTE_READER_CLASS =
         "alluxio.user.block.remote.reader.class";
     public static final String USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES =
@@ -721,10 +792,16 @@ public enum PropertyKey {
     public static final String USER_FILE_BUFFER_BYTES = "alluxio.user.file.buffer.bytes";
     public static final String USER_FILE_CACHE_PARTIALLY_READ_BLOCK =
         "alluxio.user.file.cache.partially.read.block";
+    public static final String USER_FILE_LIST_STATUS_BATCH_SIZE =
+        "alluxio.user.file.liststatus.batch.size";
     public static final String USER_FILE_MASTER_CLIENT_THREADS =
         "alluxio.user.file.master.client.threads";
     public static final String USER_FILE_PASSIVE_CACHE_ENABLED =
         "alluxio.user.file.passive.cache.enabled";
+    public static final String USER_FILE_READ_AHEAD_MAX_BYTES =
+        "alluxio.user.file.read.ahead.max.bytes";
+    public static final String USER_FILE_READ_AHEAD_NEXT_BLOCK_MAX_BYTES =
+        "alluxio.user.file.read.ahead.next.block.max.bytes";
     public static final String USER_FILE_READ_TYPE_DEFAULT = "alluxio.user.file.readtype.default";
     public static final String USER_FILE_SEEK_BUFFER_SIZE_BYTES =
         "alluxio.user.file.seek.buffer.size.bytes";
@@ -748,6 +825,10 @@ public enum PropertyKey {
     public static final String USER_LINEAGE_ENABLED = "alluxio.user.lineage.enabled";
     public static final String USER_LINEAGE_MASTER_CLIENT_THREADS =
         "alluxio.user.lineage.master.client.threads";
+    public static final String USER_LOCAL_READER_MMAP_CACHE_SIZE_BYTES =
+        "alluxio.user.local.reader.mmap.cache.size.bytes";
+    public static final String USER_LOCAL_READER_MMAP_REGION_SIZE_BYTES =
+        "alluxio.user.local.reader.mmap.region.size.bytes";
     public static final String USER_LOCAL_READER_PACKET_SIZE_BYTES =
         "alluxio.user.local.reader.packet.size.bytes";
     public static final String USER_LOCAL_WRITER_PACKET_SIZE_BYTES =
@@ -39,6 +39,7 @@ public final class HeartbeatContext {
   public static final String WORKER_FILESYSTEM_MASTER_SYNC = "Worker FileSystemMaster Sync";
   public static final String WORKER_PIN_LIST_SYNC = "Worker Pin List Sync";
   public static final String WORKER_SPACE_RESERVER = "Worker Space Reserver";
+  public static final String WORKER_UFS_INSTREAM_CACHE = "Worker UFS Input Stream Cache";
 
   static {
     sTimerClasses = new HashMap<>();
@@ -52,6 +53,7 @@ public final class HeartbeatContext {
     sTimerClasses.put(WORKER_CLIENT, SLEEPING_TIMER_CLASS);
     sTimerClasses.put(WORKER_PIN_LIST_SYNC, SLEEPING_TIMER_CLASS);
     sTimerClasses.put(WORKER_SPACE_RESERVER, SLEEPING_TIMER_CLASS);
+    sTimerClasses.put(WORKER_UFS_INSTREAM_CACHE, SLEEPING_TIMER_CLASS);
   }
 
   private HeartbeatContext() {} // to prevent initialization
@@ -0,0 +1,33 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * What type of thrift server to serve RPCs with.
+ */
+@ThreadSafe
+public enum ThriftServerType {
+  /**
+   * Dedicates a thread from a pool to each client connection for the lifetime of the connection.
+   */
+  THREAD_POOL,
+  /**
+   * Uses a few selector threads to read requests from all the client connections, and processes
+   * the requests on a bounded pool of handler threads. This decouples the number of connections
+   * from the number of threads, but is only supported with framed transports, so it requires
+   * {@link alluxio.security.authentication.AuthType#NOSASL} authentication.
+   */
+  THREADED_SELECTOR,
+  ;
+}
@@ -56,6 +56,11 @@ public final class DataByteArrayChannel implements DataBuffer {
     throw new UnsupportedOperationException("DataByteArrayChannel#readBytes is not implemented.");
   }
 
+  @Override
+  public void readBytes(ByteBuffer outputBuf) {
+    throw new UnsupportedOperationException("DataByteArrayChannel#readBytes is not implemented.");
+  }
+
   @Override
   public int readableBytes() {
     throw new UnsupportedOperationException(
@@ -77,6 +77,11 @@ public final class DataNettyBuffer implements DataBuffer {
     throw new UnsupportedOperationException("DataNettyBuffer#readBytes is not implemented.");
   }
 
+  @Override
+  public void readBytes(ByteBuffer outputBuf) {
+    throw new UnsupportedOperationException("DataNettyBuffer#readBytes is not implemented.");
+  }
+
   @Override
   public int readableBytes() {
     throw new UnsupportedOperationException("DataNettyBuffer#readBytes is not implemented.");
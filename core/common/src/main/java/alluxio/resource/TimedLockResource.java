@@ -0,0 +1,66 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.resource;
+
+import com.codahale.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A resource lock like {@link LockResource}, which also records how long it took to acquire the
+ * lock, and how long the lock was held. This makes lock contention visible in the metrics.
+ *
+ * <pre>
+ *   try (LockResource r = new TimedLockResource(lock, waitTimer, holdTimer)) {
+ *     ...
+ *   }
+ * </pre>
+ */
+public class TimedLockResource extends LockResource {
+  private final Timer mHoldTimer;
+  /** The time (in nanoseconds) when the lock was acquired. */
+  private final long mLockedTimeNs;
+
+  /**
+   * Creates a new instance of {@link TimedLockResource} using the given lock.
+   *
+   * @param lock the lock to acquire
+   * @param waitTimer the timer to record the time spent waiting for the lock
+   * @param holdTimer the timer to record the time the lock is held
+   */
+  public TimedLockResource(Lock lock, Timer waitTimer, Timer holdTimer) {
+    this(lock, waitTimer, holdTimer, System.nanoTime());
+  }
+
+  /**
+   * @param lock the lock to acquire
+   * @param waitTimer the timer to record the time spent waiting for the lock
+   * @param holdTimer the timer to record the time the lock is held
+   * @param startTimeNs the time (in nanoseconds) before acquiring the lock
+   */
+  private TimedLockResource(Lock lock, Timer waitTimer, Timer holdTimer, long startTimeNs) {
+    super(lock);
+    mHoldTimer = holdTimer;
+    mLockedTimeNs = System.nanoTime();
+    waitTimer.update(mLockedTimeNs - startTimeNs, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Releases the lock.
+   */
+  @Override
+  public void close() {
+    super.close();
+    mHoldTimer.update(System.nanoTime() - mLockedTimeNs, TimeUnit.NANOSECONDS);
+  }
+}
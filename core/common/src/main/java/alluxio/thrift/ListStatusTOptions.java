@@ -40,6 +40,10 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
 
   private static final org.apache.thrift.protocol.TField LOAD_DIRECT_CHILDREN_FIELD_DESC = new org.apache.thrift.protocol.TField("loadDirectChildren", org.apache.thrift.protocol.TType.BOOL, (short)1);
   private static final org.apache.thrift.protocol.TField LOAD_METADATA_TYPE_FIELD_DESC = new org.apache.thrift.protocol.TField("loadMetadataType", org.apache.thrift.protocol.TType.I32, (short)2);
+  private static final org.apache.thrift.protocol.TField START_AFTER_FIELD_DESC = new org.apache.thrift.protocol.TField("startAfter", org.apache.thrift.protocol.TType.STRING, (short)3);
+  private static final org.apache.thrift.protocol.TField BATCH_SIZE_FIELD_DESC = new org.apache.thrift.protocol.TField("batchSize", org.apache.thrift.protocol.TType.I32, (short)4);
+  private static final org.apache.thrift.protocol.TField FILE_INFO_DETAIL_FIELD_DESC = new org.apache.thrift.protocol.TField("fileInfoDetail", org.apache.thrift.protocol.TType.I32, (short)5);
+  private static final org.apache.thrift.protocol.TField RECURSIVE_FIELD_DESC = new org.apache.thrift.protocol.TField("recursive", org.apache.thrift.protocol.TType.BOOL, (short)6);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -49,6 +53,10 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
 
   private boolean loadDirectChildren; // optional
   private LoadMetadataTType loadMetadataType; // optional
+  private String startAfter; // optional
+  private int batchSize; // optional
+  private FileInfoTDetail fileInfoDetail; // optional
+  private boolean recursive; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -57,7 +65,15 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
      * 
      * @see LoadMetadataTType
      */
-    LOAD_METADATA_TYPE((short)2, "loadMetadataType");
+    LOAD_METADATA_TYPE((short)2, "loadMetadataType"),
+    START_AFTER((short)3, "startAfter"),
+    BATCH_SIZE((short)4, "batchSize"),
+    /**
+     * 
+     * @see FileInfoTDetail
+     */
+    FILE_INFO_DETAIL((short)5, "fileInfoDetail"),
+    RECURSIVE((short)6, "recursive");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -76,6 +92,14 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
           return LOAD_DIRECT_CHILDREN;
         case 2: // LOAD_METADATA_TYPE
           return LOAD_METADATA_TYPE;
+        case 3: // START_AFTER
+          return START_AFTER;
+        case 4: // BATCH_SIZE
+          return BATCH_SIZE;
+        case 5: // FILE_INFO_DETAIL
+          return FILE_INFO_DETAIL;
+        case 6: // RECURSIVE
+          return RECURSIVE;
         default:
           return null;
       }
@@ -117,8 +141,10 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
 
   // isset id assignments
   private static final int __LOADDIRECTCHILDREN_ISSET_ID = 0;
+  private static final int __BATCHSIZE_ISSET_ID = 1;
+  private static final int __RECURSIVE_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.LOAD_DIRECT_CHILDREN,_Fields.LOAD_METADATA_TYPE};
+  private static final _Fields optionals[] = {_Fields.LOAD_DIRECT_CHILDREN,_Fields.LOAD_METADATA_TYPE,_Fields.START_AFTER,_Fields.BATCH_SIZE,_Fields.FILE_INFO_DETAIL,_Fields.RECURSIVE};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -126,6 +152,14 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
     tmpMap.put(_Fields.LOAD_METADATA_TYPE, new org.apache.thrift.meta_data.FieldMetaData("loadMetadataType", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, LoadMetadataTType.class)));
+    tmpMap.put(_Fields.START_AFTER, new org.apache.thrift.meta_data.FieldMetaData("startAfter", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+    tmpMap.put(_Fields.BATCH_SIZE, new org.apache.thrift.meta_data.FieldMetaData("batchSize", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.FILE_INFO_DETAIL, new org.apache.thrift.meta_data.FieldMetaData("fileInfoDetail", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, FileInfoTDetail.class)));
+    tmpMap.put(_Fields.RECURSIVE, new org.apache.thrift.meta_data.FieldMetaData("recursive", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ListStatusTOptions.class, metaDataMap);
   }
@@ -142,6 +176,14 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
     if (other.isSetLoadMetadataType()) {
       this.loadMetadataType = other.loadMetadataType;
     }
+    if (other.isSetStartAfter()) {
+      this.startAfter = other.startAfter;
+    }
+    this.batchSize = other.batchSize;
+    if (other.isSetFileInfoDetail()) {
+      this.fileInfoDetail = other.fileInfoDetail;
+    }
+    this.recursive = other.recursive;
   }
 
   public ListStatusTOptions deepCopy() {
@@ -153,6 +195,12 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
     setLoadDirectChildrenIsSet(false);
     this.loadDirectChildren = false;
     this.loadMetadataType = null;
+    this.startAfter = null;
+    setBatchSizeIsSet(false);
+    this.batchSize = 0;
+    this.fileInfoDetail = null;
+    setRecursiveIsSet(false);
+    this.recursive = false;
   }
 
   public boolean isLoadDirectChildren() {
@@ -210,6 +258,108 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
     }
   }
 
+  public String getStartAfter() {
+    return this.startAfter;
+  }
+
+  public ListStatusTOptions setStartAfter(String startAfter) {
+    this.startAfter = startAfter;
+    return this;
+  }
+
+  public void unsetStartAfter() {
+    this.startAfter = null;
+  }
+
+  /** Returns true if field startAfter is set (has been assigned a value) and false otherwise */
+  public boolean isSetStartAfter() {
+    return this.startAfter != null;
+  }
+
+  public void setStartAfterIsSet(boolean value) {
+    if (!value) {
+      this.startAfter = null;
+    }
+  }
+
+  public int getBatchSize() {
+    return this.batchSize;
+  }
+
+  public ListStatusTOptions setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+    setBatchSizeIsSet(true);
+    return this;
+  }
+
+  public void unsetBatchSize() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __BATCHSIZE_ISSET_ID);
+  }
+
+  /** Returns true if field batchSize is set (has been assigned a value) and false otherwise */
+  public boolean isSetBatchSize() {
+    return EncodingUtils.testBit(__isset_bitfield, __BATCHSIZE_ISSET_ID);
+  }
+
+  public void setBatchSizeIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __BATCHSIZE_ISSET_ID, value);
+  }
+
+  /**
+   * 
+   * @see FileInfoTDetail
+   */
+  public FileInfoTDetail getFileInfoDetail() {
+    return this.fileInfoDetail;
+  }
+
+  /**
+   * 
+   * @see FileInfoTDetail
+   */
+  public ListStatusTOptions setFileInfoDetail(FileInfoTDetail fileInfoDetail) {
+    this.fileInfoDetail = fileInfoDetail;
+    return this;
+  }
+
+  public void unsetFileInfoDetail() {
+    this.fileInfoDetail = null;
+  }
+
+  /** Returns true if field fileInfoDetail is set (has been assigned a value) and false otherwise */
+  public boolean isSetFileInfoDetail() {
+    return this.fileInfoDetail != null;
+  }
+
+  public void setFileInfoDetailIsSet(boolean value) {
+    if (!value) {
+      this.fileInfoDetail = null;
+    }
+  }
+
+  public boolean isRecursive() {
+    return this.recursive;
+  }
+
+  public ListStatusTOptions setRecursive(boolean recursive) {
+    this.recursive = recursive;
+    setRecursiveIsSet(true);
+    return this;
+  }
+
+  public void unsetRecursive() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __RECURSIVE_ISSET_ID);
+  }
+
+  /** Returns true if field recursive is set (has been assigned a value) and false otherwise */
+  public boolean isSetRecursive() {
+    return EncodingUtils.testBit(__isset_bitfield, __RECURSIVE_ISSET_ID);
+  }
+
+  public void setRecursiveIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __RECURSIVE_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case LOAD_DIRECT_CHILDREN:
@@ -228,6 +378,38 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
       }
       break;
 
+    case START_AFTER:
+      if (value == null) {
+        unsetStartAfter();
+      } else {
+        setStartAfter((String)value);
+      }
+      break;
+
+    case BATCH_SIZE:
+      if (value == null) {
+        unsetBatchSize();
+      } else {
+        setBatchSize((Integer)value);
+      }
+      break;
+
+    case FILE_INFO_DETAIL:
+      if (value == null) {
+        unsetFileInfoDetail();
+      } else {
+        setFileInfoDetail((FileInfoTDetail)value);
+      }
+      break;
+
+    case RECURSIVE:
+      if (value == null) {
+        unsetRecursive();
+      } else {
+        setRecursive((Boolean)value);
+      }
+      break;
+
     }
   }
 
@@ -239,6 +421,18 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
     case LOAD_METADATA_TYPE:
       return getLoadMetadataType();
 
+    case START_AFTER:
+      return getStartAfter();
+
+    case BATCH_SIZE:
+      return getBatchSize();
+
+    case FILE_INFO_DETAIL:
+      return getFileInfoDetail();
+
+    case RECURSIVE:
+      return isRecursive();
+
     }
     throw new IllegalStateException();
   }
@@ -254,6 +448,14 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
       return isSetLoadDirectChildren();
     case LOAD_METADATA_TYPE:
       return isSetLoadMetadataType();
+    case START_AFTER:
+      return isSetStartAfter();
+    case BATCH_SIZE:
+      return isSetBatchSize();
+    case FILE_INFO_DETAIL:
+      return isSetFileInfoDetail();
+    case RECURSIVE:
+      return isSetRecursive();
     }
     throw new IllegalStateException();
   }
@@ -289,6 +491,42 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
         return false;
     }
 
+    boolean this_present_startAfter = true && this.isSetStartAfter();
+    boolean that_present_startAfter = true && that.isSetStartAfter();
+    if (this_present_startAfter || that_present_startAfter) {
+      if (!(this_present_startAfter && that_present_startAfter))
+        return false;
+      if (!this.startAfter.equals(that.startAfter))
+        return false;
+    }
+
+    boolean this_present_batchSize = true && this.isSetBatchSize();
+    boolean that_present_batchSize = true && that.isSetBatchSize();
+    if (this_present_batchSize || that_present_batchSize) {
+      if (!(this_present_batchSize && that_present_batchSize))
+        return false;
+      if (this.batchSize != that.batchSize)
+        return false;
+    }
+
+    boolean this_present_fileInfoDetail = true && this.isSetFileInfoDetail();
+    boolean that_present_fileInfoDetail = true && that.isSetFileInfoDetail();
+    if (this_present_fileInfoDetail || that_present_fileInfoDetail) {
+      if (!(this_present_fileInfoDetail && that_present_fileInfoDetail))
+        return false;
+      if (!this.fileInfoDetail.equals(that.fileInfoDetail))
+        return false;
+    }
+
+    boolean this_present_recursive = true && this.isSetRecursive();
+    boolean that_present_recursive = true && that.isSetRecursive();
+    if (this_present_recursive || that_present_recursive) {
+      if (!(this_present_recursive && that_present_recursive))
+        return false;
+      if (this.recursive != that.recursive)
+        return false;
+    }
+
     return true;
   }
 
@@ -306,6 +544,26 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
     if (present_loadMetadataType)
       list.add(loadMetadataType.getValue());
 
+    boolean present_startAfter = true && (isSetStartAfter());
+    list.add(present_startAfter);
+    if (present_startAfter)
+      list.add(startAfter);
+
+    boolean present_batchSize = true && (isSetBatchSize());
+    list.add(present_batchSize);
+    if (present_batchSize)
+      list.add(batchSize);
+
+    boolean present_fileInfoDetail = true && (isSetFileInfoDetail());
+    list.add(present_fileInfoDetail);
+    if (present_fileInfoDetail)
+      list.add(fileInfoDetail.getValue());
+
+    boolean present_recursive = true && (isSetRecursive());
+    list.add(present_recursive);
+    if (present_recursive)
+      list.add(recursive);
+
     return list.hashCode();
   }
 
@@ -337,6 +595,46 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetStartAfter()).compareTo(other.isSetStartAfter());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStartAfter()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.startAfter, other.startAfter);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetBatchSize()).compareTo(other.isSetBatchSize());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetBatchSize()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.batchSize, other.batchSize);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetFileInfoDetail()).compareTo(other.isSetFileInfoDetail());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetFileInfoDetail()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.fileInfoDetail, other.fileInfoDetail);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetRecursive()).compareTo(other.isSetRecursive());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetRecursive()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.recursive, other.recursive);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -372,6 +670,38 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
       }
       first = false;
     }
+    if (isSetStartAfter()) {
+      if (!first) sb.append(", ");
+      sb.append("startAfter:");
+      if (this.startAfter == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.startAfter);
+      }
+      first = false;
+    }
+    if (isSetBatchSize()) {
+      if (!first) sb.append(", ");
+      sb.append("batchSize:");
+      sb.append(this.batchSize);
+      first = false;
+    }
+    if (isSetFileInfoDetail()) {
+      if (!first) sb.append(", ");
+      sb.append("fileInfoDetail:");
+      if (this.fileInfoDetail == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.fileInfoDetail);
+      }
+      first = false;
+    }
+    if (isSetRecursive()) {
+      if (!first) sb.append(", ");
+      sb.append("recursive:");
+      sb.append(this.recursive);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -433,6 +763,38 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 3: // START_AFTER
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.startAfter = iprot.readString();
+              struct.setStartAfterIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 4: // BATCH_SIZE
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.batchSize = iprot.readI32();
+              struct.setBatchSizeIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 5: // FILE_INFO_DETAIL
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.fileInfoDetail = alluxio.thrift.FileInfoTDetail.findByValue(iprot.readI32());
+              struct.setFileInfoDetailIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 6: // RECURSIVE
+            if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+              struct.recursive = iprot.readBool();
+              struct.setRecursiveIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -460,6 +822,30 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
           oprot.writeFieldEnd();
         }
       }
+      if (struct.startAfter != null) {
+        if (struct.isSetStartAfter()) {
+          oprot.writeFieldBegin(START_AFTER_FIELD_DESC);
+          oprot.writeString(struct.startAfter);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.isSetBatchSize()) {
+        oprot.writeFieldBegin(BATCH_SIZE_FIELD_DESC);
+        oprot.writeI32(struct.batchSize);
+        oprot.writeFieldEnd();
+      }
+      if (struct.fileInfoDetail != null) {
+        if (struct.isSetFileInfoDetail()) {
+          oprot.writeFieldBegin(FILE_INFO_DETAIL_FIELD_DESC);
+          oprot.writeI32(struct.fileInfoDetail.getValue());
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.isSetRecursive()) {
+        oprot.writeFieldBegin(RECURSIVE_FIELD_DESC);
+        oprot.writeBool(struct.recursive);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -484,19 +870,43 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
       if (struct.isSetLoadMetadataType()) {
         optionals.set(1);
       }
-      oprot.writeBitSet(optionals, 2);
+      if (struct.isSetStartAfter()) {
+        optionals.set(2);
+      }
+      if (struct.isSetBatchSize()) {
+        optionals.set(3);
+      }
+      if (struct.isSetFileInfoDetail()) {
+        optionals.set(4);
+      }
+      if (struct.isSetRecursive()) {
+        optionals.set(5);
+      }
+      oprot.writeBitSet(optionals, 6);
       if (struct.isSetLoadDirectChildren()) {
         oprot.writeBool(struct.loadDirectChildren);
       }
       if (struct.isSetLoadMetadataType()) {
         oprot.writeI32(struct.loadMetadataType.getValue());
       }
+      if (struct.isSetStartAfter()) {
+        oprot.writeString(struct.startAfter);
+      }
+      if (struct.isSetBatchSize()) {
+        oprot.writeI32(struct.batchSize);
+      }
+      if (struct.isSetFileInfoDetail()) {
+        oprot.writeI32(struct.fileInfoDetail.getValue());
+      }
+      if (struct.isSetRecursive()) {
+        oprot.writeBool(struct.recursive);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, ListStatusTOptions struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(2);
+      BitSet incoming = iprot.readBitSet(6);
       if (incoming.get(0)) {
         struct.loadDirectChildren = iprot.readBool();
         struct.setLoadDirectChildrenIsSet(true);
@@ -505,6 +915,22 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
         struct.loadMetadataType = alluxio.thrift.LoadMetadataTType.findByValue(iprot.readI32());
         struct.setLoadMetadataTypeIsSet(true);
       }
+      if (incoming.get(2)) {
+        struct.startAfter = iprot.readString();
+        struct.setStartAfterIsSet(true);
+      }
+      if (incoming.get(3)) {
+        struct.batchSize = iprot.readI32();
+        struct.setBatchSizeIsSet(true);
+      }
+      if (incoming.get(4)) {
+        struct.fileInfoDetail = alluxio.thrift.FileInfoTDetail.findByValue(iprot.readI32());
+        struct.setFileInfoDetailIsSet(true);
+      }
+      if (incoming.get(5)) {
+        struct.recursive = iprot.readBool();
+        struct.setRecursiveIsSet(true);
+      }
     }
   }
 
@@ -15,6 +15,7 @@ import alluxio.AlluxioURI;
 import alluxio.collections.Pair;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.underfs.options.DeleteOptions;
+import alluxio.underfs.options.FileLocationOptions;
 import alluxio.underfs.options.ListOptions;
 import alluxio.underfs.options.MkdirsOptions;
 import alluxio.underfs.options.OpenOptions;
@@ -75,6 +76,23 @@ public abstract class BaseUnderFileSystem implements UnderFileSystem {
     return isFile(path) || isDirectory(path);
   }
 
+  @Override
+  public Map<Long, List<String>> getFileBlockLocations(String path, long blockSizeBytes)
+      throws IOException {
+    // By default, ask for the locations of each block separately.
+    Map<Long, List<String>> ret = new HashMap<>();
+    long length = getFileSize(path);
+    for (long offset = 0; offset < length; offset += blockSizeBytes) {
+      List<String> locations =
+          getFileLocations(path, FileLocationOptions.defaults().setOffset(offset));
+      if (locations == null) {
+        return null;
+      }
+      ret.put(offset, locations);
+    }
+    return ret;
+  }
+
   @Override
   public Map<String, String> getProperties() {
     return Collections.unmodifiableMap(mProperties);
@@ -0,0 +1,200 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Constants;
+import alluxio.util.CommonUtils;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pool of upload buffers shared by all the {@link MultipartUploadOutputStream}s of an under file
+ * system. The pool holds at most a fixed number of bytes in buffers, whether they are being filled,
+ * being uploaded or free, so the memory used by streaming uploads is bounded regardless of the
+ * number of files being written concurrently.
+ *
+ * Buffers may be smaller than a part, so that objects smaller than a part do not reserve a whole
+ * part. Only buffers of the part size are kept for reuse once released. Callers wait for bytes to
+ * be released when the pool is exhausted, and fail once the wait times out.
+ */
+@ThreadSafe
+public final class MultipartUploadBufferPool {
+  /** The size of the first buffer of an upload, unless the part size is smaller. */
+  private static final int INITIAL_BUFFER_SIZE = 64 * Constants.KB;
+
+  /** The size of each part buffer. */
+  private final int mPartSize;
+
+  /** The size of the first buffer of an upload. */
+  private final int mInitialBufferSize;
+
+  /** The maximum time to wait for bytes to be released. */
+  private final long mWaitTimeoutMs;
+
+  /** The number of bytes which are neither handed out nor held in free buffers. */
+  @GuardedBy("this")
+  private long mAvailableBytes;
+
+  /** Part buffers which have been released and can be reused. */
+  @GuardedBy("this")
+  private final Deque<byte[]> mFreeBuffers = new ArrayDeque<>();
+
+  /**
+   * Creates a new instance of {@link MultipartUploadBufferPool}.
+   *
+   * @param partSize the size of each part buffer
+   * @param capacityBytes the maximum number of bytes held in buffers, which is at least one part
+   * @param waitTimeoutMs the maximum time to wait for bytes to be released
+   */
+  public MultipartUploadBufferPool(long partSize, long capacityBytes, long waitTimeoutMs) {
+    this(partSize, (int) Math.min(partSize, INITIAL_BUFFER_SIZE), capacityBytes, waitTimeoutMs);
+  }
+
+  /**
+   * Creates a new instance of {@link MultipartUploadBufferPool}.
+   *
+   * @param partSize the size of each part buffer
+   * @param initialBufferSize the size of the first buffer of an upload
+   * @param capacityBytes the maximum number of bytes held in buffers, which is at least one part
+   * @param waitTimeoutMs the maximum time to wait for bytes to be released
+   */
+  MultipartUploadBufferPool(long partSize, int initialBufferSize, long capacityBytes,
+      long waitTimeoutMs) {
+    Preconditions.checkArgument(partSize > 0 && partSize <= Integer.MAX_VALUE,
+        "Part size must be positive and less than 2GB, but was %s", partSize);
+    Preconditions.checkArgument(initialBufferSize > 0 && initialBufferSize <= partSize,
+        "Initial buffer size must be positive and at most the part size, but was %s",
+        initialBufferSize);
+    Preconditions.checkArgument(capacityBytes > 0,
+        "Capacity of the upload buffers must be positive, but was %s", capacityBytes);
+    mPartSize = (int) partSize;
+    mInitialBufferSize = initialBufferSize;
+    mAvailableBytes = Math.max(capacityBytes, partSize);
+    mWaitTimeoutMs = waitTimeoutMs;
+  }
+
+  /**
+   * Takes a buffer from the pool, waiting for bytes to be released if the pool is exhausted.
+   *
+   * @param size the size of the buffer, at most the part size
+   * @return a buffer of the given size, with undefined content
+   * @throws IOException if no bytes are released before the wait times out, or if interrupted
+   */
+  public byte[] acquire(int size) throws IOException {
+    Preconditions.checkArgument(size > 0 && size <= mPartSize,
+        "Buffer size must be positive and at most the part size, but was %s", size);
+    byte[] buffer = reserve(size, size == mPartSize);
+    return buffer == null ? new byte[size] : buffer;
+  }
+
+  /**
+   * Replaces a buffer taken from the pool with a larger one, waiting for bytes to be released if
+   * the pool is exhausted. Only the additional bytes are taken from the pool, and the given buffer
+   * must not be used or released afterwards.
+   *
+   * @param buffer a buffer obtained from this pool
+   * @param length the number of bytes at the start of the buffer to copy to the new one
+   * @param size the size of the new buffer, larger than the given one and at most the part size
+   * @return a buffer of the given size, starting with the given bytes
+   * @throws IOException if no bytes are released before the wait times out, or if interrupted
+   */
+  public byte[] grow(byte[] buffer, int length, int size) throws IOException {
+    Preconditions.checkArgument(size > buffer.length && size <= mPartSize,
+        "Buffer size must be larger than %s and at most the part size, but was %s",
+        buffer.length, size);
+    reserve(size - buffer.length, false);
+    byte[] newBuffer = new byte[size];
+    System.arraycopy(buffer, 0, newBuffer, 0, length);
+    return newBuffer;
+  }
+
+  /**
+   * Reserves bytes of the pool, waiting for bytes to be released if the pool is exhausted.
+   *
+   * @param bytes the number of bytes to reserve
+   * @param reuse whether a free part buffer may be returned instead, when the bytes are a part
+   * @return a free part buffer which holds the reserved bytes, or null if the caller has to
+   *         allocate the buffer
+   * @throws IOException if no bytes are released before the wait times out, or if interrupted
+   */
+  private synchronized byte[] reserve(int bytes, boolean reuse) throws IOException {
+    long deadlineMs = CommonUtils.getCurrentMs() + mWaitTimeoutMs;
+    while (true) {
+      if (reuse && !mFreeBuffers.isEmpty()) {
+        return mFreeBuffers.poll();
+      }
+      if (mAvailableBytes >= bytes) {
+        mAvailableBytes -= bytes;
+        return null;
+      }
+      if (!mFreeBuffers.isEmpty()) {
+        // Drop a free part buffer to make room for a buffer of another size
+        mFreeBuffers.poll();
+        mAvailableBytes += mPartSize;
+        continue;
+      }
+      long waitMs = deadlineMs - CommonUtils.getCurrentMs();
+      if (waitMs <= 0) {
+        throw new IOException(String.format("Timed out after %dms waiting for %d bytes of "
+            + "upload buffers, all of them are held by other uploads", mWaitTimeoutMs, bytes));
+      }
+      try {
+        wait(waitMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    }
+  }
+
+  /**
+   * Returns a buffer to the pool.
+   *
+   * @param buffer a buffer obtained from {@link #acquire(int)} or {@link #grow(byte[], int, int)}
+   */
+  public synchronized void release(byte[] buffer) {
+    if (buffer.length == mPartSize) {
+      mFreeBuffers.offer(buffer);
+    } else {
+      mAvailableBytes += buffer.length;
+    }
+    notifyAll();
+  }
+
+  /**
+   * @return the size of each part buffer
+   */
+  public int getPartSize() {
+    return mPartSize;
+  }
+
+  /**
+   * @return the size of the first buffer of an upload, which grows up to the part size
+   */
+  public int getInitialBufferSize() {
+    return mInitialBufferSize;
+  }
+
+  /**
+   * @return the number of bytes which are not held by any upload
+   */
+  public synchronized long getAvailableBytes() {
+    return mAvailableBytes + (long) mFreeBuffers.size() * mPartSize;
+  }
+}
@@ -0,0 +1,348 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A stream for writing an object as a multipart upload. Data is buffered in memory in fixed-size
+ * parts, and each part is uploaded in the background as soon as it is full, so that the upload
+ * overlaps with the writes and no local disk is needed. Buffers are taken from a
+ * {@link MultipartUploadBufferPool} shared by the streams of an under file system, which bounds the
+ * memory used by all of them together, and the number of buffers held by a single stream is
+ * bounded as well. Writers wait when no buffer is available, and fail if none is released in time.
+ * The upload is completed when the stream is closed, and aborted if any part fails.
+ *
+ * The buffer of the first part starts small and grows as it fills, so objects which fit in a
+ * single part only hold about as much memory as their size. They are uploaded with a single
+ * request on close, without starting a multipart upload.
+ *
+ * @param <T> the type of the tag identifying an uploaded part
+ */
+@NotThreadSafe
+public abstract class MultipartUploadOutputStream<T> extends OutputStream {
+  private static final Logger LOG = LoggerFactory.getLogger(MultipartUploadOutputStream.class);
+
+  /** The size of each part, except for the last one. */
+  private final int mPartSize;
+
+  /** The executor to upload parts with. */
+  private final ExecutorService mExecutor;
+
+  /** The pool to take part buffers from. */
+  private final MultipartUploadBufferPool mBufferPool;
+
+  /** Permits for the part buffers this stream may hold. */
+  private final Semaphore mBufferPermits;
+
+  /** The uploads of the parts submitted so far, in part order. */
+  private final List<Future<T>> mPartUploads = new ArrayList<>();
+
+  /** The buffer of the part being filled, or null if no part is being filled. */
+  private byte[] mBuffer;
+
+  /** The number of bytes in the part being filled. */
+  private int mBufferLength;
+
+  /** Whether the multipart upload has been initiated. */
+  private boolean mUploadStarted = false;
+
+  /** Whether submitting a part has failed, in which case the upload can only be aborted. */
+  private boolean mFailed = false;
+
+  /** Flag to indicate this stream has been closed, to ensure close is only done once. */
+  private boolean mClosed = false;
+
+  /**
+   * Constructs a new stream for writing an object as a multipart upload.
+   *
+   * @param maxBuffers the maximum number of part buffers this stream may hold at once
+   * @param bufferPool the pool to take part buffers from, whose buffer size is the part size
+   * @param executor the executor to upload parts with
+   */
+  protected MultipartUploadOutputStream(int maxBuffers, MultipartUploadBufferPool bufferPool,
+      ExecutorService executor) {
+    Preconditions.checkArgument(maxBuffers > 0,
+        "Maximum number of part buffers must be positive, but was %s", maxBuffers);
+    mBufferPool = Preconditions.checkNotNull(bufferPool);
+    mPartSize = bufferPool.getPartSize();
+    mBufferPermits = new Semaphore(maxBuffers);
+    mExecutor = Preconditions.checkNotNull(executor);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    Preconditions.checkState(!mClosed, "Cannot write to a closed stream");
+    ensureBuffer();
+    mBuffer[mBufferLength++] = (byte) b;
+    if (mBufferLength == mPartSize) {
+      uploadBuffer();
+    }
+  }
+
+  @Override
+  public void write(byte[] b) throws IOException {
+    write(b, 0, b.length);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    Preconditions.checkState(!mClosed, "Cannot write to a closed stream");
+    Preconditions.checkPositionIndexes(off, off + len, b.length);
+    while (len > 0) {
+      ensureBuffer();
+      int toCopy = Math.min(len, mBuffer.length - mBufferLength);
+      System.arraycopy(b, off, mBuffer, mBufferLength, toCopy);
+      mBufferLength += toCopy;
+      off += toCopy;
+      len -= toCopy;
+      if (mBufferLength == mPartSize) {
+        uploadBuffer();
+      }
+    }
+  }
+
+  /**
+   * Parts can only be uploaded once they are full, so flushing does not send any buffered data.
+   */
+  @Override
+  public void flush() {}
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    if (mFailed) {
+      releaseBuffer();
+      if (mUploadStarted) {
+        abort();
+      }
+      throw new IOException("Failed to upload a part, the object is not written");
+    }
+    if (!mUploadStarted) {
+      try {
+        putObject(mBuffer == null ? new byte[0] : mBuffer, mBufferLength);
+      } finally {
+        releaseBuffer();
+      }
+      return;
+    }
+    try {
+      if (mBufferLength > 0) {
+        uploadBuffer();
+      }
+      List<T> parts = new ArrayList<>(mPartUploads.size());
+      for (Future<T> upload : mPartUploads) {
+        parts.add(getPart(upload));
+      }
+      completeMultipartUpload(parts);
+    } catch (IOException | RuntimeException e) {
+      abort();
+      throw e;
+    } finally {
+      releaseBuffer();
+    }
+  }
+
+  /**
+   * Initiates the multipart upload. This is called before the first part is uploaded.
+   *
+   * @throws IOException if the upload cannot be initiated
+   */
+  protected abstract void initMultipartUpload() throws IOException;
+
+  /**
+   * Uploads a part of the multipart upload. This may be called concurrently from the executor
+   * threads for different parts.
+   *
+   * @param buf the buffer holding the part
+   * @param length the length of the part
+   * @param partNumber the number of the part, starting from 1
+   * @return the tag identifying the uploaded part
+   * @throws IOException if the part cannot be uploaded
+   */
+  protected abstract T uploadPart(byte[] buf, int length, int partNumber) throws IOException;
+
+  /**
+   * Completes the multipart upload.
+   *
+   * @param parts the tags of all the uploaded parts, in part order
+   * @throws IOException if the upload cannot be completed
+   */
+  protected abstract void completeMultipartUpload(List<T> parts) throws IOException;
+
+  /**
+   * Aborts the multipart upload, discarding all the uploaded parts.
+   *
+   * @throws IOException if the upload cannot be aborted
+   */
+  protected abstract void abortMultipartUpload() throws IOException;
+
+  /**
+   * Uploads the whole object with a single request. This is used instead of a multipart upload
+   * when the stream is closed before the first part is full.
+   *
+   * @param buf the buffer holding the object
+   * @param length the length of the object
+   * @throws IOException if the object cannot be uploaded
+   */
+  protected abstract void putObject(byte[] buf, int length) throws IOException;
+
+  /**
+   * Makes sure there is room in the buffer of the part being filled. A new buffer is taken after
+   * waiting for a part upload to finish if this stream already holds the maximum number of buffers.
+   * The buffer of the first part is grown by doubling its size, up to the part size, when full.
+   *
+   * @throws IOException if the pool has no buffer available in time, or if interrupted while
+   *         waiting for a buffer
+   */
+  private void ensureBuffer() throws IOException {
+    if (mBuffer != null) {
+      if (mBufferLength < mBuffer.length) {
+        return;
+      }
+      // Only the buffer of the first part can be full before reaching the part size
+      mBuffer = mBufferPool.grow(mBuffer, mBufferLength,
+          (int) Math.min(mPartSize, 2L * mBuffer.length));
+      return;
+    }
+    try {
+      mBufferPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+    try {
+      mBuffer = mBufferPool.acquire(
+          mUploadStarted ? mPartSize : mBufferPool.getInitialBufferSize());
+    } catch (IOException e) {
+      mBufferPermits.release();
+      throw e;
+    }
+    mBufferLength = 0;
+  }
+
+  /**
+   * Submits the part being filled for upload, initiating the multipart upload first if needed.
+   *
+   * @throws IOException if the upload cannot be initiated, or a previous part failed to upload
+   */
+  private void uploadBuffer() throws IOException {
+    try {
+      if (!mUploadStarted) {
+        initMultipartUpload();
+        mUploadStarted = true;
+      }
+      // Fail fast rather than keep uploading parts of an upload which is going to be aborted
+      for (Future<T> upload : mPartUploads) {
+        if (upload.isDone()) {
+          getPart(upload);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      mFailed = true;
+      throw e;
+    }
+    final byte[] buffer = mBuffer;
+    final int length = mBufferLength;
+    final int partNumber = mPartUploads.size() + 1;
+    mBuffer = null;
+    mBufferLength = 0;
+    try {
+      mPartUploads.add(mExecutor.submit(new Callable<T>() {
+        @Override
+        public T call() throws IOException {
+          try {
+            return uploadPart(buffer, length, partNumber);
+          } finally {
+            mBufferPool.release(buffer);
+            mBufferPermits.release();
+          }
+        }
+      }));
+    } catch (RejectedExecutionException e) {
+      mFailed = true;
+      mBufferPool.release(buffer);
+      mBufferPermits.release();
+      throw new IOException("Failed to submit part " + partNumber + " for upload", e);
+    }
+  }
+
+  /**
+   * Releases the buffer of the part being filled, if any.
+   */
+  private void releaseBuffer() {
+    if (mBuffer != null) {
+      mBufferPool.release(mBuffer);
+      mBuffer = null;
+      mBufferLength = 0;
+      mBufferPermits.release();
+    }
+  }
+
+  /**
+   * Waits for the in-flight part uploads to finish and aborts the multipart upload.
+   */
+  private void abort() {
+    for (Future<T> upload : mPartUploads) {
+      try {
+        upload.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (ExecutionException e) {
+        // Ignored, the upload is being aborted
+      }
+    }
+    try {
+      abortMultipartUpload();
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to abort multipart upload: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * @param upload the upload of a part
+   * @return the tag identifying the uploaded part
+   * @throws IOException if the part failed to upload, or if interrupted while waiting for it
+   */
+  private T getPart(Future<T> upload) throws IOException {
+    try {
+      return upload.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+}
@@ -22,8 +22,10 @@ import alluxio.underfs.options.ListOptions;
 import alluxio.underfs.options.MkdirsOptions;
 import alluxio.underfs.options.OpenOptions;
 import alluxio.util.CommonUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.io.PathUtils;
 
+import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,10 +33,18 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -49,6 +59,12 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   /** Default maximum length for a single listing query. */
   private static final int DEFAULT_MAX_LISTING_CHUNK_LENGTH = 1000;
 
+  /** Default maximum number of keys in a single bulk delete. */
+  private static final int DEFAULT_MAX_DELETE_BATCH_LENGTH = 1000;
+
+  /** Time for idle service threads to wait for new tasks before terminating. */
+  private static final long SERVICE_THREAD_KEEP_ALIVE_MS = 60000;
+
   /** Value used to indicate nested structure. */
   protected static final char PATH_SEPARATOR_CHAR = '/';
 
@@ -58,6 +74,9 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
    */
   protected static final String PATH_SEPARATOR = String.valueOf(PATH_SEPARATOR_CHAR);
 
+  /** Executor service used for parallel operations on many objects, such as copies and deletes. */
+  private final ExecutorService mExecutorService;
+
   /**
    * Constructs an {@link ObjectUnderFileSystem}.
    *
@@ -65,6 +84,13 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
    */
   protected ObjectUnderFileSystem(AlluxioURI uri) {
     super(uri);
+    int numThreads = Configuration.getInt(PropertyKey.UNDERFS_OBJECT_STORE_SERVICE_THREADS);
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(numThreads, numThreads,
+        SERVICE_THREAD_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+        ThreadFactoryUtils.build("alluxio-underfs-object-service-worker-%d", true));
+    // Let the threads of an idle under storage go away
+    executor.allowCoreThreadTimeOut(true);
+    mExecutorService = executor;
   }
 
   /**
@@ -128,6 +154,7 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
 
   @Override
   public void close() throws IOException {
+    mExecutorService.shutdown();
   }
 
   @Override
@@ -172,20 +199,32 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
         LOG.error("Unable to delete {} because listInternal returns null", path);
         return false;
       }
+      List<String> fileKeys = new ArrayList<>();
+      List<String> folderKeys = new ArrayList<>();
       for (UnderFileStatus pathToDelete : pathsToDelete) {
-        // If we fail to deleteObject one file, stop
         String pathKey = stripPrefixIfPresent(PathUtils.concatPath(path, pathToDelete.getName()));
         if (pathToDelete.isDirectory()) {
-          if (!deleteObject(convertToFolderName(pathKey))) {
-            // If path is a directory, it is possible that it was not created through Alluxio and no
-            // zero-byte breadcrumb exists
-            LOG.warn("Failed to delete directory {}", pathToDelete.getName());
-          }
+          folderKeys.add(convertToFolderName(pathKey));
         } else {
-          if (!deleteObject(pathKey)) {
-            LOG.error("Failed to delete file {}", pathToDelete.getName());
-            return false;
-          }
+          fileKeys.add(pathKey);
+        }
+      }
+      // Delete the files first, and stop if we fail to delete any of them
+      for (List<String> batch : Lists.partition(fileKeys, getDeleteBatchLengthMax())) {
+        int deleted = deleteObjects(batch).size();
+        if (deleted != batch.size()) {
+          LOG.error("Failed to delete {} of {} files under {}", batch.size() - deleted,
+              batch.size(), path);
+          return false;
+        }
+      }
+      for (List<String> batch : Lists.partition(folderKeys, getDeleteBatchLengthMax())) {
+        int deleted = deleteObjects(batch).size();
+        if (deleted != batch.size()) {
+          // If path is a directory, it is possible that it was not created through Alluxio and no
+          // zero-byte breadcrumb exists
+          LOG.warn("Failed to delete {} of {} directories under {}", batch.size() - deleted,
+              batch.size(), path);
         }
       }
     }
@@ -227,6 +266,14 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     return null;
   }
 
+  // Not supported
+  @Override
+  public Map<Long, List<String>> getFileBlockLocations(String path, long blockSizeBytes)
+      throws IOException {
+    LOG.debug("getFileBlockLocations is not supported when using default ObjectUnderFileSystem.");
+    return null;
+  }
+
   // This call is currently only used for the web ui, where a negative value implies unknown.
   @Override
   public long getSpace(String path, SpaceType type) throws IOException {
@@ -323,7 +370,7 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
 
   @Override
   public boolean renameDirectory(String src, String dst) throws IOException {
-    UnderFileStatus[] children = listInternal(src, ListOptions.defaults());
+    UnderFileStatus[] children = listInternal(src, ListOptions.defaults().setRecursive(true));
     if (children == null) {
       LOG.error("Failed to list directory {}, aborting rename.", src);
       return false;
@@ -338,20 +385,36 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
         stripPrefixIfPresent(convertToFolderName(dst)))) {
       return false;
     }
-    // Rename each child in the src folder to destination/child
+    // Copy every path under src to the same path under dst in parallel. The recursive listing
+    // created breadcrumbs for all the directories, so directories are copied like files.
+    List<Future<Boolean>> copies = new ArrayList<>(children.length);
     for (UnderFileStatus child : children) {
-      String childSrcPath = PathUtils.concatPath(src, child);
-      String childDstPath = PathUtils.concatPath(dst, child);
-      boolean success;
+      String childSrcKey = stripPrefixIfPresent(PathUtils.concatPath(src, child.getName()));
+      String childDstKey = stripPrefixIfPresent(PathUtils.concatPath(dst, child.getName()));
       if (child.isDirectory()) {
-        // Recursive call
-        success = renameDirectory(childSrcPath, childDstPath);
-      } else {
-        success = renameFile(childSrcPath, childDstPath);
+        childSrcKey = convertToFolderName(childSrcKey);
+        childDstKey = convertToFolderName(childDstKey);
       }
-      if (!success) {
-        LOG.error("Failed to rename path {}, aborting rename.", child);
-        return false;
+      final String srcKey = childSrcKey;
+      final String dstKey = childDstKey;
+      copies.add(mExecutorService.submit(new Callable<Boolean>() {
+        @Override
+        public Boolean call() throws IOException {
+          return copyObject(srcKey, dstKey);
+        }
+      }));
+    }
+    try {
+      for (int i = 0; i < copies.size(); i++) {
+        if (!getResult(copies.get(i))) {
+          LOG.error("Failed to rename path {}, aborting rename.", children[i].getName());
+          return false;
+        }
+      }
+    } finally {
+      // Skip the copies which have not started yet if the rename is aborted
+      for (Future<Boolean> copy : copies) {
+        copy.cancel(false);
       }
     }
     // Delete src and everything under src
@@ -430,6 +493,52 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
    */
   protected abstract boolean deleteObject(String key) throws IOException;
 
+  /**
+   * Deletes a batch of keys. The number of keys is at most {@link #getDeleteBatchLengthMax()}.
+   * Under stores which support deleting many objects in a single request should override this;
+   * by default the keys are deleted in parallel with {@link #deleteObject(String)}.
+   *
+   * @param keys the keys to delete
+   * @return the keys which were successfully deleted
+   * @throws IOException if a non-Alluxio error occurs
+   */
+  protected List<String> deleteObjects(List<String> keys) throws IOException {
+    List<Future<Boolean>> deletes = new ArrayList<>(keys.size());
+    for (final String key : keys) {
+      deletes.add(mExecutorService.submit(new Callable<Boolean>() {
+        @Override
+        public Boolean call() throws IOException {
+          return deleteObject(key);
+        }
+      }));
+    }
+    List<String> deleted = new ArrayList<>(keys.size());
+    IOException exception = null;
+    for (int i = 0; i < deletes.size(); i++) {
+      try {
+        if (getResult(deletes.get(i))) {
+          deleted.add(keys.get(i));
+        }
+      } catch (IOException e) {
+        // Wait for the other deletes, so they are not running after this method returns
+        exception = e;
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+    return deleted;
+  }
+
+  /**
+   * Maximum number of keys in a single bulk delete supported by the under store.
+   *
+   * @return the maximum number of keys passed to {@link #deleteObjects(List)}
+   */
+  protected int getDeleteBatchLengthMax() {
+    return DEFAULT_MAX_DELETE_BATCH_LENGTH;
+  }
+
   /**
    * Maximum number of items in a single listing chunk supported by the under store.
    *
@@ -695,4 +804,25 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     }
     return CommonUtils.stripPrefixIfPresent(path, PATH_SEPARATOR);
   }
+
+  /**
+   * Waits for an operation submitted to the executor service.
+   *
+   * @param operation the operation
+   * @return the result of the operation
+   * @throws IOException if the operation failed, or if interrupted while waiting for it
+   */
+  private static boolean getResult(Future<Boolean> operation) throws IOException {
+    try {
+      return operation.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
 }
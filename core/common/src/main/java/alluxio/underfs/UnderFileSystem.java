@@ -333,6 +333,19 @@ public interface UnderFileSystem {
    */
   List<String> getFileLocations(String path, FileLocationOptions options) throws IOException;
 
+  /**
+   * Gets the locations of all the blocks of the indicated file, for blocks of the given size. This
+   * gets the locations of a whole file with as few requests to the under storage as it supports.
+   *
+   * @param path the file name
+   * @param blockSizeBytes the size in bytes of the blocks to get the locations for
+   * @return a map from the offset of each block to its list of locations, or null if locations are
+   *         not supported
+   * @throws IOException if a non-Alluxio error occurs
+   */
+  Map<Long, List<String>> getFileBlockLocations(String path, long blockSizeBytes)
+      throws IOException;
+
   /**
    * Gets the file size in bytes.
    *
@@ -256,6 +256,23 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
     });
   }
 
+  @Override
+  public Map<Long, List<String>> getFileBlockLocations(final String path,
+      final long blockSizeBytes) throws IOException {
+    return call(new UfsCallable<Map<Long, List<String>>>() {
+      @Override
+      public Map<Long, List<String>> call() throws IOException {
+        return mUnderFileSystem.getFileBlockLocations(path, blockSizeBytes);
+      }
+
+      @Override
+      public String toString() {
+        return String.format("GetFileBlockLocations: path=%s, blockSizeBytes=%d", path,
+            blockSizeBytes);
+      }
+    });
+  }
+
   @Override
   public long getFileSize(final String path) throws IOException {
     return call(new UfsCallable<Long>() {
@@ -21,7 +21,9 @@ import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import org.apache.thrift.transport.TNonblockingServerSocket;
 import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -515,27 +517,36 @@ public final class NetworkAddressUtils {
 
   /**
    * Gets the port for the underline socket. This function calls
-   * {@link #getThriftSocket(org.apache.thrift.transport.TServerSocket)}, so reflection will be used
-   * to get the port.
+   * {@link #getThriftSocket(TServerTransport)}, so reflection will be used to get the port.
    *
    * @param thriftSocket the underline socket
    * @return the thrift port for the underline socket
-   * @see #getThriftSocket(org.apache.thrift.transport.TServerSocket)
+   * @see #getThriftSocket(TServerTransport)
    */
-  public static int getThriftPort(TServerSocket thriftSocket) {
+  public static int getThriftPort(TServerTransport thriftSocket) {
     return getThriftSocket(thriftSocket).getLocalPort();
   }
 
   /**
-   * Extracts the port from the thrift socket. As of thrift 0.9, the internal socket used is not
-   * exposed in the API, so this function will use reflection to get access to it.
+   * Extracts the server socket from the thrift socket. As of thrift 0.9, the internal socket used
+   * is not exposed in the API, so this function will use reflection to get access to it. Both
+   * {@link TServerSocket} and {@link TNonblockingServerSocket} are supported.
    *
    * @param thriftSocket the underline thrift socket
    * @return the server socket
    */
-  public static ServerSocket getThriftSocket(final TServerSocket thriftSocket) {
+  public static ServerSocket getThriftSocket(final TServerTransport thriftSocket) {
+    Class<? extends TServerTransport> socketClass;
+    if (thriftSocket instanceof TServerSocket) {
+      socketClass = TServerSocket.class;
+    } else if (thriftSocket instanceof TNonblockingServerSocket) {
+      socketClass = TNonblockingServerSocket.class;
+    } else {
+      throw new IllegalArgumentException(
+          "Unsupported thrift socket type " + thriftSocket.getClass().getName());
+    }
     try {
-      Field field = TServerSocket.class.getDeclaredField("serverSocket_");
+      Field field = socketClass.getDeclaredField("serverSocket_");
       field.setAccessible(true);
       return (ServerSocket) field.get(thriftSocket);
     } catch (NoSuchFieldException | IllegalAccessException e) {
@@ -0,0 +1,98 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.wire;
+
+import alluxio.annotation.PublicApi;
+import alluxio.thrift.FileInfoTDetail;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Levels of detail for the file information returned by get status and list status. Each level
+ * includes everything of the levels before it, and the more detailed levels require more lookups
+ * on the master, so callers should ask for the least detail they need.
+ */
+@PublicApi
+@ThreadSafe
+public enum FileInfoDetail {
+  /**
+   * Only the attributes stored in the inode, such as name, length, times and permissions.
+   */
+  Basic(0),
+  /**
+   * Also the ids of the blocks of a file.
+   */
+  BlockIds(1),
+  /**
+   * Also the Alluxio locations of the blocks of a file, and its in-memory percentage.
+   */
+  BlockLocations(2),
+  /**
+   * Also the UFS path, and the UFS locations of the blocks which are not cached in Alluxio.
+   */
+  All(3),
+  ;
+
+  private final int mValue;
+
+  FileInfoDetail(int value) {
+    mValue = value;
+  }
+
+  /**
+   * @return the integer value of the FileInfoDetail
+   */
+  public int getValue() {
+    return mValue;
+  }
+
+  /**
+   * @param detail the level of detail to check for
+   * @return true if this level of detail includes the given one, false otherwise
+   */
+  public boolean includes(FileInfoDetail detail) {
+    return mValue >= detail.mValue;
+  }
+
+  /**
+   * @param fileInfoDetail the {@link FileInfoDetail}
+   * @return the thrift representation of this enum
+   */
+  public static FileInfoTDetail toThrift(FileInfoDetail fileInfoDetail) {
+    return FileInfoTDetail.findByValue(fileInfoDetail.getValue());
+  }
+
+  /**
+   * Converts the thrift representation of the level of detail. A missing or unknown level, for
+   * example from a client which does not know about it, is mapped to {@link #All}, so that callers
+   * get all the information they used to get.
+   *
+   * @param fileInfoTDetail the thrift representation of fileInfoDetail, or null
+   * @return the {@link FileInfoDetail}
+   */
+  public static FileInfoDetail fromThrift(FileInfoTDetail fileInfoTDetail) {
+    if (fileInfoTDetail == null) {
+      return All;
+    }
+    switch (fileInfoTDetail.getValue()) {
+      case 0:
+        return Basic;
+      case 1:
+        return BlockIds;
+      case 2:
+        return BlockLocations;
+      case 3:
+      default:
+        return All;
+    }
+  }
+}
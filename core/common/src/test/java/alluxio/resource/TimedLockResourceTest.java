@@ -0,0 +1,43 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.resource;
+
+import com.codahale.metrics.Timer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Unit tests for {@link TimedLockResource}.
+ */
+public class TimedLockResourceTest {
+
+  /**
+   * Tests that the lock is held within the resource, and that the wait and hold times are
+   * recorded.
+   */
+  @Test
+  public void recordsWaitAndHoldTimes() {
+    ReentrantLock lock = new ReentrantLock();
+    Timer waitTimer = new Timer();
+    Timer holdTimer = new Timer();
+    try (TimedLockResource r = new TimedLockResource(lock, waitTimer, holdTimer)) {
+      Assert.assertTrue(lock.isHeldByCurrentThread());
+      Assert.assertEquals(1, waitTimer.getCount());
+      Assert.assertEquals(0, holdTimer.getCount());
+    }
+    Assert.assertFalse(lock.isHeldByCurrentThread());
+    Assert.assertEquals(1, waitTimer.getCount());
+    Assert.assertEquals(1, holdTimer.getCount());
+  }
+}
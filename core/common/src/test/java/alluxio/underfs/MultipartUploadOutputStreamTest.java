@@ -0,0 +1,252 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Constants;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Unit tests for {@link MultipartUploadOutputStream}.
+ */
+public final class MultipartUploadOutputStreamTest {
+  private static final int PART_SIZE = 10;
+  private static final int INITIAL_BUFFER_SIZE = 2;
+  private static final int POOL_BYTES = 4 * PART_SIZE;
+
+  private ExecutorService mExecutor;
+  private MultipartUploadBufferPool mBufferPool;
+
+  /**
+   * Sets up the executor to upload parts with and the buffer pool before each test runs.
+   */
+  @Before
+  public void before() {
+    mExecutor = Executors.newFixedThreadPool(4);
+    mBufferPool = new MultipartUploadBufferPool(PART_SIZE, INITIAL_BUFFER_SIZE, POOL_BYTES,
+        Constants.MINUTE_MS);
+  }
+
+  /**
+   * Shuts down the executor after each test runs.
+   */
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Tests that an object smaller than a part is uploaded with a single request.
+   */
+  @Test
+  public void smallObject() throws Exception {
+    TestStream stream = new TestStream(2);
+    stream.write(BufferUtils.getIncreasingByteArray(PART_SIZE - 1));
+    stream.close();
+    Assert.assertFalse(stream.mInitiated);
+    Assert.assertArrayEquals(BufferUtils.getIncreasingByteArray(PART_SIZE - 1), stream.mObject);
+  }
+
+  /**
+   * Tests that an empty object is uploaded with a single request.
+   */
+  @Test
+  public void emptyObject() throws Exception {
+    TestStream stream = new TestStream(2);
+    stream.close();
+    Assert.assertFalse(stream.mInitiated);
+    Assert.assertArrayEquals(new byte[0], stream.mObject);
+  }
+
+  /**
+   * Tests that a large object is uploaded in parts, and reassembled in order on completion.
+   */
+  @Test
+  public void multipartObject() throws Exception {
+    int length = PART_SIZE * 7 + 3;
+    byte[] data = BufferUtils.getIncreasingByteArray(length);
+    TestStream stream = new TestStream(2);
+    // Mix single byte writes with writes spanning several parts
+    stream.write(data[0]);
+    stream.write(data, 1, PART_SIZE * 3);
+    for (int i = PART_SIZE * 3 + 1; i < PART_SIZE * 4; i++) {
+      stream.write(data[i]);
+    }
+    stream.write(data, PART_SIZE * 4, length - PART_SIZE * 4);
+    stream.close();
+    Assert.assertTrue(stream.mInitiated);
+    Assert.assertEquals(8, stream.mParts.size());
+    Assert.assertArrayEquals(data, stream.mObject);
+    Assert.assertFalse(stream.mAborted);
+    Assert.assertEquals(POOL_BYTES, mBufferPool.getAvailableBytes());
+  }
+
+  /**
+   * Tests that the upload is aborted, and close fails, if a part fails to upload.
+   */
+  @Test
+  public void failedPart() throws Exception {
+    TestStream stream = new TestStream(1);
+    stream.mFailPart = 2;
+    stream.write(BufferUtils.getIncreasingByteArray(PART_SIZE * 2));
+    try {
+      stream.close();
+      Assert.fail("Close should fail when a part fails to upload");
+    } catch (IOException e) {
+      // expected
+    }
+    Assert.assertTrue(stream.mAborted);
+    Assert.assertNull(stream.mObject);
+    Assert.assertEquals(POOL_BYTES, mBufferPool.getAvailableBytes());
+  }
+
+  /**
+   * Tests that an object smaller than a part only holds a buffer of about its size, so that many
+   * small objects can be written at the same time.
+   */
+  @Test
+  public void smallObjectsShareOnePart() throws Exception {
+    mBufferPool = new MultipartUploadBufferPool(PART_SIZE, INITIAL_BUFFER_SIZE, PART_SIZE, 0);
+    TestStream[] streams = new TestStream[PART_SIZE / INITIAL_BUFFER_SIZE];
+    for (int i = 0; i < streams.length; i++) {
+      streams[i] = new TestStream(2);
+      streams[i].write(i);
+    }
+    Assert.assertEquals(0, mBufferPool.getAvailableBytes());
+    for (int i = 0; i < streams.length; i++) {
+      streams[i].close();
+      Assert.assertArrayEquals(new byte[] {(byte) i}, streams[i].mObject);
+    }
+    Assert.assertEquals(PART_SIZE, mBufferPool.getAvailableBytes());
+  }
+
+  /**
+   * Tests that a write fails, rather than waits forever, if the pool has no buffer available in
+   * time.
+   */
+  @Test
+  public void bufferWaitTimeout() throws Exception {
+    mBufferPool = new MultipartUploadBufferPool(PART_SIZE, INITIAL_BUFFER_SIZE, PART_SIZE, 10);
+    TestStream first = new TestStream(2);
+    TestStream second = new TestStream(2);
+    first.write(BufferUtils.getIncreasingByteArray(PART_SIZE - 1));
+    try {
+      second.write(0);
+      Assert.fail("The write should fail when the pool has no buffer available");
+    } catch (IOException e) {
+      // expected
+    }
+    first.close();
+    second.write(0);
+    second.close();
+    Assert.assertArrayEquals(new byte[] {0}, second.mObject);
+    Assert.assertEquals(PART_SIZE, mBufferPool.getAvailableBytes());
+  }
+
+  /**
+   * Tests that streams sharing a buffer pool wait for each other once all the buffers are in use.
+   */
+  @Test
+  public void sharedBufferPool() throws Exception {
+    mBufferPool = new MultipartUploadBufferPool(PART_SIZE, INITIAL_BUFFER_SIZE, PART_SIZE + 1,
+        Constants.MINUTE_MS);
+    TestStream first = new TestStream(2);
+    final TestStream second = new TestStream(2);
+    // The buffer of the first stream grows to a whole part, leaving less than a buffer in the pool
+    first.write(BufferUtils.getIncreasingByteArray(PART_SIZE - 1));
+    Future<Void> secondWrite = mExecutor.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        second.write(BufferUtils.getIncreasingByteArray(PART_SIZE - 1));
+        second.close();
+        return null;
+      }
+    });
+    try {
+      secondWrite.get(100, TimeUnit.MILLISECONDS);
+      Assert.fail("The second stream should wait for a buffer of the pool");
+    } catch (TimeoutException e) {
+      // expected
+    }
+    first.close();
+    secondWrite.get(Constants.MINUTE_MS, TimeUnit.MILLISECONDS);
+    Assert.assertArrayEquals(BufferUtils.getIncreasingByteArray(PART_SIZE - 1), first.mObject);
+    Assert.assertArrayEquals(BufferUtils.getIncreasingByteArray(PART_SIZE - 1), second.mObject);
+    Assert.assertEquals(PART_SIZE + 1, mBufferPool.getAvailableBytes());
+  }
+
+  /**
+   * A multipart upload to an in-memory object store.
+   */
+  private final class TestStream extends MultipartUploadOutputStream<Integer> {
+    private final Map<Integer, byte[]> mParts = new ConcurrentHashMap<>();
+    private volatile int mFailPart = -1;
+    private boolean mInitiated = false;
+    private boolean mAborted = false;
+    private byte[] mObject;
+
+    private TestStream(int maxBuffers) {
+      super(maxBuffers, mBufferPool, mExecutor);
+    }
+
+    @Override
+    protected void initMultipartUpload() {
+      mInitiated = true;
+    }
+
+    @Override
+    protected Integer uploadPart(byte[] buf, int length, int partNumber) throws IOException {
+      if (partNumber == mFailPart) {
+        throw new IOException("Failed to upload part " + partNumber);
+      }
+      mParts.put(partNumber, Arrays.copyOf(buf, length));
+      return partNumber;
+    }
+
+    @Override
+    protected void completeMultipartUpload(List<Integer> parts) throws IOException {
+      ByteArrayOutputStream object = new ByteArrayOutputStream();
+      for (int i = 0; i < parts.size(); i++) {
+        Assert.assertEquals(i + 1, (int) parts.get(i));
+        object.write(mParts.get(parts.get(i)));
+      }
+      mObject = object.toByteArray();
+    }
+
+    @Override
+    protected void abortMultipartUpload() {
+      mAborted = true;
+    }
+
+    @Override
+    protected void putObject(byte[] buf, int length) {
+      mObject = Arrays.copyOf(buf, length);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.wire;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FileInfoDetailTest {
+
+  @Test
+  public void thrift() {
+    for (FileInfoDetail detail : FileInfoDetail.values()) {
+      Assert.assertEquals(detail, FileInfoDetail.fromThrift(FileInfoDetail.toThrift(detail)));
+    }
+  }
+
+  @Test
+  public void fromThriftNull() {
+    Assert.assertEquals(FileInfoDetail.All, FileInfoDetail.fromThrift(null));
+  }
+
+  @Test
+  public void includes() {
+    Assert.assertTrue(FileInfoDetail.All.includes(FileInfoDetail.BlockLocations));
+    Assert.assertTrue(FileInfoDetail.BlockIds.includes(FileInfoDetail.BlockIds));
+    Assert.assertFalse(FileInfoDetail.Basic.includes(FileInfoDetail.BlockIds));
+  }
+}
@@ -50,10 +50,25 @@ enum LoadMetadataTType {
   Always = 2,  // Always load metadata.
 }
 
+enum FileInfoTDetail {
+  Basic = 0,  // Inode attributes only.
+  BlockIds = 1,  // Also the ids of the file blocks.
+  BlockLocations = 2,  // Also the Alluxio block locations and the in-memory percentage.
+  All = 3,  // Also the UFS path and the UFS locations of blocks not cached in Alluxio.
+}
+
+struct GetStatusTOptions {
+  1: optional FileInfoTDetail fileInfoDetail
+}
+
 struct ListStatusTOptions {
   // This is deprecated since 1.1.1 and will be removed in 2.0. Use loadMetadataType.
   1: optional bool loadDirectChildren
   2: optional LoadMetadataTType loadMetadataType
+  3: optional string startAfter
+  4: optional i32 batchSize
+  5: optional FileInfoTDetail fileInfoDetail
+  6: optional bool recursive
 }
 
 /**
@@ -189,6 +204,7 @@ service FileSystemMasterClientService extends common.AlluxioService {
    */
   FileInfo getStatus(
     /** the path of the file or directory */ 1: string path,
+    /** the method options */ 2: GetStatusTOptions options,
     )
     throws (1: exception.AlluxioTException e)
 
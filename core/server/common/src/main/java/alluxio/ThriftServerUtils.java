@@ -0,0 +1,235 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio;
+
+import alluxio.metrics.MetricsSystem;
+import alluxio.network.ThriftServerType;
+import alluxio.security.authentication.AuthType;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
+import org.apache.thrift.TException;
+import org.apache.thrift.TMultiplexedProcessor;
+import org.apache.thrift.TProcessor;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.server.TThreadedSelectorServer;
+import org.apache.thrift.transport.TNonblockingServerSocket;
+import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.apache.thrift.transport.TTransportFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Utility methods for creating the thrift servers of masters and workers. The type of server is
+ * configured by {@link PropertyKey#NETWORK_THRIFT_SERVER_TYPE}.
+ */
+@ThreadSafe
+public final class ThriftServerUtils {
+  private static final Logger LOG = LoggerFactory.getLogger(ThriftServerUtils.class);
+
+  /** Time for idle handler threads of a selector server to wait for requests before exiting. */
+  private static final long HANDLER_THREAD_KEEP_ALIVE_MS = Constants.MINUTE_MS;
+
+  /**
+   * Creates the server socket for a thrift server. A non-blocking socket is created if the
+   * threaded selector server is configured and supported by the authentication type.
+   *
+   * @param address the address to bind to
+   * @param clientTimeoutMs the timeout for client sockets in milliseconds
+   * @return the server socket
+   * @throws TTransportException if the socket cannot be created
+   */
+  public static TServerTransport createServerSocket(InetSocketAddress address,
+      int clientTimeoutMs) throws TTransportException {
+    if (getServerType() == ThriftServerType.THREADED_SELECTOR) {
+      return new TNonblockingServerSocket(address, clientTimeoutMs);
+    }
+    return new TServerSocket(address, clientTimeoutMs);
+  }
+
+  /**
+   * Creates a thrift server for the given socket. A socket created by
+   * {@link #createServerSocket(InetSocketAddress, int)} with the threaded selector server
+   * configured gets a {@link TThreadedSelectorServer}, which processes requests on a pool of at
+   * most maxWorkerThreads threads. Otherwise a {@link TThreadPoolServer} is created.
+   *
+   * @param serverSocket the server socket
+   * @param processor the processor for the requests
+   * @param transportFactory the transport factory of the authentication type
+   * @param minWorkerThreads the minimum number of threads of a thread pool server
+   * @param maxWorkerThreads the maximum number of threads processing requests
+   * @param instance the instance the server belongs to, one of
+   *        {@link MetricsSystem#MASTER_INSTANCE} and {@link MetricsSystem#WORKER_INSTANCE}
+   * @return the thrift server
+   */
+  public static TServer createServer(TServerTransport serverSocket, TProcessor processor,
+      TTransportFactory transportFactory, int minWorkerThreads, int maxWorkerThreads,
+      String instance) {
+    int stopTimeoutSeconds = Configuration.getBoolean(PropertyKey.TEST_MODE) ? 0
+        : Constants.THRIFT_STOP_TIMEOUT_SECONDS;
+    if (serverSocket instanceof TNonblockingServerSocket) {
+      final ThreadPoolExecutor executor = new TimedThreadPoolExecutor(maxWorkerThreads,
+          MetricsSystem.METRIC_REGISTRY.timer(getMetricName(instance, "RpcQueueTime")),
+          ThreadFactoryUtils.build(instance + "-rpc-handler-%d", true));
+      // Replace the gauge of a previous server of the same instance, e.g. after a restart
+      String queueSizeMetricName = getMetricName(instance, "RpcQueueSize");
+      MetricsSystem.METRIC_REGISTRY.remove(queueSizeMetricName);
+      MetricsSystem.registerGaugeIfAbsent(queueSizeMetricName,
+          new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+              return executor.getQueue().size();
+            }
+          });
+      // Requests are read in full by the selector threads, so the server does not take a
+      // transport factory. Clients of NOSASL authentication send framed requests.
+      TThreadedSelectorServer.Args args =
+          new TThreadedSelectorServer.Args((TNonblockingServerSocket) serverSocket)
+              .selectorThreads(
+                  Configuration.getInt(PropertyKey.NETWORK_THRIFT_SERVER_SELECTOR_THREADS))
+              .executorService(executor).stopTimeoutVal(stopTimeoutSeconds)
+              .stopTimeoutUnit(TimeUnit.SECONDS);
+      args.maxReadBufferBytes =
+          Configuration.getBytes(PropertyKey.NETWORK_THRIFT_FRAME_SIZE_BYTES_MAX);
+      args.processor(processor).protocolFactory(new TBinaryProtocol.Factory(true, true));
+      return new TThreadedSelectorServer(args);
+    }
+    TThreadPoolServer.Args args = new TThreadPoolServer.Args(serverSocket)
+        .minWorkerThreads(minWorkerThreads).maxWorkerThreads(maxWorkerThreads).processor(processor)
+        .transportFactory(transportFactory)
+        .protocolFactory(new TBinaryProtocol.Factory(true, true));
+    args.stopTimeoutVal = stopTimeoutSeconds;
+    return new TThreadPoolServer(args);
+  }
+
+  /**
+   * Registers services to a multiplexed processor, timing the requests of each service.
+   *
+   * @param processor the multiplexed processor
+   * @param services the services to register, keyed by service name
+   * @param instance the instance the services belong to, one of
+   *        {@link MetricsSystem#MASTER_INSTANCE} and {@link MetricsSystem#WORKER_INSTANCE}
+   */
+  public static void registerServices(TMultiplexedProcessor processor,
+      Map<String, TProcessor> services, String instance) {
+    for (Map.Entry<String, TProcessor> service : services.entrySet()) {
+      processor.registerProcessor(service.getKey(), new TimedProcessor(service.getValue(),
+          MetricsSystem.METRIC_REGISTRY.timer(
+              getMetricName(instance, "RpcTime-" + service.getKey()))));
+    }
+  }
+
+  /**
+   * @return the configured server type, falling back to {@link ThriftServerType#THREAD_POOL} if
+   *         the threaded selector server is not supported by the authentication type
+   */
+  private static ThriftServerType getServerType() {
+    ThriftServerType type =
+        Configuration.getEnum(PropertyKey.NETWORK_THRIFT_SERVER_TYPE, ThriftServerType.class);
+    if (type == ThriftServerType.THREADED_SELECTOR && Configuration.getEnum(
+        PropertyKey.SECURITY_AUTHENTICATION_TYPE, AuthType.class) != AuthType.NOSASL) {
+      LOG.warn("{} server requires {} authentication, falling back to {} server",
+          ThriftServerType.THREADED_SELECTOR, AuthType.NOSASL, ThriftServerType.THREAD_POOL);
+      return ThriftServerType.THREAD_POOL;
+    }
+    return type;
+  }
+
+  /**
+   * @param instance the instance name
+   * @param name the metric name
+   * @return the metric registry name
+   */
+  private static String getMetricName(String instance, String name) {
+    if (MetricsSystem.MASTER_INSTANCE.equals(instance)) {
+      return MetricsSystem.getMasterMetricName(name);
+    }
+    return MetricsSystem.getMetricNameWithUniqueId(instance, name);
+  }
+
+  /**
+   * A processor which times the requests of another processor.
+   */
+  private static final class TimedProcessor implements TProcessor {
+    private final TProcessor mProcessor;
+    private final Timer mTimer;
+
+    /**
+     * @param processor the processor to time
+     * @param timer the timer to update
+     */
+    private TimedProcessor(TProcessor processor, Timer timer) {
+      mProcessor = processor;
+      mTimer = timer;
+    }
+
+    @Override
+    public boolean process(TProtocol in, TProtocol out) throws TException {
+      Timer.Context context = mTimer.time();
+      try {
+        return mProcessor.process(in, out);
+      } finally {
+        context.stop();
+      }
+    }
+  }
+
+  /**
+   * A bounded pool of handler threads which records how long requests wait in its queue. The
+   * threads exit when idle, so an idle server holds no handler threads.
+   */
+  private static final class TimedThreadPoolExecutor extends ThreadPoolExecutor {
+    private final Timer mQueueTimer;
+
+    /**
+     * @param numThreads the maximum number of threads
+     * @param queueTimer the timer to update with the time requests wait in the queue
+     * @param threadFactory the factory for the threads
+     */
+    private TimedThreadPoolExecutor(int numThreads, Timer queueTimer,
+        ThreadFactory threadFactory) {
+      super(numThreads, numThreads, HANDLER_THREAD_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS,
+          new LinkedBlockingQueue<Runnable>(), threadFactory);
+      allowCoreThreadTimeOut(true);
+      mQueueTimer = queueTimer;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+      final long queuedTimeNs = System.nanoTime();
+      super.execute(new Runnable() {
+        @Override
+        public void run() {
+          mQueueTimer.update(System.nanoTime() - queuedTimeNs, TimeUnit.NANOSECONDS);
+          command.run();
+        }
+      });
+    }
+  }
+
+  private ThriftServerUtils() {} // prevent instantiation
+}
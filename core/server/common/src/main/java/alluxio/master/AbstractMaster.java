@@ -189,6 +189,9 @@ public abstract class AbstractMaster implements Master {
     LOG.info("{}: Stopping {} master.", getName(), mIsLeader ? "leader" : "standby");
     if (mIsLeader) {
       // Stop this leader master.
+      if (mAsyncJournalWriter != null) {
+        mAsyncJournalWriter.close();
+      }
       if (mJournalWriter != null) {
         mJournalWriter.close();
         mJournalWriter = null;
@@ -12,23 +12,40 @@
 package alluxio.master.journal;
 
 import alluxio.Configuration;
+import alluxio.Constants;
 import alluxio.PropertyKey;
 import alluxio.proto.journal.Journal.JournalEntry;
 
 import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
- * This enables async journal writing, as well as some batched journal flushing.
+ * This enables async journal writing, with group commit of journal flushes.
+ *
+ * Entries are appended to a lock-free queue. A dedicated writer thread drains the queue, writes
+ * the entries to the {@link JournalWriter} and flushes them in batches. Callers of
+ * {@link #flush(long)} only wait for the batch containing their entry, and all the callers
+ * waiting on the same batch are released together once it is flushed. This way, the number of
+ * journal flushes does not grow with the number of concurrent writers.
  */
 @ThreadSafe
-public final class AsyncJournalWriter {
+public final class AsyncJournalWriter implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncJournalWriter.class);
+  /** The default time to wait for the writer thread to stop, before and after interrupting it. */
+  private static final long CLOSE_TIMEOUT_MS = 10L * Constants.SECOND_MS;
+
   private final JournalWriter mJournalWriter;
   private final ConcurrentLinkedQueue<JournalEntry> mQueue;
   /** Represents the count of entries added to the journal queue. */
@@ -36,33 +53,76 @@ public final class AsyncJournalWriter {
   /** Represents the count of entries flushed to the journal writer. */
   private final AtomicLong mFlushCounter;
   /**
-   * Represents the count of entries written to the journal writer.
+   * Represents the count of entries written to the journal writer. This is only accessed by the
+   * writer thread.
    * Invariant: {@code mWriteCounter >= mFlushCounter}
    */
-  private final AtomicLong mWriteCounter;
+  private long mWriteCounter;
   /** Maximum number of nanoseconds for a batch flush. */
   private final long mFlushBatchTimeNs;
+  /** The thread which writes and flushes the journal entries. */
+  private final Thread mWriterThread;
+  /** Maximum number of milliseconds to wait for the writer thread to stop, in each stage. */
+  private final long mCloseTimeoutMs;
+
+  /** Guards the coordination between the callers of {@link #flush(long)} and the writer thread. */
+  private final ReentrantLock mLock = new ReentrantLock();
+  /** Signaled when a flush is requested, or when this writer is closed. */
+  private final Condition mFlushRequested = mLock.newCondition();
+  /** Signaled when a flush attempt completes, or when this writer is closed. */
+  private final Condition mFlushCompleted = mLock.newCondition();
+  /** The highest counter any caller is waiting for. */
+  @GuardedBy("mLock")
+  private long mRequestedCounter;
+  /** Whether a caller has requested a flush since the last attempt started. */
+  @GuardedBy("mLock")
+  private boolean mFlushPending;
+  /** The number of flush attempts started by the writer thread. */
+  @GuardedBy("mLock")
+  private long mAttempts;
+  /** The last flush attempt which failed. */
+  @GuardedBy("mLock")
+  private long mLastFailedAttempt;
+  /** The cause of the last failed flush attempt. */
+  @GuardedBy("mLock")
+  private IOException mLastFailure;
+  @GuardedBy("mLock")
+  private boolean mClosed;
 
   /**
-   * Use a {@link ReentrantLock} to guard the journal writing. Using the fairness policy seems to
-   * result in better throughput.
+   * Creates a {@link AsyncJournalWriter}, and starts its writer thread.
+   *
+   * @param journalWriter the {@link JournalWriter} to use for writing
    */
-  private final ReentrantLock mFlushLock = new ReentrantLock(true);
+  public AsyncJournalWriter(JournalWriter journalWriter) {
+    this(journalWriter, CLOSE_TIMEOUT_MS);
+  }
 
   /**
-   * Creates a {@link AsyncJournalWriter}.
+   * Creates a {@link AsyncJournalWriter}, and starts its writer thread.
    *
    * @param journalWriter the {@link JournalWriter} to use for writing
+   * @param closeTimeoutMs the time to wait for the writer thread to stop on close, before and
+   *        after interrupting it
    */
-  public AsyncJournalWriter(JournalWriter journalWriter) {
+  AsyncJournalWriter(JournalWriter journalWriter, long closeTimeoutMs) {
     mJournalWriter = Preconditions.checkNotNull(journalWriter, "journalWriter");
     mQueue = new ConcurrentLinkedQueue<>();
     mCounter = new AtomicLong(0);
     mFlushCounter = new AtomicLong(0);
-    mWriteCounter = new AtomicLong(0);
+    mWriteCounter = 0;
+    mCloseTimeoutMs = closeTimeoutMs;
     // convert milliseconds to nanoseconds.
     mFlushBatchTimeNs =
         1000000L * Configuration.getLong(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS);
+    mWriterThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        writeLoop();
+      }
+    }, "AsyncJournalWriter");
+    mWriterThread.setDaemon(true);
+    mWriterThread.start();
   }
 
   /**
@@ -100,6 +160,10 @@ public final class AsyncJournalWriter {
    * Flushes and waits until the specified counter is flushed to the journal. If the specified
    * counter is already flushed, this is essentially a no-op.
    *
+   * The flush itself is done by the writer thread, possibly together with the entries of other
+   * callers. If the first flush attempt which started after this call fails, the failure is
+   * rethrown.
+   *
    * @param targetCounter the counter to flush
    * @throws IOException if an error occurs in flushing the journal
    */
@@ -107,42 +171,149 @@ public final class AsyncJournalWriter {
     if (targetCounter <= mFlushCounter.get()) {
       return;
     }
-    // Using reentrant lock, since it seems to result in higher throughput than using 'synchronized'
-    mFlushLock.lock();
+    mLock.lock();
+    try {
+      if (mClosed) {
+        throw new IOException("Cannot flush journal: async journal writer is closed.");
+      }
+      // Any attempt started after this point will see the request.
+      long attempt = mAttempts;
+      mRequestedCounter = Math.max(mRequestedCounter, targetCounter);
+      mFlushPending = true;
+      mFlushRequested.signal();
+      while (targetCounter > mFlushCounter.get()) {
+        if (mLastFailedAttempt > attempt) {
+          throw new IOException("Failed to flush journal", mLastFailure);
+        }
+        if (mClosed) {
+          throw new IOException("Cannot flush journal: async journal writer is closed.");
+        }
+        mFlushCompleted.awaitUninterruptibly();
+      }
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * Stops the writer thread. Entries which have not been flushed yet are not written, and pending
+   * and future calls to {@link #flush(long)} fail.
+   *
+   * If the writer thread is still busy writing or flushing a batch, it is given a bounded amount
+   * of time to finish, and is then interrupted. This method does not wait indefinitely for a
+   * journal which is stuck.
+   */
+  @Override
+  public void close() {
+    mLock.lock();
+    try {
+      mClosed = true;
+      mFlushRequested.signalAll();
+      mFlushCompleted.signalAll();
+    } finally {
+      mLock.unlock();
+    }
     try {
-      long startTime = System.nanoTime();
-      long flushCounter = mFlushCounter.get();
-      if (targetCounter <= flushCounter) {
-        // The specified counter is already flushed, so just return.
-        return;
+      mWriterThread.join(mCloseTimeoutMs);
+      if (mWriterThread.isAlive()) {
+        LOG.warn("Async journal writer did not stop within {}ms, interrupting it.",
+            mCloseTimeoutMs);
+        mWriterThread.interrupt();
+        mWriterThread.join(mCloseTimeoutMs);
+        if (mWriterThread.isAlive()) {
+          LOG.error("Async journal writer did not stop within {}ms after being interrupted.",
+              mCloseTimeoutMs);
+        }
       }
-      long writeCounter = mWriteCounter.get();
-      while (targetCounter > writeCounter) {
-        for (;;) {
-          // Get, but do not remove, the head entry.
-          JournalEntry entry = mQueue.peek();
-          if (entry == null) {
-            // No more entries in the queue. Break out of the infinite for-loop.
+    } catch (InterruptedException e) {
+      LOG.warn("Interrupted while waiting for the async journal writer to stop.");
+      mWriterThread.interrupt();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * The main loop of the writer thread. Each iteration waits for a flush request, and then writes
+   * and flushes one batch of entries.
+   */
+  private void writeLoop() {
+    while (true) {
+      long attempt;
+      long requestedCounter;
+      mLock.lock();
+      try {
+        while (!mFlushPending && !mClosed) {
+          mFlushRequested.awaitUninterruptibly();
+        }
+        if (mClosed) {
+          return;
+        }
+        mFlushPending = false;
+        attempt = ++mAttempts;
+        requestedCounter = mRequestedCounter;
+      } finally {
+        mLock.unlock();
+      }
+
+      IOException failure = null;
+      try {
+        writeAndFlushBatch(requestedCounter);
+      } catch (IOException e) {
+        failure = e;
+      } catch (RuntimeException e) {
+        failure = new IOException(e);
+      }
+
+      mLock.lock();
+      try {
+        if (failure != null) {
+          LOG.warn("Failed to flush journal entries: {}", failure.getMessage());
+          mLastFailedAttempt = attempt;
+          mLastFailure = failure;
+        }
+        mFlushCompleted.signalAll();
+      } finally {
+        mLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Writes the queued entries up to at least the requested counter, and flushes them with a single
+   * flush of the journal writer. While entries keep arriving, more entries are added to the batch
+   * until the batch time is reached.
+   *
+   * @param requestedCounter the counter which has to be flushed by this batch
+   * @throws IOException if an error occurs in writing or flushing the journal
+   */
+  private void writeAndFlushBatch(long requestedCounter) throws IOException {
+    long startTime = System.nanoTime();
+    while (requestedCounter > mWriteCounter) {
+      if (Thread.currentThread().isInterrupted()) {
+        throw new InterruptedIOException("Async journal writer was interrupted");
+      }
+      for (;;) {
+        // Get, but do not remove, the head entry.
+        JournalEntry entry = mQueue.peek();
+        if (entry == null) {
+          // No more entries in the queue. Break out of the infinite for-loop.
+          break;
+        }
+        mJournalWriter.write(entry);
+        // Remove the head entry, after the entry was successfully written.
+        mQueue.poll();
+        mWriteCounter++;
+
+        if (mWriteCounter >= requestedCounter) {
+          if ((System.nanoTime() - startTime) >= mFlushBatchTimeNs) {
+            // This batch has been collecting entries for enough time. Break out of the infinite
+            // for-loop.
             break;
           }
-          mJournalWriter.write(entry);
-          // Remove the head entry, after the entry was successfully written.
-          mQueue.poll();
-          writeCounter = mWriteCounter.incrementAndGet();
-
-          if (writeCounter >= targetCounter) {
-            if ((System.nanoTime() - startTime) >= mFlushBatchTimeNs) {
-              // This thread has been writing to the journal for enough time. Break out of the
-              // infinite for-loop.
-              break;
-            }
-          }
         }
       }
-      mJournalWriter.flush();
-      mFlushCounter.set(writeCounter);
-    } finally {
-      mFlushLock.unlock();
     }
+    mJournalWriter.flush();
+    mFlushCounter.set(mWriteCounter);
   }
 }
@@ -0,0 +1,116 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Utility methods for compressed journal checkpoints.
+ *
+ * A compressed checkpoint starts with an explicit header made of a magic number and a format
+ * byte, followed by the serialized entries compressed with the deflate algorithm. Uncompressed
+ * checkpoints have no header, so that masters of older versions can still read them.
+ *
+ * The magic number is chosen so that an uncompressed checkpoint can never start with it, whatever
+ * its entries are. Its first byte is a valid single byte length, and its second byte would then
+ * have to be the first field tag of a journal entry, but its wire type (7) is not a valid protocol
+ * buffers wire type. This way, readers detect the format of a checkpoint without any assumption
+ * on its first entry, and read both formats.
+ */
+@ThreadSafe
+public final class CheckpointCompression {
+  /** The magic number which starts a compressed checkpoint. */
+  private static final byte[] MAGIC = {'A', (byte) 0xFF, 'C', 'K', 'P', 'T'};
+  /** The format of checkpoints compressed with the deflate algorithm. */
+  private static final byte FORMAT_DEFLATE = 1;
+  /** The length of the header of a compressed checkpoint. */
+  static final int HEADER_LENGTH = MAGIC.length + 1;
+  private static final int BUFFER_SIZE = 64 * Constants.KB;
+
+  private CheckpointCompression() {} // prevent instantiation
+
+  /**
+   * Writes the header of a compressed checkpoint, and returns a stream which compresses the
+   * entries written to it. Closing the returned stream closes the given stream.
+   *
+   * @param outputStream the stream to write the checkpoint to
+   * @return the stream to write the serialized checkpoint entries to
+   * @throws IOException if an I/O error occurs
+   */
+  public static OutputStream compress(OutputStream outputStream) throws IOException {
+    outputStream.write(MAGIC);
+    outputStream.write(FORMAT_DEFLATE);
+    return new BufferedOutputStream(new DeflaterOutputStream(outputStream), BUFFER_SIZE);
+  }
+
+  /**
+   * Returns a stream to read the serialized entries of a checkpoint, which is decompressed if the
+   * checkpoint is compressed. Closing the returned stream closes the given stream.
+   *
+   * @param inputStream the stream to read the checkpoint from
+   * @return the stream to read the serialized checkpoint entries from
+   * @throws IOException if an I/O error occurs, or if the checkpoint has an unknown format
+   */
+  public static InputStream decompress(InputStream inputStream) throws IOException {
+    BufferedInputStream bufferedStream = new BufferedInputStream(inputStream, BUFFER_SIZE);
+    if (!isCompressed(bufferedStream)) {
+      return bufferedStream;
+    }
+    return new BufferedInputStream(new InflaterInputStream(bufferedStream), BUFFER_SIZE);
+  }
+
+  /**
+   * Checks whether the stream starts with the header of a compressed checkpoint. The header is
+   * consumed if it is present, otherwise the stream is left at its start.
+   *
+   * @param inputStream the stream to check, which must support mark and reset
+   * @return true if the stream is a compressed checkpoint, false otherwise
+   * @throws IOException if an I/O error occurs, or if the header is invalid or of an unknown format
+   */
+  private static boolean isCompressed(InputStream inputStream) throws IOException {
+    inputStream.mark(HEADER_LENGTH);
+    byte[] header = new byte[HEADER_LENGTH];
+    int bytesRead = 0;
+    while (bytesRead < header.length) {
+      int read = inputStream.read(header, bytesRead, header.length - bytesRead);
+      if (read < 0) {
+        break;
+      }
+      bytesRead += read;
+    }
+    // The first two bytes of the magic number can not start an uncompressed checkpoint.
+    if (bytesRead < 2 || header[0] != MAGIC[0] || header[1] != MAGIC[1]) {
+      inputStream.reset();
+      return false;
+    }
+    if (bytesRead < HEADER_LENGTH
+        || !Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC)) {
+      throw new IOException("Invalid checkpoint header: "
+          + Arrays.toString(Arrays.copyOf(header, bytesRead)));
+    }
+    if (header[MAGIC.length] != FORMAT_DEFLATE) {
+      throw new IOException("Unsupported checkpoint format: " + header[MAGIC.length]);
+    }
+    return true;
+  }
+}
@@ -29,7 +29,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * Tool for reading the journal. It reads binary journal entries and prints human-readable ones to
- * standard out. Example usage below.
+ * standard out. Both journal logs and checkpoints can be read, including compressed checkpoints.
+ * Example usage below.
  *
  * <pre>
  * java -cp assembly/target/alluxio-assemblies-0.9.0-SNAPSHOT-jar-with-dependencies.jar \
@@ -76,7 +77,8 @@ public final class JournalTool {
     }
 
     JournalFormatter formatter = new ProtoBufJournalFormatter();
-    JournalInputStream journalStream = formatter.deserialize(System.in);
+    JournalInputStream journalStream =
+        formatter.deserialize(CheckpointCompression.decompress(System.in));
     JournalEntry entry;
     while ((entry = journalStream.read()) != null) {
       System.out.print(entry);
@@ -0,0 +1,333 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A {@link JournalInputStream} which reads and parses the entries of a sequence of journal files
+ * ahead of the caller on a single background thread. This pipelines reading and parsing the
+ * journal with applying the entries, which is done by the caller in sequence order.
+ *
+ * The files are read one after another by the same thread, and handed over through a single
+ * bounded queue, so at most a bounded number of entries is buffered however many files are
+ * replayed. {@link #read()} returns null at the end of each file, and {@link #nextFile()} moves on
+ * to the next one.
+ */
+@NotThreadSafe
+public final class PrefetchingJournalInputStream implements JournalInputStream {
+  /** The maximum number of entries in a batch handed over to the caller. */
+  private static final int MAX_BATCH_SIZE = 1024;
+  /** An empty batch which marks the end of a file. */
+  private static final List<JournalEntry> END_OF_FILE = new ArrayList<>(0);
+  /** An empty batch which marks the end of the last file. */
+  private static final List<JournalEntry> END_OF_STREAM = Collections.emptyList();
+  /** A source without any more files. */
+  private static final FileSource NO_MORE_FILES = new FileSource() {
+    @Override
+    public JournalInputStream next() {
+      return null;
+    }
+  };
+
+  /**
+   * A source of the journal files to read after the first one, in order. It is only called from
+   * the background thread.
+   */
+  public interface FileSource {
+    /**
+     * @return the stream of the next file, or null if there are no more files
+     * @throws IOException if the next file cannot be opened
+     */
+    JournalInputStream next() throws IOException;
+  }
+
+  private final FileSource mFileSource;
+  private final int mBatchSize;
+  private final BlockingQueue<List<JournalEntry>> mBatches;
+  private final Thread mPrefetchThread;
+  /** The total time (in nanoseconds) the prefetch thread spent reading and parsing entries. */
+  private final AtomicLong mReadTimeNs = new AtomicLong(0);
+  /** The failure of the prefetch thread, set before the end of the stream is queued. */
+  private volatile IOException mError;
+
+  /** The time (in nanoseconds) the caller spent waiting for entries. */
+  private long mWaitTimeNs;
+  /** The batch currently being returned to the caller. */
+  private Iterator<JournalEntry> mCurrentBatch = Collections.<JournalEntry>emptyList().iterator();
+  /** Whether the caller has read all the entries of the current file. */
+  private boolean mEndOfFile;
+  private boolean mEndOfStream;
+  private volatile boolean mClosed;
+  private long mLatestSequenceNumber;
+
+  /**
+   * Creates a new instance of {@link PrefetchingJournalInputStream} reading a single file, and
+   * starts prefetching.
+   *
+   * @param stream the stream to read entries from
+   * @param prefetchSize the maximum number of entries to read ahead, must be positive
+   */
+  public PrefetchingJournalInputStream(JournalInputStream stream, int prefetchSize) {
+    this(stream, NO_MORE_FILES, prefetchSize);
+  }
+
+  /**
+   * Creates a new instance of {@link PrefetchingJournalInputStream} reading a sequence of files,
+   * and starts prefetching.
+   *
+   * @param firstFile the stream of the first file to read entries from
+   * @param fileSource the source of the files to read after the first one
+   * @param prefetchSize the maximum number of entries to read ahead, must be positive
+   */
+  public PrefetchingJournalInputStream(final JournalInputStream firstFile, FileSource fileSource,
+      int prefetchSize) {
+    Preconditions.checkArgument(prefetchSize > 0, "prefetchSize must be positive");
+    Preconditions.checkNotNull(firstFile, "firstFile");
+    mFileSource = Preconditions.checkNotNull(fileSource, "fileSource");
+    mBatchSize = Math.min(prefetchSize, MAX_BATCH_SIZE);
+    // One slot is reserved for the end of the stream.
+    mBatches = new ArrayBlockingQueue<>(Math.max(1, prefetchSize / mBatchSize) + 1);
+    mPrefetchThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        prefetch(firstFile);
+      }
+    }, "JournalPrefetcher");
+    mPrefetchThread.setDaemon(true);
+    mPrefetchThread.start();
+  }
+
+  /**
+   * Reads the next entry of the current file.
+   *
+   * @return the next entry, or null at the end of the current file
+   * @throws IOException if reading the journal failed
+   */
+  @Override
+  public JournalEntry read() throws IOException {
+    Preconditions.checkState(!mClosed, "The journal input stream is closed");
+    while (!mCurrentBatch.hasNext()) {
+      if (mEndOfFile || mEndOfStream) {
+        return null;
+      }
+      List<JournalEntry> batch = take();
+      if (batch == END_OF_FILE) {
+        mEndOfFile = true;
+        return null;
+      }
+      mCurrentBatch = batch.iterator();
+    }
+    JournalEntry entry = mCurrentBatch.next();
+    mLatestSequenceNumber = entry.getSequenceNumber();
+    return entry;
+  }
+
+  /**
+   * Moves on to the next file, skipping the remaining entries of the current one.
+   *
+   * @return true if there is a next file, false if the last file has been read
+   * @throws IOException if reading the journal failed
+   */
+  public boolean nextFile() throws IOException {
+    while (read() != null) {
+      // Skip the rest of the current file.
+    }
+    if (mEndOfStream) {
+      return false;
+    }
+    mEndOfFile = false;
+    List<JournalEntry> batch = take();
+    if (batch == END_OF_STREAM) {
+      return false;
+    }
+    if (batch == END_OF_FILE) {
+      mEndOfFile = true;
+    } else {
+      mCurrentBatch = batch.iterator();
+    }
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    mPrefetchThread.interrupt();
+    // Make room in case the prefetch thread is about to queue a batch, so that it can stop.
+    mBatches.clear();
+    try {
+      mPrefetchThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public long getLatestSequenceNumber() {
+    return mLatestSequenceNumber;
+  }
+
+  /**
+   * @return the total time (in nanoseconds) spent reading and parsing entries in the background
+   */
+  public long getReadTimeNs() {
+    return mReadTimeNs.get();
+  }
+
+  /**
+   * @return the total time (in nanoseconds) the caller spent waiting for entries to be read
+   */
+  public long getWaitTimeNs() {
+    return mWaitTimeNs;
+  }
+
+  /**
+   * Takes the next batch from the queue. At the end of the stream, the failure of the prefetch
+   * thread is thrown if there is one.
+   *
+   * @return the next batch
+   * @throws IOException if interrupted, or if the prefetch thread failed
+   */
+  private List<JournalEntry> take() throws IOException {
+    List<JournalEntry> batch;
+    long startTimeNs = System.nanoTime();
+    try {
+      batch = mBatches.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while reading the journal", e);
+    } finally {
+      mWaitTimeNs += System.nanoTime() - startTimeNs;
+    }
+    if (batch == END_OF_STREAM) {
+      mEndOfStream = true;
+      if (mError != null) {
+        throw mError;
+      }
+    }
+    return batch;
+  }
+
+  /**
+   * The main loop of the prefetch thread. Reads the files one after another in batches of entries,
+   * until there are no more files, a failure, or until it is interrupted by {@link #close()}.
+   *
+   * @param firstFile the stream of the first file
+   */
+  private void prefetch(JournalInputStream firstFile) {
+    try {
+      JournalInputStream file = firstFile;
+      while (file != null && !mClosed) {
+        boolean failed;
+        try {
+          failed = !prefetchFile(file);
+        } finally {
+          closeFile(file);
+        }
+        if (failed || mError != null) {
+          break;
+        }
+        mBatches.put(END_OF_FILE);
+        try {
+          file = mFileSource.next();
+        } catch (IOException | RuntimeException e) {
+          setError(e);
+          break;
+        }
+      }
+      mBatches.put(END_OF_STREAM);
+    } catch (InterruptedException e) {
+      // The stream was closed, stop prefetching.
+    }
+  }
+
+  /**
+   * Reads the entries of a file in batches, and queues them.
+   *
+   * @param file the stream of the file
+   * @return true if the whole file was read, false if reading it failed
+   * @throws InterruptedException if interrupted while queueing a batch
+   */
+  private boolean prefetchFile(JournalInputStream file) throws InterruptedException {
+    while (!mClosed) {
+      List<JournalEntry> batch = new ArrayList<>(mBatchSize);
+      boolean done = false;
+      boolean failed = false;
+      long startTimeNs = System.nanoTime();
+      try {
+        while (batch.size() < mBatchSize) {
+          JournalEntry entry = file.read();
+          if (entry == null) {
+            done = true;
+            break;
+          }
+          batch.add(entry);
+        }
+      } catch (IOException | RuntimeException e) {
+        setError(e);
+        failed = true;
+      } finally {
+        mReadTimeNs.addAndGet(System.nanoTime() - startTimeNs);
+      }
+      if (!batch.isEmpty()) {
+        mBatches.put(batch);
+      }
+      if (failed) {
+        return false;
+      }
+      if (done) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param file the stream of a file to close
+   */
+  private void closeFile(JournalInputStream file) {
+    try {
+      file.close();
+    } catch (IOException e) {
+      if (!mClosed) {
+        setError(e);
+      }
+    }
+  }
+
+  /**
+   * Records the first failure of the prefetch thread.
+   *
+   * @param e the failure
+   */
+  private void setError(Exception e) {
+    if (mError == null) {
+      mError = e instanceof IOException ? (IOException) e : new IOException(e);
+    }
+  }
+}
@@ -11,6 +11,7 @@
 
 package alluxio.master.journal.ufs;
 
+import alluxio.master.journal.CheckpointCompression;
 import alluxio.master.journal.JournalInputStream;
 import alluxio.master.journal.JournalReader;
 import alluxio.underfs.UnderFileSystem;
@@ -19,6 +20,7 @@ import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.net.URI;
 
@@ -70,8 +72,9 @@ public class UfsJournalReader implements JournalReader {
     mCheckpointOpenedTime = getCheckpointLastModifiedTimeMs();
 
     LOG.info("Opening journal checkpoint file: {}", mCheckpoint);
-    JournalInputStream jis =
-        mJournal.getJournalFormatter().deserialize(mUfs.open(mCheckpoint.toString()));
+    // The checkpoint may be compressed, and the stream returned for it is buffered.
+    JournalInputStream jis = mJournal.getJournalFormatter()
+        .deserialize(CheckpointCompression.decompress(mUfs.open(mCheckpoint.toString())));
 
     mCheckpointRead = true;
     return jis;
@@ -92,8 +95,9 @@ public class UfsJournalReader implements JournalReader {
     }
     // Open input stream from the current log file.
     LOG.info("Opening journal log file: {}", currentLog);
-    JournalInputStream jis =
-        mJournal.getJournalFormatter().deserialize(mUfs.open(currentLog.toString()));
+    // The formatter reads the entry headers byte by byte, so the stream is buffered.
+    JournalInputStream jis = mJournal.getJournalFormatter()
+        .deserialize(new BufferedInputStream(mUfs.open(currentLog.toString())));
 
     // Increment the log file number.
     mCurrentLogNumber++;
@@ -11,11 +11,15 @@
 
 package alluxio.master.journal.ufs;
 
+import alluxio.Configuration;
+import alluxio.PropertyKey;
 import alluxio.master.Master;
 import alluxio.master.journal.Journal;
 import alluxio.master.journal.JournalInputStream;
 import alluxio.master.journal.JournalReader;
 import alluxio.master.journal.JournalTailer;
+import alluxio.master.journal.PrefetchingJournalInputStream;
+import alluxio.metrics.MetricsSystem;
 import alluxio.proto.journal.Journal.JournalEntry;
 
 import com.google.common.base.Preconditions;
@@ -23,11 +27,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * Implementation of {@link JournalTailer} based on UFS.
+ *
+ * Entries are read and parsed ahead by a {@link PrefetchingJournalInputStream}, while they are
+ * applied to the master in sequence order. All the completed logs processed by one call to
+ * {@link #processNextJournalLogs()} share a single prefetch thread and queue. The time spent in
+ * each stage of the replay is reported to the master metrics, as
+ * {@code <master name>.JournalReplay<stage>}.
  */
 @NotThreadSafe
 public final class UfsJournalTailer implements JournalTailer {
@@ -39,6 +50,8 @@ public final class UfsJournalTailer implements JournalTailer {
   private final JournalReader mReader;
   /** This keeps track of the latest sequence number seen in the journal entries. */
   private long mLatestSequenceNumber = 0;
+  /** The maximum number of entries to read ahead, or 0 to read entries on demand. */
+  private final int mPrefetchSize;
 
   /**
    * Creates a new instance of {@link UfsJournalTailer}.
@@ -49,6 +62,7 @@ public final class UfsJournalTailer implements JournalTailer {
   public UfsJournalTailer(Master master, Journal journal) {
     mMaster = Preconditions.checkNotNull(master);
     mReader = journal.getReader();
+    mPrefetchSize = Configuration.getInt(PropertyKey.MASTER_JOURNAL_REPLAY_PREFETCH_SIZE);
   }
 
   @Override
@@ -77,40 +91,128 @@ public final class UfsJournalTailer implements JournalTailer {
   public void processJournalCheckpoint(boolean applyToMaster) throws IOException {
     // Load the checkpoint.
     LOG.info("{}: Loading checkpoint.", mMaster.getName());
+    long startTimeNs = System.nanoTime();
     // The checkpoint stream must be retrieved before retrieving any log streams, because the
     // journal reader verifies that the checkpoint was read before the log streams.
-    try (JournalInputStream is = mReader.getCheckpointInputStream()) {
+    JournalInputStream checkpointStream = mReader.getCheckpointInputStream();
+    // Only read ahead if the checkpoint is going to be read.
+    try (JournalInputStream is = applyToMaster ? prefetch(checkpointStream) : checkpointStream) {
       if (applyToMaster) {
         // Only apply the checkpoint to the master, if specified.
         mMaster.processJournalCheckpoint(is);
       }
       // update the latest sequence number seen.
       mLatestSequenceNumber = is.getLatestSequenceNumber();
+      recordStageTimes("Checkpoint", is, System.nanoTime() - startTimeNs);
     }
   }
 
   @Override
   public int processNextJournalLogs() throws IOException {
+    JournalInputStream firstLog = nextLog();
+    if (firstLog == null) {
+      if (!mReader.isValid()) {
+        LOG.info("{}: The checkpoint is out of date and must be reloaded.", mMaster.getName());
+      }
+      return 0;
+    }
+    long startTimeNs = System.nanoTime();
     int numFilesProcessed = 0;
-    while (mReader.isValid()) {
-      // Process the new completed log, if it exists.
-      JournalInputStream inputStream = mReader.getNextInputStream();
-      if (inputStream != null) {
-        LOG.info("{}: Processing a completed log.", mMaster.getName());
-        JournalEntry entry;
-        while ((entry = inputStream.read()) != null) {
-          mMaster.processJournalEntry(entry);
-          // update the latest sequence number seen.
-          mLatestSequenceNumber = inputStream.getLatestSequenceNumber();
+    JournalInputStream logs = firstLog;
+    if (mPrefetchSize <= 0) {
+      for (JournalInputStream log = firstLog; log != null; log = nextLog()) {
+        try {
+          processLog(log);
+        } finally {
+          log.close();
         }
-        inputStream.close();
         numFilesProcessed++;
-        LOG.info("{}: Finished processing the log.", mMaster.getName());
-      } else {
-        return numFilesProcessed;
+      }
+    } else {
+      // The logs are read one after another by the same prefetch thread.
+      PrefetchingJournalInputStream prefetchLogs = new PrefetchingJournalInputStream(firstLog,
+          new PrefetchingJournalInputStream.FileSource() {
+            @Override
+            public JournalInputStream next() throws IOException {
+              return nextLog();
+            }
+          }, mPrefetchSize);
+      logs = prefetchLogs;
+      try {
+        do {
+          processLog(prefetchLogs);
+          numFilesProcessed++;
+        } while (prefetchLogs.nextFile());
+      } finally {
+        prefetchLogs.close();
       }
     }
-    LOG.info("{}: The checkpoint is out of date and must be reloaded.", mMaster.getName());
+    recordStageTimes("Log", logs, System.nanoTime() - startTimeNs);
+    if (!mReader.isValid()) {
+      LOG.info("{}: The checkpoint is out of date and must be reloaded.", mMaster.getName());
+    }
     return numFilesProcessed;
   }
+
+  /**
+   * @return the stream of the next completed log, or null if there is none or the reader is no
+   *         longer valid
+   * @throws IOException if the log cannot be opened
+   */
+  private JournalInputStream nextLog() throws IOException {
+    return mReader.isValid() ? mReader.getNextInputStream() : null;
+  }
+
+  /**
+   * Applies the entries of a completed log to the master.
+   *
+   * @param inputStream the stream positioned at the start of the log, which returns null at its end
+   * @throws IOException if an I/O error occurs
+   */
+  private void processLog(JournalInputStream inputStream) throws IOException {
+    LOG.info("{}: Processing a completed log.", mMaster.getName());
+    JournalEntry entry;
+    while ((entry = inputStream.read()) != null) {
+      mMaster.processJournalEntry(entry);
+      // update the latest sequence number seen.
+      mLatestSequenceNumber = inputStream.getLatestSequenceNumber();
+    }
+    LOG.info("{}: Finished processing the log.", mMaster.getName());
+  }
+
+  /**
+   * @param inputStream the stream to read from
+   * @return a stream reading ahead of the given stream, unless prefetching is disabled
+   */
+  private JournalInputStream prefetch(JournalInputStream inputStream) {
+    if (mPrefetchSize <= 0) {
+      return inputStream;
+    }
+    return new PrefetchingJournalInputStream(inputStream, mPrefetchSize);
+  }
+
+  /**
+   * Records the time spent in each stage of replaying the checkpoint, or a sequence of logs.
+   *
+   * @param file the kind of journal file which was replayed, either "Checkpoint" or "Log"
+   * @param inputStream the stream the files were replayed from
+   * @param totalTimeNs the total time (in nanoseconds) spent replaying the files
+   */
+  private void recordStageTimes(String file, JournalInputStream inputStream, long totalTimeNs) {
+    String prefix = mMaster.getName() + ".JournalReplay";
+    MetricsSystem.masterTimer(prefix + file).update(totalTimeNs, TimeUnit.NANOSECONDS);
+    if (inputStream instanceof PrefetchingJournalInputStream) {
+      PrefetchingJournalInputStream prefetchStream = (PrefetchingJournalInputStream) inputStream;
+      long readTimeNs = prefetchStream.getReadTimeNs();
+      long waitTimeNs = prefetchStream.getWaitTimeNs();
+      MetricsSystem.masterTimer(prefix + "Read").update(readTimeNs, TimeUnit.NANOSECONDS);
+      MetricsSystem.masterTimer(prefix + "Apply")
+          .update(totalTimeNs - waitTimeNs, TimeUnit.NANOSECONDS);
+      LOG.info("{}: Replayed journal {} in {} ms (read: {} ms, apply: {} ms, waiting for reads: "
+          + "{} ms).", mMaster.getName(), file.toLowerCase(),
+          TimeUnit.NANOSECONDS.toMillis(totalTimeNs), TimeUnit.NANOSECONDS.toMillis(readTimeNs),
+          TimeUnit.NANOSECONDS.toMillis(totalTimeNs - waitTimeNs),
+          TimeUnit.NANOSECONDS.toMillis(waitTimeNs));
+    }
+  }
 }
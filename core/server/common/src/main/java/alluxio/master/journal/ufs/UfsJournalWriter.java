@@ -14,6 +14,7 @@ package alluxio.master.journal.ufs;
 import alluxio.Configuration;
 import alluxio.PropertyKey;
 import alluxio.exception.ExceptionMessage;
+import alluxio.master.journal.CheckpointCompression;
 import alluxio.master.journal.JournalFormatter;
 import alluxio.master.journal.JournalOutputStream;
 import alluxio.master.journal.JournalWriter;
@@ -112,8 +113,11 @@ public final class UfsJournalWriter implements JournalWriter {
       LOG.info("Latest journal sequence number: {} Next journal sequence number: {}",
           latestSequenceNumber, mNextEntrySequenceNumber);
       UnderFileSystemUtils.deleteFileIfExists(mTempCheckpoint.toString());
-      mCheckpointOutputStream = new CheckpointOutputStream(
-          new DataOutputStream(mUfs.create(mTempCheckpoint.toString())));
+      OutputStream checkpoint = mUfs.create(mTempCheckpoint.toString());
+      if (Configuration.getBoolean(PropertyKey.MASTER_JOURNAL_CHECKPOINT_COMPRESSION_ENABLED)) {
+        checkpoint = CheckpointCompression.compress(checkpoint);
+      }
+      mCheckpointOutputStream = new CheckpointOutputStream(new DataOutputStream(checkpoint));
     }
     return mCheckpointOutputStream;
   }
@@ -0,0 +1,134 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio;
+
+import alluxio.metrics.MetricsSystem;
+import alluxio.network.ThriftServerType;
+import alluxio.security.authentication.AuthType;
+import alluxio.security.authentication.NoSaslTransportProvider;
+import alluxio.thrift.MasterInfo;
+import alluxio.thrift.MasterInfoField;
+import alluxio.thrift.MetaMasterClientService;
+import alluxio.util.CommonUtils;
+import alluxio.util.network.NetworkAddressUtils;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
+import org.apache.thrift.TMultiplexedProcessor;
+import org.apache.thrift.TProcessor;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TMultiplexedProtocol;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.server.TThreadedSelectorServer;
+import org.apache.thrift.transport.TNonblockingServerSocket;
+import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
+import org.apache.thrift.transport.TTransport;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link ThriftServerUtils}.
+ */
+public final class ThriftServerUtilsTest {
+  /**
+   * Resets the configuration after each test runs.
+   */
+  @After
+  public void after() {
+    ConfigurationTestUtils.resetConfiguration();
+  }
+
+  /**
+   * Tests that the threaded selector server serves requests from framed clients, and times them.
+   */
+  @Test
+  public void threadedSelectorServer() throws Exception {
+    Configuration.set(PropertyKey.NETWORK_THRIFT_SERVER_TYPE, ThriftServerType.THREADED_SELECTOR);
+    Configuration.set(PropertyKey.SECURITY_AUTHENTICATION_TYPE, AuthType.NOSASL);
+    TServerTransport serverSocket =
+        ThriftServerUtils.createServerSocket(new InetSocketAddress("localhost", 0), 0);
+    Assert.assertTrue(serverSocket instanceof TNonblockingServerSocket);
+
+    MetaMasterClientService.Iface handler = Mockito.mock(MetaMasterClientService.Iface.class);
+    Mockito.when(handler.getInfo(Matchers.<Set<MasterInfoField>>any()))
+        .thenReturn(new MasterInfo().setWebPort(1234));
+    TMultiplexedProcessor processor = new TMultiplexedProcessor();
+    ThriftServerUtils.registerServices(processor, ImmutableMap.<String, TProcessor>of(
+        Constants.META_MASTER_SERVICE_NAME, new MetaMasterClientService.Processor<>(handler)),
+        MetricsSystem.MASTER_INSTANCE);
+    final TServer server =
+        ThriftServerUtils.createServer(serverSocket, processor, null, 1, 4,
+            MetricsSystem.MASTER_INSTANCE);
+    Assert.assertTrue(server instanceof TThreadedSelectorServer);
+    Thread serverThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        server.serve();
+      }
+    });
+    serverThread.start();
+    try {
+      CommonUtils.waitFor("thrift server to start", new Function<Void, Boolean>() {
+        @Override
+        public Boolean apply(Void input) {
+          return server.isServing();
+        }
+      });
+      TTransport transport = new NoSaslTransportProvider().getClientTransport(
+          new InetSocketAddress("localhost", NetworkAddressUtils.getThriftPort(serverSocket)));
+      transport.open();
+      try {
+        MetaMasterClientService.Client client = new MetaMasterClientService.Client(
+            new TMultiplexedProtocol(new TBinaryProtocol(transport),
+                Constants.META_MASTER_SERVICE_NAME));
+        Assert.assertEquals(1234, client.getInfo(new HashSet<MasterInfoField>()).getWebPort());
+      } finally {
+        transport.close();
+      }
+      Assert.assertEquals(1, MetricsSystem.METRIC_REGISTRY.timer(MetricsSystem
+          .getMasterMetricName("RpcTime-" + Constants.META_MASTER_SERVICE_NAME)).getCount());
+    } finally {
+      server.stop();
+      serverThread.join();
+      serverSocket.close();
+    }
+  }
+
+  /**
+   * Tests that the thread pool server is used when the threaded selector server is not supported
+   * by the authentication type.
+   */
+  @Test
+  public void fallBackToThreadPoolServer() throws Exception {
+    Configuration.set(PropertyKey.NETWORK_THRIFT_SERVER_TYPE, ThriftServerType.THREADED_SELECTOR);
+    Configuration.set(PropertyKey.SECURITY_AUTHENTICATION_TYPE, AuthType.SIMPLE);
+    TServerTransport serverSocket =
+        ThriftServerUtils.createServerSocket(new InetSocketAddress("localhost", 0), 0);
+    try {
+      Assert.assertTrue(serverSocket instanceof TServerSocket);
+      TServer server = ThriftServerUtils.createServer(serverSocket, new TMultiplexedProcessor(),
+          null, 1, 4, MetricsSystem.WORKER_INSTANCE);
+      Assert.assertTrue(server instanceof TThreadPoolServer);
+    } finally {
+      serverSocket.close();
+    }
+  }
+}
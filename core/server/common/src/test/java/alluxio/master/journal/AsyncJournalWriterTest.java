@@ -21,14 +21,31 @@ import alluxio.Configuration;
 import alluxio.ConfigurationTestUtils;
 import alluxio.PropertyKey;
 import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.util.CommonUtils;
+
+import com.google.common.base.Function;
 
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
+import org.powermock.reflect.Whitebox;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Unit tests for {@link AsyncJournalWriter}.
@@ -40,6 +57,9 @@ public class AsyncJournalWriterTest {
 
   @After
   public void after() throws Exception {
+    if (mAsyncJournalWriter != null) {
+      mAsyncJournalWriter.close();
+    }
     ConfigurationTestUtils.resetConfiguration();
   }
 
@@ -196,4 +216,125 @@ public class AsyncJournalWriterTest {
   public void failedFlushWithBatching() throws Exception {
     failedFlushInternal(true);
   }
+
+  /**
+   * Tests that concurrent flushes waiting on the same batch are completed by a single flush.
+   */
+  @Test(timeout = 10000)
+  public void concurrentFlushesAreGrouped() throws Exception {
+    setupAsyncJournalWriter(false);
+    final CountDownLatch flushStarted = new CountDownLatch(1);
+    final CountDownLatch allowFlush = new CountDownLatch(1);
+    Mockito.doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        flushStarted.countDown();
+        allowFlush.await();
+        return null;
+      }
+    }).when(mMockJournalWriter).flush();
+
+    // Block the writer thread in the flush of the first entry.
+    final long first = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    int threads = 10;
+    ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+    try {
+      Future<Void> firstFlush = executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          mAsyncJournalWriter.flush(first);
+          return null;
+        }
+      });
+      flushStarted.await();
+
+      // These entries are queued while the writer is busy, so they end up in the same batch.
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        final long counter = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            mAsyncJournalWriter.flush(counter);
+            return null;
+          }
+        }));
+      }
+      // Wait for all the callers to be waiting on the writer.
+      final ReentrantLock lock = Whitebox.getInternalState(mAsyncJournalWriter, "mLock");
+      final Condition flushCompleted =
+          Whitebox.getInternalState(mAsyncJournalWriter, "mFlushCompleted");
+      final int waiters = threads + 1;
+      CommonUtils.waitFor("flush callers to wait", new Function<Void, Boolean>() {
+        @Override
+        public Boolean apply(Void input) {
+          lock.lock();
+          try {
+            return lock.getWaitQueueLength(flushCompleted) == waiters;
+          } finally {
+            lock.unlock();
+          }
+        }
+      });
+      Mockito.verify(mMockJournalWriter, times(1)).write(any(JournalEntry.class));
+      allowFlush.countDown();
+      firstFlush.get();
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Mockito.verify(mMockJournalWriter, times(threads + 1)).write(any(JournalEntry.class));
+    Mockito.verify(mMockJournalWriter, times(2)).flush();
+  }
+
+  /**
+   * Tests that closing the writer while it is stuck in a flush interrupts it after the timeout, and
+   * fails the pending flush.
+   */
+  @Test(timeout = 10000)
+  public void closeInterruptsStuckWriter() throws Exception {
+    Configuration.set(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS, 0);
+    mMockJournalWriter = PowerMockito.mock(JournalWriter.class);
+    final CountDownLatch flushStarted = new CountDownLatch(1);
+    final CountDownLatch neverReleased = new CountDownLatch(1);
+    Mockito.doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        flushStarted.countDown();
+        try {
+          neverReleased.await();
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException("flush interrupted");
+        }
+        return null;
+      }
+    }).when(mMockJournalWriter).flush();
+    mAsyncJournalWriter = new AsyncJournalWriter(mMockJournalWriter, 100);
+
+    final long counter = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Void> pendingFlush = executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          mAsyncJournalWriter.flush(counter);
+          return null;
+        }
+      });
+      flushStarted.await();
+      mAsyncJournalWriter.close();
+      Thread writerThread = Whitebox.getInternalState(mAsyncJournalWriter, "mWriterThread");
+      Assert.assertFalse(writerThread.isAlive());
+      try {
+        pendingFlush.get();
+        Assert.fail("pending flush should fail once the writer is closed.");
+      } catch (ExecutionException e) {
+        Assert.assertTrue(e.getCause() instanceof IOException);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
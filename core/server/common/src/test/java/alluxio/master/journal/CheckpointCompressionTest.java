@@ -0,0 +1,128 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Unit tests for {@link CheckpointCompression}.
+ */
+public final class CheckpointCompressionTest {
+  private static final int ENTRIES = 1000;
+
+  private final JournalFormatter mFormatter = new ProtoBufJournalFormatter();
+
+  /**
+   * Tests that a compressed checkpoint is smaller, and is read back entry by entry.
+   */
+  @Test
+  public void compressedCheckpoint() throws Exception {
+    byte[] uncompressed = writeCheckpoint(false);
+    byte[] compressed = writeCheckpoint(true);
+    Assert.assertTrue(compressed.length < uncompressed.length);
+    readCheckpoint(compressed);
+  }
+
+  /**
+   * Tests that uncompressed checkpoints are read as they are.
+   */
+  @Test
+  public void uncompressedCheckpoint() throws Exception {
+    readCheckpoint(writeCheckpoint(false));
+  }
+
+  /**
+   * Tests that an uncompressed checkpoint whose first entry is empty, and so starts with a zero
+   * length, is read as it is.
+   */
+  @Test
+  public void uncompressedCheckpointWithEmptyFirstEntry() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    mFormatter.serialize(JournalEntry.getDefaultInstance(), bytes);
+    bytes.write(writeCheckpoint(false));
+    Assert.assertEquals(0, bytes.toByteArray()[0]);
+    JournalInputStream stream = mFormatter.deserialize(
+        CheckpointCompression.decompress(new ByteArrayInputStream(bytes.toByteArray())));
+    Assert.assertEquals(JournalEntry.getDefaultInstance(), stream.read());
+    for (int i = 1; i <= ENTRIES; i++) {
+      Assert.assertEquals(i, stream.read().getSequenceNumber());
+    }
+    Assert.assertNull(stream.read());
+  }
+
+  /**
+   * Tests that an empty checkpoint is read as an uncompressed checkpoint.
+   */
+  @Test
+  public void emptyCheckpoint() throws Exception {
+    JournalInputStream stream = mFormatter
+        .deserialize(CheckpointCompression.decompress(new ByteArrayInputStream(new byte[0])));
+    Assert.assertNull(stream.read());
+  }
+
+  /**
+   * Tests that checkpoints of an unknown format are rejected.
+   */
+  @Test
+  public void unknownFormat() throws Exception {
+    byte[] checkpoint = writeCheckpoint(true);
+    checkpoint[CheckpointCompression.HEADER_LENGTH - 1] = 2;
+    try {
+      CheckpointCompression.decompress(new ByteArrayInputStream(checkpoint));
+      Assert.fail("a checkpoint of an unknown format should not be read");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  /**
+   * Tests that a checkpoint with a truncated header is rejected.
+   */
+  @Test
+  public void truncatedHeader() throws Exception {
+    byte[] checkpoint = writeCheckpoint(true);
+    try {
+      CheckpointCompression.decompress(new ByteArrayInputStream(checkpoint, 0, 3));
+      Assert.fail("a checkpoint with a truncated header should not be read");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  private byte[] writeCheckpoint(boolean compress) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    OutputStream outputStream = compress ? CheckpointCompression.compress(bytes) : bytes;
+    for (int i = 1; i <= ENTRIES; i++) {
+      mFormatter.serialize(JournalEntry.newBuilder().setSequenceNumber(i).build(), outputStream);
+    }
+    outputStream.close();
+    return bytes.toByteArray();
+  }
+
+  private void readCheckpoint(byte[] checkpoint) throws IOException {
+    JournalInputStream stream = mFormatter
+        .deserialize(CheckpointCompression.decompress(new ByteArrayInputStream(checkpoint)));
+    for (int i = 1; i <= ENTRIES; i++) {
+      Assert.assertEquals(i, stream.read().getSequenceNumber());
+    }
+    Assert.assertNull(stream.read());
+    stream.close();
+  }
+}
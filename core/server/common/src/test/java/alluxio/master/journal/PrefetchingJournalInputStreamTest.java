@@ -0,0 +1,183 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link PrefetchingJournalInputStream}.
+ */
+public final class PrefetchingJournalInputStreamTest {
+  /**
+   * A stream of entries with increasing sequence numbers, which optionally fails after a number
+   * of entries.
+   */
+  private static final class TestJournalInputStream implements JournalInputStream {
+    private final int mEntries;
+    private final boolean mFail;
+    private int mRead;
+    private boolean mClosed;
+
+    /**
+     * @param entries the number of entries in the stream
+     * @param fail whether reading fails after the entries, instead of ending the stream
+     */
+    private TestJournalInputStream(int entries, boolean fail) {
+      mEntries = entries;
+      mFail = fail;
+    }
+
+    @Override
+    public JournalEntry read() throws IOException {
+      if (mRead == mEntries) {
+        if (mFail) {
+          throw new IOException("read failed");
+        }
+        return null;
+      }
+      mRead++;
+      return JournalEntry.newBuilder().setSequenceNumber(mRead).build();
+    }
+
+    @Override
+    public void close() {
+      mClosed = true;
+    }
+
+    @Override
+    public long getLatestSequenceNumber() {
+      return mRead;
+    }
+  }
+
+  /**
+   * Tests that all the entries are returned in order, when more entries than the prefetch size
+   * are read.
+   */
+  @Test(timeout = 10000)
+  public void readsInOrder() throws Exception {
+    int entries = 10000;
+    TestJournalInputStream stream = new TestJournalInputStream(entries, false);
+    PrefetchingJournalInputStream prefetchStream = new PrefetchingJournalInputStream(stream, 100);
+    for (int i = 1; i <= entries; i++) {
+      Assert.assertEquals(i, prefetchStream.read().getSequenceNumber());
+      Assert.assertEquals(i, prefetchStream.getLatestSequenceNumber());
+    }
+    Assert.assertNull(prefetchStream.read());
+    Assert.assertNull(prefetchStream.read());
+    prefetchStream.close();
+    Assert.assertTrue(stream.mClosed);
+  }
+
+  /**
+   * Tests that a read failure is thrown after the entries read before the failure.
+   */
+  @Test(timeout = 10000)
+  public void readFailure() throws Exception {
+    int entries = 5;
+    PrefetchingJournalInputStream prefetchStream =
+        new PrefetchingJournalInputStream(new TestJournalInputStream(entries, true), 100);
+    for (int i = 1; i <= entries; i++) {
+      Assert.assertEquals(i, prefetchStream.read().getSequenceNumber());
+    }
+    try {
+      prefetchStream.read();
+      Assert.fail("read should fail when the underlying stream fails");
+    } catch (IOException e) {
+      Assert.assertEquals("read failed", e.getMessage());
+    }
+    prefetchStream.close();
+  }
+
+  /**
+   * Tests that the stream can be closed before all the entries are read.
+   */
+  @Test(timeout = 10000)
+  public void closeBeforeEnd() throws Exception {
+    TestJournalInputStream stream = new TestJournalInputStream(100000, false);
+    PrefetchingJournalInputStream prefetchStream = new PrefetchingJournalInputStream(stream, 10);
+    Assert.assertEquals(1, prefetchStream.read().getSequenceNumber());
+    prefetchStream.close();
+    Assert.assertTrue(stream.mClosed);
+    Assert.assertTrue(stream.mRead < 100000);
+  }
+
+  /**
+   * Tests that a sequence of files, including an empty one, is read file by file on the same
+   * prefetch thread.
+   */
+  @Test(timeout = 10000)
+  public void readsFilesInOrder() throws Exception {
+    final List<TestJournalInputStream> files = new ArrayList<>();
+    files.add(new TestJournalInputStream(3, false));
+    files.add(new TestJournalInputStream(0, false));
+    files.add(new TestJournalInputStream(2000, false));
+    final Set<Thread> sourceThreads = new HashSet<>();
+    PrefetchingJournalInputStream prefetchStream = new PrefetchingJournalInputStream(files.get(0),
+        new PrefetchingJournalInputStream.FileSource() {
+          private int mNext = 1;
+
+          @Override
+          public JournalInputStream next() {
+            sourceThreads.add(Thread.currentThread());
+            return mNext < files.size() ? files.get(mNext++) : null;
+          }
+        }, 100);
+    for (TestJournalInputStream file : files) {
+      for (int i = 1; i <= file.mEntries; i++) {
+        Assert.assertEquals(i, prefetchStream.read().getSequenceNumber());
+      }
+      Assert.assertNull(prefetchStream.read());
+      Assert.assertEquals(file != files.get(files.size() - 1), prefetchStream.nextFile());
+    }
+    Assert.assertFalse(prefetchStream.nextFile());
+    prefetchStream.close();
+    for (TestJournalInputStream file : files) {
+      Assert.assertTrue(file.mClosed);
+    }
+    Assert.assertEquals(1, sourceThreads.size());
+    Assert.assertNotEquals(Thread.currentThread(), sourceThreads.iterator().next());
+  }
+
+  /**
+   * Tests that a failure to open the next file is thrown once the previous files are read.
+   */
+  @Test(timeout = 10000)
+  public void nextFileFailure() throws Exception {
+    PrefetchingJournalInputStream prefetchStream = new PrefetchingJournalInputStream(
+        new TestJournalInputStream(2, false), new PrefetchingJournalInputStream.FileSource() {
+          @Override
+          public JournalInputStream next() throws IOException {
+            throw new IOException("open failed");
+          }
+        }, 100);
+    Assert.assertEquals(1, prefetchStream.read().getSequenceNumber());
+    Assert.assertEquals(2, prefetchStream.read().getSequenceNumber());
+    Assert.assertNull(prefetchStream.read());
+    try {
+      prefetchStream.nextFile();
+      Assert.fail("nextFile should fail when the next file cannot be opened");
+    } catch (IOException e) {
+      Assert.assertEquals("open failed", e.getMessage());
+    }
+    prefetchStream.close();
+  }
+}
@@ -70,6 +70,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -129,6 +130,13 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
       new ConcurrentHashMapV8<>(8192, 0.90f, 64);
   /** Keeps track of blocks which are no longer in Alluxio storage. */
   private final ConcurrentHashSet<Long> mLostBlocks = new ConcurrentHashSet<>(64, 0.90f, 64);
+  /**
+   * Maps from the id of a file to the bytes of its blocks in the top storage tier. The counters are
+   * updated together with the block locations, so they are not journaled either, and are rebuilt
+   * as workers register.
+   */
+  private final ConcurrentHashMapV8<Long, AtomicLong> mFileTopTierBytes =
+      new ConcurrentHashMapV8<>(8192, 0.90f, 64);
 
   /** This state must be journaled. */
   @GuardedBy("itself")
@@ -345,6 +353,8 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
           // Otherwise blockId in mLostBlock can be dangling index if the metadata is gone.
           mLostBlocks.remove(blockId);
           mBlocks.remove(blockId);
+          // The blocks of a file are only deleted together with the file.
+          mFileTopTierBytes.remove(IdUtils.fileIdFromBlockId(blockId));
         }
       }
 
@@ -449,7 +459,10 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
               // Successfully added the new block metadata. Append a journal entry for the new
               // metadata.
               writeJournal = true;
-            } else if (block.getLength() != length && block.getLength() == Constants.UNKNOWN_SIZE) {
+            }
+            long oldTopTierBytes = getTopTierBytes(block);
+            if (!newBlock && block.getLength() != length
+                && block.getLength() == Constants.UNKNOWN_SIZE) {
               // The block size was previously unknown. Update the block size with the committed
               // size, and append a journal entry.
               block.updateLength(length);
@@ -465,6 +478,7 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
 
             // Update the block metadata with the new worker location.
             block.addWorker(workerId, tierAlias);
+            updateFileTopTierBytes(block, oldTopTierBytes);
             // This worker has this block, so it is no longer lost.
             mLostBlocks.remove(blockId);
 
@@ -714,8 +728,10 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
       }
       synchronized (block) {
         LOG.info("Block {} is removed on worker {}.", removedBlockId, workerInfo.getId());
+        long oldTopTierBytes = getTopTierBytes(block);
         workerInfo.removeBlock(block.getBlockId());
         block.removeWorker(workerInfo.getId());
+        updateFileTopTierBytes(block, oldTopTierBytes);
         if (block.getNumLocations() == 0) {
           mLostBlocks.add(removedBlockId);
         }
@@ -737,8 +753,10 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
         MasterBlockInfo block = mBlocks.get(blockId);
         if (block != null) {
           synchronized (block) {
+            long oldTopTierBytes = getTopTierBytes(block);
             workerInfo.addBlock(blockId);
             block.addWorker(workerInfo.getId(), entry.getKey());
+            updateFileTopTierBytes(block, oldTopTierBytes);
             mLostBlocks.remove(blockId);
           }
         } else {
@@ -748,6 +766,52 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
     }
   }
 
+  /**
+   * @param fileId the id of the file
+   * @return the bytes of the blocks of the file which are in the top storage tier of some worker
+   */
+  public long getFileTopTierBytes(long fileId) {
+    AtomicLong topTierBytes = mFileTopTierBytes.get(fileId);
+    return topTierBytes == null ? 0 : topTierBytes.get();
+  }
+
+  /**
+   * @param block the block metadata
+   * @return the length of the block if it is in the top storage tier of some worker, 0 otherwise
+   */
+  @GuardedBy("block")
+  private long getTopTierBytes(MasterBlockInfo block) {
+    if (block.getLength() == Constants.UNKNOWN_SIZE
+        || !block.isInTier(mGlobalStorageTierAssoc.getAlias(0))) {
+      return 0;
+    }
+    return block.getLength();
+  }
+
+  /**
+   * Applies a change of the locations of a block to the top tier bytes counter of its file.
+   *
+   * @param block the block metadata, after the change
+   * @param oldTopTierBytes the top tier bytes of the block before the change
+   */
+  @GuardedBy("block")
+  private void updateFileTopTierBytes(MasterBlockInfo block, long oldTopTierBytes) {
+    long delta = getTopTierBytes(block) - oldTopTierBytes;
+    if (delta == 0) {
+      return;
+    }
+    long fileId = IdUtils.fileIdFromBlockId(block.getBlockId());
+    AtomicLong topTierBytes = mFileTopTierBytes.get(fileId);
+    if (topTierBytes == null) {
+      AtomicLong newTopTierBytes = new AtomicLong();
+      topTierBytes = mFileTopTierBytes.putIfAbsent(fileId, newTopTierBytes);
+      if (topTierBytes == null) {
+        topTierBytes = newTopTierBytes;
+      }
+    }
+    topTierBytes.addAndGet(delta);
+  }
+
   /**
    * @return the block ids of lost blocks in Alluxio
    */
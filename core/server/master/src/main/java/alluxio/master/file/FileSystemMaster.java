@@ -54,6 +54,7 @@ import alluxio.master.file.meta.TempInodePathForChild;
 import alluxio.master.file.meta.TempInodePathForDescendant;
 import alluxio.master.file.meta.TtlBucket;
 import alluxio.master.file.meta.TtlBucketList;
+import alluxio.master.file.meta.UfsBlockLocationCache;
 import alluxio.master.file.meta.options.MountInfo;
 import alluxio.master.file.options.CheckConsistencyOptions;
 import alluxio.master.file.options.CompleteFileOptions;
@@ -61,6 +62,7 @@ import alluxio.master.file.options.CreateDirectoryOptions;
 import alluxio.master.file.options.CreateFileOptions;
 import alluxio.master.file.options.DeleteOptions;
 import alluxio.master.file.options.FreeOptions;
+import alluxio.master.file.options.GetStatusOptions;
 import alluxio.master.file.options.ListStatusOptions;
 import alluxio.master.file.options.LoadMetadataOptions;
 import alluxio.master.file.options.MountOptions;
@@ -93,7 +95,6 @@ import alluxio.thrift.PersistCommandOptions;
 import alluxio.thrift.PersistFile;
 import alluxio.underfs.UnderFileStatus;
 import alluxio.underfs.UnderFileSystem;
-import alluxio.underfs.options.FileLocationOptions;
 import alluxio.underfs.options.MkdirsOptions;
 import alluxio.util.IdUtils;
 import alluxio.util.SecurityUtils;
@@ -102,9 +103,9 @@ import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.executor.ExecutorServiceFactory;
 import alluxio.util.io.PathUtils;
 import alluxio.wire.BlockInfo;
-import alluxio.wire.BlockLocation;
 import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
+import alluxio.wire.FileInfoDetail;
 import alluxio.wire.LoadMetadataType;
 import alluxio.wire.TtlAction;
 import alluxio.wire.WorkerInfo;
@@ -243,6 +244,12 @@ public final class FileSystemMaster extends AbstractMaster {
   /** This manages the file system mount points. */
   private final MountTable mMountTable;
 
+  /**
+   * This caches the UFS locations of the blocks of persisted files. It is created when the master
+   * starts and closed when it stops, since a master may be started again after being stopped.
+   */
+  private UfsBlockLocationCache mUfsBlockLocationCache;
+
   /** This maintains inodes with ttl set, for the for the ttl checker service to use. */
   private final TtlBucketList mTtlBuckets = new TtlBucketList();
 
@@ -435,6 +442,7 @@ public final class FileSystemMaster extends AbstractMaster {
 
   @Override
   public void start(boolean isLeader) throws IOException {
+    mUfsBlockLocationCache = new UfsBlockLocationCache();
     if (isLeader) {
       // Only initialize root when isLeader because when initializing root, BlockMaster needs to
       // write journal entry, if it is not leader, BlockMaster won't have a writable journal.
@@ -475,6 +483,14 @@ public final class FileSystemMaster extends AbstractMaster {
     }
   }
 
+  @Override
+  public void stop() throws IOException {
+    super.stop();
+    if (mUfsBlockLocationCache != null) {
+      mUfsBlockLocationCache.close();
+    }
+  }
+
   /**
    * Checks the consistency of the root in a multi-threaded and incremental fashion. This method
    * will only READ lock the directories and files actively being checked and release them after the
@@ -526,7 +542,7 @@ public final class FileSystemMaster extends AbstractMaster {
           }
           for (Inode childInode : ((InodeDirectory) parentInode).getChildren()) {
             try {
-              childInode.lockReadAndCheckParent(parentInode);
+              childInode.lockReadAndCheckParent(mInodeTree.getLockManager(), parentInode);
             } catch (InvalidPathException e) {
               // This should be safe, continue.
               LOG.debug("Error during startup check consistency, ignoring and continuing.", e);
@@ -542,7 +558,7 @@ public final class FileSystemMaster extends AbstractMaster {
                 }
               }
             } finally {
-              childInode.unlockRead();
+              childInode.unlockRead(mInodeTree.getLockManager());
             }
           }
         } catch (FileDoesNotExistException e) {
@@ -719,25 +735,43 @@ public final class FileSystemMaster extends AbstractMaster {
     Metrics.GET_FILE_INFO_OPS.inc();
     try (
         LockedInodePath inodePath = mInodeTree.lockFullInodePath(fileId, InodeTree.LockMode.READ)) {
-      return getFileInfoInternal(inodePath);
+      return getFileInfoInternal(inodePath, FileInfoDetail.All);
     }
   }
 
+  /**
+   * Returns the {@link FileInfo} for a given path, with all details.
+   * <p>
+   * This operation requires users to have {@link Mode.Bits#READ} permission on the path.
+   *
+   * @param path the path to get the {@link FileInfo} for
+   * @return the {@link FileInfo} for the given file id
+   * @throws FileDoesNotExistException if the file does not exist
+   * @throws InvalidPathException if the file path is not valid
+   * @throws AccessControlException if permission checking fails
+   */
+  public FileInfo getFileInfo(AlluxioURI path)
+      throws FileDoesNotExistException, InvalidPathException, AccessControlException {
+    return getFileInfo(path, GetStatusOptions.defaults());
+  }
+
   /**
    * Returns the {@link FileInfo} for a given path.
    * <p>
    * This operation requires users to have {@link Mode.Bits#READ} permission on the path.
    *
    * @param path the path to get the {@link FileInfo} for
+   * @param options the {@link GetStatusOptions}
    * @return the {@link FileInfo} for the given file id
    * @throws FileDoesNotExistException if the file does not exist
    * @throws InvalidPathException if the file path is not valid
    * @throws AccessControlException if permission checking fails
    */
   // TODO(peis): Add an option not to load metadata.
-  public FileInfo getFileInfo(AlluxioURI path)
+  public FileInfo getFileInfo(AlluxioURI path, GetStatusOptions options)
       throws FileDoesNotExistException, InvalidPathException, AccessControlException {
     Metrics.GET_FILE_INFO_OPS.inc();
+    FileInfoDetail detail = options.getFileInfoDetail();
 
     // Get a READ lock first to see if we need to load metadata, note that this assumes load
     // metadata for direct children is disabled by default.
@@ -745,7 +779,7 @@ public final class FileSystemMaster extends AbstractMaster {
       mPermissionChecker.checkPermission(Mode.Bits.READ, inodePath);
       if (inodePath.fullPathExists()) {
         // The file already exists, so metadata does not need to be loaded.
-        return getFileInfoInternal(inodePath);
+        return getFileInfoInternal(inodePath, detail);
       }
     }
 
@@ -756,39 +790,50 @@ public final class FileSystemMaster extends AbstractMaster {
       loadMetadataIfNotExistAndJournal(inodePath,
           LoadMetadataOptions.defaults().setCreateAncestors(true), journalContext);
       mInodeTree.ensureFullInodePath(inodePath, InodeTree.LockMode.READ);
-      return getFileInfoInternal(inodePath);
+      return getFileInfoInternal(inodePath, detail);
     }
   }
 
   /**
+   * Builds the {@link FileInfo} for an inode. Only the requested level of detail is computed, since
+   * the block and UFS details need lookups in the block master and possibly calls to the UFS.
+   *
    * @param inodePath the {@link LockedInodePath} to get the {@link FileInfo} for
+   * @param detail the level of detail of the returned {@link FileInfo}
    * @return the {@link FileInfo} for the given inode
    * @throws FileDoesNotExistException if the file does not exist
    * @throws AccessControlException if permission denied
    */
-  private FileInfo getFileInfoInternal(LockedInodePath inodePath)
+  private FileInfo getFileInfoInternal(LockedInodePath inodePath, FileInfoDetail detail)
       throws FileDoesNotExistException, AccessControlException {
     Inode<?> inode = inodePath.getInode();
     AlluxioURI uri = inodePath.getUri();
     FileInfo fileInfo = inode.generateClientFileInfo(uri.toString());
-    fileInfo.setInMemoryPercentage(getInMemoryPercentage(inode));
-    if (inode instanceof InodeFile) {
+    if (!detail.includes(FileInfoDetail.BlockIds)) {
+      fileInfo.setBlockIds(new ArrayList<Long>());
+    }
+    if (detail.includes(FileInfoDetail.BlockLocations) && inode instanceof InodeFile) {
+      fileInfo.setInMemoryPercentage(getInMemoryPercentage(inode));
       try {
-        fileInfo.setFileBlockInfos(getFileBlockInfoListInternal(inodePath));
+        fileInfo.setFileBlockInfos(generateFileBlockInfoList(inodePath,
+            mBlockMaster.getBlockInfoList(((InodeFile) inode).getBlockIds()),
+            detail.includes(FileInfoDetail.All)));
       } catch (InvalidPathException e) {
         throw new FileDoesNotExistException(e.getMessage(), e);
       }
     }
-    MountTable.Resolution resolution;
-    try {
-      resolution = mMountTable.resolve(uri);
-    } catch (InvalidPathException e) {
-      throw new FileDoesNotExistException(e.getMessage(), e);
-    }
-    AlluxioURI resolvedUri = resolution.getUri();
-    // Only set the UFS path if the path is nested under a mount point.
-    if (!uri.equals(resolvedUri)) {
-      fileInfo.setUfsPath(resolvedUri.toString());
+    if (detail.includes(FileInfoDetail.All)) {
+      MountTable.Resolution resolution;
+      try {
+        resolution = mMountTable.resolve(uri);
+      } catch (InvalidPathException e) {
+        throw new FileDoesNotExistException(e.getMessage(), e);
+      }
+      AlluxioURI resolvedUri = resolution.getUri();
+      // Only set the UFS path if the path is nested under a mount point.
+      if (!uri.equals(resolvedUri)) {
+        fileInfo.setUfsPath(resolvedUri.toString());
+      }
     }
     Metrics.FILE_INFOS_GOT.inc();
     return fileInfo;
@@ -811,12 +856,16 @@ public final class FileSystemMaster extends AbstractMaster {
 
   /**
    * Returns a list of {@link FileInfo} for a given path. If the given path is a file, the list only
-   * contains a single object. If it is a directory, the resulting list contains all direct children
-   * of the directory.
+   * contains a single object. If it is a directory, the resulting list contains the direct children
+   * of the directory in name order, starting after {@link ListStatusOptions#getStartAfter()} and
+   * holding at most {@link ListStatusOptions#getBatchSize()} entries when those are set. If
+   * {@link ListStatusOptions#isRecursive()} is set, all the descendants of the directory are listed
+   * depth first, and metadata is only loaded for the direct children of the directory.
    * <p>
    * This operation requires users to have
    * {@link Mode.Bits#READ} permission on the path, and also
-   * {@link Mode.Bits#EXECUTE} permission on the path if it is a directory.
+   * {@link Mode.Bits#EXECUTE} permission on the path if it is a directory, and
+   * {@link Mode.Bits#READ_EXECUTE} permission on the listed sub-directories if it is recursive.
    *
    * @param path the path to get the {@link FileInfo} list for
    * @param listStatusOptions the {@link alluxio.master.file.options.ListStatusOptions}
@@ -828,6 +877,16 @@ public final class FileSystemMaster extends AbstractMaster {
   public List<FileInfo> listStatus(AlluxioURI path, ListStatusOptions listStatusOptions)
       throws AccessControlException, FileDoesNotExistException, InvalidPathException {
     Metrics.GET_FILE_INFO_OPS.inc();
+    // Optimistically READ lock the path, since most listings do not need to load metadata. The
+    // path is only re-locked in WRITE mode when metadata may actually have to be loaded.
+    try (LockedInodePath inodePath = mInodeTree.lockInodePath(path, InodeTree.LockMode.READ)) {
+      if (!isLoadMetadataRequired(inodePath, listStatusOptions)) {
+        mPermissionChecker.checkPermission(Mode.Bits.READ, inodePath);
+        List<FileInfo> ret = listStatusInternal(inodePath, listStatusOptions);
+        Metrics.FILE_INFOS_GOT.inc();
+        return ret;
+      }
+    }
     try (JournalContext journalContext = createJournalContext();
         LockedInodePath inodePath = mInodeTree.lockInodePath(path, InodeTree.LockMode.WRITE)) {
       // This is WRITE locked, since loading metadata is possible.
@@ -848,27 +907,130 @@ public final class FileSystemMaster extends AbstractMaster {
 
       loadMetadataIfNotExistAndJournal(inodePath, loadMetadataOptions, journalContext);
       mInodeTree.ensureFullInodePath(inodePath, InodeTree.LockMode.READ);
-      inode = inodePath.getInode();
+      List<FileInfo> ret = listStatusInternal(inodePath, listStatusOptions);
+      Metrics.FILE_INFOS_GOT.inc();
+      return ret;
+    }
+  }
 
-      List<FileInfo> ret = new ArrayList<>();
-      if (inode.isDirectory()) {
-        TempInodePathForDescendant tempInodePath = new TempInodePathForDescendant(inodePath);
-        mPermissionChecker.checkPermission(Mode.Bits.EXECUTE, inodePath);
-        for (Inode<?> child : ((InodeDirectory) inode).getChildren()) {
-          child.lockReadAndCheckParent(inode);
-          try {
-            // the path to child for getPath should already be locked.
-            tempInodePath.setDescendant(child, mInodeTree.getPath(child));
-            ret.add(getFileInfoInternal(tempInodePath));
-          } finally {
-            child.unlockRead();
-          }
+  /**
+   * Determines whether listing the given path may have to load metadata from the UFS. This is
+   * the case when the path does not exist in Alluxio yet, or when it is a directory whose direct
+   * children have to be (re)loaded according to the {@link LoadMetadataType}.
+   *
+   * @param inodePath the locked path to list
+   * @param listStatusOptions the list status options
+   * @return true if loading metadata is possible, so the path must be WRITE locked
+   * @throws FileDoesNotExistException if the target inode does not exist
+   */
+  private boolean isLoadMetadataRequired(LockedInodePath inodePath,
+      ListStatusOptions listStatusOptions) throws FileDoesNotExistException {
+    if (!inodePath.fullPathExists()) {
+      return true;
+    }
+    Inode<?> inode = inodePath.getInode();
+    if (!inode.isDirectory()) {
+      return false;
+    }
+    switch (listStatusOptions.getLoadMetadataType()) {
+      case Never:
+        return false;
+      case Always:
+        return true;
+      default:
+        return !((InodeDirectory) inode).isDirectChildrenLoaded();
+    }
+  }
+
+  /**
+   * Builds the {@link FileInfo} list for a path whose target inode exists and is locked.
+   *
+   * @param inodePath the locked path to list
+   * @param listStatusOptions the list status options
+   * @return the list of {@link FileInfo}s
+   * @throws AccessControlException if permission checking fails
+   * @throws FileDoesNotExistException if the file does not exist
+   * @throws InvalidPathException if the path is invalid
+   */
+  private List<FileInfo> listStatusInternal(LockedInodePath inodePath,
+      ListStatusOptions listStatusOptions)
+      throws AccessControlException, FileDoesNotExistException, InvalidPathException {
+    Inode<?> inode = inodePath.getInode();
+    List<FileInfo> ret = new ArrayList<>();
+    if (inode.isDirectory()) {
+      TempInodePathForDescendant tempInodePath = new TempInodePathForDescendant(inodePath);
+      mPermissionChecker.checkPermission(Mode.Bits.EXECUTE, inodePath);
+      listChildren((InodeDirectory) inode, listStatusOptions.getStartAfter(), listStatusOptions,
+          tempInodePath, ret);
+    } else {
+      ret.add(getFileInfoInternal(inodePath, listStatusOptions.getFileInfoDetail()));
+    }
+    return ret;
+  }
+
+  /**
+   * Appends the {@link FileInfo}s of the children of a READ locked directory to a list, in name
+   * order, until the list holds {@link ListStatusOptions#getBatchSize()} entries. For a recursive
+   * listing, the descendants of each sub-directory directly follow the sub-directory, and the
+   * start after cursor is a path relative to the directory, e.g. "a/b/c".
+   *
+   * @param dir the READ locked directory to list
+   * @param startAfter the name, or relative path for a recursive listing, after which to start
+   *        listing, or null to list from the beginning
+   * @param listStatusOptions the list status options
+   * @param tempInodePath the temporary path used to build the {@link FileInfo}s of descendants
+   * @param ret the list to append the {@link FileInfo}s to
+   * @throws AccessControlException if permission checking fails
+   * @throws FileDoesNotExistException if the file does not exist
+   * @throws InvalidPathException if the path is invalid
+   */
+  private void listChildren(InodeDirectory dir, String startAfter,
+      ListStatusOptions listStatusOptions, TempInodePathForDescendant tempInodePath,
+      List<FileInfo> ret)
+      throws AccessControlException, FileDoesNotExistException, InvalidPathException {
+    boolean recursive = listStatusOptions.isRecursive();
+    int batchSize = listStatusOptions.getBatchSize();
+    String startAfterName = startAfter;
+    if (recursive && startAfter != null) {
+      String[] components = startAfter.split(AlluxioURI.SEPARATOR, 2);
+      startAfterName = components[0];
+      Inode<?> child = dir.getChild(startAfterName);
+      if (child != null && child.isDirectory()) {
+        // The cursor is inside this sub-directory, so its remaining descendants come first.
+        child.lockReadAndCheckParent(mInodeTree.getLockManager(), dir);
+        try {
+          AlluxioURI childPath = mInodeTree.getPath(child);
+          mPermissionChecker.checkDescendantPermission(Mode.Bits.READ_EXECUTE,
+              childPath.getPath(), child);
+          listChildren((InodeDirectory) child, components.length > 1 ? components[1] : null,
+              listStatusOptions, tempInodePath, ret);
+        } finally {
+          child.unlockRead(mInodeTree.getLockManager());
         }
-      } else {
-        ret.add(getFileInfoInternal(inodePath));
       }
-      Metrics.FILE_INFOS_GOT.inc();
-      return ret;
+    }
+    if (batchSize > 0 && ret.size() >= batchSize) {
+      return;
+    }
+    for (Inode<?> child : dir.getChildrenAfter(startAfterName,
+        batchSize > 0 ? batchSize - ret.size() : 0)) {
+      if (batchSize > 0 && ret.size() >= batchSize) {
+        return;
+      }
+      child.lockReadAndCheckParent(mInodeTree.getLockManager(), dir);
+      try {
+        // the path to child for getPath should already be locked.
+        AlluxioURI childPath = mInodeTree.getPath(child);
+        tempInodePath.setDescendant(child, childPath);
+        ret.add(getFileInfoInternal(tempInodePath, listStatusOptions.getFileInfoDetail()));
+        if (recursive && child.isDirectory()) {
+          mPermissionChecker.checkDescendantPermission(Mode.Bits.READ_EXECUTE,
+              childPath.getPath(), child);
+          listChildren((InodeDirectory) child, null, listStatusOptions, tempInodePath, ret);
+        }
+      } finally {
+        child.unlockRead(mInodeTree.getLockManager());
+      }
     }
   }
 
@@ -1402,6 +1564,7 @@ public final class FileSystemMaster extends AbstractMaster {
               boolean failedToDelete = false;
               if (!alluxioOnly) {
                 if (delInode.isFile()) {
+                  mUfsBlockLocationCache.invalidate(ufsUri);
                   if (!ufs.deleteFile(ufsUri)) {
                     failedToDelete = ufs.isFile(ufsUri);
                     if (!failedToDelete) {
@@ -1473,10 +1636,22 @@ public final class FileSystemMaster extends AbstractMaster {
       throws InvalidPathException, FileDoesNotExistException {
     InodeFile file = inodePath.getInodeFile();
     List<BlockInfo> blockInfoList = mBlockMaster.getBlockInfoList(file.getBlockIds());
+    return generateFileBlockInfoList(inodePath, blockInfoList, true);
+  }
 
+  /**
+   * @param inodePath the {@link LockedInodePath} of the file the blocks are a part of
+   * @param blockInfoList the {@link BlockInfo}s of the blocks of the file
+   * @param includeUfsLocations whether to add the UFS locations of blocks not cached in Alluxio
+   * @return a list of {@link FileBlockInfo} for the given blocks
+   * @throws InvalidPathException if the mount table is not able to resolve the file
+   */
+  private List<FileBlockInfo> generateFileBlockInfoList(LockedInodePath inodePath,
+      List<BlockInfo> blockInfoList, boolean includeUfsLocations)
+      throws InvalidPathException, FileDoesNotExistException {
     List<FileBlockInfo> ret = new ArrayList<>();
     for (BlockInfo blockInfo : blockInfoList) {
-      ret.add(generateFileBlockInfo(inodePath, blockInfo));
+      ret.add(generateFileBlockInfo(inodePath, blockInfo, includeUfsLocations));
     }
     return ret;
   }
@@ -1487,11 +1662,12 @@ public final class FileSystemMaster extends AbstractMaster {
    *
    * @param inodePath the file the block is a part of
    * @param blockInfo the {@link BlockInfo} to generate the {@link FileBlockInfo} from
+   * @param includeUfsLocations whether to add the UFS locations if the block is not cached
    * @return a new {@link FileBlockInfo} for the block
    * @throws InvalidPathException if the mount table is not able to resolve the file
    */
-  private FileBlockInfo generateFileBlockInfo(LockedInodePath inodePath, BlockInfo blockInfo)
-      throws InvalidPathException, FileDoesNotExistException {
+  private FileBlockInfo generateFileBlockInfo(LockedInodePath inodePath, BlockInfo blockInfo,
+      boolean includeUfsLocations) throws InvalidPathException, FileDoesNotExistException {
     InodeFile file = inodePath.getInodeFile();
     FileBlockInfo fileBlockInfo = new FileBlockInfo();
     fileBlockInfo.setBlockInfo(blockInfo);
@@ -1501,17 +1677,20 @@ public final class FileSystemMaster extends AbstractMaster {
     long offset = file.getBlockSizeBytes() * BlockId.getSequenceNumber(blockInfo.getBlockId());
     fileBlockInfo.setOffset(offset);
 
-    if (fileBlockInfo.getBlockInfo().getLocations().isEmpty() && file.isPersisted()) {
+    if (includeUfsLocations && fileBlockInfo.getBlockInfo().getLocations().isEmpty()
+        && file.isPersisted()) {
       // No alluxio locations, but there is a checkpoint in the under storage system. Add the
-      // locations from the under storage system.
+      // locations from the under storage system. They are cached, since asking the UFS for them
+      // while holding the inode lock can be slow.
       MountTable.Resolution resolution = mMountTable.resolve(inodePath.getUri());
       String ufsUri = resolution.getUri().toString();
       UnderFileSystem ufs = resolution.getUfs();
       List<String> locs;
       try {
-        locs = ufs.getFileLocations(ufsUri,
-            FileLocationOptions.defaults().setOffset(fileBlockInfo.getOffset()));
+        locs = mUfsBlockLocationCache.get(mMountTable.getMountPoint(inodePath.getUri()), ufs,
+            ufsUri, file.getBlockSizeBytes(), fileBlockInfo.getOffset());
       } catch (IOException e) {
+        LOG.warn("Unable to get the UFS block locations of {}: {}", ufsUri, e.getMessage());
         return fileBlockInfo;
       }
       if (locs != null) {
@@ -1540,11 +1719,11 @@ public final class FileSystemMaster extends AbstractMaster {
     List<AlluxioURI> files = new ArrayList<>();
     Inode root = mInodeTree.getRoot();
     // Root has no parent, lock directly.
-    root.lockRead();
+    root.lockRead(mInodeTree.getLockManager());
     try {
       getInMemoryFilesInternal(mInodeTree.getRoot(), new AlluxioURI(AlluxioURI.SEPARATOR), files);
     } finally {
-      root.unlockRead();
+      root.unlockRead(mInodeTree.getLockManager());
     }
     return files;
   }
@@ -1568,7 +1747,7 @@ public final class FileSystemMaster extends AbstractMaster {
       Set<Inode<?>> children = ((InodeDirectory) inode).getChildren();
       for (Inode<?> child : children) {
         try {
-          child.lockReadAndCheckParent(inode);
+          child.lockReadAndCheckParent(mInodeTree.getLockManager(), inode);
         } catch (InvalidPathException e) {
           // Inode is no longer part of this directory.
           continue;
@@ -1576,7 +1755,7 @@ public final class FileSystemMaster extends AbstractMaster {
         try {
           getInMemoryFilesInternal(child, newUri, files);
         } finally {
-          child.unlockRead();
+          child.unlockRead(mInodeTree.getLockManager());
         }
       }
     }
@@ -1585,6 +1764,9 @@ public final class FileSystemMaster extends AbstractMaster {
   /**
    * Gets the in-memory percentage of an Inode. For a file that has all blocks in memory, it returns
    * 100; for a file that has no block in memory, it returns 0. Returns 0 for a directory.
+   * <p>
+   * This does not look up the blocks, since the block master keeps count of the bytes of each file
+   * in the top storage tier as block locations change.
    *
    * @param inode the inode
    * @return the in memory percentage
@@ -1593,34 +1775,14 @@ public final class FileSystemMaster extends AbstractMaster {
     if (!inode.isFile()) {
       return 0;
     }
-    InodeFile inodeFile = (InodeFile) inode;
-
-    long length = inodeFile.getLength();
+    long length = ((InodeFile) inode).getLength();
     if (length == 0) {
       return 100;
     }
-
-    long inMemoryLength = 0;
-    for (BlockInfo info : mBlockMaster.getBlockInfoList(inodeFile.getBlockIds())) {
-      if (isInTopStorageTier(info)) {
-        inMemoryLength += info.getLength();
-      }
-    }
+    long inMemoryLength = Math.min(mBlockMaster.getFileTopTierBytes(inode.getId()), length);
     return (int) (inMemoryLength * 100 / length);
   }
 
-  /**
-   * @return true if the given block is in the top storage level in some worker, false otherwise
-   */
-  private boolean isInTopStorageTier(BlockInfo blockInfo) {
-    for (BlockLocation location : blockInfo.getLocations()) {
-      if (mBlockMaster.getGlobalStorageTierAssoc().getOrdinal(location.getTierAlias()) == 0) {
-        return true;
-      }
-    }
-    return false;
-  }
-
   /**
    * Creates a directory for a given path.
    * <p>
@@ -122,6 +122,32 @@ public final class PermissionChecker {
     checkInodeList(user, groups, bits, inodePath.getUri().getPath(), inodeList, false);
   }
 
+  /**
+   * Checks whether a user has permission to perform a specific action on a descendant of a path
+   * whose permission has already been checked, e.g. a sub-directory traversed by a recursive
+   * listing. Only the descendant inode itself is checked.
+   *
+   * @param bits bits that capture the action {@link Mode.Bits} by user
+   * @param path the path of the descendant
+   * @param inode the descendant inode
+   * @throws AccessControlException if permission checking fails
+   */
+  public void checkDescendantPermission(Mode.Bits bits, String path, Inode<?> inode)
+      throws AccessControlException {
+    if (!mPermissionCheckEnabled) {
+      return;
+    }
+
+    // collects user and groups
+    String user = AuthenticatedClientUser.getClientUser();
+    List<String> groups = getGroups(user);
+
+    if (isPrivilegedUser(user, groups)) {
+      return;
+    }
+    checkInode(user, groups, inode, bits, path);
+  }
+
   /**
    * Gets the permission to access inodePath for the current client user.
    *
@@ -19,14 +19,17 @@ import alluxio.wire.FileInfo;
 import alluxio.wire.TtlAction;
 
 import com.google.common.base.Objects;
-
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import com.google.common.primitives.Longs;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * {@link Inode} is an abstract class, with information shared by all types of Inodes. The inode
- * must be locked ({@link #lockRead()} or {@link #lockWrite()}) before methods are called.
+ * must be locked ({@link #lockRead(InodeLockManager)} or {@link #lockWrite(InodeLockManager)})
+ * before methods are called.
+ *
+ * Inodes do not embed their own locks. Locks are handed out by the {@link InodeLockManager} of the
+ * {@link InodeTree} of the inode, and only exist while an inode is locked.
  *
  * @param <T> the concrete subclass of this object
  */
@@ -48,8 +51,6 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
   private String mGroup;
   private short mMode;
 
-  private final ReentrantReadWriteLock mLock;
-
   protected Inode(long id, boolean isDirectory) {
     mCreationTimeMs = System.currentTimeMillis();
     mDeleted = false;
@@ -65,7 +66,6 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
     mPersistenceState = PersistenceState.NOT_PERSISTED;
     mPinned = false;
     mOwner = "";
-    mLock = new ReentrantReadWriteLock();
   }
 
   /**
@@ -321,9 +321,11 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
   /**
    * Obtains a read lock on the inode. This call should only be used when locking the root or an
    * inode by id and not path or parent.
+   *
+   * @param lockManager the lock manager of the inode tree
    */
-  public void lockRead() {
-    mLock.readLock().lock();
+  public void lockRead(InodeLockManager lockManager) {
+    lockManager.lockRead(this);
   }
 
   /**
@@ -333,13 +335,15 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    *
    * NOTE: This method assumes that the inode path to the parent has been read locked.
    *
+   * @param lockManager the lock manager of the inode tree
    * @param parent the expected parent inode
    * @throws InvalidPathException if the parent is not as expected
    */
-  public void lockReadAndCheckParent(Inode parent) throws InvalidPathException {
-    lockRead();
+  public void lockReadAndCheckParent(InodeLockManager lockManager, Inode parent)
+      throws InvalidPathException {
+    lockRead(lockManager);
     if (mParentId != InodeTree.NO_PARENT && mParentId != parent.getId()) {
-      unlockRead();
+      unlockRead(lockManager);
       throw new InvalidPathException(ExceptionMessage.PATH_INVALID_CONCURRENT_RENAME.getMessage());
     }
   }
@@ -351,14 +355,16 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    *
    * NOTE: This method assumes that the inode path to the parent has been read locked.
    *
+   * @param lockManager the lock manager of the inode tree
    * @param parent the expected parent inode
    * @param name the expected name of the inode to be locked
    * @throws InvalidPathException if the parent and/or name is not as expected
    */
-  public void lockReadAndCheckNameAndParent(Inode parent, String name) throws InvalidPathException {
-    lockReadAndCheckParent(parent);
+  public void lockReadAndCheckNameAndParent(InodeLockManager lockManager, Inode parent,
+      String name) throws InvalidPathException {
+    lockReadAndCheckParent(lockManager, parent);
     if (!mName.equals(name)) {
-      unlockRead();
+      unlockRead(lockManager);
       throw new InvalidPathException(ExceptionMessage.PATH_INVALID_CONCURRENT_RENAME.getMessage());
     }
   }
@@ -366,9 +372,11 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
   /**
    * Obtains a write lock on the inode. This call should only be used when locking the root or an
    * inode by id and not path or parent.
+   *
+   * @param lockManager the lock manager of the inode tree
    */
-  public void lockWrite() {
-    mLock.writeLock().lock();
+  public void lockWrite(InodeLockManager lockManager) {
+    lockManager.lockWrite(this);
   }
 
   /**
@@ -378,13 +386,15 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    *
    * NOTE: This method assumes that the inode path to the parent has been read locked.
    *
+   * @param lockManager the lock manager of the inode tree
    * @param parent the expected parent inode
    * @throws InvalidPathException if the parent is not as expected
    */
-  public void lockWriteAndCheckParent(Inode parent) throws InvalidPathException {
-    lockWrite();
+  public void lockWriteAndCheckParent(InodeLockManager lockManager, Inode parent)
+      throws InvalidPathException {
+    lockWrite(lockManager);
     if (mParentId != InodeTree.NO_PARENT && mParentId != parent.getId()) {
-      unlockWrite();
+      unlockWrite(lockManager);
       throw new InvalidPathException(ExceptionMessage.PATH_INVALID_CONCURRENT_RENAME.getMessage());
     }
   }
@@ -396,50 +406,57 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    *
    * NOTE: This method assumes that the inode path to the parent has been read locked.
    *
+   * @param lockManager the lock manager of the inode tree
    * @param parent the expected parent inode
    * @param name the expected name of the inode to be locked
    * @throws InvalidPathException if the parent and/or name is not as expected
    */
-  public void lockWriteAndCheckNameAndParent(Inode parent, String name)
-      throws InvalidPathException {
-    lockWriteAndCheckParent(parent);
+  public void lockWriteAndCheckNameAndParent(InodeLockManager lockManager, Inode parent,
+      String name) throws InvalidPathException {
+    lockWriteAndCheckParent(lockManager, parent);
     if (!mName.equals(name)) {
-      unlockWrite();
+      unlockWrite(lockManager);
       throw new InvalidPathException(ExceptionMessage.PATH_INVALID_CONCURRENT_RENAME.getMessage());
     }
   }
 
   /**
    * Releases the read lock for this inode.
+   *
+   * @param lockManager the lock manager of the inode tree
    */
-  public void unlockRead() {
-    mLock.readLock().unlock();
+  public void unlockRead(InodeLockManager lockManager) {
+    lockManager.unlockRead(this);
   }
 
   /**
    * Releases the write lock for this inode.
+   *
+   * @param lockManager the lock manager of the inode tree
    */
-  public void unlockWrite() {
-    mLock.writeLock().unlock();
+  public void unlockWrite(InodeLockManager lockManager) {
+    lockManager.unlockWrite(this);
   }
 
   /**
+   * @param lockManager the lock manager of the inode tree
    * @return returns true if the current thread holds a write lock on this inode, false otherwise
    */
-  public boolean isWriteLocked() {
-    return mLock.isWriteLockedByCurrentThread();
+  public boolean isWriteLocked(InodeLockManager lockManager) {
+    return lockManager.isWriteLocked(this);
   }
 
   /**
+   * @param lockManager the lock manager of the inode tree
    * @return returns true if the current thread holds a read lock on this inode, false otherwise
    */
-  public boolean isReadLocked() {
-    return mLock.getReadHoldCount() > 0;
+  public boolean isReadLocked(InodeLockManager lockManager) {
+    return lockManager.isReadLocked(this);
   }
 
   @Override
   public int hashCode() {
-    return ((Long) mId).hashCode();
+    return Longs.hashCode(mId);
   }
 
   @Override
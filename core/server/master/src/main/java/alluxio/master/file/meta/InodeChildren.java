@@ -0,0 +1,264 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The children of an {@link InodeDirectory}, unique and sorted by name. Most directories are
+ * small, so the children are first kept in a copy-on-write sorted array, which costs a single
+ * object. A directory which grows beyond {@link #MAX_ARRAY_SIZE} children is promoted to a
+ * {@link ConcurrentSkipListMap}, and is not demoted when it shrinks again, so that a directory
+ * whose size hovers around the threshold is not converted back and forth.
+ *
+ * Reads do not block and see the children in name order, while writes are serialized. The name of
+ * each child is stored next to it rather than read from the inode, since an inode is temporarily
+ * given another name while it is being renamed.
+ */
+@ThreadSafe
+final class InodeChildren implements Iterable<Inode<?>> {
+  /** The maximum number of children kept in an array. */
+  static final int MAX_ARRAY_SIZE = 32;
+
+  private static final Object[] EMPTY = new Object[0];
+
+  /**
+   * The names and the inodes of the children in name order, interleaved as name0, inode0, name1,
+   * inode1, and so on, or null once the children are in {@link #mMap}. A published array is never
+   * modified.
+   */
+  private volatile Object[] mArray = EMPTY;
+  /** The children by name, set before {@link #mArray} is cleared on promotion. */
+  private volatile ConcurrentSkipListMap<String, Inode<?>> mMap;
+  @GuardedBy("this")
+  private int mSize;
+
+  /**
+   * Creates a new empty instance of {@link InodeChildren}.
+   */
+  InodeChildren() {}
+
+  /**
+   * Adds a child, unless there already is a child with the same name.
+   *
+   * @param child the child to add
+   * @return true if the child was added, false otherwise
+   */
+  synchronized boolean add(Inode<?> child) {
+    String name = child.getName();
+    Object[] array = mArray;
+    if (array == null) {
+      if (mMap.putIfAbsent(name, child) != null) {
+        return false;
+      }
+    } else {
+      int index = indexOf(array, name);
+      if (index >= 0) {
+        return false;
+      }
+      if (mSize >= MAX_ARRAY_SIZE) {
+        ConcurrentSkipListMap<String, Inode<?>> map = new ConcurrentSkipListMap<>();
+        for (int i = 0; i < array.length; i += 2) {
+          map.put((String) array[i], (Inode<?>) array[i + 1]);
+        }
+        map.put(name, child);
+        mMap = map;
+        mArray = null;
+      } else {
+        int position = 2 * (-index - 1);
+        Object[] newArray = new Object[array.length + 2];
+        System.arraycopy(array, 0, newArray, 0, position);
+        newArray[position] = name;
+        newArray[position + 1] = child;
+        System.arraycopy(array, position, newArray, position + 2, array.length - position);
+        mArray = newArray;
+      }
+    }
+    mSize++;
+    return true;
+  }
+
+  /**
+   * @param name the name of a child
+   * @return the child with the given name, or null if there is none
+   */
+  Inode<?> get(String name) {
+    Object[] array = mArray;
+    if (array == null) {
+      return mMap.get(name);
+    }
+    int index = indexOf(array, name);
+    return index < 0 ? null : (Inode<?>) array[2 * index + 1];
+  }
+
+  /**
+   * Returns the children whose names sort strictly after the given name, in name order.
+   *
+   * @param startAfter the name to start after (exclusive), or null to start from the first child
+   * @param limit the maximum number of children to return, or a non-positive value for no limit
+   * @return the children in name order
+   */
+  List<Inode<?>> getAfter(String startAfter, int limit) {
+    List<Inode<?>> ret = new ArrayList<>();
+    Object[] array = mArray;
+    if (array == null) {
+      Collection<Inode<?>> children =
+          startAfter == null ? mMap.values() : mMap.tailMap(startAfter, false).values();
+      for (Inode<?> child : children) {
+        if (limit > 0 && ret.size() >= limit) {
+          break;
+        }
+        ret.add(child);
+      }
+      return ret;
+    }
+    int start = 0;
+    if (startAfter != null) {
+      int index = indexOf(array, startAfter);
+      start = index >= 0 ? index + 1 : -index - 1;
+    }
+    int end = array.length / 2;
+    if (limit > 0) {
+      end = Math.min(end, start + limit);
+    }
+    for (int i = start; i < end; i++) {
+      ret.add((Inode<?>) array[2 * i + 1]);
+    }
+    return ret;
+  }
+
+  /**
+   * Removes a child, if it is the child registered under its name.
+   *
+   * @param child the child to remove
+   * @return true if the child was removed, false otherwise
+   */
+  boolean remove(Inode<?> child) {
+    return remove(child.getName(), child);
+  }
+
+  /**
+   * Removes the child with the given name.
+   *
+   * @param name the name of the child to remove
+   * @return true if a child was removed, false otherwise
+   */
+  boolean remove(String name) {
+    return remove(name, null);
+  }
+
+  /**
+   * @return the number of children
+   */
+  synchronized int size() {
+    return mSize;
+  }
+
+  /**
+   * @return an unmodifiable iterator over the children in name order, reflecting the children at
+   *         some point at or since the creation of the iterator
+   */
+  @Override
+  public Iterator<Inode<?>> iterator() {
+    final Object[] array = mArray;
+    if (array == null) {
+      return Collections.unmodifiableCollection(mMap.values()).iterator();
+    }
+    return new Iterator<Inode<?>>() {
+      private int mNext = 1;
+
+      @Override
+      public boolean hasNext() {
+        return mNext < array.length;
+      }
+
+      @Override
+      public Inode<?> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Inode<?> child = (Inode<?>) array[mNext];
+        mNext += 2;
+        return child;
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * @param name the name of the child to remove
+   * @param child the child expected under the name, or null to remove any child with the name
+   * @return true if a child was removed, false otherwise
+   */
+  private synchronized boolean remove(String name, Inode<?> child) {
+    Object[] array = mArray;
+    if (array == null) {
+      boolean removed = child == null ? mMap.remove(name) != null : mMap.remove(name, child);
+      if (!removed) {
+        return false;
+      }
+    } else {
+      int index = indexOf(array, name);
+      if (index < 0 || (child != null && !child.equals(array[2 * index + 1]))) {
+        return false;
+      }
+      if (array.length == 2) {
+        mArray = EMPTY;
+      } else {
+        int position = 2 * index;
+        Object[] newArray = new Object[array.length - 2];
+        System.arraycopy(array, 0, newArray, 0, position);
+        System.arraycopy(array, position + 2, newArray, position, newArray.length - position);
+        mArray = newArray;
+      }
+    }
+    mSize--;
+    return true;
+  }
+
+  /**
+   * Binary searches a name in an array of interleaved names and inodes.
+   *
+   * @param array the array to search
+   * @param name the name to search for
+   * @return the index of the child with the name, or (-(insertion point) - 1) if there is none
+   */
+  private static int indexOf(Object[] array, String name) {
+    int low = 0;
+    int high = array.length / 2 - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = ((String) array[2 * mid]).compareTo(name);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+}
@@ -11,9 +11,6 @@
 
 package alluxio.master.file.meta;
 
-import alluxio.collections.FieldIndex;
-import alluxio.collections.IndexDefinition;
-import alluxio.collections.UniqueFieldIndex;
 import alluxio.master.ProtobufUtils;
 import alluxio.master.file.options.CreateDirectoryOptions;
 import alluxio.proto.journal.File.InodeDirectoryEntry;
@@ -23,25 +20,20 @@ import alluxio.wire.FileInfo;
 import com.google.common.collect.ImmutableSet;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * Alluxio file system's directory representation in the file system master. The inode must be
- * locked ({@link #lockRead()} or {@link #lockWrite()}) before methods are called.
+ * locked ({@link #lockRead(InodeLockManager)} or {@link #lockWrite(InodeLockManager)}) before
+ * methods are called.
  */
 @NotThreadSafe
 public final class InodeDirectory extends Inode<InodeDirectory> {
-  private static final IndexDefinition<Inode<?>> NAME_INDEX = new IndexDefinition<Inode<?>>(true) {
-    @Override
-    public Object getFieldValue(Inode<?> o) {
-      return o.getName();
-    }
-  };
-
-  /** Use UniqueFieldIndex directly for name index rather than using IndexedSet. */
-  private final FieldIndex<Inode<?>> mChildren = new UniqueFieldIndex<>(NAME_INDEX);
+  /** The children, sorted by name. */
+  private final InodeChildren mChildren = new InodeChildren();
 
   private boolean mMountPoint;
 
@@ -78,16 +70,29 @@ public final class InodeDirectory extends Inode<InodeDirectory> {
    * @return the inode with the given name, or null if there is no child with that name
    */
   public Inode<?> getChild(String name) {
-    return mChildren.getFirst(name);
+    return mChildren.get(name);
   }
 
   /**
-   * @return an unmodifiable set of the children inodes
+   * @return an unmodifiable set of the children inodes, in name order
    */
   public Set<Inode<?>> getChildren() {
     return ImmutableSet.copyOf(mChildren.iterator());
   }
 
+  /**
+   * Returns the children whose names sort strictly after the given name, in name order. At most
+   * {@code limit} children are returned. Since the children are kept sorted, serving a page costs
+   * a search for the cursor plus the size of the page, whatever the size of the directory.
+   *
+   * @param startAfter the name to start after (exclusive), or null to start from the first child
+   * @param limit the maximum number of children to return, or a non-positive value for no limit
+   * @return the children in name order
+   */
+  public List<Inode<?>> getChildrenAfter(String startAfter, int limit) {
+    return mChildren.getAfter(startAfter, limit);
+  }
+
   /**
    * @return the ids of the children
    */
@@ -137,8 +142,7 @@ public final class InodeDirectory extends Inode<InodeDirectory> {
    * @return true if the inode was removed, false otherwise
    */
   public boolean removeChild(String name) {
-    Inode<?> child = mChildren.getFirst(name);
-    return mChildren.remove(child);
+    return mChildren.remove(name);
   }
 
   /**
@@ -31,7 +31,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * Alluxio file system's file representation in the file system master. The inode must be locked
- * ({@link #lockRead()} or {@link #lockWrite()}) before methods are called.
+ * ({@link #lockRead(InodeLockManager)} or {@link #lockWrite(InodeLockManager)}) before methods
+ * are called.
  */
 @NotThreadSafe
 public final class InodeFile extends Inode<InodeFile> {
@@ -23,10 +23,15 @@ import javax.annotation.concurrent.ThreadSafe;
  */
 @ThreadSafe
 public final class InodeLockList implements AutoCloseable {
+  private final InodeLockManager mLockManager;
   private final List<Inode<?>> mInodes;
   private final List<InodeTree.LockMode> mLockModes;
 
-  InodeLockList() {
+  /**
+   * @param lockManager the lock manager of the inode tree
+   */
+  InodeLockList(InodeLockManager lockManager) {
+    mLockManager = lockManager;
     mInodes = new ArrayList<>();
     mLockModes = new ArrayList<>();
   }
@@ -38,7 +43,7 @@ public final class InodeLockList implements AutoCloseable {
    * @param inode the inode to lock
    */
   public synchronized void lockRead(Inode<?> inode) {
-    inode.lockRead();
+    inode.lockRead(mLockManager);
     mInodes.add(inode);
     mLockModes.add(InodeTree.LockMode.READ);
   }
@@ -55,7 +60,7 @@ public final class InodeLockList implements AutoCloseable {
    */
   public synchronized void lockReadAndCheckParent(Inode<?> inode, Inode parent)
       throws InvalidPathException {
-    inode.lockReadAndCheckParent(parent);
+    inode.lockReadAndCheckParent(mLockManager, parent);
     mInodes.add(inode);
     mLockModes.add(InodeTree.LockMode.READ);
   }
@@ -73,7 +78,7 @@ public final class InodeLockList implements AutoCloseable {
    */
   public synchronized void lockReadAndCheckNameAndParent(Inode<?> inode, Inode parent, String name)
       throws InvalidPathException {
-    inode.lockReadAndCheckNameAndParent(parent, name);
+    inode.lockReadAndCheckNameAndParent(mLockManager, parent, name);
     mInodes.add(inode);
     mLockModes.add(InodeTree.LockMode.READ);
   }
@@ -88,9 +93,9 @@ public final class InodeLockList implements AutoCloseable {
     Inode<?> inode = mInodes.remove(mInodes.size() - 1);
     InodeTree.LockMode lockMode = mLockModes.remove(mLockModes.size() - 1);
     if (lockMode == InodeTree.LockMode.READ) {
-      inode.unlockRead();
+      inode.unlockRead(mLockManager);
     } else {
-      inode.unlockWrite();
+      inode.unlockWrite(mLockManager);
     }
   }
 
@@ -101,7 +106,7 @@ public final class InodeLockList implements AutoCloseable {
    * @param inode the inode to lock
    */
   public synchronized void lockWrite(Inode<?> inode) {
-    inode.lockWrite();
+    inode.lockWrite(mLockManager);
     mInodes.add(inode);
     mLockModes.add(InodeTree.LockMode.WRITE);
   }
@@ -118,7 +123,7 @@ public final class InodeLockList implements AutoCloseable {
    */
   public synchronized void lockWriteAndCheckParent(Inode<?> inode, Inode parent)
       throws InvalidPathException {
-    inode.lockWriteAndCheckParent(parent);
+    inode.lockWriteAndCheckParent(mLockManager, parent);
     mInodes.add(inode);
     mLockModes.add(InodeTree.LockMode.WRITE);
   }
@@ -136,7 +141,7 @@ public final class InodeLockList implements AutoCloseable {
    */
   public synchronized void lockWriteAndCheckNameAndParent(Inode<?> inode, Inode parent, String name)
       throws InvalidPathException {
-    inode.lockWriteAndCheckNameAndParent(parent, name);
+    inode.lockWriteAndCheckNameAndParent(mLockManager, parent, name);
     mInodes.add(inode);
     mLockModes.add(InodeTree.LockMode.WRITE);
   }
@@ -154,9 +159,9 @@ public final class InodeLockList implements AutoCloseable {
       Inode<?> inode = mInodes.get(i);
       InodeTree.LockMode lockMode = mLockModes.get(i);
       if (lockMode == InodeTree.LockMode.READ) {
-        inode.unlockRead();
+        inode.unlockRead(mLockManager);
       } else {
-        inode.unlockWrite();
+        inode.unlockWrite(mLockManager);
       }
     }
     mInodes.clear();
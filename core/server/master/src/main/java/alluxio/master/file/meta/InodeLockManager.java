@@ -0,0 +1,188 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Hands out read-write locks for the inodes of an {@link InodeTree}. A lock is only allocated
+ * while at least one thread holds it or is waiting for it, and is released back when the last
+ * holder unlocks it. This keeps the memory for locks proportional to the number of inodes being
+ * accessed concurrently, rather than to the total number of inodes.
+ *
+ * Locks are keyed by inode, and inodes are equal if and only if their ids are equal, so each inode
+ * id maps to its own lock and the locking semantics (reentrancy, read/write exclusion and lock
+ * ordering) are the same as with a lock embedded in every inode. Keying by inode rather than by
+ * boxed id keeps locking an inode whose lock is already allocated free of allocations.
+ */
+@ThreadSafe
+public final class InodeLockManager {
+  /** Locks which are currently held or waited for, keyed by inode. */
+  private final ConcurrentHashMap<Inode<?>, RefCountedLock> mLocks = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance of {@link InodeLockManager}.
+   */
+  public InodeLockManager() {}
+
+  /**
+   * Obtains a read lock for the given inode.
+   *
+   * @param inode the inode to lock
+   */
+  public void lockRead(Inode<?> inode) {
+    RefCountedLock lock = acquire(inode);
+    lock.mLock.readLock().lock();
+  }
+
+  /**
+   * Obtains a write lock for the given inode.
+   *
+   * @param inode the inode to lock
+   */
+  public void lockWrite(Inode<?> inode) {
+    RefCountedLock lock = acquire(inode);
+    lock.mLock.writeLock().lock();
+  }
+
+  /**
+   * Releases a read lock for the given inode.
+   *
+   * @param inode the inode to unlock
+   */
+  public void unlockRead(Inode<?> inode) {
+    RefCountedLock lock = getHeldLock(inode);
+    lock.mLock.readLock().unlock();
+    release(inode, lock);
+  }
+
+  /**
+   * Releases a write lock for the given inode.
+   *
+   * @param inode the inode to unlock
+   */
+  public void unlockWrite(Inode<?> inode) {
+    RefCountedLock lock = getHeldLock(inode);
+    lock.mLock.writeLock().unlock();
+    release(inode, lock);
+  }
+
+  /**
+   * @param inode the inode to check
+   * @return true if the current thread holds a read lock for the inode, false otherwise
+   */
+  public boolean isReadLocked(Inode<?> inode) {
+    RefCountedLock lock = mLocks.get(inode);
+    return lock != null && lock.mLock.getReadHoldCount() > 0;
+  }
+
+  /**
+   * @param inode the inode to check
+   * @return true if the current thread holds the write lock for the inode, false otherwise
+   */
+  public boolean isWriteLocked(Inode<?> inode) {
+    RefCountedLock lock = mLocks.get(inode);
+    return lock != null && lock.mLock.isWriteLockedByCurrentThread();
+  }
+
+  /**
+   * @return the number of locks currently allocated
+   */
+  public int size() {
+    return mLocks.size();
+  }
+
+  /**
+   * Returns the lock for the given inode with its reference count incremented. A new lock is only
+   * allocated if the inode has none.
+   *
+   * @param inode the inode
+   * @return the lock for the inode
+   */
+  private RefCountedLock acquire(Inode<?> inode) {
+    while (true) {
+      RefCountedLock lock = mLocks.get(inode);
+      if (lock == null) {
+        RefCountedLock newLock = new RefCountedLock();
+        lock = mLocks.putIfAbsent(inode, newLock);
+        if (lock == null) {
+          return newLock;
+        }
+      }
+      if (lock.retain()) {
+        return lock;
+      }
+      // The lock was released by its last holder and is being removed from the map, so retry.
+    }
+  }
+
+  /**
+   * Decrements the reference count of the lock, and removes it if it is no longer referenced.
+   *
+   * @param inode the inode
+   * @param lock the lock for the inode
+   */
+  private void release(Inode<?> inode, RefCountedLock lock) {
+    if (lock.mRefCount.decrementAndGet() == 0) {
+      mLocks.remove(inode, lock);
+    }
+  }
+
+  /**
+   * @param inode the inode
+   * @return the lock for the inode, which must be held by the caller
+   */
+  private RefCountedLock getHeldLock(Inode<?> inode) {
+    RefCountedLock lock = mLocks.get(inode);
+    // Since the caller holds the lock, it is referenced and cannot have been removed.
+    if (lock == null) {
+      throw new IllegalStateException("Inode " + inode.getId() + " is not locked");
+    }
+    return lock;
+  }
+
+  /**
+   * A read-write lock with a count of its holders and waiters. Once the count drops to zero, the
+   * lock is retired and can no longer be retained.
+   */
+  private static final class RefCountedLock {
+    private final ReentrantReadWriteLock mLock;
+    private final AtomicInteger mRefCount;
+
+    /**
+     * Creates a lock which is referenced by its creator.
+     */
+    private RefCountedLock() {
+      mLock = new ReentrantReadWriteLock();
+      mRefCount = new AtomicInteger(1);
+    }
+
+    /**
+     * @return true if the reference count was incremented, false if the lock has been retired
+     */
+    private boolean retain() {
+      while (true) {
+        int count = mRefCount.get();
+        if (count == 0) {
+          return false;
+        }
+        if (mRefCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+  }
+}
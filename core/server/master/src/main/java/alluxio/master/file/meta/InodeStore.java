@@ -0,0 +1,60 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+/**
+ * The store of all the inodes of an {@link InodeTree}, indexed by inode id. All lookups of inodes
+ * by id, including those made while replaying the journal, go through the store.
+ *
+ * Implementations must be thread-safe.
+ */
+public interface InodeStore {
+
+  /**
+   * Adds an inode to the store.
+   *
+   * @param inode the inode to add
+   * @return true if the inode is in the store, false if a different inode with the same id
+   *         already exists
+   */
+  boolean add(Inode<?> inode);
+
+  /**
+   * Removes an inode from the store.
+   *
+   * @param inode the inode to remove
+   * @return true if the inode was removed, false if it was not in the store
+   */
+  boolean remove(Inode<?> inode);
+
+  /**
+   * Removes all the inodes from the store.
+   */
+  void clear();
+
+  /**
+   * @param id the inode id
+   * @return whether an inode with the given id is in the store
+   */
+  boolean contains(long id);
+
+  /**
+   * @param id the inode id
+   * @return the inode with the given id, or null if there is no such inode
+   */
+  Inode<?> get(long id);
+
+  /**
+   * @return the number of inodes in the store
+   */
+  int size();
+}
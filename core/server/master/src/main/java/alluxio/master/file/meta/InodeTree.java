@@ -14,9 +14,6 @@ package alluxio.master.file.meta;
 import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.collections.ConcurrentHashSet;
-import alluxio.collections.FieldIndex;
-import alluxio.collections.IndexDefinition;
-import alluxio.collections.UniqueFieldIndex;
 import alluxio.exception.AccessControlException;
 import alluxio.exception.BlockInfoException;
 import alluxio.exception.ExceptionMessage;
@@ -65,13 +62,6 @@ public class InodeTree implements JournalCheckpointStreamable {
   /** Value to be used for an inode with no parent. */
   public static final long NO_PARENT = -1;
 
-  private static final IndexDefinition<Inode<?>> ID_INDEX = new IndexDefinition<Inode<?>>(true) {
-    @Override
-    public Object getFieldValue(Inode<?> o) {
-      return o.getId();
-    }
-  };
-
   /**
    * The type of lock to lock inode paths with.
    */
@@ -101,8 +91,10 @@ public class InodeTree implements JournalCheckpointStreamable {
   /** Mount table manages the file system mount points. */
   private final MountTable mMountTable;
 
-  /** Use UniqueFieldIndex directly for ID index rather than using IndexedSet. */
-  private final FieldIndex<Inode<?>> mInodes = new UniqueFieldIndex<>(ID_INDEX);
+  /** The store of all the inodes, indexed by id. */
+  private final InodeStore mInodes;
+  /** The manager of the locks of the inodes of this tree. */
+  private final InodeLockManager mLockManager = new InodeLockManager();
   /** A set of inode ids representing pinned inode files. */
   private final Set<Long> mPinnedInodeFileIds = new ConcurrentHashSet<>(64, 0.90f, 64);
 
@@ -131,6 +123,19 @@ public class InodeTree implements JournalCheckpointStreamable {
    */
   public InodeTree(ContainerIdGenerable containerIdGenerator,
       InodeDirectoryIdGenerator directoryIdGenerator, MountTable mountTable) {
+    this(containerIdGenerator, directoryIdGenerator, mountTable, new HeapInodeStore());
+  }
+
+  /**
+   * @param containerIdGenerator the container id generator to use to get new container ids
+   * @param directoryIdGenerator the directory id generator to use to get new directory ids
+   * @param mountTable the mount table to manage the file system mount points
+   * @param inodeStore the store to keep the inodes in
+   */
+  public InodeTree(ContainerIdGenerable containerIdGenerator,
+      InodeDirectoryIdGenerator directoryIdGenerator, MountTable mountTable,
+      InodeStore inodeStore) {
+    mInodes = inodeStore;
     mContainerIdGenerator = containerIdGenerator;
     mDirectoryIdGenerator = directoryIdGenerator;
     mMountTable = mountTable;
@@ -183,7 +188,7 @@ public class InodeTree implements JournalCheckpointStreamable {
    * @return whether the inode exists
    */
   public boolean inodeIdExists(long id) {
-    return mInodes.containsField(id);
+    return mInodes.contains(id);
   }
 
   /**
@@ -349,7 +354,7 @@ public class InodeTree implements JournalCheckpointStreamable {
       throws FileDoesNotExistException {
     int count = 0;
     while (true) {
-      Inode<?> inode = mInodes.getFirst(id);
+      Inode<?> inode = mInodes.get(id);
       if (inode == null) {
         throw new FileDoesNotExistException(ExceptionMessage.INODE_DOES_NOT_EXIST.getMessage(id));
       }
@@ -414,11 +419,11 @@ public class InodeTree implements JournalCheckpointStreamable {
    */
   private void computePathForInode(Inode<?> inode, StringBuilder builder)
       throws FileDoesNotExistException {
-    inode.lockRead();
+    inode.lockRead(mLockManager);
     long id = inode.getId();
     long parentId = inode.getParentId();
     String name = inode.getName();
-    inode.unlockRead();
+    inode.unlockRead(mLockManager);
 
     if (isRootId(id)) {
       builder.append(AlluxioURI.SEPARATOR);
@@ -426,7 +431,7 @@ public class InodeTree implements JournalCheckpointStreamable {
       builder.append(AlluxioURI.SEPARATOR);
       builder.append(name);
     } else {
-      Inode<?> parentInode = mInodes.getFirst(parentId);
+      Inode<?> parentInode = mInodes.get(parentId);
       if (parentInode == null) {
         throw new FileDoesNotExistException(
             ExceptionMessage.INODE_DOES_NOT_EXIST.getMessage(parentId));
@@ -447,12 +452,20 @@ public class InodeTree implements JournalCheckpointStreamable {
    * @throws FileDoesNotExistException if the path does not exist
    */
   public AlluxioURI getPath(Inode<?> inode) throws FileDoesNotExistException {
-    Preconditions.checkState(inode.isWriteLocked() || inode.isReadLocked());
+    Preconditions
+        .checkState(inode.isWriteLocked(mLockManager) || inode.isReadLocked(mLockManager));
     StringBuilder builder = new StringBuilder();
     computePathForInode(inode, builder);
     return new AlluxioURI(builder.toString());
   }
 
+  /**
+   * @return the manager of the locks of the inodes of this tree
+   */
+  public InodeLockManager getLockManager() {
+    return mLockManager;
+  }
+
   /**
    * @return the root inode
    */
@@ -684,7 +697,7 @@ public class InodeTree implements JournalCheckpointStreamable {
   public InodeLockList lockDescendants(LockedInodePath inodePath, LockMode lockMode)
       throws FileDoesNotExistException {
     Inode<?> inode = inodePath.getInode();
-    InodeLockList inodeGroup = new InodeLockList();
+    InodeLockList inodeGroup = new InodeLockList(mLockManager);
     if (!inode.isDirectory()) {
       return inodeGroup;
     }
@@ -726,7 +739,7 @@ public class InodeTree implements JournalCheckpointStreamable {
   public void deleteInode(LockedInodePath inodePath, long opTimeMs)
       throws FileDoesNotExistException {
     Inode<?> inode = inodePath.getInode();
-    InodeDirectory parent = (InodeDirectory) mInodes.getFirst(inode.getParentId());
+    InodeDirectory parent = (InodeDirectory) mInodes.get(inode.getParentId());
     if (parent == null) {
       throw new FileDoesNotExistException(
           ExceptionMessage.INODE_DOES_NOT_EXIST.getMessage(inode.getParentId()));
@@ -777,7 +790,7 @@ public class InodeTree implements JournalCheckpointStreamable {
       TempInodePathForDescendant tempInodePath = new TempInodePathForDescendant(inodePath);
       for (Inode<?> child : ((InodeDirectory) inode).getChildren()) {
         try {
-          child.lockWriteAndCheckParent(inode);
+          child.lockWriteAndCheckParent(mLockManager, inode);
         } catch (InvalidPathException e) {
           // Inode is no longer a child of the directory, continue.
           continue;
@@ -786,7 +799,7 @@ public class InodeTree implements JournalCheckpointStreamable {
           tempInodePath.setDescendant(child, getPath(child));
           setPinned(tempInodePath, pinned, opTimeMs);
         } finally {
-          child.unlockWrite();
+          child.unlockWrite(mLockManager);
         }
       }
     }
@@ -892,7 +905,7 @@ public class InodeTree implements JournalCheckpointStreamable {
   private void addInodeFromJournalInternal(Inode<?> inode) {
     InodeDirectory parentDirectory = mCachedInode;
     if (inode.getParentId() != mCachedInode.getId()) {
-      parentDirectory = (InodeDirectory) mInodes.getFirst(inode.getParentId());
+      parentDirectory = (InodeDirectory) mInodes.get(inode.getParentId());
       mCachedInode = parentDirectory;
     }
     parentDirectory.addChild(inode);
@@ -948,7 +961,7 @@ public class InodeTree implements JournalCheckpointStreamable {
       throws InvalidPathException {
     List<Inode<?>> nonPersistedInodes = new ArrayList<>();
     List<Inode<?>> inodes = new ArrayList<>();
-    InodeLockList lockList = new InodeLockList();
+    InodeLockList lockList = new InodeLockList(mLockManager);
 
     // This must be set to true before returning a valid value, otherwise all the inodes will be
     // unlocked.
@@ -0,0 +1,228 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.collections.ConcurrentHashSet;
+import alluxio.metrics.MetricsSystem;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.FileLocationOptions;
+import alluxio.util.CommonUtils;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of the locations of the blocks of files in the under storage, so that getting the UFS
+ * locations of the blocks of a file does not cost one UFS request per block. The locations of a
+ * file are loaded with a single bulk request on a miss, and refreshed in the background when they
+ * are used after the refresh interval. Hits and misses are counted for each mount point.
+ */
+@ThreadSafe
+public final class UfsBlockLocationCache implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsBlockLocationCache.class);
+
+  private static final String HITS = "UfsBlockLocationCacheHits";
+  private static final String MISSES = "UfsBlockLocationCacheMisses";
+  private static final int REFRESH_THREADS = 4;
+  private static final long REFRESH_THREAD_KEEP_ALIVE_MS = 60000;
+
+  /** Maps from a UFS path to the locations of its blocks, or null if the cache is disabled. */
+  private final Cache<String, Entry> mCache;
+  private final long mRefreshIntervalMs;
+  /** The UFS paths whose locations are being refreshed. */
+  private final Set<String> mRefreshing = new ConcurrentHashSet<>();
+  private final ExecutorService mRefreshExecutor;
+
+  /**
+   * Creates a new {@link UfsBlockLocationCache} with the capacity and the refresh interval from the
+   * configuration.
+   */
+  public UfsBlockLocationCache() {
+    this(Configuration.getLong(PropertyKey.MASTER_UFS_BLOCK_LOCATION_CACHE_CAPACITY),
+        Configuration.getLong(PropertyKey.MASTER_UFS_BLOCK_LOCATION_CACHE_REFRESH_INTERVAL_MS));
+  }
+
+  /**
+   * Creates a new {@link UfsBlockLocationCache}.
+   *
+   * @param capacity the maximum number of files to cache the locations of, non-positive to
+   *        disable the cache
+   * @param refreshIntervalMs the time in milliseconds after which the locations of a file are
+   *        refreshed
+   */
+  public UfsBlockLocationCache(long capacity, long refreshIntervalMs) {
+    if (capacity > 0) {
+      mCache = CacheBuilder.newBuilder().maximumSize(capacity).build();
+      // Idle refresh threads time out, so a cache which is never refreshed holds no threads.
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS,
+          REFRESH_THREAD_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+          ThreadFactoryUtils.build("ufs-block-location-refresh-%d", true));
+      executor.allowCoreThreadTimeOut(true);
+      mRefreshExecutor = executor;
+    } else {
+      mCache = null;
+      mRefreshExecutor = null;
+    }
+    mRefreshIntervalMs = refreshIntervalMs;
+  }
+
+  /**
+   * Gets the UFS locations of a block of a file. On a miss, the locations of all the blocks of the
+   * file are loaded from the UFS.
+   *
+   * @param mountPoint the Alluxio mount point the file is under, used for the metrics
+   * @param ufs the UFS of the file
+   * @param ufsPath the UFS path of the file
+   * @param blockSizeBytes the block size of the file
+   * @param offset the offset of the block in the file
+   * @return the locations of the block, or null if they are not known
+   * @throws IOException if the locations cannot be loaded from the UFS
+   */
+  public List<String> get(String mountPoint, UnderFileSystem ufs, String ufsPath,
+      long blockSizeBytes, long offset) throws IOException {
+    if (mCache == null) {
+      return ufs.getFileLocations(ufsPath, FileLocationOptions.defaults().setOffset(offset));
+    }
+    Entry entry = mCache.getIfPresent(ufsPath);
+    if (entry != null && entry.mBlockSizeBytes == blockSizeBytes) {
+      getCounter(HITS, mountPoint).inc();
+      if (CommonUtils.getCurrentMs() - entry.mLoadTimeMs >= mRefreshIntervalMs) {
+        refreshAsync(ufs, ufsPath, blockSizeBytes);
+      }
+    } else {
+      getCounter(MISSES, mountPoint).inc();
+      entry = load(ufs, ufsPath, blockSizeBytes);
+      mCache.put(ufsPath, entry);
+    }
+    return entry.mLocations == null ? null : entry.mLocations.get(offset);
+  }
+
+  /**
+   * Removes the locations of a file from the cache, for example because the file was deleted.
+   *
+   * @param ufsPath the UFS path of the file
+   */
+  public void invalidate(String ufsPath) {
+    if (mCache != null) {
+      mCache.invalidate(ufsPath);
+    }
+  }
+
+  /**
+   * Stops the background refreshes and drops the cached locations.
+   */
+  @Override
+  public void close() {
+    if (mRefreshExecutor != null) {
+      mRefreshExecutor.shutdownNow();
+    }
+    if (mCache != null) {
+      mCache.invalidateAll();
+    }
+  }
+
+  /**
+   * Reloads the locations of a file in the background, unless they are already being reloaded.
+   *
+   * @param ufs the UFS of the file
+   * @param ufsPath the UFS path of the file
+   * @param blockSizeBytes the block size of the file
+   */
+  private void refreshAsync(final UnderFileSystem ufs, final String ufsPath,
+      final long blockSizeBytes) {
+    if (!mRefreshing.add(ufsPath)) {
+      return;
+    }
+    try {
+      mRefreshExecutor.submit(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            mCache.put(ufsPath, load(ufs, ufsPath, blockSizeBytes));
+          } catch (IOException e) {
+            LOG.warn("Failed to refresh the UFS block locations of {}: {}", ufsPath,
+                e.getMessage());
+            mCache.invalidate(ufsPath);
+          } finally {
+            mRefreshing.remove(ufsPath);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // The cache is closed, so the stale locations are kept.
+      mRefreshing.remove(ufsPath);
+    }
+  }
+
+  /**
+   * @param ufs the UFS of the file
+   * @param ufsPath the UFS path of the file
+   * @param blockSizeBytes the block size of the file
+   * @return a new entry with the locations of the blocks of the file
+   * @throws IOException if the locations cannot be loaded from the UFS
+   */
+  private static Entry load(UnderFileSystem ufs, String ufsPath, long blockSizeBytes)
+      throws IOException {
+    Map<Long, List<String>> locations = ufs.getFileBlockLocations(ufsPath, blockSizeBytes);
+    return new Entry(blockSizeBytes,
+        locations == null ? null : Collections.unmodifiableMap(locations),
+        CommonUtils.getCurrentMs());
+  }
+
+  /**
+   * @param name the name of the metric
+   * @param mountPoint the mount point
+   * @return the counter of the metric for the mount point
+   */
+  private static Counter getCounter(String name, String mountPoint) {
+    // Metric names are dot separated, so the path separators and dots of the mount point are
+    // replaced.
+    String suffix = mountPoint == null ? "" : mountPoint.replace('/', '_').replace('.', '_');
+    return MetricsSystem.masterCounter(name + "." + suffix);
+  }
+
+  /**
+   * The locations of the blocks of a file.
+   */
+  private static final class Entry {
+    private final long mBlockSizeBytes;
+    /** Maps from block offset to locations, or null if the UFS does not support locations. */
+    private final Map<Long, List<String>> mLocations;
+    private final long mLoadTimeMs;
+
+    private Entry(long blockSizeBytes, Map<Long, List<String>> locations, long loadTimeMs) {
+      mBlockSizeBytes = blockSizeBytes;
+      mLocations = locations;
+      mLoadTimeMs = loadTimeMs;
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.options;
+
+import alluxio.thrift.GetStatusTOptions;
+import alluxio.wire.FileInfoDetail;
+
+import com.google.common.base.Objects;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Method options for getting the status of a path.
+ */
+@NotThreadSafe
+public final class GetStatusOptions {
+  private FileInfoDetail mFileInfoDetail;
+
+  /**
+   * @return the default {@link GetStatusOptions}
+   */
+  public static GetStatusOptions defaults() {
+    return new GetStatusOptions();
+  }
+
+  private GetStatusOptions() {
+    mFileInfoDetail = FileInfoDetail.All;
+  }
+
+  /**
+   * Create an instance of {@link GetStatusOptions} from a {@link GetStatusTOptions}.
+   *
+   * @param options the thrift representation of get status options, may be null for clients
+   *        which do not send options
+   */
+  public GetStatusOptions(GetStatusTOptions options) {
+    this();
+    if (options != null && options.isSetFileInfoDetail()) {
+      mFileInfoDetail = FileInfoDetail.fromThrift(options.getFileInfoDetail());
+    }
+  }
+
+  /**
+   * @return the level of detail of the returned file information
+   */
+  public FileInfoDetail getFileInfoDetail() {
+    return mFileInfoDetail;
+  }
+
+  /**
+   * @param fileInfoDetail the level of detail of the returned file information
+   * @return the updated options
+   */
+  public GetStatusOptions setFileInfoDetail(FileInfoDetail fileInfoDetail) {
+    mFileInfoDetail = fileInfoDetail;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof GetStatusOptions)) {
+      return false;
+    }
+    GetStatusOptions that = (GetStatusOptions) o;
+    return Objects.equal(mFileInfoDetail, that.mFileInfoDetail);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mFileInfoDetail);
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this)
+        .add("fileInfoDetail", mFileInfoDetail)
+        .toString();
+  }
+}
@@ -12,6 +12,7 @@
 package alluxio.master.file.options;
 
 import alluxio.thrift.ListStatusTOptions;
+import alluxio.wire.FileInfoDetail;
 import alluxio.wire.LoadMetadataType;
 
 import com.google.common.base.Objects;
@@ -24,6 +25,10 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public final class ListStatusOptions {
   private LoadMetadataType mLoadMetadataType;
+  private String mStartAfter;
+  private int mBatchSize;
+  private FileInfoDetail mFileInfoDetail;
+  private boolean mRecursive;
 
   /**
    * @return the default {@link ListStatusOptions}
@@ -34,6 +39,10 @@ public final class ListStatusOptions {
 
   private ListStatusOptions() {
     mLoadMetadataType = LoadMetadataType.Once;
+    mStartAfter = null;
+    mBatchSize = 0;
+    mFileInfoDetail = FileInfoDetail.All;
+    mRecursive = false;
   }
 
   /**
@@ -48,6 +57,13 @@ public final class ListStatusOptions {
     } else if (!options.isLoadDirectChildren()) {
       mLoadMetadataType = LoadMetadataType.Never;
     }
+    mStartAfter = options.isSetStartAfter() ? options.getStartAfter() : null;
+    mBatchSize = options.isSetBatchSize() ? options.getBatchSize() : 0;
+    mFileInfoDetail = FileInfoDetail.All;
+    if (options.isSetFileInfoDetail()) {
+      mFileInfoDetail = FileInfoDetail.fromThrift(options.getFileInfoDetail());
+    }
+    mRecursive = options.isSetRecursive() && options.isRecursive();
   }
 
   /**
@@ -69,6 +85,80 @@ public final class ListStatusOptions {
     return this;
   }
 
+  /**
+   * @return the name after which the listing starts (exclusive), or null to list from the first
+   *         child
+   */
+  public String getStartAfter() {
+    return mStartAfter;
+  }
+
+  /**
+   * Sets the name of the last child returned by a previous listing. Only children whose names sort
+   * strictly after this name are returned.
+   *
+   * @param startAfter the name after which to start listing, or null to list from the beginning
+   * @return the updated options
+   */
+  public ListStatusOptions setStartAfter(String startAfter) {
+    mStartAfter = startAfter;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of children to return, or a non-positive value for no limit
+   */
+  public int getBatchSize() {
+    return mBatchSize;
+  }
+
+  /**
+   * @param batchSize the maximum number of children to return; a non-positive value lists all
+   *        remaining children
+   * @return the updated options
+   */
+  public ListStatusOptions setBatchSize(int batchSize) {
+    mBatchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * @return the level of detail of the returned file information
+   */
+  public FileInfoDetail getFileInfoDetail() {
+    return mFileInfoDetail;
+  }
+
+  /**
+   * @param fileInfoDetail the level of detail of the returned file information
+   * @return the updated options
+   */
+  public ListStatusOptions setFileInfoDetail(FileInfoDetail fileInfoDetail) {
+    mFileInfoDetail = fileInfoDetail;
+    return this;
+  }
+
+  /**
+   * @return whether all the descendants of a directory are listed, rather than only its direct
+   *         children
+   */
+  public boolean isRecursive() {
+    return mRecursive;
+  }
+
+  /**
+   * Sets whether all the descendants of a directory are listed, depth first. For a recursive
+   * listing, the start after cursor is the path of the last returned descendant, relative to the
+   * listed directory.
+   *
+   * @param recursive whether to list all the descendants
+   * @return the updated options
+   */
+  public ListStatusOptions setRecursive(boolean recursive) {
+    mRecursive = recursive;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -78,18 +168,27 @@ public final class ListStatusOptions {
       return false;
     }
     ListStatusOptions that = (ListStatusOptions) o;
-    return Objects.equal(mLoadMetadataType, that.mLoadMetadataType);
+    return Objects.equal(mLoadMetadataType, that.mLoadMetadataType)
+        && Objects.equal(mStartAfter, that.mStartAfter)
+        && mBatchSize == that.mBatchSize
+        && Objects.equal(mFileInfoDetail, that.mFileInfoDetail)
+        && mRecursive == that.mRecursive;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mLoadMetadataType);
+    return Objects.hashCode(mLoadMetadataType, mStartAfter, mBatchSize, mFileInfoDetail,
+        mRecursive);
   }
 
   @Override
   public String toString() {
     return Objects.toStringHelper(this)
         .add("loadMetadataType", mLoadMetadataType.toString())
+        .add("startAfter", mStartAfter)
+        .add("batchSize", mBatchSize)
+        .add("fileInfoDetail", mFileInfoDetail)
+        .add("recursive", mRecursive)
         .toString();
   }
 }
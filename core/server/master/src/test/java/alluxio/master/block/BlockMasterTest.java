@@ -21,6 +21,7 @@ import alluxio.master.journal.JournalFactory;
 import alluxio.master.journal.MutableJournal;
 import alluxio.thrift.Command;
 import alluxio.thrift.CommandType;
+import alluxio.util.IdUtils;
 import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.wire.BlockInfo;
@@ -277,4 +278,41 @@ public class BlockMasterTest {
         .setLocations(ImmutableList.of(blockLocation));
     Assert.assertEquals(expectedBlockInfo, mMaster.getBlockInfo(blockId));
   }
+
+  @Test
+  public void fileTopTierBytes() throws Exception {
+    // Create two workers.
+    long worker1 = mMaster.getWorkerId(NET_ADDRESS_1);
+    mMaster.workerRegister(worker1, Arrays.asList("MEM", "SSD"),
+        ImmutableMap.of("MEM", 100L, "SSD", 100L), ImmutableMap.of("MEM", 0L, "SSD", 0L),
+        NO_BLOCKS_ON_TIERS);
+    long worker2 = mMaster.getWorkerId(NET_ADDRESS_2);
+    mMaster.workerRegister(worker2, Arrays.asList("MEM", "SSD"),
+        ImmutableMap.of("MEM", 100L, "SSD", 100L), ImmutableMap.of("MEM", 0L, "SSD", 0L),
+        NO_BLOCKS_ON_TIERS);
+
+    // Commit two blocks of the same file, one in the top tier and one below it.
+    long blockId1 = BlockId.createBlockId(1L, 0L);
+    long blockId2 = BlockId.createBlockId(1L, 1L);
+    long fileId = IdUtils.fileIdFromBlockId(blockId1);
+    mMaster.commitBlock(worker1, 20L, "MEM", blockId1, 20L);
+    mMaster.commitBlock(worker1, 30L, "SSD", blockId2, 30L);
+    Assert.assertEquals(20L, mMaster.getFileTopTierBytes(fileId));
+
+    // A copy of the second block in the top tier of another worker counts it.
+    mMaster.workerHeartbeat(worker2, ImmutableMap.of("MEM", 30L), NO_BLOCKS,
+        ImmutableMap.<String, List<Long>>of("MEM", ImmutableList.of(blockId2)));
+    Assert.assertEquals(50L, mMaster.getFileTopTierBytes(fileId));
+
+    // Removing that copy takes the second block out of the top tier again.
+    mMaster.workerHeartbeat(worker2, ImmutableMap.of("MEM", 0L), ImmutableList.of(blockId2),
+        NO_BLOCKS_ON_TIERS);
+    Assert.assertEquals(20L, mMaster.getFileTopTierBytes(fileId));
+
+    // Losing the worker with both blocks leaves nothing in the top tier.
+    mClock.setTimeMs(System.currentTimeMillis() + Constants.HOUR_MS);
+    mMaster.workerHeartbeat(worker2, ImmutableMap.of("MEM", 0L), NO_BLOCKS, NO_BLOCKS_ON_TIERS);
+    HeartbeatScheduler.execute(HeartbeatContext.MASTER_LOST_WORKER_DETECTION);
+    Assert.assertEquals(0L, mMaster.getFileTopTierBytes(fileId));
+  }
 }
@@ -30,6 +30,8 @@ import alluxio.heartbeat.HeartbeatScheduler;
 import alluxio.heartbeat.ManuallyScheduleHeartbeat;
 import alluxio.master.MasterRegistry;
 import alluxio.master.block.BlockMaster;
+import alluxio.master.file.meta.InodeTree;
+import alluxio.master.file.meta.LockedInodePath;
 import alluxio.master.file.meta.PersistenceState;
 import alluxio.master.file.meta.TtlIntervalRule;
 import alluxio.master.file.options.CompleteFileOptions;
@@ -37,6 +39,7 @@ import alluxio.master.file.options.CreateDirectoryOptions;
 import alluxio.master.file.options.CreateFileOptions;
 import alluxio.master.file.options.DeleteOptions;
 import alluxio.master.file.options.FreeOptions;
+import alluxio.master.file.options.GetStatusOptions;
 import alluxio.master.file.options.ListStatusOptions;
 import alluxio.master.file.options.LoadMetadataOptions;
 import alluxio.master.file.options.MountOptions;
@@ -45,6 +48,7 @@ import alluxio.master.file.options.SetAttributeOptions;
 import alluxio.master.journal.JournalFactory;
 import alluxio.master.journal.MutableJournal;
 import alluxio.security.GroupMappingServiceTestUtils;
+import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.thrift.Command;
 import alluxio.thrift.CommandType;
 import alluxio.thrift.FileSystemCommand;
@@ -55,6 +59,7 @@ import alluxio.util.io.FileUtils;
 import alluxio.util.io.PathUtils;
 import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
+import alluxio.wire.FileInfoDetail;
 import alluxio.wire.LoadMetadataType;
 import alluxio.wire.TtlAction;
 import alluxio.wire.WorkerNetAddress;
@@ -70,6 +75,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
+import org.powermock.reflect.Whitebox;
 
 import java.io.File;
 import java.io.IOException;
@@ -82,8 +88,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Unit tests for {@link FileSystemMaster}.
@@ -514,6 +523,95 @@ public final class FileSystemMasterTest {
     Assert.assertEquals(6, mFileSystemMaster.getNumberOfPaths());
   }
 
+  /**
+   * Tests that listing a directory whose children are already loaded only needs a read lock, so it
+   * is not blocked by other readers of the directory.
+   */
+  @Test
+  public void listStatusLoadedDirectoryWithReadLock() throws Exception {
+    final AlluxioURI dir = new AlluxioURI("/dir");
+    mFileSystemMaster.createDirectory(dir, CreateDirectoryOptions.defaults());
+    mFileSystemMaster.createDirectory(dir.join("child"), CreateDirectoryOptions.defaults());
+    // Children of a directory created in Alluxio do not need to be loaded.
+    mFileSystemMaster.listStatus(dir, ListStatusOptions.defaults());
+
+    InodeTree inodeTree = Whitebox.getInternalState(mFileSystemMaster, "mInodeTree");
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (LockedInodePath inodePath =
+             inodeTree.lockFullInodePath(dir, InodeTree.LockMode.READ)) {
+      Future<List<FileInfo>> future = executor.submit(new Callable<List<FileInfo>>() {
+        @Override
+        public List<FileInfo> call() throws Exception {
+          AuthenticatedClientUser.set(TEST_USER);
+          return mFileSystemMaster.listStatus(dir, ListStatusOptions.defaults());
+        }
+      });
+      Assert.assertEquals(1, future.get(Constants.MINUTE_MS, TimeUnit.MILLISECONDS).size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Tests that {@link FileSystemMaster#listStatus(AlluxioURI, ListStatusOptions)} returns the
+   * children in name order, one batch at a time, when a batch size and cursor are given.
+   */
+  @Test
+  public void listStatusInBatches() throws Exception {
+    AlluxioURI dir = new AlluxioURI("/dir");
+    mFileSystemMaster.createDirectory(dir, CreateDirectoryOptions.defaults());
+    for (int i = 4; i >= 0; i--) {
+      mFileSystemMaster.createDirectory(dir.join("child" + i), CreateDirectoryOptions.defaults());
+    }
+
+    List<String> names = new ArrayList<>();
+    ListStatusOptions options = ListStatusOptions.defaults().setBatchSize(2);
+    List<FileInfo> batch;
+    do {
+      batch = mFileSystemMaster.listStatus(dir, options);
+      Assert.assertTrue(batch.size() <= 2);
+      for (FileInfo fileInfo : batch) {
+        names.add(fileInfo.getName());
+      }
+      if (!batch.isEmpty()) {
+        options.setStartAfter(batch.get(batch.size() - 1).getName());
+      }
+    } while (batch.size() == 2);
+    Assert.assertEquals(Arrays.asList("child0", "child1", "child2", "child3", "child4"), names);
+  }
+
+  /**
+   * Tests that a recursive {@link FileSystemMaster#listStatus(AlluxioURI, ListStatusOptions)}
+   * returns all the descendants depth first, one batch at a time, with a relative path cursor.
+   */
+  @Test
+  public void listStatusRecursiveInBatches() throws Exception {
+    AlluxioURI dir = new AlluxioURI("/dir");
+    mFileSystemMaster.createDirectory(dir.join("a").join("b"),
+        CreateDirectoryOptions.defaults().setRecursive(true));
+    mFileSystemMaster.createDirectory(dir.join("a").join("c"), CreateDirectoryOptions.defaults());
+    mFileSystemMaster.createDirectory(dir.join("a").join("b").join("d"),
+        CreateDirectoryOptions.defaults());
+    mFileSystemMaster.createDirectory(dir.join("e"), CreateDirectoryOptions.defaults());
+
+    List<String> paths = new ArrayList<>();
+    ListStatusOptions options = ListStatusOptions.defaults().setBatchSize(2).setRecursive(true);
+    List<FileInfo> batch;
+    do {
+      batch = mFileSystemMaster.listStatus(dir, options);
+      Assert.assertTrue(batch.size() <= 2);
+      for (FileInfo fileInfo : batch) {
+        paths.add(fileInfo.getPath());
+      }
+      if (!batch.isEmpty()) {
+        options.setStartAfter(
+            PathUtils.subtractPaths(batch.get(batch.size() - 1).getPath(), dir.getPath()));
+      }
+    } while (batch.size() == 2);
+    Assert.assertEquals(
+        Arrays.asList("/dir/a", "/dir/a/b", "/dir/a/b/d", "/dir/a/c", "/dir/e"), paths);
+  }
+
   /**
    * Tests listing status on a non-persisted directory.
    */
@@ -652,6 +750,38 @@ public final class FileSystemMasterTest {
     }
   }
 
+  /**
+   * Tests that only the requested {@link FileInfoDetail} is filled in by get and list status.
+   */
+  @Test
+  public void fileInfoDetail() throws Exception {
+    long blockId = createFileWithSingleBlock(NESTED_FILE_URI);
+
+    FileInfo basic = mFileSystemMaster.getFileInfo(NESTED_FILE_URI,
+        GetStatusOptions.defaults().setFileInfoDetail(FileInfoDetail.Basic));
+    Assert.assertEquals(Constants.KB, basic.getLength());
+    Assert.assertTrue(basic.getBlockIds().isEmpty());
+    Assert.assertTrue(basic.getFileBlockInfos().isEmpty());
+    Assert.assertEquals(0, basic.getInMemoryPercentage());
+
+    FileInfo blockIds = mFileSystemMaster.getFileInfo(NESTED_FILE_URI,
+        GetStatusOptions.defaults().setFileInfoDetail(FileInfoDetail.BlockIds));
+    Assert.assertEquals(Arrays.asList(blockId), blockIds.getBlockIds());
+    Assert.assertTrue(blockIds.getFileBlockInfos().isEmpty());
+
+    List<FileInfo> locations = mFileSystemMaster.listStatus(NESTED_URI,
+        ListStatusOptions.defaults().setFileInfoDetail(FileInfoDetail.BlockLocations));
+    Assert.assertEquals(1, locations.size());
+    Assert.assertEquals(100, locations.get(0).getInMemoryPercentage());
+    Assert.assertEquals(1, locations.get(0).getFileBlockInfos().size());
+    Assert.assertEquals(1,
+        locations.get(0).getFileBlockInfos().get(0).getBlockInfo().getLocations().size());
+
+    // The defaults still return everything.
+    Assert.assertEquals(mFileSystemMaster.getFileInfo(NESTED_FILE_URI),
+        mFileSystemMaster.listStatus(NESTED_URI, ListStatusOptions.defaults()).get(0));
+  }
+
   @Test
   public void mountUnmount() throws Exception {
     AlluxioURI ufsMount = new AlluxioURI(mTestFolder.newFolder().getAbsolutePath());
@@ -0,0 +1,44 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link HeapInodeStore}.
+ */
+public final class HeapInodeStoreTest extends AbstractInodeTest {
+  /**
+   * Tests adding, getting and removing inodes.
+   */
+  @Test
+  public void addGetRemove() {
+    InodeStore store = new HeapInodeStore();
+    InodeDirectory dir = createInodeDirectory();
+    InodeFile file = createInodeFile(2);
+    Assert.assertTrue(store.add(dir));
+    Assert.assertTrue(store.add(file));
+    Assert.assertFalse(store.add(createInodeFile(2)));
+    Assert.assertEquals(2, store.size());
+    Assert.assertTrue(store.contains(dir.getId()));
+    Assert.assertSame(file, store.get(file.getId()));
+
+    Assert.assertTrue(store.remove(file));
+    Assert.assertFalse(store.contains(file.getId()));
+    Assert.assertNull(store.get(file.getId()));
+    Assert.assertEquals(1, store.size());
+
+    store.clear();
+    Assert.assertEquals(0, store.size());
+  }
+}
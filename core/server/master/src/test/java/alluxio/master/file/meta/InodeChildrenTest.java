@@ -0,0 +1,124 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for {@link InodeChildren}.
+ */
+public final class InodeChildrenTest extends AbstractInodeTest {
+
+  /**
+   * Tests adding, getting and removing children while they are kept in an array.
+   */
+  @Test
+  public void addGetRemove() {
+    InodeChildren children = new InodeChildren();
+    InodeFile file1 = createInodeFile(1);
+    InodeFile file2 = createInodeFile(2);
+    Assert.assertTrue(children.add(file2));
+    Assert.assertTrue(children.add(file1));
+    Assert.assertFalse(children.add(createInodeFile(1)));
+    Assert.assertEquals(2, children.size());
+    Assert.assertSame(file1, children.get("testFile1"));
+    Assert.assertNull(children.get("testFile3"));
+    Assert.assertEquals(Lists.<Inode<?>>newArrayList(file1, file2), Lists.newArrayList(children));
+
+    Assert.assertFalse(children.remove("testFile3"));
+    Assert.assertTrue(children.remove(file1));
+    Assert.assertFalse(children.remove(file1));
+    Assert.assertTrue(children.remove("testFile2"));
+    Assert.assertEquals(0, children.size());
+    Assert.assertFalse(children.iterator().hasNext());
+  }
+
+  /**
+   * Tests that the children stay sorted and reachable once promoted from an array to a map.
+   */
+  @Test
+  public void promote() {
+    InodeChildren children = new InodeChildren();
+    List<String> names = new ArrayList<>();
+    for (long i = 2 * InodeChildren.MAX_ARRAY_SIZE; i > 0; i--) {
+      Assert.assertTrue(children.add(createInodeFile(i)));
+      names.add("testFile" + i);
+    }
+    Collections.sort(names);
+    Assert.assertEquals(names.size(), children.size());
+    List<String> iterated = new ArrayList<>();
+    for (Inode<?> child : children) {
+      iterated.add(child.getName());
+    }
+    Assert.assertEquals(names, iterated);
+    Assert.assertFalse(children.add(createInodeFile(1)));
+    Assert.assertTrue(children.remove("testFile1"));
+    Assert.assertNull(children.get("testFile1"));
+    Assert.assertEquals(names.size() - 1, children.size());
+  }
+
+  /**
+   * Tests the {@link InodeChildren#getAfter(String, int)} method before and after a promotion.
+   */
+  @Test
+  public void getAfter() {
+    InodeChildren children = new InodeChildren();
+    for (long i = 1; i <= 5; i++) {
+      children.add(createInodeFile(i));
+    }
+    checkGetAfter(children);
+    for (long i = 10; i < 10 + InodeChildren.MAX_ARRAY_SIZE; i++) {
+      children.add(createInodeFile(i));
+    }
+    for (long i = 10; i < 10 + InodeChildren.MAX_ARRAY_SIZE; i++) {
+      children.remove("testFile" + i);
+    }
+    checkGetAfter(children);
+  }
+
+  /**
+   * Tests that a child is kept under the name it was added with, even if the inode is renamed.
+   */
+  @Test
+  public void renamedChild() {
+    InodeChildren children = new InodeChildren();
+    InodeFile file = createInodeFile(1);
+    children.add(file);
+    children.add(createInodeFile(2));
+    file.setName("testFile3");
+    Assert.assertSame(file, children.get("testFile1"));
+    Assert.assertFalse(children.remove(file));
+    file.setName("testFile1");
+    Assert.assertTrue(children.remove(file));
+  }
+
+  private void checkGetAfter(InodeChildren children) {
+    Assert.assertEquals(5, children.getAfter(null, 0).size());
+    List<Inode<?>> page = children.getAfter(null, 2);
+    Assert.assertEquals(2, page.size());
+    Assert.assertEquals("testFile1", page.get(0).getName());
+    Assert.assertEquals("testFile2", page.get(1).getName());
+    page = children.getAfter("testFile2", 2);
+    Assert.assertEquals(2, page.size());
+    Assert.assertEquals("testFile3", page.get(0).getName());
+    page = children.getAfter("testFile4a", 0);
+    Assert.assertEquals(1, page.size());
+    Assert.assertEquals("testFile5", page.get(0).getName());
+    Assert.assertTrue(children.getAfter("testFile5", 2).isEmpty());
+  }
+}
@@ -22,6 +22,8 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * Unit tests for {@link InodeDirectory}.
  */
@@ -42,6 +44,34 @@ public final class InodeDirectoryTest extends AbstractInodeTest {
         inodeDirectory.getChildrenIds());
   }
 
+  /**
+   * Tests the {@link InodeDirectory#getChildrenAfter(String, int)} method.
+   */
+  @Test
+  public void getChildrenAfter() {
+    InodeDirectory inodeDirectory = createInodeDirectory();
+    for (long i = 5; i >= 1; i--) {
+      inodeDirectory.addChild(createInodeFile(i));
+    }
+    List<Inode<?>> all = inodeDirectory.getChildrenAfter(null, 0);
+    Assert.assertEquals(5, all.size());
+    for (int i = 0; i < all.size(); i++) {
+      Assert.assertEquals("testFile" + (i + 1), all.get(i).getName());
+    }
+    List<Inode<?>> page = inodeDirectory.getChildrenAfter(null, 2);
+    Assert.assertEquals(2, page.size());
+    Assert.assertEquals("testFile1", page.get(0).getName());
+    Assert.assertEquals("testFile2", page.get(1).getName());
+    page = inodeDirectory.getChildrenAfter("testFile2", 2);
+    Assert.assertEquals(2, page.size());
+    Assert.assertEquals("testFile3", page.get(0).getName());
+    Assert.assertEquals("testFile4", page.get(1).getName());
+    page = inodeDirectory.getChildrenAfter("testFile4", 2);
+    Assert.assertEquals(1, page.size());
+    Assert.assertEquals("testFile5", page.get(0).getName());
+    Assert.assertTrue(inodeDirectory.getChildrenAfter("testFile5", 2).isEmpty());
+  }
+
   /**
    * Tests the {@link InodeDirectory#removeChild(String)} method after multiple children have been
    * added.
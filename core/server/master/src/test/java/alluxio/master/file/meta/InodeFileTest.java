@@ -33,6 +33,8 @@ import java.util.List;
 public final class InodeFileTest extends AbstractInodeTest {
   private static final long LENGTH = 100;
 
+  private final InodeLockManager mLockManager = new InodeLockManager();
+
   @Rule
   public ExpectedException mExpectedException = ExpectedException.none();
 
@@ -175,37 +177,38 @@ public final class InodeFileTest extends AbstractInodeTest {
   }
 
   /**
-   * Tests the {@link Inode#lockRead()} and {@link Inode#unlockRead()} methods.
+   * Tests the {@link Inode#lockRead(InodeLockManager)} and {@link
+   * Inode#unlockRead(InodeLockManager)} methods.
    */
   @Test
   public void lockRead() {
     InodeFile inode1 = createInodeFile(1);
-    Assert.assertFalse(inode1.isReadLocked());
-    Assert.assertFalse(inode1.isWriteLocked());
-    inode1.lockRead();
-    Assert.assertTrue(inode1.isReadLocked());
-    Assert.assertFalse(inode1.isWriteLocked());
-    inode1.unlockRead();
-    Assert.assertFalse(inode1.isReadLocked());
-    Assert.assertFalse(inode1.isWriteLocked());
+    Assert.assertFalse(inode1.isReadLocked(mLockManager));
+    Assert.assertFalse(inode1.isWriteLocked(mLockManager));
+    inode1.lockRead(mLockManager);
+    Assert.assertTrue(inode1.isReadLocked(mLockManager));
+    Assert.assertFalse(inode1.isWriteLocked(mLockManager));
+    inode1.unlockRead(mLockManager);
+    Assert.assertFalse(inode1.isReadLocked(mLockManager));
+    Assert.assertFalse(inode1.isWriteLocked(mLockManager));
   }
 
   /**
-   * Tests the {@link Inode#lockReadAndCheckParent(Inode)} method.
+   * Tests the {@link Inode#lockReadAndCheckParent(InodeLockManager, Inode)} method.
    */
   @Test
   public void lockReadAndCheckParent() throws Exception {
     InodeFile inode1 = createInodeFile(1);
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setParentId(dir1.getId());
-    inode1.lockReadAndCheckParent(dir1);
-    Assert.assertTrue(inode1.isReadLocked());
-    inode1.unlockRead();
+    inode1.lockReadAndCheckParent(mLockManager, dir1);
+    Assert.assertTrue(inode1.isReadLocked(mLockManager));
+    inode1.unlockRead(mLockManager);
   }
 
   /**
-   * Tests the {@link Inode#lockReadAndCheckParent(Inode)} method fails when the parent is
-   * not consistent.
+   * Tests the {@link Inode#lockReadAndCheckParent(InodeLockManager, Inode)} method fails when the
+   * parent is not consistent.
    */
   @Test
   public void lockReadAndCheckParentInvalid() throws Exception {
@@ -214,11 +217,11 @@ public final class InodeFileTest extends AbstractInodeTest {
     InodeFile inode1 = createInodeFile(1);
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setParentId(dir1.getId() - 1);
-    inode1.lockReadAndCheckParent(dir1);
+    inode1.lockReadAndCheckParent(mLockManager, dir1);
   }
 
   /**
-   * Tests the {@link Inode#lockReadAndCheckNameAndParent(Inode, String)} method.
+   * Tests the {@link Inode#lockReadAndCheckNameAndParent(InodeLockManager, Inode, String)} method.
    */
   @Test
   public void lockReadAndCheckNameAndParent() throws Exception {
@@ -227,14 +230,14 @@ public final class InodeFileTest extends AbstractInodeTest {
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setName(name);
     inode1.setParentId(dir1.getId());
-    inode1.lockReadAndCheckNameAndParent(dir1, name);
-    Assert.assertTrue(inode1.isReadLocked());
-    inode1.unlockRead();
+    inode1.lockReadAndCheckNameAndParent(mLockManager, dir1, name);
+    Assert.assertTrue(inode1.isReadLocked(mLockManager));
+    inode1.unlockRead(mLockManager);
   }
 
   /**
-   * Tests the {@link Inode#lockReadAndCheckNameAndParent(Inode, String)} method fails when the
-   * parent and name are not consistent.
+   * Tests the {@link Inode#lockReadAndCheckNameAndParent(InodeLockManager, Inode, String)} method
+   * fails when the parent and name are not consistent.
    */
   @Test
   public void lockReadAndCheckNameAndParentInvalid() throws Exception {
@@ -245,12 +248,12 @@ public final class InodeFileTest extends AbstractInodeTest {
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setName(name);
     inode1.setParentId(dir1.getId() - 1);
-    inode1.lockReadAndCheckNameAndParent(dir1, "invalid");
+    inode1.lockReadAndCheckNameAndParent(mLockManager, dir1, "invalid");
   }
 
   /**
-   * Tests the {@link Inode#lockReadAndCheckNameAndParent(Inode, String)} method fails when the name
-   * is not consistent.
+   * Tests the {@link Inode#lockReadAndCheckNameAndParent(InodeLockManager, Inode, String)} method
+   * fails when the name is not consistent.
    */
   @Test
   public void lockReadAndCheckNameAndParentInvalidName() throws Exception {
@@ -261,12 +264,12 @@ public final class InodeFileTest extends AbstractInodeTest {
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setName(name);
     inode1.setParentId(dir1.getId());
-    inode1.lockReadAndCheckNameAndParent(dir1, "invalid");
+    inode1.lockReadAndCheckNameAndParent(mLockManager, dir1, "invalid");
   }
 
   /**
-   * Tests the {@link Inode#lockReadAndCheckNameAndParent(Inode, String)} method fails when the
-   * parent is not consistent.
+   * Tests the {@link Inode#lockReadAndCheckNameAndParent(InodeLockManager, Inode, String)} method
+   * fails when the parent is not consistent.
    */
   @Test
   public void lockReadAndCheckNameAndParentInvalidParent() throws Exception {
@@ -277,39 +280,40 @@ public final class InodeFileTest extends AbstractInodeTest {
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setName(name);
     inode1.setParentId(dir1.getId() - 1);
-    inode1.lockReadAndCheckNameAndParent(dir1, name);
+    inode1.lockReadAndCheckNameAndParent(mLockManager, dir1, name);
   }
 
   /**
-   * Tests the {@link Inode#lockWrite()} and {@link Inode#unlockWrite()} methods.
+   * Tests the {@link Inode#lockWrite(InodeLockManager)} and {@link
+   * Inode#unlockWrite(InodeLockManager)} methods.
    */
   @Test
   public void lockWrite() {
     InodeFile inode1 = createInodeFile(1);
-    inode1.lockWrite();
-    Assert.assertFalse(inode1.isReadLocked());
-    Assert.assertTrue(inode1.isWriteLocked());
-    inode1.unlockWrite();
-    Assert.assertFalse(inode1.isReadLocked());
-    Assert.assertFalse(inode1.isWriteLocked());
+    inode1.lockWrite(mLockManager);
+    Assert.assertFalse(inode1.isReadLocked(mLockManager));
+    Assert.assertTrue(inode1.isWriteLocked(mLockManager));
+    inode1.unlockWrite(mLockManager);
+    Assert.assertFalse(inode1.isReadLocked(mLockManager));
+    Assert.assertFalse(inode1.isWriteLocked(mLockManager));
   }
 
   /**
-   * Tests the {@link Inode#lockWriteAndCheckParent(Inode)} method.
+   * Tests the {@link Inode#lockWriteAndCheckParent(InodeLockManager, Inode)} method.
    */
   @Test
   public void lockWriteAndCheckParent() throws Exception {
     InodeFile inode1 = createInodeFile(1);
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setParentId(dir1.getId());
-    inode1.lockWriteAndCheckParent(dir1);
-    Assert.assertTrue(inode1.isWriteLocked());
-    inode1.unlockWrite();
+    inode1.lockWriteAndCheckParent(mLockManager, dir1);
+    Assert.assertTrue(inode1.isWriteLocked(mLockManager));
+    inode1.unlockWrite(mLockManager);
   }
 
   /**
-   * Tests the {@link Inode#lockWriteAndCheckParent(Inode)} method fails when the parent is
-   * not consistent.
+   * Tests the {@link Inode#lockWriteAndCheckParent(InodeLockManager, Inode)} method fails when the
+   * parent is not consistent.
    */
   @Test
   public void lockWriteAndCheckParentInvalid() throws Exception {
@@ -318,11 +322,11 @@ public final class InodeFileTest extends AbstractInodeTest {
     InodeFile inode1 = createInodeFile(1);
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setParentId(dir1.getId() - 1);
-    inode1.lockWriteAndCheckParent(dir1);
+    inode1.lockWriteAndCheckParent(mLockManager, dir1);
   }
 
   /**
-   * Tests the {@link Inode#lockWriteAndCheckNameAndParent(Inode, String)} method.
+   * Tests the {@link Inode#lockWriteAndCheckNameAndParent(InodeLockManager, Inode, String)} method.
    */
   @Test
   public void lockWriteAndCheckNameAndParent() throws Exception {
@@ -331,14 +335,14 @@ public final class InodeFileTest extends AbstractInodeTest {
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setName(name);
     inode1.setParentId(dir1.getId());
-    inode1.lockWriteAndCheckNameAndParent(dir1, name);
-    Assert.assertTrue(inode1.isWriteLocked());
-    inode1.unlockWrite();
+    inode1.lockWriteAndCheckNameAndParent(mLockManager, dir1, name);
+    Assert.assertTrue(inode1.isWriteLocked(mLockManager));
+    inode1.unlockWrite(mLockManager);
   }
 
   /**
-   * Tests the {@link Inode#lockWriteAndCheckNameAndParent(Inode, String)} method fails when the
-   * parent and name are not consistent.
+   * Tests the {@link Inode#lockWriteAndCheckNameAndParent(InodeLockManager, Inode, String)} method
+   * fails when the parent and name are not consistent.
    */
   @Test
   public void lockWriteAndCheckNameAndParentInvalid() throws Exception {
@@ -349,12 +353,12 @@ public final class InodeFileTest extends AbstractInodeTest {
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setName(name);
     inode1.setParentId(dir1.getId() - 1);
-    inode1.lockWriteAndCheckNameAndParent(dir1, "invalid");
+    inode1.lockWriteAndCheckNameAndParent(mLockManager, dir1, "invalid");
   }
 
   /**
-   * Tests the {@link Inode#lockWriteAndCheckNameAndParent(Inode, String)} method fails when the
-   * name is not consistent.
+   * Tests the {@link Inode#lockWriteAndCheckNameAndParent(InodeLockManager, Inode, String)} method
+   * fails when the name is not consistent.
    */
   @Test
   public void lockWriteAndCheckNameAndParentInvalidName() throws Exception {
@@ -365,12 +369,12 @@ public final class InodeFileTest extends AbstractInodeTest {
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setName(name);
     inode1.setParentId(dir1.getId());
-    inode1.lockWriteAndCheckNameAndParent(dir1, "invalid");
+    inode1.lockWriteAndCheckNameAndParent(mLockManager, dir1, "invalid");
   }
 
   /**
-   * Tests the {@link Inode#lockWriteAndCheckNameAndParent(Inode, String)} method fails when the
-   * parent is not consistent.
+   * Tests the {@link Inode#lockWriteAndCheckNameAndParent(InodeLockManager, Inode, String)} method
+   * fails when the parent is not consistent.
    */
   @Test
   public void lockWriteAndCheckNameAndParentInvalidParent() throws Exception {
@@ -381,6 +385,6 @@ public final class InodeFileTest extends AbstractInodeTest {
     InodeDirectory dir1 = createInodeDirectory();
     inode1.setName(name);
     inode1.setParentId(dir1.getId() - 1);
-    inode1.lockWriteAndCheckNameAndParent(dir1, name);
+    inode1.lockWriteAndCheckNameAndParent(mLockManager, dir1, name);
   }
 }
@@ -0,0 +1,129 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.Constants;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Unit tests for {@link InodeLockManager}.
+ */
+public final class InodeLockManagerTest extends AbstractInodeTest {
+  private final InodeFile mInode1 = createInodeFile(1);
+  private final InodeFile mInode2 = createInodeFile(2);
+
+  /**
+   * Tests that locks are only allocated while they are held.
+   */
+  @Test
+  public void locksAreReleased() {
+    InodeLockManager lockManager = new InodeLockManager();
+    lockManager.lockRead(mInode1);
+    lockManager.lockWrite(mInode2);
+    Assert.assertEquals(2, lockManager.size());
+    Assert.assertTrue(lockManager.isReadLocked(mInode1));
+    Assert.assertFalse(lockManager.isWriteLocked(mInode1));
+    Assert.assertTrue(lockManager.isWriteLocked(mInode2));
+    lockManager.unlockRead(mInode1);
+    Assert.assertEquals(1, lockManager.size());
+    Assert.assertFalse(lockManager.isReadLocked(mInode1));
+    lockManager.unlockWrite(mInode2);
+    Assert.assertEquals(0, lockManager.size());
+    Assert.assertFalse(lockManager.isWriteLocked(mInode2));
+  }
+
+  /**
+   * Tests that locks are reentrant, and released only after the last unlock.
+   */
+  @Test
+  public void reentrant() {
+    InodeLockManager lockManager = new InodeLockManager();
+    lockManager.lockWrite(mInode1);
+    lockManager.lockWrite(mInode1);
+    lockManager.lockRead(mInode1);
+    lockManager.unlockRead(mInode1);
+    lockManager.unlockWrite(mInode1);
+    Assert.assertTrue(lockManager.isWriteLocked(mInode1));
+    Assert.assertEquals(1, lockManager.size());
+    lockManager.unlockWrite(mInode1);
+    Assert.assertFalse(lockManager.isWriteLocked(mInode1));
+    Assert.assertEquals(0, lockManager.size());
+  }
+
+  /**
+   * Tests that the locks of two managers are independent, even for inodes with the same id.
+   */
+  @Test
+  public void independentManagers() {
+    InodeLockManager lockManager = new InodeLockManager();
+    InodeLockManager otherLockManager = new InodeLockManager();
+    lockManager.lockWrite(mInode1);
+    Assert.assertFalse(otherLockManager.isWriteLocked(mInode1));
+    otherLockManager.lockWrite(createInodeFile(1));
+    Assert.assertEquals(1, otherLockManager.size());
+    otherLockManager.unlockWrite(mInode1);
+    lockManager.unlockWrite(mInode1);
+    Assert.assertEquals(0, lockManager.size());
+    Assert.assertEquals(0, otherLockManager.size());
+  }
+
+  /**
+   * Tests that a write lock excludes other threads until it is released, and that locks for
+   * different inodes do not interfere.
+   */
+  @Test
+  public void writeLockExcludesOtherThreads() throws Exception {
+    final InodeLockManager lockManager = new InodeLockManager();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      lockManager.lockWrite(mInode1);
+      Future<Void> otherInode = executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() {
+          lockManager.lockWrite(mInode2);
+          lockManager.unlockWrite(mInode2);
+          return null;
+        }
+      });
+      otherInode.get(Constants.MINUTE_MS, TimeUnit.MILLISECONDS);
+
+      Future<Void> sameInode = executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() {
+          lockManager.lockRead(mInode1);
+          lockManager.unlockRead(mInode1);
+          return null;
+        }
+      });
+      try {
+        sameInode.get(100, TimeUnit.MILLISECONDS);
+        Assert.fail("Read lock should not be granted while the write lock is held");
+      } catch (TimeoutException e) {
+        // expected
+      }
+      lockManager.unlockWrite(mInode1);
+      sameInode.get(Constants.MINUTE_MS, TimeUnit.MILLISECONDS);
+      Assert.assertEquals(0, lockManager.size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.Constants;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.FileLocationOptions;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link UfsBlockLocationCache}.
+ */
+public final class UfsBlockLocationCacheTest {
+  private static final String PATH = "hdfs://namenode:9000/file";
+  private static final long BLOCK_SIZE = Constants.MB;
+  private static final Map<Long, List<String>> LOCATIONS = ImmutableMap.<Long, List<String>>of(
+      0L, ImmutableList.of("host1", "host2"), BLOCK_SIZE, ImmutableList.of("host3"));
+
+  private UnderFileSystem mUfs;
+  private UfsBlockLocationCache mCache;
+
+  /**
+   * Sets up a mocked UFS before a test runs.
+   */
+  @Before
+  public void before() throws Exception {
+    mUfs = Mockito.mock(UnderFileSystem.class);
+    Mockito.when(mUfs.getFileBlockLocations(PATH, BLOCK_SIZE)).thenReturn(LOCATIONS);
+  }
+
+  /**
+   * Closes the cache after a test ran.
+   */
+  @After
+  public void after() {
+    if (mCache != null) {
+      mCache.close();
+    }
+  }
+
+  /**
+   * Tests that the locations of all the blocks of a file are loaded with a single UFS request.
+   */
+  @Test
+  public void loadOncePerFile() throws Exception {
+    mCache = new UfsBlockLocationCache(10, Constants.HOUR_MS);
+    Assert.assertEquals(LOCATIONS.get(0L), mCache.get("/", mUfs, PATH, BLOCK_SIZE, 0));
+    Assert.assertEquals(LOCATIONS.get(BLOCK_SIZE),
+        mCache.get("/", mUfs, PATH, BLOCK_SIZE, BLOCK_SIZE));
+    Assert.assertNull(mCache.get("/", mUfs, PATH, BLOCK_SIZE, 2 * BLOCK_SIZE));
+    Mockito.verify(mUfs, Mockito.times(1)).getFileBlockLocations(PATH, BLOCK_SIZE);
+  }
+
+  /**
+   * Tests that invalidated locations are loaded again.
+   */
+  @Test
+  public void invalidate() throws Exception {
+    mCache = new UfsBlockLocationCache(10, Constants.HOUR_MS);
+    mCache.get("/", mUfs, PATH, BLOCK_SIZE, 0);
+    mCache.invalidate(PATH);
+    mCache.get("/", mUfs, PATH, BLOCK_SIZE, 0);
+    Mockito.verify(mUfs, Mockito.times(2)).getFileBlockLocations(PATH, BLOCK_SIZE);
+  }
+
+  /**
+   * Tests that a failed load is not cached, so the locations are asked again on the next access.
+   */
+  @Test
+  public void failedLoadNotCached() throws Exception {
+    mCache = new UfsBlockLocationCache(10, Constants.HOUR_MS);
+    Mockito.when(mUfs.getFileBlockLocations(PATH, BLOCK_SIZE))
+        .thenThrow(new IOException("namenode unavailable")).thenReturn(LOCATIONS);
+    try {
+      mCache.get("/", mUfs, PATH, BLOCK_SIZE, 0);
+      Assert.fail("Loading the locations should fail");
+    } catch (IOException e) {
+      // expected
+    }
+    Assert.assertEquals(LOCATIONS.get(0L), mCache.get("/", mUfs, PATH, BLOCK_SIZE, 0));
+    Mockito.verify(mUfs, Mockito.times(2)).getFileBlockLocations(PATH, BLOCK_SIZE);
+  }
+
+  /**
+   * Tests that stale locations are served while they are refreshed in the background.
+   */
+  @Test
+  public void refreshStaleLocations() throws Exception {
+    mCache = new UfsBlockLocationCache(10, 0);
+    Assert.assertEquals(LOCATIONS.get(0L), mCache.get("/", mUfs, PATH, BLOCK_SIZE, 0));
+    Assert.assertEquals(LOCATIONS.get(0L), mCache.get("/", mUfs, PATH, BLOCK_SIZE, 0));
+    Mockito.verify(mUfs, Mockito.timeout(Constants.MINUTE_MS).times(2))
+        .getFileBlockLocations(PATH, BLOCK_SIZE);
+  }
+
+  /**
+   * Tests that a disabled cache asks the UFS for the locations of each block.
+   */
+  @Test
+  public void disabled() throws Exception {
+    mCache = new UfsBlockLocationCache(0, Constants.HOUR_MS);
+    Mockito.when(mUfs.getFileLocations(Mockito.eq(PATH), Mockito.any(FileLocationOptions.class)))
+        .thenReturn(ImmutableList.of("host4"));
+    Assert.assertEquals(ImmutableList.of("host4"), mCache.get("/", mUfs, PATH, BLOCK_SIZE, 0));
+    Mockito.verify(mUfs, Mockito.never()).getFileBlockLocations(PATH, BLOCK_SIZE);
+  }
+}
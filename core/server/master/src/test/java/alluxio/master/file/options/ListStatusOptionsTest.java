@@ -12,8 +12,10 @@
 package alluxio.master.file.options;
 
 import alluxio.CommonTestUtils;
+import alluxio.thrift.FileInfoTDetail;
 import alluxio.thrift.ListStatusTOptions;
 import alluxio.thrift.LoadMetadataTType;
+import alluxio.wire.FileInfoDetail;
 import alluxio.wire.LoadMetadataType;
 
 import org.junit.Assert;
@@ -27,6 +29,10 @@ public class ListStatusOptionsTest {
   public void defaults() {
     ListStatusOptions options = ListStatusOptions.defaults();
     Assert.assertEquals(LoadMetadataType.Once, options.getLoadMetadataType());
+    Assert.assertNull(options.getStartAfter());
+    Assert.assertEquals(0, options.getBatchSize());
+    Assert.assertEquals(FileInfoDetail.All, options.getFileInfoDetail());
+    Assert.assertFalse(options.isRecursive());
   }
 
   @Test
@@ -35,14 +41,30 @@ public class ListStatusOptionsTest {
     Assert.assertEquals(LoadMetadataType.Once, options.getLoadMetadataType());
     options.setLoadMetadataType(LoadMetadataType.Always);
     Assert.assertEquals(LoadMetadataType.Always, options.getLoadMetadataType());
+    options.setStartAfter("foo");
+    Assert.assertEquals("foo", options.getStartAfter());
+    options.setBatchSize(10);
+    Assert.assertEquals(10, options.getBatchSize());
+    options.setFileInfoDetail(FileInfoDetail.Basic);
+    Assert.assertEquals(FileInfoDetail.Basic, options.getFileInfoDetail());
+    options.setRecursive(true);
+    Assert.assertTrue(options.isRecursive());
   }
 
   @Test
   public void fromThrift() {
     ListStatusTOptions listStatusTOptions = new ListStatusTOptions();
     listStatusTOptions.setLoadMetadataType(LoadMetadataTType.Always);
+    listStatusTOptions.setStartAfter("foo");
+    listStatusTOptions.setBatchSize(10);
+    listStatusTOptions.setFileInfoDetail(FileInfoTDetail.BlockIds);
+    listStatusTOptions.setRecursive(true);
     ListStatusOptions options = new ListStatusOptions(listStatusTOptions);
     Assert.assertEquals(LoadMetadataType.Always, options.getLoadMetadataType());
+    Assert.assertEquals("foo", options.getStartAfter());
+    Assert.assertEquals(10, options.getBatchSize());
+    Assert.assertEquals(FileInfoDetail.BlockIds, options.getFileInfoDetail());
+    Assert.assertTrue(options.isRecursive());
   }
 
   @Test
@@ -12,10 +12,10 @@
 package alluxio.worker;
 
 import alluxio.Configuration;
-import alluxio.Constants;
 import alluxio.PropertyKey;
 import alluxio.RuntimeConstants;
 import alluxio.ServerUtils;
+import alluxio.ThriftServerUtils;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.sink.MetricsServlet;
 import alluxio.security.authentication.TransportProvider;
@@ -34,10 +34,8 @@ import com.google.common.base.Function;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import org.apache.thrift.TMultiplexedProcessor;
-import org.apache.thrift.TProcessor;
-import org.apache.thrift.protocol.TBinaryProtocol;
-import org.apache.thrift.server.TThreadPoolServer;
-import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.transport.TServerTransport;
 import org.apache.thrift.transport.TTransportException;
 import org.apache.thrift.transport.TTransportFactory;
 import org.slf4j.Logger;
@@ -47,7 +45,6 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -83,10 +80,10 @@ public final class DefaultAlluxioWorker implements AlluxioWorkerService {
   private TransportProvider mTransportProvider;
 
   /** Thread pool for thrift. */
-  private TThreadPoolServer mThriftServer;
+  private TServer mThriftServer;
 
   /** Server socket for thrift. */
-  private TServerSocket mThriftServerSocket;
+  private TServerTransport mThriftServerSocket;
 
   /** The address for the rpc server. */
   private InetSocketAddress mRpcAddress;
@@ -253,28 +250,24 @@ public final class DefaultAlluxioWorker implements AlluxioWorkerService {
     MetricsSystem.stopSinks();
   }
 
-  private void registerServices(TMultiplexedProcessor processor, Map<String, TProcessor> services) {
-    for (Map.Entry<String, TProcessor> service : services.entrySet()) {
-      processor.registerProcessor(service.getKey(), service.getValue());
-    }
-  }
-
   /**
-   * Helper method to create a {@link org.apache.thrift.server.TThreadPoolServer} for handling
-   * incoming RPC requests.
+   * Helper method to create a thrift server for handling incoming RPC requests.
    *
    * @return a thrift server
    */
-  private TThreadPoolServer createThriftServer() {
+  private TServer createThriftServer() {
     int minWorkerThreads = Configuration.getInt(PropertyKey.WORKER_BLOCK_THREADS_MIN);
     int maxWorkerThreads = Configuration.getInt(PropertyKey.WORKER_BLOCK_THREADS_MAX);
     TMultiplexedProcessor processor = new TMultiplexedProcessor();
 
-    registerServices(processor, mBlockWorker.getServices());
-    registerServices(processor, mFileSystemWorker.getServices());
+    ThriftServerUtils.registerServices(processor, mBlockWorker.getServices(),
+        MetricsSystem.WORKER_INSTANCE);
+    ThriftServerUtils.registerServices(processor, mFileSystemWorker.getServices(),
+        MetricsSystem.WORKER_INSTANCE);
     // register additional workers for RPC service
     for (Worker worker: mAdditionalWorkers) {
-      registerServices(processor, worker.getServices());
+      ThriftServerUtils.registerServices(processor, worker.getServices(),
+          MetricsSystem.WORKER_INSTANCE);
     }
 
     // Return a TTransportFactory based on the authentication type
@@ -284,26 +277,19 @@ public final class DefaultAlluxioWorker implements AlluxioWorkerService {
     } catch (IOException e) {
       throw Throwables.propagate(e);
     }
-    TThreadPoolServer.Args args = new TThreadPoolServer.Args(mThriftServerSocket)
-        .minWorkerThreads(minWorkerThreads).maxWorkerThreads(maxWorkerThreads).processor(processor)
-        .transportFactory(tTransportFactory)
-        .protocolFactory(new TBinaryProtocol.Factory(true, true));
-    if (Configuration.getBoolean(PropertyKey.TEST_MODE)) {
-      args.stopTimeoutVal = 0;
-    } else {
-      args.stopTimeoutVal = Constants.THRIFT_STOP_TIMEOUT_SECONDS;
-    }
-    return new TThreadPoolServer(args);
+    return ThriftServerUtils.createServer(mThriftServerSocket, processor, tTransportFactory,
+        minWorkerThreads, maxWorkerThreads, MetricsSystem.WORKER_INSTANCE);
   }
 
   /**
-   * Helper method to create a {@link org.apache.thrift.transport.TServerSocket} for the RPC server.
+   * Helper method to create a thrift server socket for the RPC server.
    *
    * @return a thrift server socket
    */
-  private TServerSocket createThriftServerSocket() {
+  private TServerTransport createThriftServerSocket() {
     try {
-      return new TServerSocket(NetworkAddressUtils.getBindAddress(ServiceType.WORKER_RPC));
+      return ThriftServerUtils.createServerSocket(
+          NetworkAddressUtils.getBindAddress(ServiceType.WORKER_RPC), 0);
     } catch (TTransportException e) {
       throw Throwables.propagate(e);
     }
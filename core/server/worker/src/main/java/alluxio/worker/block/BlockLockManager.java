@@ -20,16 +20,18 @@ import alluxio.resource.ResourcePool;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Throwables;
-import com.google.common.collect.Sets;
 import io.netty.util.internal.chmv8.ConcurrentHashMapV8;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -41,6 +43,10 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Handle all block locks.
+ *
+ * The block locks are striped by block id, and the lock records are kept in concurrent maps, so
+ * that locking different blocks does not contend on a shared lock. The lock ids of each session
+ * are kept in a per-session set, so cleaning up a session only visits its own locks.
  */
 @ThreadSafe
 public final class BlockLockManager {
@@ -52,6 +58,9 @@ public final class BlockLockManager {
   /** The unique id of each lock. */
   private static final AtomicLong LOCK_ID_GEN = new AtomicLong(0);
 
+  /** The number of stripes the block locks are partitioned into, a power of two. */
+  static final int NUM_STRIPES = 64;
+
  /** A pool of read write locks. */
   private final ResourcePool<ClientRWLock> mLockPool = new ResourcePool<ClientRWLock>(
       Configuration.getInt(PropertyKey.WORKER_TIERED_STORE_BLOCK_LOCKS)) {
@@ -64,27 +73,30 @@ public final class BlockLockManager {
     }
   };
 
-  /** A map from block id to the read write lock used to guard that block. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, ClientRWLock> mLocks = new HashMap<>();
-
-  /** A map from a session id to all the locks hold by this session. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, Set<Long>> mSessionIdToLockIdsMap = new HashMap<>();
-
-  /** A map from a lock id to the lock record of it. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, LockRecord> mLockIdToRecordMap = new HashMap<>();
+  /**
+   * The block locks, striped by block id. Each stripe maps from block id to the read write lock
+   * used to guard that block, and is guarded by its own monitor.
+   */
+  private final LockStripe[] mStripes = new LockStripe[NUM_STRIPES];
 
   /**
-   * To guard access to the maps maintained by this class.
+   * A map from a session id to all the locks hold by this session. Each set of lock ids is guarded
+   * by its own monitor, and is removed from the map once it becomes empty.
    */
-  private final Object mSharedMapsLock = new Object();
+  private final ConcurrentHashMap<Long, Set<Long>> mSessionIdToLockIdsMap =
+      new ConcurrentHashMap<>();
+
+  /** A map from a lock id to the lock record of it. */
+  private final ConcurrentHashMap<Long, LockRecord> mLockIdToRecordMap = new ConcurrentHashMap<>();
 
   /**
    * Constructs a new {@link BlockLockManager}.
    */
-  public BlockLockManager() {}
+  public BlockLockManager() {
+    for (int i = 0; i < NUM_STRIPES; i++) {
+      mStripes[i] = new LockStripe();
+    }
+  }
 
   /**
    * Locks a block. Note that even if this block does not exist, a lock id is still returned.
@@ -106,6 +118,7 @@ public final class BlockLockManager {
     } else {
       // Make sure the session isn't already holding the block lock.
       if (sessionHoldsLock(sessionId, blockId)) {
+        releaseBlockLockIfUnused(blockId);
         throw new IllegalStateException(String
             .format("Session %s attempted to take a write lock on block %s, but the session already"
                 + " holds a lock on the block", sessionId, blockId));
@@ -115,15 +128,8 @@ public final class BlockLockManager {
     lock.lock();
     try {
       long lockId = LOCK_ID_GEN.getAndIncrement();
-      synchronized (mSharedMapsLock) {
-        mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
-        Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-        if (sessionLockIds == null) {
-          mSessionIdToLockIdsMap.put(sessionId, Sets.newHashSet(lockId));
-        } else {
-          sessionLockIds.add(lockId);
-        }
-      }
+      mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
+      addSessionLockId(sessionId, lockId);
       return lockId;
     } catch (RuntimeException e) {
       // If an unexpected exception occurs, we should release the lock to be conservative.
@@ -138,14 +144,14 @@ public final class BlockLockManager {
    * @return whether the specified session holds a lock on the specified block
    */
   private boolean sessionHoldsLock(long sessionId, long blockId) {
-    synchronized (mSharedMapsLock) {
-      Set<Long> sessionLocks = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLocks == null) {
-        return false;
-      }
-      for (Long lockId : sessionLocks) {
+    Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLockIds == null) {
+      return false;
+    }
+    synchronized (sessionLockIds) {
+      for (Long lockId : sessionLockIds) {
         LockRecord lockRecord = mLockIdToRecordMap.get(lockId);
-        if (lockRecord.getBlockId() == blockId) {
+        if (lockRecord != null && lockRecord.getBlockId() == blockId) {
           return true;
         }
       }
@@ -153,6 +159,78 @@ public final class BlockLockManager {
     }
   }
 
+  /**
+   * Records that a session holds a lock.
+   *
+   * @param sessionId the session id
+   * @param lockId the lock id
+   */
+  private void addSessionLockId(long sessionId, long lockId) {
+    while (true) {
+      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+      if (sessionLockIds == null) {
+        Set<Long> newLockIds = new HashSet<>();
+        sessionLockIds = mSessionIdToLockIdsMap.putIfAbsent(sessionId, newLockIds);
+        if (sessionLockIds == null) {
+          sessionLockIds = newLockIds;
+        }
+      }
+      synchronized (sessionLockIds) {
+        // The set may have been removed from the map after becoming empty, so check that it is
+        // still the registered one.
+        if (mSessionIdToLockIdsMap.get(sessionId) == sessionLockIds) {
+          sessionLockIds.add(lockId);
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes a lock from the locks held by a session.
+   *
+   * @param sessionId the session id
+   * @param lockId the lock id
+   */
+  private void removeSessionLockId(long sessionId, long lockId) {
+    Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLockIds == null) {
+      return;
+    }
+    synchronized (sessionLockIds) {
+      sessionLockIds.remove(lockId);
+      if (sessionLockIds.isEmpty()) {
+        mSessionIdToLockIdsMap.remove(sessionId, sessionLockIds);
+      }
+    }
+  }
+
+  /**
+   * @param blockId the block id
+   * @return the stripe holding the block lock for the block id
+   */
+  private LockStripe getStripe(long blockId) {
+    return mStripes[getStripeIndex(blockId)];
+  }
+
+  /**
+   * Block ids are the container id followed by a sequence number in the low bits, so the blocks at
+   * the same position of different files share their low bits. The bits are mixed with the
+   * finalizer of MurmurHash3 before they are masked, so that such blocks spread over the stripes.
+   *
+   * @param blockId the block id
+   * @return the index of the stripe holding the block lock for the block id
+   */
+  static int getStripeIndex(long blockId) {
+    long hash = blockId;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return (int) (hash & (NUM_STRIPES - 1));
+  }
+
   /**
    * Returns the block lock for the given block id, acquiring such a lock if it doesn't exist yet.
    *
@@ -162,13 +240,14 @@ public final class BlockLockManager {
    * @return the block lock
    */
   private ClientRWLock getBlockLock(long blockId) {
-    // Loop until we either find the block lock in the mLocks map, or successfully acquire a new
+    LockStripe stripe = getStripe(blockId);
+    // Loop until we either find the block lock in the stripe, or successfully acquire a new
     // block lock from the lock pool.
     while (true) {
       ClientRWLock blockLock;
       // Check whether a lock has already been allocated for the block id.
-      synchronized (mSharedMapsLock) {
-        blockLock = mLocks.get(blockId);
+      synchronized (stripe) {
+        blockLock = stripe.mLocks.get(blockId);
         if (blockLock != null) {
           blockLock.addReference();
           return blockLock;
@@ -180,13 +259,13 @@ public final class BlockLockManager {
       // allocated to another thread, in which case we could just use that lock.
       blockLock = mLockPool.acquire(1, TimeUnit.SECONDS);
       if (blockLock != null) {
-        synchronized (mSharedMapsLock) {
+        synchronized (stripe) {
           // Check if someone else acquired a block lock for blockId while we were acquiring one.
-          if (mLocks.containsKey(blockId)) {
+          if (stripe.mLocks.containsKey(blockId)) {
             mLockPool.release(blockLock);
-            blockLock = mLocks.get(blockId);
+            blockLock = stripe.mLocks.get(blockId);
           } else {
-            mLocks.put(blockId, blockLock);
+            stripe.mLocks.put(blockId, blockLock);
           }
           blockLock.addReference();
           return blockLock;
@@ -202,23 +281,13 @@ public final class BlockLockManager {
    * @return whether the lock corresponding the lock ID has been successfully unlocked
    */
   public boolean unlockBlockNoException(long lockId) {
-    Lock lock;
-    LockRecord record;
-    synchronized (mSharedMapsLock) {
-      record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        return false;
-      }
-      long sessionId = record.getSessionId();
-      lock = record.getLock();
-      mLockIdToRecordMap.remove(lockId);
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      sessionLockIds.remove(lockId);
-      if (sessionLockIds.isEmpty()) {
-        mSessionIdToLockIdsMap.remove(sessionId);
-      }
+    // Removing the record claims the lock, so that it is only unlocked once.
+    LockRecord record = mLockIdToRecordMap.remove(lockId);
+    if (record == null) {
+      return false;
     }
-    unlock(lock, record.getBlockId());
+    removeSessionLockId(record.getSessionId(), lockId);
+    unlock(record.getLock(), record.getBlockId());
     return true;
   }
 
@@ -244,30 +313,21 @@ public final class BlockLockManager {
    */
   // TODO(bin): Temporary, remove me later.
   public boolean unlockBlock(long sessionId, long blockId) {
-    synchronized (mSharedMapsLock) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        return false;
-      }
+    Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLockIds == null) {
+      return false;
+    }
+    long lockIdToUnlock = INVALID_LOCK_ID;
+    synchronized (sessionLockIds) {
       for (long lockId : sessionLockIds) {
         LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          // TODO(peis): Should this be a check failure?
-          return false;
-        }
-        if (blockId == record.getBlockId()) {
-          mLockIdToRecordMap.remove(lockId);
-          sessionLockIds.remove(lockId);
-          if (sessionLockIds.isEmpty()) {
-            mSessionIdToLockIdsMap.remove(sessionId);
-          }
-          Lock lock = record.getLock();
-          unlock(lock, blockId);
-          return true;
+        if (record != null && blockId == record.getBlockId()) {
+          lockIdToUnlock = lockId;
+          break;
         }
       }
-      return false;
     }
+    return lockIdToUnlock != INVALID_LOCK_ID && unlockBlockNoException(lockIdToUnlock);
   }
 
   /**
@@ -282,45 +342,43 @@ public final class BlockLockManager {
    */
   public void validateLock(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException {
-    synchronized (mSharedMapsLock) {
-      LockRecord record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
-            lockId);
-      }
-      if (sessionId != record.getSessionId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
-            lockId, record.getSessionId(), sessionId);
-      }
-      if (blockId != record.getBlockId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
-            record.getBlockId(), blockId);
-      }
+    LockRecord record = mLockIdToRecordMap.get(lockId);
+    if (record == null) {
+      throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
+          lockId);
+    }
+    if (sessionId != record.getSessionId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
+          lockId, record.getSessionId(), sessionId);
+    }
+    if (blockId != record.getBlockId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
+          record.getBlockId(), blockId);
     }
   }
 
   /**
-   * Cleans up the locks currently hold by a specific session.
+   * Cleans up the locks currently hold by a specific session. Only the locks of this session are
+   * visited.
    *
    * @param sessionId the id of the session to cleanup
    */
   public void cleanupSession(long sessionId) {
-    synchronized (mSharedMapsLock) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        return;
-      }
-      for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          LOG.error(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
-          continue;
-        }
-        Lock lock = record.getLock();
-        unlock(lock, record.getBlockId());
-        mLockIdToRecordMap.remove(lockId);
+    Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLockIds == null) {
+      return;
+    }
+    List<Long> lockIds;
+    synchronized (sessionLockIds) {
+      lockIds = new ArrayList<>(sessionLockIds);
+      mSessionIdToLockIdsMap.remove(sessionId, sessionLockIds);
+    }
+    for (long lockId : lockIds) {
+      // The lock may have been unlocked concurrently, in which case there is no record anymore.
+      LockRecord record = mLockIdToRecordMap.remove(lockId);
+      if (record != null) {
+        unlock(record.getLock(), record.getBlockId());
       }
-      mSessionIdToLockIdsMap.remove(sessionId);
     }
   }
 
@@ -330,13 +388,11 @@ public final class BlockLockManager {
    * @return a set of locked blocks
    */
   public Set<Long> getLockedBlocks() {
-    synchronized (mSharedMapsLock) {
-      Set<Long> set = new HashSet<>();
-      for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
-        set.add(lockRecord.getBlockId());
-      }
-      return set;
+    Set<Long> set = new HashSet<>();
+    for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
+      set.add(lockRecord.getBlockId());
     }
+    return set;
   }
 
   /**
@@ -358,15 +414,16 @@ public final class BlockLockManager {
    * @param blockId the block id for which to potentially release the block lock
    */
   private void releaseBlockLockIfUnused(long blockId) {
-    synchronized (mSharedMapsLock) {
-      ClientRWLock lock = mLocks.get(blockId);
+    LockStripe stripe = getStripe(blockId);
+    synchronized (stripe) {
+      ClientRWLock lock = stripe.mLocks.get(blockId);
       if (lock == null) {
         // Someone else probably released the block lock already.
         return;
       }
       // If we were the last worker with a reference to the lock, clean it up.
       if (lock.dropReference() == 0) {
-        mLocks.remove(blockId);
+        stripe.mLocks.remove(blockId);
         mLockPool.release(lock);
       }
     }
@@ -379,29 +436,33 @@ public final class BlockLockManager {
    * state is encountered.
    */
   public void validate() {
-    synchronized (mSharedMapsLock) {
-      // Compute block lock reference counts based off of lock records
-      ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMapV8<>();
-      for (LockRecord record : mLockIdToRecordMap.values()) {
-        blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
-        blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
-      }
+    // Compute block lock reference counts based off of lock records
+    ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMapV8<>();
+    for (LockRecord record : mLockIdToRecordMap.values()) {
+      blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
+      blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
+    }
 
-      // Check that the reference count for each block lock matches the lock record counts.
-      for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
-        long blockId = entry.getKey();
-        ClientRWLock lock = entry.getValue();
-        Integer recordCount = blockLockReferenceCounts.get(blockId).get();
-        Integer referenceCount = lock.getReferenceCount();
-        if (!Objects.equal(recordCount, referenceCount)) {
-          throw new IllegalStateException("There are " + recordCount + " lock records for block"
-              + " id " + blockId + ", but the reference count is " + referenceCount);
+    // Check that the reference count for each block lock matches the lock record counts.
+    for (LockStripe stripe : mStripes) {
+      synchronized (stripe) {
+        for (Entry<Long, ClientRWLock> entry : stripe.mLocks.entrySet()) {
+          long blockId = entry.getKey();
+          ClientRWLock lock = entry.getValue();
+          Integer recordCount = blockLockReferenceCounts.get(blockId).get();
+          Integer referenceCount = lock.getReferenceCount();
+          if (!Objects.equal(recordCount, referenceCount)) {
+            throw new IllegalStateException("There are " + recordCount + " lock records for block"
+                + " id " + blockId + ", but the reference count is " + referenceCount);
+          }
         }
       }
+    }
 
-      // Check that if a lock id is mapped to by a session id, the lock record for that lock id
-      // contains that session id.
-      for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
+    // Check that if a lock id is mapped to by a session id, the lock record for that lock id
+    // contains that session id.
+    for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
+      synchronized (entry.getValue()) {
         for (Long lockId : entry.getValue()) {
           LockRecord record = mLockIdToRecordMap.get(lockId);
           if (record.getSessionId() != entry.getKey()) {
@@ -414,6 +475,20 @@ public final class BlockLockManager {
     }
   }
 
+  /**
+   * A partition of the block locks.
+   */
+  private static final class LockStripe {
+    /** A map from block id to the read write lock used to guard that block. */
+    @GuardedBy("this")
+    private final Map<Long, ClientRWLock> mLocks = new HashMap<>();
+
+    /**
+     * Creates a new instance of {@link LockStripe}.
+     */
+    LockStripe() {}
+  }
+
   /**
    * Inner class to keep record of a lock.
    */
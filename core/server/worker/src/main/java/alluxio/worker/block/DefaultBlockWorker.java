@@ -102,6 +102,9 @@ public final class DefaultBlockWorker extends AbstractWorker implements BlockWor
   /** The under file system block store. */
   private final UnderFileSystemBlockStore mUnderFileSystemBlockStore;
 
+  /** The cache of idle UFS input streams used by UFS block reads. */
+  private final UfsInputStreamCache mUfsInstreamCache;
+
   /**
    * The worker ID for this worker. This is initialized in {@link #init(WorkerNetAddress)} and may
    * be updated by the block sync thread if the master requests re-registration.
@@ -147,7 +150,8 @@ public final class DefaultBlockWorker extends AbstractWorker implements BlockWor
     mBlockStore.registerBlockStoreEventListener(mHeartbeatReporter);
     mBlockStore.registerBlockStoreEventListener(mMetricsReporter);
 
-    mUnderFileSystemBlockStore = new UnderFileSystemBlockStore(mBlockStore);
+    mUfsInstreamCache = new UfsInputStreamCache();
+    mUnderFileSystemBlockStore = new UnderFileSystemBlockStore(mBlockStore, mUfsInstreamCache);
     Metrics.registerGauges(this);
   }
 
@@ -228,6 +232,11 @@ public final class DefaultBlockWorker extends AbstractWorker implements BlockWor
         .submit(new HeartbeatThread(HeartbeatContext.WORKER_PIN_LIST_SYNC, mPinListSync,
             Configuration.getInt(PropertyKey.WORKER_BLOCK_HEARTBEAT_INTERVAL_MS)));
 
+    // Start the UFS input stream cache to close idle streams periodically
+    getExecutorService()
+        .submit(new HeartbeatThread(HeartbeatContext.WORKER_UFS_INSTREAM_CACHE, mUfsInstreamCache,
+            (int) mUfsInstreamCache.getHeartbeatIntervalMs()));
+
     // Start the session cleanup checker to perform the periodical checking
     getExecutorService().submit(mSessionCleaner);
   }
@@ -450,22 +459,40 @@ public final class DefaultBlockWorker extends AbstractWorker implements BlockWor
   public void closeUfsBlock(long sessionId, long blockId)
       throws BlockAlreadyExistsException, IOException, WorkerOutOfSpaceException {
     mUnderFileSystemBlockStore.closeReaderOrWriter(sessionId, blockId);
-    if (mBlockStore.getTempBlockMeta(sessionId, blockId) != null) {
-      try {
-        commitBlock(sessionId, blockId);
-      } catch (BlockDoesNotExistException e) {
-        // This can only happen if the session is expired. Ignore this exception if that happens.
-        LOG.warn("Block {} does not exist while being committed.", blockId);
-      } catch (InvalidWorkerStateException e) {
-        // This can happen if there are multiple sessions writing to the same block.
-        // BlockStore#getTempBlockMeta does not check whether the temp block belongs to
-        // the sessionId.
-        LOG.debug("Invalid worker state while committing block.", e);
+    if (mUnderFileSystemBlockStore.removeFetchedBlock(blockId)) {
+      // The block has been fully fetched by the readers sharing a UFS block fetch.
+      commitUfsBlock(Sessions.UFS_FETCH_SESSION_ID, blockId);
+    } else {
+      TempBlockMeta tempBlockMeta = mBlockStore.getTempBlockMeta(sessionId, blockId);
+      if (tempBlockMeta != null && tempBlockMeta.getSessionId() == sessionId) {
+        commitUfsBlock(sessionId, blockId);
       }
     }
     mUnderFileSystemBlockStore.releaseAccess(sessionId, blockId);
   }
 
+  /**
+   * Commits a block cached from the UFS.
+   *
+   * @param sessionId the ID of the session which owns the temp block
+   * @param blockId the block ID
+   * @throws BlockAlreadyExistsException if the block already exists
+   * @throws IOException if an I/O error occurs
+   * @throws WorkerOutOfSpaceException if there is no more space left to hold the block
+   */
+  private void commitUfsBlock(long sessionId, long blockId)
+      throws BlockAlreadyExistsException, IOException, WorkerOutOfSpaceException {
+    try {
+      commitBlock(sessionId, blockId);
+    } catch (BlockDoesNotExistException e) {
+      // This can only happen if the session is expired. Ignore this exception if that happens.
+      LOG.warn("Block {} does not exist while being committed.", blockId);
+    } catch (InvalidWorkerStateException e) {
+      // This can happen if there are multiple sessions writing to the same block.
+      LOG.debug("Invalid worker state while committing block.", e);
+    }
+  }
+
   /**
    * This class contains some metrics related to the block worker.
    * This class is public because the metric names are referenced in
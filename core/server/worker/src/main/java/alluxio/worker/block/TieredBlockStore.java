@@ -21,7 +21,9 @@ import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.WorkerOutOfSpaceException;
+import alluxio.metrics.MetricsSystem;
 import alluxio.resource.LockResource;
+import alluxio.resource.TimedLockResource;
 import alluxio.util.io.FileUtils;
 import alluxio.worker.block.allocator.Allocator;
 import alluxio.worker.block.evictor.BlockTransferInfo;
@@ -32,9 +34,12 @@ import alluxio.worker.block.io.BlockWriter;
 import alluxio.worker.block.io.LocalFileBlockReader;
 import alluxio.worker.block.io.LocalFileBlockWriter;
 import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.StorageDir;
 import alluxio.worker.block.meta.StorageDirView;
+import alluxio.worker.block.meta.StorageTier;
 import alluxio.worker.block.meta.TempBlockMeta;
 
+import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import org.slf4j.Logger;
@@ -50,7 +55,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -71,7 +78,14 @@ import javax.annotation.concurrent.NotThreadSafe;
  * <li>Any metadata operation (read or write) must go through {@link TieredBlockStore#mMetaManager}
  * and guarded by {@link TieredBlockStore#mMetadataLock}. This is also a read/write lock and
  * coordinates different threads (clients) when accessing the shared data structure for metadata.
- * </li>
+ * Its write lock is only held by the operations which need a stable view of all the dirs, i.e.
+ * allocating space and planning evictions. The time spent waiting for and holding this lock is
+ * sampled in the worker metrics. Heavy I/O must not be done while holding it.</li>
+ * <li>Any update to the blocks of a {@link StorageDir} done while holding the read lock of
+ * {@link TieredBlockStore#mMetadataLock} must also hold the lock of the dir in
+ * {@link TieredBlockStore#mDirLocks}, so that the commits, moves and removals in different dirs do
+ * not block each other, nor block the reads. The locks of two dirs are acquired in the order of
+ * the dirs in the store.</li>
  * <li>Method {@link #createBlock} does not acquire the block lock, because it only creates a
  * temp block which is only visible to its writer before committed (thus no concurrent access).</li>
  * <li>Method {@link #abortBlock(long, long)} does not acquire the block lock, because only
@@ -107,6 +121,9 @@ public final class TieredBlockStore implements BlockStore {
   /** WriteLock provided by {@link #mMetadataLock} to guard metadata write operations. */
   private final Lock mMetadataWriteLock = mMetadataLock.writeLock();
 
+  /** Locks to guard the updates of the blocks of each dir, see the class documentation. */
+  private final Map<StorageDir, Lock> mDirLocks;
+
   /** Association between storage tier aliases and ordinals. */
   private final StorageTierAssoc mStorageTierAssoc;
 
@@ -117,6 +134,14 @@ public final class TieredBlockStore implements BlockStore {
     mMetaManager = BlockMetadataManager.createBlockMetadataManager();
     mLockManager = new BlockLockManager();
 
+    Map<StorageDir, Lock> dirLocks = new HashMap<>();
+    for (StorageTier tier : mMetaManager.getTiers()) {
+      for (StorageDir dir : tier.getStorageDirs()) {
+        dirLocks.put(dir, new ReentrantLock());
+      }
+    }
+    mDirLocks = Collections.unmodifiableMap(dirLocks);
+
     BlockMetadataManagerView initManagerView = new BlockMetadataManagerView(mMetaManager,
         Collections.<Long>emptySet(), Collections.<Long>emptySet());
     mAllocator = Allocator.Factory.create(initManagerView);
@@ -138,7 +163,7 @@ public final class TieredBlockStore implements BlockStore {
   public long lockBlock(long sessionId, long blockId) throws BlockDoesNotExistException {
     long lockId = mLockManager.lockBlock(sessionId, blockId, BlockLockType.READ);
     boolean hasBlock;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
       hasBlock = mMetaManager.hasBlockMeta(blockId);
     }
     if (hasBlock) {
@@ -153,7 +178,7 @@ public final class TieredBlockStore implements BlockStore {
   public long lockBlockNoException(long sessionId, long blockId) {
     long lockId = mLockManager.lockBlock(sessionId, blockId, BlockLockType.READ);
     boolean hasBlock;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
       hasBlock = mMetaManager.hasBlockMeta(blockId);
     }
     if (hasBlock) {
@@ -181,7 +206,7 @@ public final class TieredBlockStore implements BlockStore {
     // NOTE: a temp block is supposed to only be visible by its own writer, unnecessary to acquire
     // block lock here since no sharing
     // TODO(bin): Handle the case where multiple writers compete for the same block.
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
       checkTempBlockOwnedBySession(sessionId, blockId);
       TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
       return new LocalFileBlockWriter(tempBlockMeta.getPath());
@@ -192,7 +217,7 @@ public final class TieredBlockStore implements BlockStore {
   public BlockReader getBlockReader(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException, IOException {
     mLockManager.validateLock(sessionId, blockId, lockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
       BlockMeta blockMeta = mMetaManager.getBlockMeta(blockId);
       return new LocalFileBlockReader(blockMeta.getPath());
     }
@@ -225,7 +250,12 @@ public final class TieredBlockStore implements BlockStore {
   // TODO(bin): Make this method to return a snapshot.
   @Override
   public BlockMeta getVolatileBlockMeta(long blockId) throws BlockDoesNotExistException {
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
+      return mMetaManager.getBlockMeta(blockId);
+    } catch (BlockDoesNotExistException e) {
+      // The block may be being moved, see hasBlockMetaInternal
+    }
+    try (LockResource r = lockMetadataWrite()) {
       return mMetaManager.getBlockMeta(blockId);
     }
   }
@@ -234,14 +264,14 @@ public final class TieredBlockStore implements BlockStore {
   public BlockMeta getBlockMeta(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException {
     mLockManager.validateLock(sessionId, blockId, lockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
       return mMetaManager.getBlockMeta(blockId);
     }
   }
 
   @Override
   public TempBlockMeta getTempBlockMeta(long sessionId, long blockId) {
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
       return mMetaManager.getTempBlockMetaOrNull(blockId);
     }
   }
@@ -335,11 +365,7 @@ public final class TieredBlockStore implements BlockStore {
 
   @Override
   public void accessBlock(long sessionId, long blockId) throws BlockDoesNotExistException {
-    boolean hasBlock;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      hasBlock = mMetaManager.hasBlockMeta(blockId);
-    }
-    if (!hasBlock) {
+    if (!hasBlockMetaInternal(blockId)) {
       throw new BlockDoesNotExistException(ExceptionMessage.NO_BLOCK_ID_FOUND, blockId);
     }
     synchronized (mBlockStoreEventListeners) {
@@ -363,7 +389,7 @@ public final class TieredBlockStore implements BlockStore {
 
     // Collect a list of temp blocks the given session owns and abort all of them with best effort
     List<TempBlockMeta> tempBlocksToRemove;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
       tempBlocksToRemove = mMetaManager.getSessionTempBlocks(sessionId);
     }
     for (TempBlockMeta tempBlockMeta : tempBlocksToRemove) {
@@ -380,15 +406,13 @@ public final class TieredBlockStore implements BlockStore {
 
   @Override
   public boolean hasBlockMeta(long blockId) {
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.hasBlockMeta(blockId);
-    }
+    return hasBlockMetaInternal(blockId);
   }
 
   @Override
   public BlockStoreMeta getBlockStoreMeta() {
     BlockStoreMeta storeMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
       storeMeta = mMetaManager.getBlockStoreMeta();
     }
     return storeMeta;
@@ -397,7 +421,7 @@ public final class TieredBlockStore implements BlockStore {
   @Override
   public BlockStoreMeta getBlockStoreMetaFull() {
     BlockStoreMeta storeMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
       storeMeta = mMetaManager.getBlockStoreMetaFull();
     }
     return storeMeta;
@@ -410,6 +434,26 @@ public final class TieredBlockStore implements BlockStore {
     }
   }
 
+  /**
+   * Checks if the store has a committed block, without holding the block lock. The block lock
+   * keeps a block from being moved, so without it the block may be missing from both its source
+   * and its destination dir while its move is being committed. A block which is not found is thus
+   * looked up again while holding the write lock of {@link #mMetadataLock}.
+   *
+   * @param blockId the id of block
+   * @return true if the block is contained, false otherwise
+   */
+  private boolean hasBlockMetaInternal(long blockId) {
+    try (LockResource r = lockMetadataRead()) {
+      if (mMetaManager.hasBlockMeta(blockId)) {
+        return true;
+      }
+    }
+    try (LockResource r = lockMetadataWrite()) {
+      return mMetaManager.hasBlockMeta(blockId);
+    }
+  }
+
   /**
    * Checks if a block id is available for a new temp block. This method must be enclosed by
    * {@link #mMetadataLock}.
@@ -464,7 +508,7 @@ public final class TieredBlockStore implements BlockStore {
 
     String path;
     TempBlockMeta tempBlockMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockMetadataRead()) {
       checkTempBlockOwnedBySession(sessionId, blockId);
       tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
       path = tempBlockMeta.getPath();
@@ -474,7 +518,8 @@ public final class TieredBlockStore implements BlockStore {
     // we do not lock it.
     Files.delete(Paths.get(path));
 
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = lockMetadataRead();
+        LockResource d = lockDir(tempBlockMeta.getParentDir())) {
       mMetaManager.abortTempBlockMeta(tempBlockMeta);
     } catch (BlockDoesNotExistException e) {
       throw Throwables.propagate(e); // We shall never reach here
@@ -504,7 +549,7 @@ public final class TieredBlockStore implements BlockStore {
       String srcPath;
       String dstPath;
       TempBlockMeta tempBlockMeta;
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
+      try (LockResource r = lockMetadataRead()) {
         checkTempBlockOwnedBySession(sessionId, blockId);
         tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
         srcPath = tempBlockMeta.getPath();
@@ -515,7 +560,8 @@ public final class TieredBlockStore implements BlockStore {
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
       FileUtils.move(srcPath, dstPath);
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try (LockResource r = lockMetadataRead();
+          LockResource d = lockDir(tempBlockMeta.getParentDir())) {
         mMetaManager.commitTempBlockMeta(tempBlockMeta);
       } catch (BlockAlreadyExistsException | BlockDoesNotExistException
           | WorkerOutOfSpaceException e) {
@@ -545,7 +591,7 @@ public final class TieredBlockStore implements BlockStore {
           throws BlockAlreadyExistsException {
     // NOTE: a temp block is supposed to be visible for its own writer, unnecessary to acquire
     // block lock here since no sharing
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = lockMetadataWrite()) {
       if (newBlock) {
         checkTempBlockIdAvailable(blockId);
       }
@@ -586,19 +632,21 @@ public final class TieredBlockStore implements BlockStore {
       throws BlockDoesNotExistException {
     // NOTE: a temp block is supposed to be visible for its own writer, unnecessary to acquire
     // block lock here since no sharing
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = lockMetadataRead()) {
       TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-      if (tempBlockMeta.getParentDir().getAvailableBytes() < additionalBytes) {
-        return new Pair<>(false, tempBlockMeta.getBlockLocation());
-      }
-      // Increase the size of this temp block
-      try {
-        mMetaManager.resizeTempBlockMeta(tempBlockMeta,
-            tempBlockMeta.getBlockSize() + additionalBytes);
-      } catch (InvalidWorkerStateException e) {
-        throw Throwables.propagate(e); // we shall never reach here
+      try (LockResource d = lockDir(tempBlockMeta.getParentDir())) {
+        if (tempBlockMeta.getParentDir().getAvailableBytes() < additionalBytes) {
+          return new Pair<>(false, tempBlockMeta.getBlockLocation());
+        }
+        // Increase the size of this temp block
+        try {
+          mMetaManager.resizeTempBlockMeta(tempBlockMeta,
+              tempBlockMeta.getBlockSize() + additionalBytes);
+        } catch (InvalidWorkerStateException e) {
+          throw Throwables.propagate(e); // we shall never reach here
+        }
+        return new Pair<>(true, null);
       }
-      return new Pair<>(true, null);
     }
   }
 
@@ -615,7 +663,8 @@ public final class TieredBlockStore implements BlockStore {
   private void freeSpaceInternal(long sessionId, long availableBytes, BlockStoreLocation location)
       throws WorkerOutOfSpaceException, IOException {
     EvictionPlan plan;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    // The plan needs a stable view of all the dirs, the blocks are then evicted dir by dir
+    try (LockResource r = lockMetadataWrite()) {
       plan = mEvictor.freeSpaceWithView(availableBytes, location, getUpdatedView());
       // Absent plan means failed to evict enough space.
       if (plan == null) {
@@ -728,7 +777,7 @@ public final class TieredBlockStore implements BlockStore {
       BlockStoreLocation srcLocation;
       BlockStoreLocation dstLocation;
 
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
+      try (LockResource r = lockMetadataRead()) {
         if (mMetaManager.hasTempBlockMeta(blockId)) {
           throw new InvalidWorkerStateException(ExceptionMessage.MOVE_UNCOMMITTED_BLOCK, blockId);
         }
@@ -756,7 +805,10 @@ public final class TieredBlockStore implements BlockStore {
       // When the dstLocation belongs to srcLocation, simply abort the tempBlockMeta just created
       // internally from the newLocation and return success with specific block location.
       if (dstLocation.belongsTo(srcLocation)) {
-        mMetaManager.abortTempBlockMeta(dstTempBlock);
+        try (LockResource r = lockMetadataRead();
+            LockResource d = lockDir(dstTempBlock.getParentDir())) {
+          mMetaManager.abortTempBlockMeta(dstTempBlock);
+        }
         return new MoveBlockResult(true, blockSize, srcLocation, dstLocation);
       }
       dstFilePath = dstTempBlock.getCommitPath();
@@ -764,7 +816,12 @@ public final class TieredBlockStore implements BlockStore {
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
       FileUtils.move(srcFilePath, dstFilePath);
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      StorageDir srcDir = srcBlockMeta.getParentDir();
+      StorageDir dstDir = dstTempBlock.getParentDir();
+      boolean srcDirFirst = isBefore(srcDir, dstDir);
+      try (LockResource r = lockMetadataRead();
+          LockResource d1 = lockDir(srcDirFirst ? srcDir : dstDir);
+          LockResource d2 = lockDir(srcDirFirst ? dstDir : srcDir)) {
         // If this metadata update fails, we panic for now.
         // TODO(bin): Implement rollback scheme to recover from IO failures.
         mMetaManager.moveBlockMeta(srcBlockMeta, dstTempBlock);
@@ -797,7 +854,7 @@ public final class TieredBlockStore implements BlockStore {
     try {
       String filePath;
       BlockMeta blockMeta;
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
+      try (LockResource r = lockMetadataRead()) {
         if (mMetaManager.hasTempBlockMeta(blockId)) {
           throw new InvalidWorkerStateException(ExceptionMessage.REMOVE_UNCOMMITTED_BLOCK, blockId);
         }
@@ -812,7 +869,8 @@ public final class TieredBlockStore implements BlockStore {
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
       Files.delete(Paths.get(filePath));
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try (LockResource r = lockMetadataRead();
+          LockResource d = lockDir(blockMeta.getParentDir())) {
         mMetaManager.removeBlockMeta(blockMeta);
       } catch (BlockDoesNotExistException e) {
         throw Throwables.propagate(e); // we shall never reach here
@@ -822,6 +880,50 @@ public final class TieredBlockStore implements BlockStore {
     }
   }
 
+  /**
+   * @return a resource holding the read lock of the metadata, timed for a sample of the calls
+   */
+  private LockResource lockMetadataRead() {
+    if (Metrics.sample()) {
+      return new TimedLockResource(mMetadataReadLock, Metrics.METADATA_READ_LOCK_WAIT,
+          Metrics.METADATA_READ_LOCK_HOLD);
+    }
+    return new LockResource(mMetadataReadLock);
+  }
+
+  /**
+   * @return a resource holding the write lock of the metadata, timed for a sample of the calls
+   */
+  private LockResource lockMetadataWrite() {
+    if (Metrics.sample()) {
+      return new TimedLockResource(mMetadataWriteLock, Metrics.METADATA_WRITE_LOCK_WAIT,
+          Metrics.METADATA_WRITE_LOCK_HOLD);
+    }
+    return new LockResource(mMetadataWriteLock);
+  }
+
+  /**
+   * @param dir a dir of the store
+   * @return a resource holding the lock of the dir
+   */
+  private LockResource lockDir(StorageDir dir) {
+    return new LockResource(mDirLocks.get(dir));
+  }
+
+  /**
+   * @param dir a dir of the store
+   * @param otherDir another dir of the store
+   * @return whether the lock of the dir must be acquired before the lock of the other dir
+   */
+  private static boolean isBefore(StorageDir dir, StorageDir otherDir) {
+    int tierOrdinal = dir.getParentTier().getTierOrdinal();
+    int otherTierOrdinal = otherDir.getParentTier().getTierOrdinal();
+    if (tierOrdinal != otherTierOrdinal) {
+      return tierOrdinal < otherTierOrdinal;
+    }
+    return dir.getDirIndex() < otherDir.getDirIndex();
+  }
+
   /**
    * Creates a file to represent a block denoted by the given block path. This file will be owned
    * by the Alluxio worker but have 777 permissions so processes under users different from the
@@ -909,4 +1011,31 @@ public final class TieredBlockStore implements BlockStore {
       return mDstLocation;
     }
   }
+
+  /**
+   * Class that contains metrics about the contention on the metadata lock. Only one in
+   * {@link #SAMPLE_INTERVAL} lock acquisitions is timed, to keep the timers and clock reads off
+   * most metadata operations, so the counts of the timers are a sample of the acquisitions.
+   */
+  private static final class Metrics {
+    /** Time one in this many metadata lock acquisitions. */
+    private static final int SAMPLE_INTERVAL = 64;
+    private static final Timer METADATA_READ_LOCK_HOLD =
+        MetricsSystem.workerTimer("BlockMetadataReadLockHold");
+    private static final Timer METADATA_READ_LOCK_WAIT =
+        MetricsSystem.workerTimer("BlockMetadataReadLockWait");
+    private static final Timer METADATA_WRITE_LOCK_HOLD =
+        MetricsSystem.workerTimer("BlockMetadataWriteLockHold");
+    private static final Timer METADATA_WRITE_LOCK_WAIT =
+        MetricsSystem.workerTimer("BlockMetadataWriteLockWait");
+
+    /**
+     * @return whether to time the current lock acquisition
+     */
+    private static boolean sample() {
+      return ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) == 0;
+    }
+
+    private Metrics() {} // prevent instantiation
+  }
 }
@@ -0,0 +1,433 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.heartbeat.HeartbeatExecutor;
+import alluxio.metrics.MetricsSystem;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.OpenOptions;
+import alluxio.util.CommonUtils;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.google.common.base.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pool of open UFS input streams which are idle, so that reads of a UFS file at a later position
+ * reuse an open stream instead of opening a new one. For object stores, opening a stream sends a
+ * new request, so random reads which miss the Alluxio cache otherwise pay the request setup on
+ * every seek.
+ *
+ * A stream is reused if the position to read is at most a configured number of bytes ahead of
+ * the position of the stream, in which case the bytes in between are read and dropped. Reading
+ * rather than skipping keeps the connection of object store clients, whose skip may abort the
+ * request and send a new one, and checks that the connection still works. Every idle stream
+ * holds a connection of the UFS client, so the number of idle streams of each UFS is capped, and
+ * streams which stay idle for longer than the expiration time are closed by {@link #heartbeat()}.
+ *
+ * An idle stream may still have been closed by the UFS in the meantime, so a caller which fails
+ * to read from a reused stream should retry once with a stream from {@link #open}.
+ *
+ * The hits and misses of the cache are counted per UFS, i.e. per scheme and authority of the UFS
+ * paths, in the worker metrics UfsInputStreamCacheHits-{ufs} and UfsInputStreamCacheMisses-{ufs},
+ * along with the gauge UfsInputStreamCacheHitRatio-{ufs}.
+ */
+@ThreadSafe
+public final class UfsInputStreamCache implements HeartbeatExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsInputStreamCache.class);
+
+  /** The size of the buffer to read the skipped bytes into. */
+  private static final int SKIP_BUFFER_SIZE = 64 * Constants.KB;
+
+  private final long mExpirationTimeMs;
+  private final int mMaxSizePerUfs;
+  private final long mMaxSkipBytes;
+
+  /** The state of each UFS, created on first use. */
+  private final ConcurrentHashMap<UnderFileSystem, UfsState> mUfsStates =
+      new ConcurrentHashMap<>();
+  /** Idle streams by UFS path. */
+  @GuardedBy("this")
+  private final Map<String, List<IdleStream>> mIdleStreams = new HashMap<>();
+
+  /**
+   * Creates a new instance of {@link UfsInputStreamCache} from the worker configuration.
+   */
+  public UfsInputStreamCache() {
+    this(Configuration.getLong(PropertyKey.WORKER_UFS_INSTREAM_CACHE_EXPIRATION_TIME_MS),
+        Configuration.getInt(PropertyKey.WORKER_UFS_INSTREAM_CACHE_MAX_SIZE),
+        Configuration.getBytes(PropertyKey.WORKER_UFS_INSTREAM_CACHE_MAX_SKIP_BYTES));
+  }
+
+  /**
+   * Creates a new instance of {@link UfsInputStreamCache}.
+   *
+   * @param expirationTimeMs the time after which an idle stream is closed
+   * @param maxSizePerUfs the maximum number of idle streams of each UFS, 0 to disable the cache
+   * @param maxSkipBytes the maximum number of bytes to skip to reuse a stream
+   */
+  public UfsInputStreamCache(long expirationTimeMs, int maxSizePerUfs, long maxSkipBytes) {
+    mExpirationTimeMs = expirationTimeMs;
+    mMaxSizePerUfs = maxSizePerUfs;
+    mMaxSkipBytes = maxSkipBytes;
+  }
+
+  /**
+   * @return the interval in milliseconds at which {@link #heartbeat()} should run, so that idle
+   *         streams are closed shortly after they expire
+   */
+  public long getHeartbeatIntervalMs() {
+    return Math.max(Constants.SECOND_MS, mExpirationTimeMs / 4);
+  }
+
+  /**
+   * Gets an idle input stream of a UFS file at a position, if one is at most the maximum skip
+   * bytes before the position. The bytes in between are read and dropped, and the stream is
+   * closed instead of returned if that fails.
+   *
+   * @param ufs the UFS of the file
+   * @param path the UFS path of the file
+   * @param position the position in the file to read from
+   * @return the input stream at the position, or null if there is no idle stream to reuse
+   */
+  public InputStream acquireIdle(UnderFileSystem ufs, String path, long position) {
+    UfsState state = getUfsState(ufs, path);
+    IdleStream idleStream = null;
+    synchronized (this) {
+      List<IdleStream> streams = mIdleStreams.get(path);
+      if (streams != null) {
+        for (IdleStream stream : streams) {
+          if (stream.mPosition <= position && position - stream.mPosition <= mMaxSkipBytes
+              && (idleStream == null || stream.mPosition > idleStream.mPosition)) {
+            idleStream = stream;
+          }
+        }
+        if (idleStream != null) {
+          remove(idleStream);
+        }
+      }
+    }
+    if (idleStream == null) {
+      return null;
+    }
+    try {
+      skipByReading(idleStream.mStream, position - idleStream.mPosition);
+    } catch (IOException e) {
+      LOG.debug("Failed to skip idle UFS input stream of {} to {}", path, position, e);
+      closeQuietly(idleStream);
+      return null;
+    }
+    state.mHits.inc();
+    return idleStream.mStream;
+  }
+
+  /**
+   * Opens a new input stream of a UFS file at a position.
+   *
+   * @param ufs the UFS of the file
+   * @param path the UFS path of the file
+   * @param position the position in the file to read from
+   * @return the input stream at the position
+   * @throws IOException if it fails to open the stream
+   */
+  public InputStream open(UnderFileSystem ufs, String path, long position) throws IOException {
+    getUfsState(ufs, path).mMisses.inc();
+    return ufs.open(path, OpenOptions.defaults().setOffset(position));
+  }
+
+  /**
+   * Gets an input stream of a UFS file at a position, reusing an idle stream if there is one and
+   * opening a new stream otherwise.
+   *
+   * @param ufs the UFS of the file
+   * @param path the UFS path of the file
+   * @param position the position in the file to read from
+   * @return the input stream at the position
+   * @throws IOException if it fails to open the stream
+   */
+  public InputStream acquire(UnderFileSystem ufs, String path, long position)
+      throws IOException {
+    InputStream stream = acquireIdle(ufs, path, position);
+    return stream != null ? stream : open(ufs, path, position);
+  }
+
+  /**
+   * Returns an input stream to the cache, or closes it if the cache is disabled. The least
+   * recently released idle stream of the UFS is closed if the UFS already has the maximum number
+   * of idle streams. The stream must not be used by the caller afterwards.
+   *
+   * @param ufs the UFS of the file
+   * @param path the UFS path of the file
+   * @param stream the input stream of the file
+   * @param position the current position of the stream in the file
+   */
+  public void release(UnderFileSystem ufs, String path, InputStream stream, long position) {
+    IdleStream idleStream = new IdleStream(path, stream, position, CommonUtils.getCurrentMs());
+    if (mMaxSizePerUfs <= 0) {
+      closeQuietly(idleStream);
+      return;
+    }
+    UfsState state = getUfsState(ufs, path);
+    idleStream.mUfsState = state;
+    IdleStream evicted = null;
+    synchronized (this) {
+      List<IdleStream> streams = mIdleStreams.get(path);
+      if (streams == null) {
+        streams = new LinkedList<>();
+        mIdleStreams.put(path, streams);
+      }
+      streams.add(idleStream);
+      state.mIdleOrder.add(idleStream);
+      if (state.mIdleOrder.size() > mMaxSizePerUfs) {
+        evicted = state.mIdleOrder.iterator().next();
+        remove(evicted);
+      }
+    }
+    if (evicted != null) {
+      closeQuietly(evicted);
+    }
+  }
+
+  /**
+   * @return the number of idle streams in the cache
+   */
+  public synchronized int size() {
+    int size = 0;
+    for (UfsState state : mUfsStates.values()) {
+      size += state.mIdleOrder.size();
+    }
+    return size;
+  }
+
+  /**
+   * Closes the streams which have been idle for longer than the expiration time.
+   */
+  @Override
+  public void heartbeat() {
+    long expiredBeforeMs = CommonUtils.getCurrentMs() - mExpirationTimeMs;
+    List<IdleStream> expired = new ArrayList<>();
+    synchronized (this) {
+      for (UfsState state : mUfsStates.values()) {
+        Iterator<IdleStream> iterator = state.mIdleOrder.iterator();
+        while (iterator.hasNext()) {
+          IdleStream stream = iterator.next();
+          if (stream.mReleaseTimeMs > expiredBeforeMs) {
+            break;
+          }
+          iterator.remove();
+          removeFromPath(stream);
+          expired.add(stream);
+        }
+      }
+    }
+    for (IdleStream stream : expired) {
+      closeQuietly(stream);
+    }
+  }
+
+  /**
+   * Closes all the idle streams.
+   */
+  @Override
+  public void close() {
+    List<IdleStream> streams = new ArrayList<>();
+    synchronized (this) {
+      for (UfsState state : mUfsStates.values()) {
+        streams.addAll(state.mIdleOrder);
+        state.mIdleOrder.clear();
+      }
+      mIdleStreams.clear();
+    }
+    for (IdleStream stream : streams) {
+      closeQuietly(stream);
+    }
+  }
+
+  /**
+   * Gets the state of a UFS, creating it along with its metrics on first use.
+   *
+   * @param ufs the UFS
+   * @param path a UFS path of the UFS
+   * @return the state of the UFS
+   */
+  private UfsState getUfsState(UnderFileSystem ufs, String path) {
+    UfsState state = mUfsStates.get(ufs);
+    if (state == null) {
+      state = new UfsState(getUfsName(path));
+      UfsState existing = mUfsStates.putIfAbsent(ufs, state);
+      if (existing != null) {
+        return existing;
+      }
+      state.registerHitRatio();
+    }
+    return state;
+  }
+
+  /**
+   * Removes an idle stream from the cache.
+   *
+   * @param stream the idle stream
+   */
+  @GuardedBy("this")
+  private void remove(IdleStream stream) {
+    stream.mUfsState.mIdleOrder.remove(stream);
+    removeFromPath(stream);
+  }
+
+  /**
+   * Removes an idle stream from the streams of its path.
+   *
+   * @param stream the idle stream
+   */
+  @GuardedBy("this")
+  private void removeFromPath(IdleStream stream) {
+    List<IdleStream> streams = mIdleStreams.get(stream.mPath);
+    streams.remove(stream);
+    if (streams.isEmpty()) {
+      mIdleStreams.remove(stream.mPath);
+    }
+  }
+
+  /**
+   * Skips bytes of a stream by reading them.
+   *
+   * @param stream the stream
+   * @param bytes the number of bytes to skip
+   * @throws IOException if it fails to read the bytes, or the stream ends before them
+   */
+  private static void skipByReading(InputStream stream, long bytes) throws IOException {
+    if (bytes <= 0) {
+      return;
+    }
+    byte[] buffer = new byte[(int) Math.min(bytes, SKIP_BUFFER_SIZE)];
+    long remaining = bytes;
+    while (remaining > 0) {
+      int read = stream.read(buffer, 0, (int) Math.min(remaining, buffer.length));
+      if (read == -1) {
+        throw new EOFException("Reached the end of the stream with " + remaining
+            + " bytes left to skip");
+      }
+      remaining -= read;
+    }
+  }
+
+  /**
+   * @param stream the idle stream to close
+   */
+  private static void closeQuietly(IdleStream stream) {
+    try {
+      stream.mStream.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close UFS input stream of {}: {}", stream.mPath, e.getMessage());
+    }
+  }
+
+  /**
+   * @param path a UFS path
+   * @return the name of the UFS of the path to use in metric names
+   */
+  private static String getUfsName(String path) {
+    AlluxioURI uri = new AlluxioURI(path);
+    String scheme = uri.getScheme() == null ? "local" : uri.getScheme();
+    String name = uri.getAuthority() == null ? scheme : scheme + "_" + uri.getAuthority();
+    return name.replaceAll("[^A-Za-z0-9_]", "_");
+  }
+
+  /**
+   * The idle streams and the metrics of a UFS.
+   */
+  private final class UfsState {
+    private final String mName;
+    private final Counter mHits;
+    private final Counter mMisses;
+    /** The idle streams of the UFS, from the least recently released one. */
+    @GuardedBy("UfsInputStreamCache.this")
+    private final LinkedHashSet<IdleStream> mIdleOrder = new LinkedHashSet<>();
+
+    /**
+     * @param name the name of the UFS to use in metric names
+     */
+    private UfsState(String name) {
+      mName = name;
+      mHits = MetricsSystem.workerCounter("UfsInputStreamCacheHits-" + name);
+      mMisses = MetricsSystem.workerCounter("UfsInputStreamCacheMisses-" + name);
+    }
+
+    /**
+     * Registers the gauge of the hit ratio of the cache for the UFS.
+     */
+    private void registerHitRatio() {
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getWorkerMetricName("UfsInputStreamCacheHitRatio-" + mName),
+          new Gauge<Double>() {
+            @Override
+            public Double getValue() {
+              long hits = mHits.getCount();
+              long total = hits + mMisses.getCount();
+              return total == 0 ? 0 : (double) hits / total;
+            }
+          });
+    }
+  }
+
+  /**
+   * An open UFS input stream which is not in use.
+   */
+  private static final class IdleStream {
+    private final String mPath;
+    private final InputStream mStream;
+    private final long mPosition;
+    private final long mReleaseTimeMs;
+    /** The state of the UFS of the stream, set when the stream is added to the cache. */
+    private UfsState mUfsState;
+
+    /**
+     * @param path the UFS path of the file
+     * @param stream the input stream of the file
+     * @param position the position of the stream in the file
+     * @param releaseTimeMs the time when the stream was released
+     */
+    private IdleStream(String path, InputStream stream, long position, long releaseTimeMs) {
+      mPath = path;
+      mStream = stream;
+      mPosition = position;
+      mReleaseTimeMs = releaseTimeMs;
+    }
+
+    @Override
+    public String toString() {
+      return Objects.toStringHelper(this).add("path", mPath).add("position", mPosition)
+          .add("releaseTimeMs", mReleaseTimeMs).toString();
+    }
+  }
+}
@@ -0,0 +1,348 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.Sessions;
+import alluxio.StorageTierAssoc;
+import alluxio.WorkerStorageTierAssoc;
+import alluxio.exception.BlockAlreadyExistsException;
+import alluxio.exception.BlockDoesNotExistException;
+import alluxio.exception.ExceptionMessage;
+import alluxio.exception.InvalidWorkerStateException;
+import alluxio.exception.PreconditionMessage;
+import alluxio.exception.WorkerOutOfSpaceException;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.util.network.NetworkAddressUtils;
+import alluxio.worker.block.io.LocalFileBlockWriter;
+import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.Closer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A single fetch of a UFS block into the local block store, shared by all the concurrent
+ * {@link UnderFileSystemBlockReader}s of the block. The block is read from the UFS with one input
+ * stream and written once to a temp block owned by {@link Sessions#UFS_FETCH_SESSION_ID}. The
+ * readers are served from the temp block file, and only trigger more of the UFS block to be
+ * fetched when they read past what has been fetched so far.
+ *
+ * The fetch is reference counted. When the last reader releases it, the temp block is aborted
+ * unless the whole block has been fetched, in which case it is left for the worker to commit.
+ */
+@ThreadSafe
+final class UnderFileSystemBlockFetch {
+  private static final Logger LOG = LoggerFactory.getLogger(UnderFileSystemBlockFetch.class);
+
+  /** The maximum number of bytes read from the UFS at a time. */
+  private static final int FETCH_CHUNK_SIZE = Constants.MB;
+
+  /** The block metadata for the UFS block. */
+  private final UnderFileSystemBlockMeta mBlockMeta;
+  /** The local block store which the block is cached to. */
+  private final BlockStore mLocalBlockStore;
+  /** The cache of idle UFS input streams to get the UFS input stream from. */
+  private final UfsInputStreamCache mUfsInstreamCache;
+  /** The UFS block store which tracks this fetch until it is retired. */
+  private final UnderFileSystemBlockStore mUfsBlockStore;
+  /** The channel to read the fetched bytes from the temp block. */
+  private final FileChannel mLocalFileChannel;
+  private final Closer mCloser = Closer.create();
+  /** The number of readers of this fetch, the fetch is retired once this drops to zero. */
+  private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+  /** The number of bytes of the block which have been written to the temp block. */
+  private volatile long mFetchedBytes;
+
+  @GuardedBy("this")
+  private final LocalFileBlockWriter mBlockWriter;
+  @GuardedBy("this")
+  private InputStream mUnderFileSystemInputStream;
+  /** If set, the UFS input stream was reused from the cache and has not been read from yet. */
+  @GuardedBy("this")
+  private boolean mInStreamReused;
+  @GuardedBy("this")
+  private byte[] mChunk;
+
+  /**
+   * Creates a fetch of a UFS block, which is referenced by its creator. Returns null if the
+   * block cannot be cached in the local block store, e.g. because it is already being cached or
+   * there is not enough space.
+   *
+   * @param blockMeta the block meta
+   * @param localBlockStore the local block store
+   * @param ufsInstreamCache the cache of idle UFS input streams
+   * @param ufsBlockStore the UFS block store which tracks the fetch
+   * @return the fetch, or null if the block cannot be cached
+   * @throws BlockDoesNotExistException if the UFS block does not exist in the UFS
+   * @throws IOException if an I/O related error occurs
+   */
+  static UnderFileSystemBlockFetch create(UnderFileSystemBlockMeta blockMeta,
+      BlockStore localBlockStore, UfsInputStreamCache ufsInstreamCache,
+      UnderFileSystemBlockStore ufsBlockStore) throws BlockDoesNotExistException, IOException {
+    UnderFileSystem ufs = UnderFileSystem.Factory.get(blockMeta.getUnderFileSystemPath());
+    ufs.connectFromWorker(
+        NetworkAddressUtils.getConnectHost(NetworkAddressUtils.ServiceType.WORKER_RPC));
+    if (!ufs.isFile(blockMeta.getUnderFileSystemPath())) {
+      throw new BlockDoesNotExistException(
+          ExceptionMessage.UFS_PATH_DOES_NOT_EXIST.getMessage(blockMeta.getUnderFileSystemPath()));
+    }
+
+    StorageTierAssoc storageTierAssoc = new WorkerStorageTierAssoc();
+    String blockPath;
+    try {
+      blockPath = localBlockStore.createBlock(Sessions.UFS_FETCH_SESSION_ID,
+          blockMeta.getBlockId(), BlockStoreLocation.anyDirInTier(storageTierAssoc.getAlias(0)),
+          Configuration.getBytes(PropertyKey.WORKER_FILE_BUFFER_SIZE)).getPath();
+    } catch (IOException | BlockAlreadyExistsException | WorkerOutOfSpaceException e) {
+      LOG.debug("Failed to create block for UFS block fetch [blockId: {}, ufsPath: {}]",
+          blockMeta.getBlockId(), blockMeta.getUnderFileSystemPath(), e);
+      return null;
+    }
+    try {
+      return new UnderFileSystemBlockFetch(blockMeta, localBlockStore, ufsInstreamCache,
+          ufsBlockStore, blockPath);
+    } catch (IOException e) {
+      abortBlock(localBlockStore, blockMeta.getBlockId());
+      throw e;
+    }
+  }
+
+  /**
+   * Creates an instance of {@link UnderFileSystemBlockFetch}.
+   *
+   * @param blockMeta the block meta
+   * @param localBlockStore the local block store
+   * @param ufsInstreamCache the cache of idle UFS input streams
+   * @param ufsBlockStore the UFS block store which tracks the fetch
+   * @param blockPath the path of the temp block
+   * @throws IOException if the temp block cannot be opened
+   */
+  private UnderFileSystemBlockFetch(UnderFileSystemBlockMeta blockMeta,
+      BlockStore localBlockStore, UfsInputStreamCache ufsInstreamCache,
+      UnderFileSystemBlockStore ufsBlockStore, String blockPath) throws IOException {
+    mBlockMeta = blockMeta;
+    mLocalBlockStore = localBlockStore;
+    mUfsInstreamCache = ufsInstreamCache;
+    mUfsBlockStore = ufsBlockStore;
+    try {
+      mBlockWriter = mCloser.register(new LocalFileBlockWriter(blockPath));
+      mLocalFileChannel = mCloser.register(new RandomAccessFile(blockPath, "r")).getChannel();
+    } catch (IOException e) {
+      mCloser.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the block ID
+   */
+  long getBlockId() {
+    return mBlockMeta.getBlockId();
+  }
+
+  /**
+   * @return the size of the block
+   */
+  long getBlockSize() {
+    return mBlockMeta.getBlockSize();
+  }
+
+  /**
+   * @return the number of bytes of the block which have been fetched so far
+   */
+  long getFetchedBytes() {
+    return mFetchedBytes;
+  }
+
+  /**
+   * Reads bytes of the block into a buffer, fetching them from the UFS first if they have not
+   * been fetched yet.
+   *
+   * @param pos the position within the block to read from
+   * @param buf the buffer to read into, up to its remaining bytes
+   * @return the number of bytes read, or -1 if the position is at the end of the block
+   * @throws IOException if any I/O errors occur
+   */
+  int read(long pos, ByteBuffer buf) throws IOException {
+    if (pos >= mBlockMeta.getBlockSize()) {
+      return -1;
+    }
+    long end = Math.min(pos + buf.remaining(), mBlockMeta.getBlockSize());
+    fetch(end);
+    int bytesToRead = (int) (end - pos);
+    ByteBuffer dst = buf.duplicate();
+    dst.limit(dst.position() + bytesToRead);
+    while (dst.hasRemaining()) {
+      if (mLocalFileChannel.read(dst, pos + dst.position() - buf.position()) == -1) {
+        break;
+      }
+    }
+    int bytesRead = dst.position() - buf.position();
+    buf.position(dst.position());
+    return bytesRead;
+  }
+
+  /**
+   * @return true if the reference count was incremented, false if the fetch has been retired
+   */
+  boolean retain() {
+    while (true) {
+      int count = mRefCount.get();
+      if (count == 0) {
+        return false;
+      }
+      if (mRefCount.compareAndSet(count, count + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases a reference to the fetch. The last release retires the fetch, and aborts the temp
+   * block if the whole block has not been fetched.
+   *
+   * @throws IOException if it fails to close the fetch
+   */
+  void release() throws IOException {
+    if (mRefCount.decrementAndGet() > 0) {
+      return;
+    }
+    boolean fetched = false;
+    synchronized (this) {
+      try {
+        if (mUnderFileSystemInputStream != null) {
+          mUfsInstreamCache.release(
+              UnderFileSystem.Factory.get(mBlockMeta.getUnderFileSystemPath()),
+              mBlockMeta.getUnderFileSystemPath(), mUnderFileSystemInputStream,
+              mBlockMeta.getOffset() + mFetchedBytes);
+          mUnderFileSystemInputStream = null;
+        }
+        mCloser.close();
+        fetched = mFetchedBytes == mBlockMeta.getBlockSize();
+      } finally {
+        if (!fetched) {
+          abortBlock(mLocalBlockStore, mBlockMeta.getBlockId());
+        }
+        mUfsBlockStore.retireFetch(this, fetched);
+      }
+    }
+  }
+
+  /**
+   * Fetches the block from the UFS into the temp block until the given position. Only one thread
+   * fetches at a time, the others wait for it and then find their bytes already fetched.
+   *
+   * @param end the position within the block to fetch until
+   * @throws IOException if any I/O errors occur
+   */
+  private void fetch(long end) throws IOException {
+    if (end <= mFetchedBytes) {
+      return;
+    }
+    synchronized (this) {
+      Preconditions.checkState(mRefCount.get() > 0, "UFS block fetch %s is already released",
+          mBlockMeta.getBlockId());
+      UnderFileSystem ufs = UnderFileSystem.Factory.get(mBlockMeta.getUnderFileSystemPath());
+      if (mUnderFileSystemInputStream == null && mFetchedBytes < end) {
+        mUnderFileSystemInputStream = mUfsInstreamCache.acquireIdle(ufs,
+            mBlockMeta.getUnderFileSystemPath(), mBlockMeta.getOffset() + mFetchedBytes);
+        mInStreamReused = mUnderFileSystemInputStream != null;
+        if (!mInStreamReused) {
+          mUnderFileSystemInputStream = mUfsInstreamCache.open(ufs,
+              mBlockMeta.getUnderFileSystemPath(), mBlockMeta.getOffset() + mFetchedBytes);
+        }
+        mChunk = new byte[(int) Math.min(FETCH_CHUNK_SIZE, mBlockMeta.getBlockSize())];
+      }
+      try {
+        while (mFetchedBytes < end) {
+          int bytesToRead = (int) Math.min(mChunk.length, end - mFetchedBytes);
+          int bytesRead;
+          try {
+            bytesRead = mUnderFileSystemInputStream.read(mChunk, 0, bytesToRead);
+          } catch (IOException e) {
+            if (!mInStreamReused) {
+              throw e;
+            }
+            // The UFS may have closed the connection of the stream while it was idle, so retry
+            // once with a new stream.
+            LOG.debug("Failed to read reused UFS input stream of {}, opening a new one",
+                mBlockMeta.getUnderFileSystemPath(), e);
+            closeUnderFileSystemInputStream();
+            mUnderFileSystemInputStream = mUfsInstreamCache.open(ufs,
+                mBlockMeta.getUnderFileSystemPath(), mBlockMeta.getOffset() + mFetchedBytes);
+            continue;
+          }
+          mInStreamReused = false;
+          // We should always read the number of bytes as expected since the UFS file length
+          // (hence block size) should be always accurate.
+          Preconditions.checkState(bytesRead != -1, PreconditionMessage.NOT_ENOUGH_BYTES_READ
+              .toString(), mFetchedBytes, mBlockMeta.getBlockSize(),
+              mBlockMeta.getUnderFileSystemPath());
+          mBlockWriter.append(ByteBuffer.wrap(mChunk, 0, bytesRead));
+          mFetchedBytes += bytesRead;
+        }
+      } catch (IOException e) {
+        // The position of the stream is unknown, so it can neither be reused nor be returned
+        // to the cache of UFS input streams.
+        closeUnderFileSystemInputStream();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Closes the UFS input stream, if any.
+   */
+  @GuardedBy("this")
+  private void closeUnderFileSystemInputStream() {
+    if (mUnderFileSystemInputStream != null) {
+      try {
+        mUnderFileSystemInputStream.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close UFS input stream of {}: {}",
+            mBlockMeta.getUnderFileSystemPath(), e.getMessage());
+      }
+    }
+    mUnderFileSystemInputStream = null;
+    mInStreamReused = false;
+  }
+
+  /**
+   * Aborts the temp block of a fetch.
+   *
+   * @param localBlockStore the local block store
+   * @param blockId the block ID
+   */
+  private static void abortBlock(BlockStore localBlockStore, long blockId) {
+    try {
+      localBlockStore.abortBlock(Sessions.UFS_FETCH_SESSION_ID, blockId);
+    } catch (BlockAlreadyExistsException | BlockDoesNotExistException
+        | InvalidWorkerStateException | IOException e) {
+      LOG.warn("Failed to abort UFS block {}: {}", blockId, e.getMessage());
+    }
+  }
+}
@@ -44,7 +44,9 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * This class implements a {@link BlockReader} to read a block directly from UFS, and
- * optionally cache the block to the Alluxio worker if the whole block it is read.
+ * optionally cache the block to the Alluxio worker if the whole block it is read. If the reader
+ * is given a {@link UnderFileSystemBlockFetch}, it reads the block through the fetch shared with
+ * the other readers of the block instead.
  */
 @NotThreadSafe
 public final class UnderFileSystemBlockReader implements BlockReader {
@@ -61,9 +63,18 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   private final boolean mNoCache;
   /** The Local block store. It is used to interact with Alluxio. */
   private final BlockStore mLocalBlockStore;
+  /** The shared fetch of the block to read through, or null to read from UFS directly. */
+  private final UnderFileSystemBlockFetch mFetch;
+  /** The cache to get UFS input streams from, or null to always open new streams. */
+  private final UfsInputStreamCache mUfsInstreamCache;
 
   /** The input stream to read from UFS. */
   private InputStream mUnderFileSystemInputStream;
+  /**
+   * If set, mUnderFileSystemInputStream was reused from the cache and has not been read from yet,
+   * so a failed read is retried once with a new stream.
+   */
+  private boolean mInStreamReused;
   /** The block writer to write the block to Alluxio. */
   private LocalFileBlockWriter mBlockWriter;
   /** If set, the reader is closed and should not be used afterwards. */
@@ -92,8 +103,29 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   public static UnderFileSystemBlockReader create(UnderFileSystemBlockMeta blockMeta, long offset,
       boolean noCache, BlockStore localBlockStore)
       throws BlockDoesNotExistException, IOException {
-    UnderFileSystemBlockReader ufsBlockReader =
-        new UnderFileSystemBlockReader(blockMeta, noCache, localBlockStore);
+    return create(blockMeta, offset, noCache, localBlockStore, null, null);
+  }
+
+  /**
+   * Creates an instance of {@link UnderFileSystemBlockReader} which reads through a shared fetch
+   * of the block, or with UFS input streams from a cache, and initializes it with a reading
+   * offset. The reader releases the fetch and the streams when it is closed.
+   *
+   * @param blockMeta the block meta
+   * @param offset the position within the block to start the read
+   * @param noCache do not cache the block if set
+   * @param localBlockStore the Local block store
+   * @param ufsInstreamCache the cache of UFS input streams, or null to always open new streams
+   * @param fetch the shared fetch of the block, or null to read from UFS directly
+   * @return the block reader
+   * @throws BlockDoesNotExistException if the UFS block does not exist in the UFS block store
+   * @throws IOException if an I/O related error occur
+   */
+  static UnderFileSystemBlockReader create(UnderFileSystemBlockMeta blockMeta, long offset,
+      boolean noCache, BlockStore localBlockStore, UfsInputStreamCache ufsInstreamCache,
+      UnderFileSystemBlockFetch fetch) throws BlockDoesNotExistException, IOException {
+    UnderFileSystemBlockReader ufsBlockReader = new UnderFileSystemBlockReader(blockMeta, noCache,
+        localBlockStore, ufsInstreamCache, fetch);
     ufsBlockReader.init(offset);
     return ufsBlockReader;
   }
@@ -104,13 +136,18 @@ public final class UnderFileSystemBlockReader implements BlockReader {
    * @param blockMeta the block meta
    * @param noCache do not cache the block
    * @param localBlockStore the Local block store
+   * @param ufsInstreamCache the cache of UFS input streams, or null to always open new streams
+   * @param fetch the shared fetch of the block, or null to read from UFS directly
    */
   private UnderFileSystemBlockReader(UnderFileSystemBlockMeta blockMeta, boolean noCache,
-      BlockStore localBlockStore) {
+      BlockStore localBlockStore, UfsInputStreamCache ufsInstreamCache,
+      UnderFileSystemBlockFetch fetch) {
     mInitialBlockSize = Configuration.getBytes(PropertyKey.WORKER_FILE_BUFFER_SIZE);
     mBlockMeta = blockMeta;
     mLocalBlockStore = localBlockStore;
     mNoCache = noCache;
+    mFetch = fetch;
+    mUfsInstreamCache = ufsInstreamCache;
     mInStreamPos = -1;
   }
 
@@ -122,6 +159,11 @@ public final class UnderFileSystemBlockReader implements BlockReader {
    * @throws IOException if an I/O related error occur
    */
   private void init(long offset) throws BlockDoesNotExistException, IOException {
+    if (mFetch != null) {
+      // The fetch has already checked the UFS path, and it opens the UFS stream on demand.
+      mInStreamPos = offset;
+      return;
+    }
     UnderFileSystem ufs = UnderFileSystem.Factory.get(mBlockMeta.getUnderFileSystemPath());
     ufs.connectFromWorker(
         NetworkAddressUtils.getConnectHost(NetworkAddressUtils.ServiceType.WORKER_RPC));
@@ -147,6 +189,9 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   @Override
   public ByteBuffer read(long offset, long length) throws IOException {
     Preconditions.checkState(!mClosed);
+    if (mFetch != null) {
+      return readFromFetch(offset, length);
+    }
     updateUnderFileSystemInputStream(offset);
     updateBlockWriter(offset);
 
@@ -157,14 +202,30 @@ public final class UnderFileSystemBlockReader implements BlockReader {
     byte[] data = new byte[(int) bytesToRead];
     int bytesRead = 0;
     Preconditions.checkNotNull(mUnderFileSystemInputStream);
-    while (bytesRead < bytesToRead) {
-      int read = mUnderFileSystemInputStream.read(data, bytesRead, (int) (bytesToRead - bytesRead));
-      if (read == -1) {
-        break;
+    try {
+      while (bytesRead < bytesToRead) {
+        int read;
+        try {
+          read =
+              mUnderFileSystemInputStream.read(data, bytesRead, (int) (bytesToRead - bytesRead));
+        } catch (IOException e) {
+          if (!mInStreamReused) {
+            throw e;
+          }
+          reopenUnderFileSystemInputStream(offset + bytesRead, e);
+          continue;
+        }
+        mInStreamReused = false;
+        if (read == -1) {
+          break;
+        }
+        bytesRead += read;
       }
-      bytesRead += read;
+    } catch (IOException e) {
+      discardUnderFileSystemInputStream();
+      throw e;
     }
-    mInStreamPos += bytesRead;
+    mInStreamPos = offset + bytesRead;
 
     // We should always read the number of bytes as expected since the UFS file length (hence block
     // size) should be always accurate.
@@ -190,6 +251,9 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   @Override
   public int transferTo(ByteBuf buf) throws IOException {
     Preconditions.checkState(!mClosed);
+    if (mFetch != null) {
+      return transferFromFetch(buf);
+    }
     if (mUnderFileSystemInputStream == null) {
       return -1;
     }
@@ -204,7 +268,22 @@ public final class UnderFileSystemBlockReader implements BlockReader {
     }
     int bytesToRead =
         (int) Math.min((long) buf.writableBytes(), mBlockMeta.getBlockSize() - mInStreamPos);
-    int bytesRead = buf.writeBytes(mUnderFileSystemInputStream, bytesToRead);
+    int bytesRead;
+    try {
+      try {
+        bytesRead = buf.writeBytes(mUnderFileSystemInputStream, bytesToRead);
+      } catch (IOException e) {
+        if (!mInStreamReused) {
+          throw e;
+        }
+        reopenUnderFileSystemInputStream(mInStreamPos, e);
+        bytesRead = buf.writeBytes(mUnderFileSystemInputStream, bytesToRead);
+      }
+      mInStreamReused = false;
+    } catch (IOException e) {
+      discardUnderFileSystemInputStream();
+      throw e;
+    }
 
     if (bytesRead <= 0) {
       return bytesRead;
@@ -231,6 +310,10 @@ public final class UnderFileSystemBlockReader implements BlockReader {
    */
   @Override
   public void close() throws IOException {
+    if (mFetch != null) {
+      releaseFetch();
+      return;
+    }
     if (mClosed) {
       return;
     }
@@ -244,7 +327,11 @@ public final class UnderFileSystemBlockReader implements BlockReader {
         closer.register(mBlockWriter);
       }
       if (mUnderFileSystemInputStream != null) {
-        closer.register(mUnderFileSystemInputStream);
+        if (mUfsInstreamCache != null) {
+          releaseUnderFileSystemInputStream();
+        } else {
+          closer.register(mUnderFileSystemInputStream);
+        }
       }
       closer.close();
     } finally {
@@ -257,6 +344,82 @@ public final class UnderFileSystemBlockReader implements BlockReader {
     return mClosed;
   }
 
+  /**
+   * Releases the shared fetch of the block. The reader can be closed by the data server and by
+   * the client unlocking the block at the same time, so the second close waits for the fetch to be
+   * released, after which the fetched block can be committed.
+   *
+   * @throws IOException if it fails to release the fetch
+   */
+  private synchronized void releaseFetch() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    try {
+      mFetch.release();
+    } finally {
+      mClosed = true;
+    }
+  }
+
+  /**
+   * Reads from the shared fetch of the block.
+   *
+   * @param offset the position within the block to read from
+   * @param length the number of bytes to read
+   * @return the bytes read
+   * @throws IOException if any I/O errors occur
+   */
+  private ByteBuffer readFromFetch(long offset, long length) throws IOException {
+    long bytesToRead = Math.min(length, mBlockMeta.getBlockSize() - offset);
+    if (bytesToRead <= 0) {
+      return ByteBuffer.allocate(0);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate((int) bytesToRead);
+    while (buffer.hasRemaining()) {
+      if (mFetch.read(offset + buffer.position(), buffer) == -1) {
+        break;
+      }
+    }
+    Preconditions.checkState(!buffer.hasRemaining(),
+        PreconditionMessage.NOT_ENOUGH_BYTES_READ.toString(), buffer.position(), bytesToRead,
+        mBlockMeta.getUnderFileSystemPath());
+    mInStreamPos = offset + bytesToRead;
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Transfers the next bytes of the block from the shared fetch of the block.
+   *
+   * @param buf the byte buffer
+   * @return the number of bytes read, -1 if it reaches EOF and none was read
+   * @throws IOException if any I/O errors occur
+   */
+  private int transferFromFetch(ByteBuf buf) throws IOException {
+    if (mBlockMeta.getBlockSize() <= mInStreamPos) {
+      return -1;
+    }
+    int bytesToRead =
+        (int) Math.min((long) buf.writableBytes(), mBlockMeta.getBlockSize() - mInStreamPos);
+    int bytesRead;
+    if (buf.nioBufferCount() == 1) {
+      bytesRead = mFetch.read(mInStreamPos, buf.nioBuffer(buf.writerIndex(), bytesToRead));
+      if (bytesRead > 0) {
+        buf.writerIndex(buf.writerIndex() + bytesRead);
+      }
+    } else {
+      ByteBuffer buffer = ByteBuffer.allocate(bytesToRead);
+      bytesRead = mFetch.read(mInStreamPos, buffer);
+      buffer.flip();
+      buf.writeBytes(buffer);
+    }
+    if (bytesRead > 0) {
+      mInStreamPos += bytesRead;
+    }
+    return bytesRead;
+  }
+
   /**
    * Updates the UFS input stream given an offset to read.
    *
@@ -265,19 +428,82 @@ public final class UnderFileSystemBlockReader implements BlockReader {
    */
   private void updateUnderFileSystemInputStream(long offset) throws IOException {
     if ((mUnderFileSystemInputStream != null) && offset != mInStreamPos) {
-      mUnderFileSystemInputStream.close();
-      mUnderFileSystemInputStream = null;
-      mInStreamPos = -1;
+      if (mUfsInstreamCache != null) {
+        releaseUnderFileSystemInputStream();
+      } else {
+        mUnderFileSystemInputStream.close();
+        mUnderFileSystemInputStream = null;
+        mInStreamPos = -1;
+      }
     }
 
     if (mUnderFileSystemInputStream == null && offset < mBlockMeta.getBlockSize()) {
       UnderFileSystem ufs = UnderFileSystem.Factory.get(mBlockMeta.getUnderFileSystemPath());
-      mUnderFileSystemInputStream = ufs.open(mBlockMeta.getUnderFileSystemPath(),
-          OpenOptions.defaults().setOffset(mBlockMeta.getOffset() + offset));
+      if (mUfsInstreamCache != null) {
+        mUnderFileSystemInputStream = mUfsInstreamCache.acquireIdle(ufs,
+            mBlockMeta.getUnderFileSystemPath(), mBlockMeta.getOffset() + offset);
+        mInStreamReused = mUnderFileSystemInputStream != null;
+        if (!mInStreamReused) {
+          mUnderFileSystemInputStream = mUfsInstreamCache.open(ufs,
+              mBlockMeta.getUnderFileSystemPath(), mBlockMeta.getOffset() + offset);
+        }
+      } else {
+        mUnderFileSystemInputStream = ufs.open(mBlockMeta.getUnderFileSystemPath(),
+            OpenOptions.defaults().setOffset(mBlockMeta.getOffset() + offset));
+      }
       mInStreamPos = offset;
     }
   }
 
+  /**
+   * Returns the UFS input stream to the cache of UFS input streams, so that it can be reused by
+   * a later read of the file at or after its position.
+   */
+  private void releaseUnderFileSystemInputStream() {
+    mUfsInstreamCache.release(UnderFileSystem.Factory.get(mBlockMeta.getUnderFileSystemPath()),
+        mBlockMeta.getUnderFileSystemPath(), mUnderFileSystemInputStream,
+        mBlockMeta.getOffset() + mInStreamPos);
+    mUnderFileSystemInputStream = null;
+    mInStreamPos = -1;
+  }
+
+  /**
+   * Replaces a UFS input stream reused from the cache which failed to read, e.g. because the UFS
+   * closed its connection while it was idle, with a newly opened stream.
+   *
+   * @param offset the offset within the block to open the new stream at
+   * @param cause the failure of the reused stream
+   * @throws IOException if it fails to open the new stream
+   */
+  private void reopenUnderFileSystemInputStream(long offset, IOException cause)
+      throws IOException {
+    LOG.debug("Failed to read reused UFS input stream of {}, opening a new one",
+        mBlockMeta.getUnderFileSystemPath(), cause);
+    discardUnderFileSystemInputStream();
+    UnderFileSystem ufs = UnderFileSystem.Factory.get(mBlockMeta.getUnderFileSystemPath());
+    mUnderFileSystemInputStream = mUfsInstreamCache.open(ufs, mBlockMeta.getUnderFileSystemPath(),
+        mBlockMeta.getOffset() + offset);
+    mInStreamPos = offset;
+  }
+
+  /**
+   * Closes the UFS input stream after a failed read, when the position of the stream is unknown
+   * and the stream cannot be reused.
+   */
+  private void discardUnderFileSystemInputStream() {
+    if (mUnderFileSystemInputStream != null) {
+      try {
+        mUnderFileSystemInputStream.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close UFS input stream of {}: {}",
+            mBlockMeta.getUnderFileSystemPath(), e.getMessage());
+      }
+    }
+    mUnderFileSystemInputStream = null;
+    mInStreamReused = false;
+    mInStreamPos = -1;
+  }
+
   /**
    * Updates the block writer given an offset to read. If the offset is beyond the current
    * position of the block writer, the block writer will be aborted.
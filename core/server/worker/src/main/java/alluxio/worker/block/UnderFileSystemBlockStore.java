@@ -11,6 +11,7 @@
 
 package alluxio.worker.block;
 
+import alluxio.Sessions;
 import alluxio.exception.BlockAlreadyExistsException;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
@@ -42,12 +43,16 @@ import javax.annotation.concurrent.GuardedBy;
  *
  * If the client is lost before releasing or cleaning up the session, the session cleaner will
  * clean the data.
+ *
+ * Concurrent readers of the same block share a single {@link UnderFileSystemBlockFetch}, so that
+ * the block is read from the UFS and cached to the local block store only once.
  */
 public final class UnderFileSystemBlockStore {
   private static final Logger LOG = LoggerFactory.getLogger(UnderFileSystemBlockStore.class);
 
   /**
-   * This lock protects mBlocks, mSessionIdToBlockIds and mBlockIdToSessionIds. For any read/write
+   * This lock protects mBlocks, mSessionIdToBlockIds, mBlockIdToSessionIds, mFetches and
+   * mFetchedBlockIds. For any read/write
    * operations to these maps, the lock needs to be acquired. But once you get the block
    * information from the map (e.g. mBlocks), the lock does not need to be acquired. For example,
    * the block reader/writer within the BlockInfo can be updated without acquiring this lock.
@@ -64,17 +69,38 @@ public final class UnderFileSystemBlockStore {
   @GuardedBy("mLock")
   /** Maps from the block ID to the session IDs. */
   private final Map<Long, Set<Long>> mBlockIdToSessionIds = new HashMap<>();
+  @GuardedBy("mLock")
+  /** Maps from the block ID to the fetch of the block in progress. */
+  private final Map<Long, UnderFileSystemBlockFetch> mFetches = new HashMap<>();
+  @GuardedBy("mLock")
+  /** The IDs of the blocks which have been fully fetched, but are not committed yet. */
+  private final Set<Long> mFetchedBlockIds = new HashSet<>();
 
   /** The Local block store. */
   private final BlockStore mLocalBlockStore;
 
+  /** The cache of idle UFS input streams. */
+  private final UfsInputStreamCache mUfsInstreamCache;
+
   /**
    * Creates an instance of {@link UnderFileSystemBlockStore}.
    *
    * @param localBlockStore the local block store
    */
   public UnderFileSystemBlockStore(BlockStore localBlockStore) {
+    this(localBlockStore, new UfsInputStreamCache());
+  }
+
+  /**
+   * Creates an instance of {@link UnderFileSystemBlockStore}.
+   *
+   * @param localBlockStore the local block store
+   * @param ufsInstreamCache the cache of idle UFS input streams
+   */
+  public UnderFileSystemBlockStore(BlockStore localBlockStore,
+      UfsInputStreamCache ufsInstreamCache) {
     mLocalBlockStore = localBlockStore;
+    mUfsInstreamCache = ufsInstreamCache;
   }
 
   /**
@@ -202,6 +228,10 @@ public final class UnderFileSystemBlockStore {
         // Local block store.
         closeReaderOrWriter(sessionId, blockId);
         releaseAccess(sessionId, blockId);
+        if (removeFetchedBlock(blockId)) {
+          // Nobody is left to commit the fully fetched block to the master, so drop it.
+          mLocalBlockStore.abortBlock(Sessions.UFS_FETCH_SESSION_ID, blockId);
+        }
       } catch (Exception e) {
         LOG.warn("Failed to cleanup UFS block {}, session {}.", blockId, sessionId);
       }
@@ -234,12 +264,100 @@ public final class UnderFileSystemBlockStore {
     } finally {
       mLock.unlock();
     }
-    BlockReader reader =
-        UnderFileSystemBlockReader.create(blockInfo.getMeta(), offset, noCache, mLocalBlockStore);
+    UnderFileSystemBlockFetch fetch = acquireFetch(blockInfo.getMeta(), offset, noCache);
+    BlockReader reader;
+    try {
+      reader = UnderFileSystemBlockReader.create(blockInfo.getMeta(), offset, noCache,
+          mLocalBlockStore, mUfsInstreamCache, fetch);
+    } catch (BlockDoesNotExistException | IOException | RuntimeException e) {
+      if (fetch != null) {
+        fetch.release();
+      }
+      throw e;
+    }
     blockInfo.setBlockReader(reader);
     return reader;
   }
 
+  /**
+   * Removes the mark of a block which has been fully fetched from the UFS by a retired
+   * {@link UnderFileSystemBlockFetch}. Only one caller gets true for a fetched block, and it is
+   * then responsible for committing the temp block owned by {@link Sessions#UFS_FETCH_SESSION_ID}.
+   *
+   * @param blockId the block ID
+   * @return true if the block has been fully fetched and its temp block is to be committed
+   */
+  public boolean removeFetchedBlock(long blockId) {
+    mLock.lock();
+    try {
+      return mFetchedBlockIds.remove(blockId);
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * Stops tracking a fetch once its last reader has released it.
+   *
+   * @param fetch the fetch
+   * @param fetched whether the whole block has been fetched
+   */
+  void retireFetch(UnderFileSystemBlockFetch fetch, boolean fetched) {
+    mLock.lock();
+    try {
+      if (mFetches.get(fetch.getBlockId()) == fetch) {
+        mFetches.remove(fetch.getBlockId());
+      }
+      if (fetched) {
+        mFetchedBlockIds.add(fetch.getBlockId());
+      }
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * Gets a reference to the fetch of a block for a new reader. The reader joins the fetch in
+   * progress if it has already fetched up to the offset of the reader, so that the reader does
+   * not wait for the bytes before its offset. Otherwise, a fetch is only started if the reader
+   * reads the block from its beginning and the block is to be cached.
+   *
+   * @param blockMeta the block meta of the reader
+   * @param offset the read offset within the block
+   * @param noCache if set, do not try to cache the block in the Alluxio worker
+   * @return the fetch, or null if the reader has to read the block from the UFS by itself
+   * @throws BlockDoesNotExistException if the UFS block does not exist in the UFS
+   * @throws IOException if any I/O errors occur
+   */
+  private UnderFileSystemBlockFetch acquireFetch(UnderFileSystemBlockMeta blockMeta, long offset,
+      boolean noCache) throws BlockDoesNotExistException, IOException {
+    mLock.lock();
+    try {
+      UnderFileSystemBlockFetch fetch = mFetches.get(blockMeta.getBlockId());
+      if (fetch != null) {
+        return offset <= fetch.getFetchedBytes() && fetch.retain() ? fetch : null;
+      }
+    } finally {
+      mLock.unlock();
+    }
+    if (offset != 0 || noCache) {
+      return null;
+    }
+    // If another reader creates a fetch of the same block concurrently, only one of them can
+    // create the temp block, and the other reads the block by itself.
+    UnderFileSystemBlockFetch fetch =
+        UnderFileSystemBlockFetch.create(blockMeta, mLocalBlockStore, mUfsInstreamCache, this);
+    if (fetch != null) {
+      mLock.lock();
+      try {
+        mFetches.put(blockMeta.getBlockId(), fetch);
+      } finally {
+        mLock.unlock();
+      }
+    }
+    return fetch;
+  }
+
   /**
    * Gets the {@link UnderFileSystemBlockMeta} for a session ID and block ID pair.
    *
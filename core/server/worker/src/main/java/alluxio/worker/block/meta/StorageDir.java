@@ -20,7 +20,6 @@ import alluxio.util.io.FileUtils;
 import alluxio.worker.block.BlockStoreLocation;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,10 +27,10 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -39,6 +38,9 @@ import javax.annotation.concurrent.NotThreadSafe;
 /**
  * Represents a directory in a storage tier. It has a fixed capacity allocated to it on
  * instantiation. It contains the set of blocks currently in the storage directory.
+ * <p>
+ * The blocks can be looked up concurrently with the updates of the directory, but the updates
+ * themselves must be serialized by the caller.
  */
 @NotThreadSafe
 public final class StorageDir {
@@ -64,9 +66,9 @@ public final class StorageDir {
     mAvailableBytes = new AtomicLong(capacityBytes);
     mCommittedBytes = new AtomicLong(0);
     mDirPath = dirPath;
-    mBlockIdToBlockMap = new HashMap<>(200);
-    mBlockIdToTempBlockMap = new HashMap<>(200);
-    mSessionIdToTempBlockIdsMap = new HashMap<>(200);
+    mBlockIdToBlockMap = new ConcurrentHashMap<>(200);
+    mBlockIdToTempBlockMap = new ConcurrentHashMap<>(200);
+    mSessionIdToTempBlockIdsMap = new ConcurrentHashMap<>(200);
   }
 
   /**
@@ -309,10 +311,10 @@ public final class StorageDir {
     mBlockIdToTempBlockMap.put(blockId, tempBlockMeta);
     Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
     if (sessionTempBlocks == null) {
-      mSessionIdToTempBlockIdsMap.put(sessionId, Sets.newHashSet(blockId));
-    } else {
-      sessionTempBlocks.add(blockId);
+      sessionTempBlocks = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+      mSessionIdToTempBlockIdsMap.put(sessionId, sessionTempBlocks);
     }
+    sessionTempBlocks.add(blockId);
     reserveSpace(blockSize, false);
   }
 
@@ -427,7 +429,11 @@ public final class StorageDir {
     }
     List<TempBlockMeta> sessionTempBlocks = new ArrayList<>();
     for (long blockId : sessionTempBlockIds) {
-      sessionTempBlocks.add(mBlockIdToTempBlockMap.get(blockId));
+      TempBlockMeta tempBlockMeta = mBlockIdToTempBlockMap.get(blockId);
+      // The block may have been removed since the set was read
+      if (tempBlockMeta != null) {
+        sessionTempBlocks.add(tempBlockMeta);
+      }
     }
     return sessionTempBlocks;
   }
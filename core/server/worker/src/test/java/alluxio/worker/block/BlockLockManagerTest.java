@@ -18,6 +18,7 @@ import alluxio.collections.ConcurrentHashSet;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
+import alluxio.master.block.BlockId;
 
 import com.google.common.base.Throwables;
 import org.junit.After;
@@ -193,6 +194,25 @@ public final class BlockLockManagerTest {
     manager.lockBlock(1, 1, BlockLockType.WRITE);
   }
 
+  /**
+   * Tests that a rejected write lock does not keep a reference to the block lock.
+   */
+  @Test
+  public void rejectedWriteLockReleasesBlockLock() {
+    BlockLockManager manager = new BlockLockManager();
+    long lockId = manager.lockBlock(1, 1, BlockLockType.READ);
+    try {
+      manager.lockBlock(1, 1, BlockLockType.WRITE);
+      Assert.fail("a session should not be able to write lock a block it holds a lock on");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    manager.validate();
+    Assert.assertTrue(manager.unlockBlockNoException(lockId));
+    Assert.assertTrue(manager.getLockedBlocks().isEmpty());
+    manager.validate();
+  }
+
   /**
    * Tests that two sessions can both take a read lock on the same block.
    */
@@ -324,6 +344,36 @@ public final class BlockLockManagerTest {
     manager.validate();
   }
 
+  /**
+   * Tests that block ids made of a container id and a sequence number spread over the lock
+   * stripes, both for the first blocks of many files and for the blocks of a few files.
+   */
+  @Test
+  public void stripeSpread() {
+    int[] counts = new int[BlockLockManager.NUM_STRIPES];
+    for (long containerId = 0; containerId < 1024; containerId++) {
+      counts[BlockLockManager.getStripeIndex(BlockId.createBlockId(containerId, 0))]++;
+    }
+    checkStripeSpread(counts, 1024);
+
+    counts = new int[BlockLockManager.NUM_STRIPES];
+    for (long containerId = 0; containerId < 64; containerId++) {
+      for (long sequenceNumber = 0; sequenceNumber < 16; sequenceNumber++) {
+        counts[BlockLockManager
+            .getStripeIndex(BlockId.createBlockId(containerId, sequenceNumber))]++;
+      }
+    }
+    checkStripeSpread(counts, 1024);
+  }
+
+  private void checkStripeSpread(int[] counts, int numBlocks) {
+    int average = numBlocks / BlockLockManager.NUM_STRIPES;
+    for (int count : counts) {
+      Assert.assertTrue(count > 0);
+      Assert.assertTrue(count <= 2 * average);
+    }
+  }
+
   private void setMaxLocks(int maxLocks) {
     Configuration.set(PropertyKey.WORKER_TIERED_STORE_BLOCK_LOCKS, Integer.toString(maxLocks));
   }
@@ -32,6 +32,9 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Unit tests for {@link TieredBlockStore}.
@@ -246,6 +249,49 @@ public final class TieredBlockStoreTest {
     Assert.assertTrue(FileUtils.exists(BlockMeta.commitPath(mTestDir1, BLOCK_ID1)));
   }
 
+  /**
+   * Tests that a block can be removed from a dir while the lock of another dir is held, and that
+   * the blocks of the other dir can still be looked up.
+   */
+  @Test(timeout = 10000)
+  public void removeBlockWhileOtherDirLocked() throws Exception {
+    TieredBlockStoreTestUtils.cache(SESSION_ID1, BLOCK_ID1, BLOCK_SIZE, mTestDir1, mMetaManager,
+        mEvictor);
+    TieredBlockStoreTestUtils.cache(SESSION_ID2, BLOCK_ID2, BLOCK_SIZE, mTestDir2, mMetaManager,
+        mEvictor);
+    Field field = mBlockStore.getClass().getDeclaredField("mDirLocks");
+    field.setAccessible(true);
+    @SuppressWarnings("unchecked")
+    final Lock dirLock = ((Map<StorageDir, Lock>) field.get(mBlockStore)).get(mTestDir2);
+    final CountDownLatch locked = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+    Thread holder = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        dirLock.lock();
+        try {
+          locked.countDown();
+          done.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          dirLock.unlock();
+        }
+      }
+    });
+    holder.start();
+    locked.await();
+    try {
+      mBlockStore.removeBlock(SESSION_ID1, BLOCK_ID1);
+      Assert.assertFalse(mBlockStore.hasBlockMeta(BLOCK_ID1));
+      Assert.assertTrue(mBlockStore.hasBlockMeta(BLOCK_ID2));
+      Assert.assertEquals(BLOCK_SIZE, mBlockStore.getVolatileBlockMeta(BLOCK_ID2).getBlockSize());
+    } finally {
+      done.countDown();
+      holder.join();
+    }
+  }
+
   /**
    * Tests the {@link TieredBlockStore#removeBlock(long, long)} method.
    */
@@ -0,0 +1,145 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.InputStream;
+
+/**
+ * Unit tests for {@link UfsInputStreamCache}.
+ */
+public final class UfsInputStreamCacheTest {
+  private static final int FILE_SIZE = 1024;
+  private static final int MAX_SKIP_BYTES = 100;
+
+  private String mPath;
+  private UnderFileSystem mUfs;
+
+  /** Rule to create a new temporary folder during each test. */
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  @Before
+  public void before() throws Exception {
+    Configuration.set(PropertyKey.UNDERFS_ADDRESS, mFolder.getRoot().getAbsolutePath());
+    mPath = mFolder.newFile().getAbsolutePath();
+    BufferUtils.writeBufferToFile(mPath, BufferUtils.getIncreasingByteArray(FILE_SIZE));
+    mUfs = UnderFileSystem.Factory.get(mPath);
+  }
+
+  @After
+  public void after() throws Exception {
+    Configuration.defaultInit();
+  }
+
+  /**
+   * Tests that a released stream is reused by a later read within the maximum skip bytes.
+   */
+  @Test
+  public void reuseForwardSeek() throws Exception {
+    UfsInputStreamCache cache = new UfsInputStreamCache(Constants.MINUTE_MS, 10, MAX_SKIP_BYTES);
+    InputStream stream = cache.acquire(mUfs, mPath, 0);
+    Assert.assertEquals(0, stream.read());
+    cache.release(mUfs, mPath, stream, 1);
+    Assert.assertEquals(1, cache.size());
+
+    InputStream reused = cache.acquire(mUfs, mPath, MAX_SKIP_BYTES);
+    Assert.assertSame(stream, reused);
+    Assert.assertEquals(MAX_SKIP_BYTES, reused.read());
+    Assert.assertEquals(0, cache.size());
+    reused.close();
+  }
+
+  /**
+   * Tests that a released stream is not reused by reads before it or too far after it.
+   */
+  @Test
+  public void noReuse() throws Exception {
+    UfsInputStreamCache cache = new UfsInputStreamCache(Constants.MINUTE_MS, 10, MAX_SKIP_BYTES);
+    InputStream stream = cache.acquire(mUfs, mPath, 10);
+    cache.release(mUfs, mPath, stream, 10);
+
+    InputStream before = cache.acquire(mUfs, mPath, 9);
+    Assert.assertNotSame(stream, before);
+    Assert.assertEquals(9, before.read());
+    before.close();
+
+    InputStream after = cache.acquire(mUfs, mPath, 11 + MAX_SKIP_BYTES);
+    Assert.assertNotSame(stream, after);
+    Assert.assertEquals(11 + MAX_SKIP_BYTES, after.read());
+    after.close();
+    Assert.assertEquals(1, cache.size());
+    cache.close();
+    Assert.assertEquals(0, cache.size());
+  }
+
+  /**
+   * Tests that a released stream is not reused if the bytes to skip cannot be read.
+   */
+  @Test
+  public void noReuseAfterFailedSkip() throws Exception {
+    UfsInputStreamCache cache = new UfsInputStreamCache(Constants.MINUTE_MS, 10, MAX_SKIP_BYTES);
+    Assert.assertNull(cache.acquireIdle(mUfs, mPath, 0));
+    cache.release(mUfs, mPath, cache.open(mUfs, mPath, FILE_SIZE - 1), FILE_SIZE - 1);
+    Assert.assertNull(cache.acquireIdle(mUfs, mPath, FILE_SIZE + 1));
+    Assert.assertEquals(0, cache.size());
+  }
+
+  /**
+   * Tests that the least recently released streams of a UFS are closed when the UFS has the
+   * maximum number of idle streams, and that released streams are closed when the cache is
+   * disabled.
+   */
+  @Test
+  public void maxSize() throws Exception {
+    UfsInputStreamCache cache = new UfsInputStreamCache(Constants.MINUTE_MS, 2, MAX_SKIP_BYTES);
+    for (int i = 0; i < 3; i++) {
+      cache.release(mUfs, mPath, cache.acquire(mUfs, mPath, 0), 0);
+      cache.release(mUfs, mPath, mUfs.open(mPath), 0);
+    }
+    Assert.assertEquals(2, cache.size());
+    cache.close();
+
+    UfsInputStreamCache disabled = new UfsInputStreamCache(Constants.MINUTE_MS, 0, MAX_SKIP_BYTES);
+    disabled.release(mUfs, mPath, mUfs.open(mPath), 0);
+    Assert.assertEquals(0, disabled.size());
+  }
+
+  /**
+   * Tests that the heartbeat closes the expired streams.
+   */
+  @Test
+  public void expiration() throws Exception {
+    UfsInputStreamCache cache = new UfsInputStreamCache(Constants.MINUTE_MS, 10, MAX_SKIP_BYTES);
+    cache.release(mUfs, mPath, mUfs.open(mPath), 0);
+    cache.heartbeat();
+    Assert.assertEquals(1, cache.size());
+    cache.close();
+
+    UfsInputStreamCache expiring = new UfsInputStreamCache(-1, 10, MAX_SKIP_BYTES);
+    expiring.release(mUfs, mPath, mUfs.open(mPath), 0);
+    expiring.heartbeat();
+    Assert.assertEquals(0, expiring.size());
+  }
+}
@@ -11,16 +11,28 @@
 
 package alluxio.worker.block;
 
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.Sessions;
 import alluxio.thrift.LockBlockTOptions;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.meta.TempBlockMeta;
 import alluxio.worker.block.options.OpenUfsBlockOptions;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
 import org.mockito.Mockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
 
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({TempBlockMeta.class})
 public final class UnderFileSystemBlockStoreTest {
   private static final long TEST_BLOCK_SIZE = 1024;
   private static final long BLOCK_ID = 2;
@@ -33,16 +45,32 @@ public final class UnderFileSystemBlockStoreTest {
 
   @Before
   public void before() throws Exception {
+    Configuration.set(PropertyKey.UNDERFS_ADDRESS, mFolder.getRoot().getAbsolutePath());
+
+    String testFilePath = mFolder.newFile().getAbsolutePath();
+    byte[] buffer = BufferUtils.getIncreasingByteArray((int) TEST_BLOCK_SIZE * 2);
+    BufferUtils.writeBufferToFile(testFilePath, buffer);
+
     mAlluxioBlockStore = Mockito.mock(BlockStore.class);
+    TempBlockMeta tempBlockMeta = Mockito.mock(TempBlockMeta.class);
+    Mockito.when(mAlluxioBlockStore
+        .createBlock(Mockito.anyLong(), Mockito.anyLong(), Mockito.any(BlockStoreLocation.class),
+            Mockito.anyLong())).thenReturn(tempBlockMeta);
+    Mockito.when(tempBlockMeta.getPath()).thenReturn(mFolder.newFile().getAbsolutePath());
 
     LockBlockTOptions options = new LockBlockTOptions();
     options.setMaxUfsReadConcurrency(5);
     options.setBlockSize(TEST_BLOCK_SIZE);
     options.setOffset(TEST_BLOCK_SIZE);
-    options.setUfsPath(mFolder.newFile().getAbsolutePath());
+    options.setUfsPath(testFilePath);
     mOpenUfsBlockOptions = new OpenUfsBlockOptions(options);
   }
 
+  @After
+  public void after() throws Exception {
+    Configuration.defaultInit();
+  }
+
   @Test
   public void acquireAccess() throws Exception {
     UnderFileSystemBlockStore blockStore = new UnderFileSystemBlockStore(mAlluxioBlockStore);
@@ -63,4 +91,54 @@ public final class UnderFileSystemBlockStoreTest {
 
     Assert.assertTrue(blockStore.acquireAccess(6, BLOCK_ID, mOpenUfsBlockOptions));
   }
+
+  /**
+   * Tests that concurrent readers of a block share one fetch, which caches the block once.
+   */
+  @Test
+  public void sharedFetch() throws Exception {
+    UnderFileSystemBlockStore blockStore = new UnderFileSystemBlockStore(mAlluxioBlockStore);
+    Assert.assertTrue(blockStore.acquireAccess(1, BLOCK_ID, mOpenUfsBlockOptions));
+    Assert.assertTrue(blockStore.acquireAccess(2, BLOCK_ID, mOpenUfsBlockOptions));
+    BlockReader reader1 = blockStore.getBlockReader(1, BLOCK_ID, 0, false);
+    BlockReader reader2 = blockStore.getBlockReader(2, BLOCK_ID, 0, true);
+
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE,
+        (int) TEST_BLOCK_SIZE, reader1.read(0, TEST_BLOCK_SIZE)));
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE + 1,
+        (int) TEST_BLOCK_SIZE - 1, reader2.read(1, TEST_BLOCK_SIZE)));
+    Mockito.verify(mAlluxioBlockStore).createBlock(Mockito.eq((long) Sessions.UFS_FETCH_SESSION_ID),
+        Mockito.eq(BLOCK_ID), Mockito.any(BlockStoreLocation.class), Mockito.anyLong());
+
+    blockStore.closeReaderOrWriter(1, BLOCK_ID);
+    Assert.assertFalse(blockStore.removeFetchedBlock(BLOCK_ID));
+    blockStore.closeReaderOrWriter(2, BLOCK_ID);
+    Assert.assertTrue(blockStore.removeFetchedBlock(BLOCK_ID));
+    Assert.assertFalse(blockStore.removeFetchedBlock(BLOCK_ID));
+    Mockito.verify(mAlluxioBlockStore, Mockito.never())
+        .abortBlock(Mockito.anyLong(), Mockito.anyLong());
+  }
+
+  /**
+   * Tests that a block which is not fully fetched is aborted once its last reader is closed.
+   */
+  @Test
+  public void partialFetch() throws Exception {
+    UnderFileSystemBlockStore blockStore = new UnderFileSystemBlockStore(mAlluxioBlockStore);
+    Assert.assertTrue(blockStore.acquireAccess(1, BLOCK_ID, mOpenUfsBlockOptions));
+    Assert.assertTrue(blockStore.acquireAccess(2, BLOCK_ID, mOpenUfsBlockOptions));
+    blockStore.getBlockReader(1, BLOCK_ID, 0, false);
+
+    // A reader beyond the fetched bytes reads the block by itself.
+    BlockReader otherReader = blockStore.getBlockReader(2, BLOCK_ID, 1, false);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE + 1,
+        (int) TEST_BLOCK_SIZE - 1, otherReader.read(1, TEST_BLOCK_SIZE)));
+    blockStore.closeReaderOrWriter(2, BLOCK_ID);
+    Mockito.verify(mAlluxioBlockStore, Mockito.never())
+        .abortBlock(Mockito.anyLong(), Mockito.anyLong());
+
+    blockStore.closeReaderOrWriter(1, BLOCK_ID);
+    Assert.assertFalse(blockStore.removeFetchedBlock(BLOCK_ID));
+    Mockito.verify(mAlluxioBlockStore).abortBlock(Sessions.UFS_FETCH_SESSION_ID, BLOCK_ID);
+  }
 }
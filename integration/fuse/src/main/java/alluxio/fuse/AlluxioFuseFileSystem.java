@@ -19,10 +19,13 @@ import alluxio.Configuration;
 import alluxio.PropertyKey;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.URIStatus;
+import alluxio.client.file.options.GetStatusOptions;
+import alluxio.client.file.options.ListStatusOptions;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
+import alluxio.wire.FileInfoDetail;
 
 import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
@@ -206,7 +209,8 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
       if (!mFileSystem.exists(turi)) {
         return -ErrorCodes.ENOENT();
       }
-      final URIStatus status = mFileSystem.getStatus(turi);
+      final URIStatus status = mFileSystem.getStatus(turi,
+          GetStatusOptions.defaults().setFileInfoDetail(FileInfoDetail.Basic));
       stat.st_size.set(status.getLength());
 
       final long ctime_sec = status.getLastModificationTimeMs() / 1000;
@@ -449,7 +453,9 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
       if (!status.isFolder()) {
         return -ErrorCodes.ENOTDIR();
       }
-      final List<URIStatus> ls = mFileSystem.listStatus(turi);
+      // Only the names are needed, so skip the block and UFS lookups on the master.
+      final List<URIStatus> ls = mFileSystem.listStatus(turi,
+          ListStatusOptions.defaults().setFileInfoDetail(FileInfoDetail.Basic));
       // standard . and .. entries
       filter.apply(buff, ".", null, 0);
       filter.apply(buff, "..", null, 0);
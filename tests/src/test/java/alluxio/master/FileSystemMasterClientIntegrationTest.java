@@ -17,6 +17,7 @@ import alluxio.PropertyKey;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.FileSystemMasterClient;
 import alluxio.client.file.options.CreateFileOptions;
+import alluxio.client.file.options.GetStatusOptions;
 import alluxio.exception.AlluxioException;
 
 import com.google.common.base.Throwables;
@@ -44,12 +45,12 @@ public final class FileSystemMasterClientIntegrationTest {
     fsMasterClient.connect();
     Assert.assertTrue(fsMasterClient.isConnected());
     fsMasterClient.createFile(file, CreateFileOptions.defaults());
-    Assert.assertNotNull(fsMasterClient.getStatus(file));
+    Assert.assertNotNull(fsMasterClient.getStatus(file, GetStatusOptions.defaults()));
     fsMasterClient.disconnect();
     Assert.assertFalse(fsMasterClient.isConnected());
     fsMasterClient.connect();
     Assert.assertTrue(fsMasterClient.isConnected());
-    Assert.assertNotNull(fsMasterClient.getStatus(file));
+    Assert.assertNotNull(fsMasterClient.getStatus(file, GetStatusOptions.defaults()));
     fsMasterClient.close();
   }
 
@@ -60,7 +61,7 @@ public final class FileSystemMasterClientIntegrationTest {
     // in the cases we don't want to disconnect from master
     FileSystemMasterClient fsMasterClient = FileSystemMasterClient.Factory
         .create(mLocalAlluxioClusterResource.get().getMaster().getAddress());
-    fsMasterClient.getStatus(new AlluxioURI("/doesNotExist"));
+    fsMasterClient.getStatus(new AlluxioURI("/doesNotExist"), GetStatusOptions.defaults());
     fsMasterClient.close();
   }
 
@@ -46,7 +46,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Stack;
 
 import javax.annotation.concurrent.ThreadSafe;
@@ -216,6 +218,35 @@ public class HdfsUnderFileSystem extends BaseUnderFileSystem
     return ret;
   }
 
+  @Override
+  public Map<Long, List<String>> getFileBlockLocations(String path, long blockSizeBytes)
+      throws IOException {
+    // If the user has hinted the underlying storage nodes are not co-located with Alluxio
+    // workers, short circuit without querying the locations
+    if (Configuration.getBoolean(PropertyKey.UNDERFS_HDFS_REMOTE)) {
+      return null;
+    }
+    Map<Long, List<String>> ret = new HashMap<>();
+    // Get the locations of all the HDFS blocks in one request, and map each Alluxio block to the
+    // HDFS block containing its first byte. Failures are propagated rather than returning partial
+    // locations, which would be cached until the next refresh.
+    FileStatus fStatus = mFileSystem.getFileStatus(new Path(path));
+    BlockLocation[] bLocations = mFileSystem.getFileBlockLocations(fStatus, 0, fStatus.getLen());
+    int index = 0;
+    for (long offset = 0; offset < fStatus.getLen(); offset += blockSizeBytes) {
+      while (index < bLocations.length
+          && bLocations[index].getOffset() + bLocations[index].getLength() <= offset) {
+        index++;
+      }
+      List<String> locations = new ArrayList<>();
+      if (index < bLocations.length) {
+        Collections.addAll(locations, bLocations[index].getHosts());
+      }
+      ret.put(offset, locations);
+    }
+    return ret;
+  }
+
   @Override
   public long getFileSize(String path) throws IOException {
     Path tPath = new Path(path);
@@ -0,0 +1,131 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.oss;
+
+import alluxio.underfs.MultipartUploadBufferPool;
+import alluxio.underfs.MultipartUploadOutputStream;
+
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.OSSClient;
+import com.aliyun.oss.ServiceException;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
+import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
+import com.aliyun.oss.model.UploadPartRequest;
+import com.google.common.base.Preconditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A stream for writing a file into OSS as a multipart upload. Unlike {@link OSSOutputStream},
+ * which spools the whole file to local disk and uploads it on close, this stream uploads each part
+ * in the background as soon as it fills, and completes the upload on close.
+ */
+@NotThreadSafe
+public final class OSSStreamingOutputStream extends MultipartUploadOutputStream<PartETag> {
+  /** Bucket name of the Alluxio OSS bucket. */
+  private final String mBucketName;
+  /** Key of the file when it is uploaded to OSS. */
+  private final String mKey;
+  /** The oss client for OSS operations. */
+  private final OSSClient mOssClient;
+
+  /** The id of the multipart upload, set once the upload is initiated. */
+  private String mUploadId;
+
+  /**
+   * Creates a new instance of {@link OSSStreamingOutputStream}.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param client the client for OSS
+   * @param maxBuffers the maximum number of part buffers to hold at once
+   * @param bufferPool the pool to take part buffers from, whose buffer size is the part size
+   * @param executor the executor to upload parts with
+   */
+  public OSSStreamingOutputStream(String bucketName, String key, OSSClient client,
+      int maxBuffers, MultipartUploadBufferPool bufferPool, ExecutorService executor) {
+    super(maxBuffers, bufferPool, executor);
+    Preconditions.checkArgument(bucketName != null && !bucketName.isEmpty(),
+        "Bucket name must not be null or empty.");
+    Preconditions.checkArgument(key != null && !key.isEmpty(),
+        "OSS path must not be null or empty.");
+    Preconditions.checkArgument(client != null, "OSSClient must not be null.");
+    mBucketName = bucketName;
+    mKey = key;
+    mOssClient = client;
+  }
+
+  @Override
+  protected void initMultipartUpload() throws IOException {
+    try {
+      mUploadId = mOssClient.initiateMultipartUpload(
+          new InitiateMultipartUploadRequest(mBucketName, mKey)).getUploadId();
+    } catch (ServiceException | ClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected PartETag uploadPart(byte[] buf, int length, int partNumber) throws IOException {
+    UploadPartRequest request = new UploadPartRequest();
+    request.setBucketName(mBucketName);
+    request.setKey(mKey);
+    request.setUploadId(mUploadId);
+    request.setPartNumber(partNumber);
+    request.setPartSize(length);
+    request.setInputStream(new ByteArrayInputStream(buf, 0, length));
+    try {
+      return mOssClient.uploadPart(request).getPartETag();
+    } catch (ServiceException | ClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void completeMultipartUpload(List<PartETag> parts) throws IOException {
+    try {
+      mOssClient.completeMultipartUpload(
+          new CompleteMultipartUploadRequest(mBucketName, mKey, mUploadId, parts));
+    } catch (ServiceException | ClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void abortMultipartUpload() throws IOException {
+    try {
+      mOssClient.abortMultipartUpload(
+          new AbortMultipartUploadRequest(mBucketName, mKey, mUploadId));
+    } catch (ServiceException | ClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void putObject(byte[] buf, int length) throws IOException {
+    ObjectMetadata objMeta = new ObjectMetadata();
+    objMeta.setContentLength(length);
+    try {
+      mOssClient.putObject(mBucketName, mKey, new ByteArrayInputStream(buf, 0, length), objMeta);
+    } catch (ServiceException | ClientException e) {
+      throw new IOException(e);
+    }
+  }
+}
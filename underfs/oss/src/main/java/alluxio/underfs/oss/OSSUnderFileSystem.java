@@ -15,14 +15,17 @@ import alluxio.AlluxioURI;
 import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.PropertyKey;
+import alluxio.underfs.MultipartUploadBufferPool;
 import alluxio.underfs.ObjectUnderFileSystem;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.OpenOptions;
+import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.io.PathUtils;
 
 import com.aliyun.oss.ClientConfiguration;
 import com.aliyun.oss.OSSClient;
 import com.aliyun.oss.ServiceException;
+import com.aliyun.oss.model.DeleteObjectsRequest;
 import com.aliyun.oss.model.ListObjectsRequest;
 import com.aliyun.oss.model.OSSObjectSummary;
 import com.aliyun.oss.model.ObjectListing;
@@ -35,7 +38,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -55,6 +60,15 @@ public class OSSUnderFileSystem extends ObjectUnderFileSystem {
   /** Bucket name of user's configured Alluxio bucket. */
   private final String mBucketName;
 
+  /**
+   * The executor to upload parts of streaming uploads with, or null if files are spooled to local
+   * disk and uploaded on close.
+   */
+  private final ExecutorService mStreamingUploadExecutor;
+
+  /** The pool of part buffers shared by streaming uploads, or null if they are disabled. */
+  private final MultipartUploadBufferPool mStreamingUploadBufferPool;
+
   /**
    * Constructs a new instance of {@link OSSUnderFileSystem}.
    *
@@ -77,7 +91,14 @@ public class OSSUnderFileSystem extends ObjectUnderFileSystem {
     ClientConfiguration ossClientConf = initializeOSSClientConfig();
     OSSClient ossClient = new OSSClient(endPoint, accessId, accessKey, ossClientConf);
 
-    return new OSSUnderFileSystem(uri, ossClient, bucketName);
+    ExecutorService streamingUploadExecutor = null;
+    if (Configuration.getBoolean(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_ENABLED)) {
+      streamingUploadExecutor = ExecutorServiceFactories.fixedThreadPoolExecutorServiceFactory(
+          "alluxio-oss-streaming-upload-worker",
+          Configuration.getInt(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_THREADS_MAX))
+          .create();
+    }
+    return new OSSUnderFileSystem(uri, ossClient, bucketName, streamingUploadExecutor);
   }
 
   /**
@@ -90,9 +111,40 @@ public class OSSUnderFileSystem extends ObjectUnderFileSystem {
   protected OSSUnderFileSystem(AlluxioURI uri,
       OSSClient ossClient,
       String bucketName) {
+    this(uri, ossClient, bucketName, null);
+  }
+
+  /**
+   * Constructor for {@link OSSUnderFileSystem}.
+   *
+   * @param uri the {@link AlluxioURI} for this UFS
+   * @param ossClient Aliyun OSS client
+   * @param bucketName bucket name of user's configured Alluxio bucket
+   * @param streamingUploadExecutor the executor to upload parts of streaming uploads with, or null
+   *        to spool files to local disk and upload them on close
+   */
+  protected OSSUnderFileSystem(AlluxioURI uri,
+      OSSClient ossClient,
+      String bucketName,
+      ExecutorService streamingUploadExecutor) {
     super(uri);
     mClient = ossClient;
     mBucketName = bucketName;
+    mStreamingUploadExecutor = streamingUploadExecutor;
+    mStreamingUploadBufferPool = streamingUploadExecutor == null ? null
+        : new MultipartUploadBufferPool(
+            Configuration.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_PART_SIZE),
+            Configuration.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_MAX),
+            Configuration.getLong(
+                PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_WAIT_TIMEOUT_MS));
+  }
+
+  @Override
+  public void close() throws IOException {
+    super.close();
+    if (mStreamingUploadExecutor != null) {
+      mStreamingUploadExecutor.shutdown();
+    }
   }
 
   @Override
@@ -153,6 +205,11 @@ public class OSSUnderFileSystem extends ObjectUnderFileSystem {
 
   @Override
   protected OutputStream createObject(String key) throws IOException {
+    if (mStreamingUploadExecutor != null) {
+      return new OSSStreamingOutputStream(mBucketName, key, mClient,
+          Configuration.getInt(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFERS_MAX),
+          mStreamingUploadBufferPool, mStreamingUploadExecutor);
+    }
     return new OSSOutputStream(mBucketName, key, mClient);
   }
 
@@ -167,6 +224,23 @@ public class OSSUnderFileSystem extends ObjectUnderFileSystem {
     return true;
   }
 
+  @Override
+  protected List<String> deleteObjects(List<String> keys) {
+    DeleteObjectsRequest request = new DeleteObjectsRequest(mBucketName);
+    request.setKeys(keys);
+    try {
+      return mClient.deleteObjects(request).getDeletedObjects();
+    } catch (ServiceException e) {
+      LOG.error("Failed to delete {} objects", keys.size(), e);
+      return new ArrayList<>();
+    }
+  }
+
+  @Override
+  protected int getDeleteBatchLengthMax() {
+    return DeleteObjectsRequest.DELETE_OBJECTS_ONETIME_LIMIT;
+  }
+
   @Override
   protected String getFolderSuffix() {
     return FOLDER_SUFFIX;
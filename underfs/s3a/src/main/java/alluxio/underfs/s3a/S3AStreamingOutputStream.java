@@ -0,0 +1,146 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.s3a;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.underfs.MultipartUploadBufferPool;
+import alluxio.underfs.MultipartUploadOutputStream;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.internal.Mimetypes;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.google.common.base.Preconditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A stream for writing a file into S3 as a multipart upload. Unlike {@link S3AOutputStream},
+ * which spools the whole file to local disk and uploads it on close, this stream uploads each part
+ * in the background as soon as it fills, and completes the upload on close.
+ */
+@NotThreadSafe
+public class S3AStreamingOutputStream extends MultipartUploadOutputStream<PartETag> {
+  private static final boolean SSE_ENABLED =
+      Configuration.getBoolean(PropertyKey.UNDERFS_S3A_SERVER_SIDE_ENCRYPTION_ENABLED);
+
+  /** Bucket name of the Alluxio S3 bucket. */
+  private final String mBucketName;
+
+  /** Key of the file when it is uploaded to S3. */
+  private final String mKey;
+
+  /** The client for S3 operations. */
+  private final AmazonS3 mClient;
+
+  /** The id of the multipart upload, set once the upload is initiated. */
+  private String mUploadId;
+
+  /**
+   * Constructs a new stream for writing a file.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param client the client for S3
+   * @param maxBuffers the maximum number of part buffers to hold at once
+   * @param bufferPool the pool to take part buffers from, whose buffer size is the part size
+   * @param executor the executor to upload parts with
+   */
+  public S3AStreamingOutputStream(String bucketName, String key, AmazonS3 client,
+      int maxBuffers, MultipartUploadBufferPool bufferPool, ExecutorService executor) {
+    super(maxBuffers, bufferPool, executor);
+    Preconditions.checkArgument(bucketName != null && !bucketName.isEmpty(), "Bucket name must "
+        + "not be null or empty.");
+    mBucketName = bucketName;
+    mKey = key;
+    mClient = client;
+  }
+
+  @Override
+  protected void initMultipartUpload() throws IOException {
+    InitiateMultipartUploadRequest request =
+        new InitiateMultipartUploadRequest(mBucketName, mKey).withObjectMetadata(newMetadata());
+    try {
+      mUploadId = mClient.initiateMultipartUpload(request).getUploadId();
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected PartETag uploadPart(byte[] buf, int length, int partNumber) throws IOException {
+    UploadPartRequest request = new UploadPartRequest().withBucketName(mBucketName).withKey(mKey)
+        .withUploadId(mUploadId).withPartNumber(partNumber).withPartSize(length)
+        .withInputStream(new ByteArrayInputStream(buf, 0, length));
+    try {
+      return mClient.uploadPart(request).getPartETag();
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void completeMultipartUpload(List<PartETag> parts) throws IOException {
+    try {
+      mClient.completeMultipartUpload(
+          new CompleteMultipartUploadRequest(mBucketName, mKey, mUploadId, parts));
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void abortMultipartUpload() throws IOException {
+    try {
+      mClient.abortMultipartUpload(new AbortMultipartUploadRequest(mBucketName, mKey, mUploadId));
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void putObject(byte[] buf, int length) throws IOException {
+    ObjectMetadata meta = newMetadata();
+    meta.setContentLength(length);
+    try {
+      mClient.putObject(new PutObjectRequest(mBucketName, mKey,
+          new ByteArrayInputStream(buf, 0, length), meta));
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * @return the metadata for the uploaded object, setting server side encryption and encoding as
+   *         octet stream since no assumptions are made about the file type
+   */
+  private static ObjectMetadata newMetadata() {
+    ObjectMetadata meta = new ObjectMetadata();
+    if (SSE_ENABLED) {
+      meta.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
+    }
+    meta.setContentEncoding(Mimetypes.MIMETYPE_OCTET_STREAM);
+    return meta;
+  }
+}
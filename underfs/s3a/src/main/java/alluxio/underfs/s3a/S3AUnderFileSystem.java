@@ -15,6 +15,7 @@ import alluxio.AlluxioURI;
 import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.PropertyKey;
+import alluxio.underfs.MultipartUploadBufferPool;
 import alluxio.underfs.ObjectUnderFileSystem;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.OpenOptions;
@@ -34,8 +35,11 @@ import com.amazonaws.services.s3.S3ClientOptions;
 import com.amazonaws.services.s3.internal.Mimetypes;
 import com.amazonaws.services.s3.model.AccessControlList;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
@@ -50,6 +54,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
@@ -86,6 +91,15 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
   /** The permission mode that the account owner has to the bucket. */
   private final short mBucketMode;
 
+  /**
+   * The executor to upload parts of streaming uploads with, or null if files are spooled to local
+   * disk and uploaded on close.
+   */
+  private final ExecutorService mStreamingUploadExecutor;
+
+  /** The pool of part buffers shared by streaming uploads, or null if they are disabled. */
+  private final MultipartUploadBufferPool mStreamingUploadBufferPool;
+
   static {
     byte[] dirByteHash = DigestUtils.md5(new byte[0]);
     DIR_HASH = new String(Base64.encode(dirByteHash));
@@ -192,8 +206,15 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
       AccessControlList acl = amazonS3Client.getBucketAcl(bucketName);
       bucketMode = S3AUtils.translateBucketAcl(acl, accountOwnerId);
     }
+    ExecutorService streamingUploadExecutor = null;
+    if (Configuration.getBoolean(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_ENABLED)) {
+      streamingUploadExecutor = ExecutorServiceFactories.fixedThreadPoolExecutorServiceFactory(
+          "alluxio-s3-streaming-upload-worker",
+          Configuration.getInt(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_THREADS_MAX))
+          .create();
+    }
     return new S3AUnderFileSystem(uri, amazonS3Client, bucketName, bucketMode, accountOwner,
-        transferManager);
+        transferManager, streamingUploadExecutor);
   }
 
   /**
@@ -212,12 +233,49 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
       short bucketMode,
       String accountOwner,
       TransferManager transferManager) {
+    this(uri, amazonS3Client, bucketName, bucketMode, accountOwner, transferManager, null);
+  }
+
+  /**
+   * Constructor for {@link S3AUnderFileSystem}.
+   *
+   * @param uri the {@link AlluxioURI} for this UFS
+   * @param amazonS3Client AWS-SDK S3 client
+   * @param bucketName bucket name of user's configured Alluxio bucket
+   * @param bucketMode the permission mode that the account owner has to the bucket
+   * @param accountOwner the name of the account owner
+   * @param transferManager Transfer Manager for efficient I/O to S3
+   * @param streamingUploadExecutor the executor to upload parts of streaming uploads with, or null
+   *        to spool files to local disk and upload them on close
+   */
+  protected S3AUnderFileSystem(AlluxioURI uri,
+      AmazonS3Client amazonS3Client,
+      String bucketName,
+      short bucketMode,
+      String accountOwner,
+      TransferManager transferManager,
+      ExecutorService streamingUploadExecutor) {
     super(uri);
     mClient = amazonS3Client;
     mBucketName = bucketName;
     mBucketMode = bucketMode;
     mAccountOwner = accountOwner;
     mManager = transferManager;
+    mStreamingUploadExecutor = streamingUploadExecutor;
+    mStreamingUploadBufferPool = streamingUploadExecutor == null ? null
+        : new MultipartUploadBufferPool(
+            Configuration.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_PART_SIZE),
+            Configuration.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_MAX),
+            Configuration.getLong(
+                PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_WAIT_TIMEOUT_MS));
+  }
+
+  @Override
+  public void close() throws IOException {
+    super.close();
+    if (mStreamingUploadExecutor != null) {
+      mStreamingUploadExecutor.shutdown();
+    }
   }
 
   @Override
@@ -295,6 +353,11 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
 
   @Override
   protected OutputStream createObject(String key) throws IOException {
+    if (mStreamingUploadExecutor != null) {
+      return new S3AStreamingOutputStream(mBucketName, key, mClient,
+          Configuration.getInt(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFERS_MAX),
+          mStreamingUploadBufferPool, mStreamingUploadExecutor);
+    }
     return new S3AOutputStream(mBucketName, key, mManager);
   }
 
@@ -309,6 +372,33 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
     return true;
   }
 
+  @Override
+  protected List<String> deleteObjects(List<String> keys) throws IOException {
+    List<DeleteObjectsRequest.KeyVersion> keysToDelete = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      keysToDelete.add(new DeleteObjectsRequest.KeyVersion(key));
+    }
+    List<DeleteObjectsResult.DeletedObject> deletedObjects;
+    try {
+      deletedObjects = mClient.deleteObjects(
+          new DeleteObjectsRequest(mBucketName).withKeys(keysToDelete)).getDeletedObjects();
+    } catch (MultiObjectDeleteException e) {
+      // Some of the keys were not deleted
+      for (MultiObjectDeleteException.DeleteError error : e.getErrors()) {
+        LOG.error("Failed to delete {}: {}", error.getKey(), error.getMessage());
+      }
+      deletedObjects = e.getDeletedObjects();
+    } catch (AmazonClientException e) {
+      LOG.error("Failed to delete {} objects", keys.size(), e);
+      return new ArrayList<>();
+    }
+    List<String> deletedKeys = new ArrayList<>(deletedObjects.size());
+    for (DeleteObjectsResult.DeletedObject deletedObject : deletedObjects) {
+      deletedKeys.add(deletedObject.getKey());
+    }
+    return deletedKeys;
+  }
+
   @Override
   protected String getFolderSuffix() {
     return FOLDER_SUFFIX;
@@ -0,0 +1,139 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.s3a;
+
+import alluxio.Constants;
+import alluxio.underfs.MultipartUploadBufferPool;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for the {@link S3AStreamingOutputStream}.
+ */
+public class S3AStreamingOutputStreamTest {
+  private static final String BUCKET_NAME = "testBucket";
+  private static final String KEY = "testKey";
+  private static final String UPLOAD_ID = "testUploadId";
+  private static final int PART_SIZE = 8;
+
+  private AmazonS3 mClient;
+  private ExecutorService mExecutor;
+  private S3AStreamingOutputStream mStream;
+
+  /**
+   * Sets up the mocked client before each test runs.
+   */
+  @Before
+  public void before() throws Exception {
+    mClient = Mockito.mock(AmazonS3.class);
+    InitiateMultipartUploadResult initResult = new InitiateMultipartUploadResult();
+    initResult.setUploadId(UPLOAD_ID);
+    Mockito.when(mClient.initiateMultipartUpload(Mockito.any(InitiateMultipartUploadRequest.class)))
+        .thenReturn(initResult);
+    Mockito.when(mClient.uploadPart(Mockito.any(UploadPartRequest.class)))
+        .thenAnswer(new Answer<UploadPartResult>() {
+          @Override
+          public UploadPartResult answer(InvocationOnMock invocation) {
+            UploadPartRequest request = (UploadPartRequest) invocation.getArguments()[0];
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag" + request.getPartNumber());
+            return result;
+          }
+        });
+    mExecutor = Executors.newFixedThreadPool(2);
+    mStream = new S3AStreamingOutputStream(BUCKET_NAME, KEY, mClient, 2,
+        new MultipartUploadBufferPool(PART_SIZE, 2 * PART_SIZE, Constants.MINUTE_MS), mExecutor);
+  }
+
+  /**
+   * Shuts down the executor after each test runs.
+   */
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Tests that a file smaller than a part is uploaded with a single put.
+   */
+  @Test
+  public void singlePut() throws Exception {
+    mStream.write(new byte[PART_SIZE - 1]);
+    mStream.close();
+    ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+    Mockito.verify(mClient).putObject(request.capture());
+    Assert.assertEquals(PART_SIZE - 1, request.getValue().getMetadata().getContentLength());
+    Mockito.verify(mClient, Mockito.never())
+        .initiateMultipartUpload(Mockito.any(InitiateMultipartUploadRequest.class));
+  }
+
+  /**
+   * Tests that a larger file is uploaded as a multipart upload, completed on close.
+   */
+  @Test
+  public void multipartUpload() throws Exception {
+    mStream.write(new byte[PART_SIZE * 3 + 1]);
+    mStream.close();
+    Mockito.verify(mClient, Mockito.times(4)).uploadPart(Mockito.any(UploadPartRequest.class));
+    ArgumentCaptor<CompleteMultipartUploadRequest> request =
+        ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+    Mockito.verify(mClient).completeMultipartUpload(request.capture());
+    Assert.assertEquals(UPLOAD_ID, request.getValue().getUploadId());
+    Assert.assertEquals(4, request.getValue().getPartETags().size());
+    for (int i = 0; i < 4; i++) {
+      PartETag part = request.getValue().getPartETags().get(i);
+      Assert.assertEquals(i + 1, part.getPartNumber());
+      Assert.assertEquals("etag" + (i + 1), part.getETag());
+    }
+  }
+
+  /**
+   * Tests that the multipart upload is aborted when a part fails to upload.
+   */
+  @Test
+  public void abortOnFailure() throws Exception {
+    Mockito.doThrow(new AmazonClientException("upload failed")).when(mClient)
+        .uploadPart(Mockito.any(UploadPartRequest.class));
+    mStream.write(new byte[PART_SIZE + 1]);
+    try {
+      mStream.close();
+      Assert.fail("Close should fail when a part fails to upload");
+    } catch (IOException e) {
+      // expected
+    }
+    Mockito.verify(mClient).abortMultipartUpload(Mockito.any(AbortMultipartUploadRequest.class));
+    Mockito.verify(mClient, Mockito.never())
+        .completeMultipartUpload(Mockito.any(CompleteMultipartUploadRequest.class));
+  }
+}
@@ -16,15 +16,25 @@ import alluxio.underfs.options.DeleteOptions;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * Unit tests for the {@link S3AUnderFileSystem}.
@@ -79,6 +89,55 @@ public class S3AUnderFileSystemTest {
     Assert.assertFalse(result);
   }
 
+  /**
+   * Tests that a recursive delete removes the children with bulk deletes.
+   */
+  @Test
+  public void deleteRecursiveInBatches() throws IOException {
+    ListObjectsV2Result listing = new ListObjectsV2Result();
+    for (String key : new String[] {"path/file1", "path/file2", "path/dir_$folder$",
+        "path/dir/file3"}) {
+      S3ObjectSummary summary = new S3ObjectSummary();
+      summary.setKey(key);
+      listing.getObjectSummaries().add(summary);
+    }
+    Mockito.when(mClient.listObjectsV2(Matchers.any(ListObjectsV2Request.class)))
+        .thenReturn(listing);
+    Mockito.when(mClient.deleteObjects(Matchers.any(DeleteObjectsRequest.class)))
+        .thenAnswer(new Answer<DeleteObjectsResult>() {
+          @Override
+          public DeleteObjectsResult answer(InvocationOnMock invocation) {
+            DeleteObjectsRequest request = (DeleteObjectsRequest) invocation.getArguments()[0];
+            List<DeleteObjectsResult.DeletedObject> deleted = new ArrayList<>();
+            for (DeleteObjectsRequest.KeyVersion key : request.getKeys()) {
+              DeleteObjectsResult.DeletedObject deletedObject =
+                  new DeleteObjectsResult.DeletedObject();
+              deletedObject.setKey(key.getKey());
+              deleted.add(deletedObject);
+            }
+            return new DeleteObjectsResult(deleted);
+          }
+        });
+
+    Assert.assertTrue(mS3UnderFileSystem.deleteDirectory(PATH,
+        DeleteOptions.defaults().setRecursive(true)));
+    // One bulk delete for the files, and one for the directory breadcrumbs
+    ArgumentCaptor<DeleteObjectsRequest> requests =
+        ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+    Mockito.verify(mClient, Mockito.times(2)).deleteObjects(requests.capture());
+    HashSet<String> deletedKeys = new HashSet<>();
+    for (DeleteObjectsRequest request : requests.getAllValues()) {
+      for (DeleteObjectsRequest.KeyVersion key : request.getKeys()) {
+        deletedKeys.add(key.getKey());
+      }
+    }
+    Assert.assertTrue(deletedKeys.contains("path/file1"));
+    Assert.assertTrue(deletedKeys.contains("path/file2"));
+    Assert.assertTrue(deletedKeys.contains("path/dir/file3"));
+    Assert.assertTrue(deletedKeys.contains("path/dir_$folder$"));
+    Mockito.verify(mClient).deleteObject(BUCKET_NAME, "path_$folder$");
+  }
+
   /**
    * Test case for {@link S3AUnderFileSystem#renameFile(String, String)}.
    */